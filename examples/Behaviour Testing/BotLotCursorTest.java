@@ -0,0 +1,99 @@
+import java.util.Arrays;
+import botLot.*;
+import botLot.lotGraph.*;
+
+/**
+ * Tests moving a BotLot through its current path, which moves past the edges of the path rather than taking them out of it.
+ *
+ * @author Greg Stewart
+ */
+public class BotLotCursorTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot Cursor Test\n" + "Tests moving through the current path\n");
+
+		//a line of 6 nodes, with edge metrics 1 to 5, and an edge from the last back to the first
+		LotGraph graph = new LotGraph();
+		LotNode[] nodes = new LotNode[6];
+		for(int i = 0; i < nodes.length; i++){
+			nodes[i] = graph.createNode();
+		}
+		LotEdge[] edges = new LotEdge[5];
+		for(int i = 0; i < edges.length; i++){
+			edges[i] = graph.createEdge(nodes[i]);
+			edges[i].setEndNode(nodes[i + 1]);
+			edges[i].setMetric(i + 1);
+		}
+		LotEdge back = graph.createEdge(nodes[5]);
+		back.setEndNode(nodes[0]);
+
+		BotLot lot = new BotLot(graph, nodes[0]);
+		lot.setDestNode(nodes[5]);
+		LotPath path = new LotPath(Arrays.asList(edges));
+		lot.setCurPath(path);
+		check(lot.getNumEdgesLeft() == 5 && lot.getNextEdge() == edges[0] && lot.getCurPath() == path, "path set is held, with nothing gone through");
+
+		lot.movedThroughPath();
+		check(lot.getCurNode() == nodes[1] && lot.getNumEdgesLeft() == 4 && lot.getNextEdge() == edges[1], "moved through one edge");
+		check(path.size() == 5 && path.getEdge(0) == edges[0], "path given is not changed by moving through it");
+		LotPath rest = lot.getCurPath();
+		check(rest != path && rest.getEdges().equals(Arrays.asList(edges).subList(1, 5)) && rest.getPathMetric() == 14, "current path is the edges left");
+		rest.append(back);
+		check(lot.getNumEdgesLeft() == 4 && lot.curPathIsValid(), "changing the current path given out does not change what is left");
+
+		check(lot.toString().contains("curPath=" + lot.getCurPath() + "]"), "toString shows only the edges left");
+		int expectedHash = 31 * (31 * (31 + nodes[1].hashCode()) + lot.getCurPath().hashCode()) + graph.hashCode();
+		check(lot.hashCode() == expectedHash, "hashCode is of only the edges left");
+		BotLot copy = new BotLot(lot);
+		check(copy.getCurPath().size() == 4 && copy.getNumEdgesLeft() == 4 && copy.equals(lot), "copy holds only the edges left");
+
+		lot.movedThroughPath(2);
+		check(lot.getCurNode() == nodes[3] && lot.getNextEdge() == edges[3] && lot.curPathIsValid(), "moved through two edges");
+
+		lot.movedToEndOfPath();
+		check(lot.getCurNode() == nodes[5] && !lot.hasPath() && lot.getNextEdge() == null && lot.getDestNode() == null, "moved to the end of the path");
+
+		boolean threw = false;
+		try{
+			lot.movedThroughPath();
+		}catch(BotLotException e){
+			threw = true;
+		}
+		check(threw && lot.getCurNode() == nodes[5], "can't move past the end of the path");
+
+		lot.setCurNode(nodes[0]);
+		lot.setDestNode(nodes[5]);
+		lot.setCurPath(path);
+		lot.movedThroughPath(3);
+		threw = false;
+		try{
+			lot.movedThroughPath(3);
+		}catch(BotLotException e){
+			threw = true;
+		}
+		check(threw && lot.getCurNode() == nodes[5] && !lot.hasPath(), "moving through more edges than are left stops at the end");
+
+		lot.setCurNode(nodes[0]);
+		lot.setCurPath(path);
+		lot.movedDownEdge(edges[0]);
+		check(lot.getCurNode() == nodes[1] && !lot.hasPath() && path.size() == 5, "moving down an edge clears the path, leaving the one given");
+
+		threw = false;
+		try{
+			lot.setCurPath(path);
+		}catch(BotLotException e){
+			threw = true;
+		}
+		check(threw && !lot.hasPath(), "path not starting at the current node not held");
+
+		System.out.println("\nAll passed.");
+	}
+}
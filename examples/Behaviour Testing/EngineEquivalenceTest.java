@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.Random;
+import botLot.lotGraph.*;
+import botLot.pathFinding.*;
+import botLot.pathFinding.Algorithms.*;
+
+/**
+ * Tests that every shortest path engine (Dijkstra, bidirectional Dijkstra, A*, Contraction Hierarchies, and A* with landmarks) finds paths of the same length, before and after the graph changes.
+ *
+ * @author Greg Stewart
+ */
+public class EngineEquivalenceTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	/**
+	 * Makes a grid of nodes with coordinates, each going to its neighbours with metrics of at least the distance between them, so the coordinates never over estimate. Some edges only go one way, and one node can't be gotten to at all.
+	 */
+	private static LotGraph makeGrid(int size, Random rand) throws Exception {
+		LotGraph graph = new LotGraph();
+		LotNode[][] nodes = new LotNode[size][size];
+		for(int x = 0; x < size; x++){
+			for(int y = 0; y < size; y++){
+				nodes[x][y] = graph.createNode();
+				nodes[x][y].setAtt(BotLotPFAStar.X_ATT, "" + x);
+				nodes[x][y].setAtt(BotLotPFAStar.Y_ATT, "" + y);
+			}
+		}
+		int[][] steps = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+		for(int x = 0; x < size; x++){
+			for(int y = 0; y < size; y++){
+				for(int[] step : steps){
+					int toX = x + step[0];
+					int toY = y + step[1];
+					if(toX < 0 || toY < 0 || toX >= size || toY >= size || rand.nextInt(8) == 0){
+						continue;
+					}
+					LotEdge curEdge = graph.createEdge(nodes[x][y]);
+					curEdge.setEndNode(nodes[toX][toY]);
+					curEdge.setMetric(1 + rand.nextInt(5));
+				}
+			}
+		}
+		LotNode alone = graph.createNode();
+		alone.setAtt(BotLotPFAStar.X_ATT, "-1");
+		alone.setAtt(BotLotPFAStar.Y_ATT, "-1");
+		return graph;
+	}
+
+	/**
+	 * Gets the metric of a path, or -1 if there is none.
+	 */
+	private static double metricOf(LotPath pathIn){
+		return (pathIn == null ? -1 : pathIn.getPathMetric());
+	}
+
+	/**
+	 * Finds a path with an engine. Engines won't search for a path that isn't there, so gives null for those.
+	 */
+	private static LotPath findOrNull(BotLotPFAlgorithm engine){
+		try{
+			return engine.findPath();
+		}catch(BotLotPFAlgException e){
+			return null;
+		}
+	}
+
+	/**
+	 * Determines if a path found by an engine goes from the start to the end through edges in the graph, or is null where the reference found none.
+	 */
+	private static boolean goesBetween(LotPath pathIn, LotGraph graph, LotNode start, LotNode end, ArrayList<LotEdge> edgesToAvoid) throws Exception {
+		if(pathIn == null){
+			return true;
+		}
+		return BotLotPFWorkers.pathIsValid(pathIn, graph, start, end, edgesToAvoid);
+	}
+
+	/**
+	 * Finds paths between random pairs of nodes with every engine, checking they all agree with Dijkstra's algorithm.
+	 */
+	private static boolean allAgree(LotGraph graph, Random rand, int numPairs, ArrayList<LotEdge> edgesToAvoid) throws Exception {
+		BotLotPFLandmarkIndex landmarks = BotLotPFLandmarkIndex.getIndex(graph);
+		int numFound = 0;
+		for(int i = 0; i < numPairs; i++){
+			LotNode start = graph.getNode(rand.nextInt(graph.getNumNodes()));
+			LotNode end = graph.getNode(rand.nextInt(graph.getNumNodes()));
+			if(start == end){
+				continue;
+			}
+			LotPath[] paths = {
+				findOrNull(new BotLotPFDijkstra(graph, start, end, edgesToAvoid)),
+				findOrNull(new BotLotPFBiDijkstra(graph, start, end, edgesToAvoid)),
+				findOrNull(new BotLotPFAStar(graph, start, end, edgesToAvoid)),
+				findOrNull(new BotLotPFContraction(graph, start, end, edgesToAvoid)),
+				findOrNull(new BotLotPFAStar(graph, start, end, edgesToAvoid).setHeuristic(BotLotPFHeuristic.ZERO).setLandmarkIndex(landmarks))
+			};
+			for(LotPath curPath : paths){
+				if(metricOf(curPath) != metricOf(paths[0]) || !goesBetween(curPath, graph, start, end, edgesToAvoid)){
+					System.out.println("\tEngines disagree going from " + start.getId() + " to " + end.getId() + ": " + metricOf(paths[0]) + " vs " + metricOf(curPath));
+					return false;
+				}
+			}
+			if(paths[0] != null){
+				numFound++;
+			}
+		}
+		return numFound > 0;
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot Engine Equivalence Test\n" + "Tests that the shortest path engines all find paths of the same length\n");
+
+		Random rand = new Random(42);
+		LotGraph graph = makeGrid(12, rand);
+		ArrayList<LotEdge> edgesToAvoid = new ArrayList<LotEdge>();
+
+		check(allAgree(graph, rand, 150, edgesToAvoid), "engines agree on a new graph");
+
+		LotNode alone = graph.getNode(graph.getNumNodes() - 1);
+		check(findOrNull(new BotLotPFDijkstra(graph, graph.getNode(0), alone, edgesToAvoid)) == null &&
+			findOrNull(new BotLotPFBiDijkstra(graph, graph.getNode(0), alone, edgesToAvoid)) == null &&
+			findOrNull(new BotLotPFAStar(graph, graph.getNode(0), alone, edgesToAvoid)) == null &&
+			findOrNull(new BotLotPFContraction(graph, graph.getNode(0), alone, edgesToAvoid)) == null, "no engine finds a path to a node with no edges in");
+
+		for(int i = 0; i < 40; i++){
+			LotEdge curEdge = graph.getEdge(rand.nextInt(graph.getNumEdges()));
+			curEdge.setMetric(1 + rand.nextInt(9));
+		}
+		check(allAgree(graph, rand, 150, edgesToAvoid), "engines agree after metrics change");
+
+		for(int i = 0; i < 10; i++){
+			graph.removeEdge(graph.getEdge(rand.nextInt(graph.getNumEdges())));
+		}
+		check(allAgree(graph, rand, 150, edgesToAvoid), "engines agree after edges are removed");
+
+		for(int i = 0; i < 30; i++){
+			edgesToAvoid.add(graph.getEdge(rand.nextInt(graph.getNumEdges())));
+		}
+		check(allAgree(graph, rand, 150, edgesToAvoid), "engines agree with edges to avoid");
+
+		System.out.println("\nAll passed.");
+	}
+}
@@ -0,0 +1,119 @@
+import java.util.HashSet;
+import botLot.lotGraph.*;
+
+/**
+ * Tests that node and edge ID's stay unique in a graph, and that looking them up keeps working as they change.
+ *
+ * @author Greg Stewart
+ */
+public class IdUniquenessTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot ID Uniqueness Test\n" + "Tests that ID's given and set are unique in a graph\n");
+
+		//a ring of nodes, each with an edge to the next
+		LotGraph graph = new LotGraph();
+		int numNodes = 2000;
+		for(int i = 0; i < numNodes; i++){
+			graph.createNode();
+		}
+		for(int i = 0; i < numNodes; i++){
+			graph.createEdge(graph.getNode(i)).setEndNode(graph.getNode((i + 1) % numNodes));
+		}
+
+		HashSet<String> nodeIds = new HashSet<String>();
+		boolean allFound = true;
+		for(LotNode curNode : graph.getNodes()){
+			nodeIds.add(curNode.getId());
+			allFound &= graph.getNode(curNode.getId()) == curNode;
+		}
+		check(nodeIds.size() == numNodes && allFound, "node ID's made are unique, and find their nodes");
+
+		HashSet<String> edgeIds = new HashSet<String>();
+		allFound = true;
+		for(LotEdge curEdge : graph.getEdgeListView()){
+			edgeIds.add(curEdge.getId());
+			allFound &= graph.getEdge(curEdge.getId()) == curEdge;
+		}
+		check(edgeIds.size() == numNodes && allFound, "edge ID's made are unique, and find their edges");
+
+		LotNode first = graph.getNode(0);
+		LotNode second = graph.getNode(1);
+		String firstId = first.getId();
+		boolean threw = false;
+		try{
+			first.setId(second.getId());
+		}catch(LotNodeException e){
+			threw = true;
+		}
+		check(threw && first.getId().equals(firstId) && graph.getNode(firstId) == first && graph.getNode(second.getId()) == second, "node can't be given the ID of another");
+
+		first.setId("renamed node");
+		check(graph.getNode("renamed node") == first && graph.getNode(firstId) == null && graph.idIsUnique('n', firstId), "renamed node found by its new ID only");
+
+		LotEdge firstEdge = graph.getEdge(0);
+		LotEdge secondEdge = graph.getEdge(1);
+		String firstEdgeId = firstEdge.getId();
+		threw = false;
+		try{
+			firstEdge.setId(secondEdge.getId());
+		}catch(LotGraphException e){
+			threw = true;
+		}
+		check(threw && firstEdge.getId().equals(firstEdgeId) && graph.getEdge(secondEdge.getId()) == secondEdge, "edge can't be given the ID of another");
+
+		firstEdge.setId("renamed edge");
+		check(graph.getEdge("renamed edge") == firstEdge && graph.getEdge(firstEdgeId) == null, "renamed edge found by its new ID only");
+
+		threw = false;
+		try{
+			graph.addNode(new LotNode(second.getId()));
+		}catch(LotGraphException e){
+			threw = true;
+		}
+		check(threw && graph.getNumNodes() == numNodes && graph.getNode(second.getId()) == second, "node with a used ID not added");
+
+		LotNode withUsedEdge = new LotNode("new node");
+		withUsedEdge.setActNumEdges(1);
+		withUsedEdge.addEdge(new LotEdge(secondEdge.getId()));
+		threw = false;
+		try{
+			graph.addNode(withUsedEdge);
+		}catch(LotGraphException e){
+			threw = true;
+		}
+		check(threw && graph.getNode("new node") == null && graph.getEdge(secondEdge.getId()) == secondEdge, "node with an edge with a used ID not added");
+
+		threw = false;
+		try{
+			second.addEdge(new LotEdge(secondEdge.getId()));
+		}catch(LotNodeException e){
+			threw = true;
+		}
+		check(threw && graph.getEdge(secondEdge.getId()) == secondEdge, "edge with a used ID not added to a node in the graph");
+
+		graph.removeNode(second);
+		check(graph.getNode(second.getId()) == null && graph.idIsUnique('n', second.getId()), "ID of a removed node is free");
+		second.setId("renamed node");
+		check(second.getId().equals("renamed node") && graph.getNode("renamed node") == first, "node out of the graph can take any ID");
+
+		for(int i = 0; i < 100; i++){
+			graph.createNode();
+		}
+		nodeIds.clear();
+		for(LotNode curNode : graph.getNodes()){
+			nodeIds.add(curNode.getId());
+		}
+		check(nodeIds.size() == graph.getNumNodes(), "ID's made after changes are still unique");
+
+		System.out.println("\nAll passed.");
+	}
+}
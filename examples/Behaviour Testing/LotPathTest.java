@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import botLot.lotGraph.*;
+
+/**
+ * Tests the edges given out by a LotPath, and that changes made through the path are seen in them.
+ *
+ * @author Greg Stewart
+ */
+public class LotPathTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	@SuppressWarnings("deprecation")
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot Path Test\n" + "Tests the view of the edges of a path\n");
+
+		//a line of 6 nodes, with edge metrics 1 to 5
+		LotGraph graph = new LotGraph();
+		LotNode[] nodes = new LotNode[6];
+		for(int i = 0; i < nodes.length; i++){
+			nodes[i] = graph.createNode();
+		}
+		LotEdge[] edges = new LotEdge[5];
+		for(int i = 0; i < edges.length; i++){
+			edges[i] = graph.createEdge(nodes[i]);
+			edges[i].setEndNode(nodes[i + 1]);
+			edges[i].setMetric(i + 1);
+		}
+
+		LotPath path = new LotPath();
+		List<LotEdge> pathEdges = path.getEdges();
+		check(pathEdges.isEmpty() && pathEdges == path.path, "view is empty, and the same as the old field");
+		for(LotEdge curEdge : edges){
+			path.append(curEdge);
+		}
+		check(pathEdges.equals(Arrays.asList(edges)) && path.getPathMetric() == 15, "view sees edges appended");
+
+		boolean threw = false;
+		try{
+			pathEdges.add(edges[0]);
+		}catch(UnsupportedOperationException e){
+			threw = true;
+		}
+		check(threw && path.size() == 5, "view can't be changed");
+
+		path.setPath(Arrays.asList(edges[1], edges[2]));
+		check(pathEdges.size() == 2 && pathEdges.get(0) == edges[1] && path.getPathMetric() == 5, "view sees the path set");
+		check(path.hasEdge(edges[2]) && !path.hasEdge(edges[0]), "hasEdge after setting the path");
+
+		LotPath copy = new LotPath(path);
+		copy.append(edges[3]);
+		check(path.size() == 2 && copy.size() == 3 && copy.hasEdge(edges[3]) && !path.hasEdge(edges[3]), "copy changed apart from the original");
+
+		LotPath rebuilt = new LotPath(new ArrayList<LotEdge>(copy.getEdges()));
+		check(rebuilt.equals(copy) && rebuilt.hashCode() == copy.hashCode() && rebuilt.getPathMetric() == copy.getPathMetric(), "path made from the edges of another is equal to it");
+
+		LotPath rest = copy.subPath(1);
+		check(rest.getEdges().equals(Arrays.asList(edges[2], edges[3])) && copy.size() == 3, "sub path leaves the original");
+
+		System.out.println("\nAll passed.");
+	}
+}
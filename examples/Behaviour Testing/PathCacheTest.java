@@ -0,0 +1,83 @@
+import java.util.ArrayList;
+import botLot.lotGraph.*;
+import botLot.pathFinding.*;
+
+/**
+ * Tests the path cache, with searches that find no path and searches done with random path gens.
+ *
+ * @author Greg Stewart
+ */
+public class PathCacheTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	/**
+	 * Makes a graph with more edges than nodes, so the shortest path algorithms are used. Every node goes to the next two, and the last back to the first.
+	 */
+	private static LotGraph makeDenseGraph(int numNodes) throws Exception {
+		LotGraph graph = new LotGraph();
+		for(int i = 0; i < numNodes; i++){
+			graph.createNode();
+		}
+		for(int i = 0; i < numNodes; i++){
+			for(int j = 1; j <= 2; j++){
+				LotEdge curEdge = graph.createEdge(graph.getNode(i));
+				curEdge.setEndNode(graph.getNode((i + j) % numNodes));
+				curEdge.setMetric(j == 1 ? 1 : 3);
+			}
+		}
+		return graph;
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot Path Cache Test\n" + "Tests what is and is not held by the path cache\n");
+
+		BotLotPFPathCache cache = new BotLotPFPathCache(16);
+		BotLotPF.pathCache = cache;
+
+		LotGraph graph = makeDenseGraph(10);
+		LotNode start = graph.getNode(0);
+		LotNode end = graph.getNode(5);
+		ArrayList<LotEdge> edgesToAvoid = new ArrayList<LotEdge>();
+
+		LotPath first = BotLotPF.getShortestPath(graph, start, end, edgesToAvoid);
+		LotPath second = BotLotPF.getShortestPath(graph, start, end, edgesToAvoid);
+		check(cache.size() == 1 && cache.getNumHits() == 1, "path held and given again");
+		check(first.getEdges().equals(second.getEdges()) && first != second, "path given again is an equal copy");
+		check(second.getPathMetric() == BotLotPF.getShortestPath(graph, start, end, new ArrayList<LotEdge>()).getPathMetric(), "path given again has the same metric");
+
+		graph.getNode(0).getEdges().get(0).setMetric(100);
+		LotPath afterChange = BotLotPF.getShortestPath(graph, start, end, edgesToAvoid);
+		check(afterChange.getPathMetric() < 100 && !afterChange.getEdges().contains(graph.getNode(0).getEdges().get(0)), "path held not given after the graph changes");
+
+		cache.clear();
+		LotPath toItself = BotLotPF.getShortestPath(graph, start, start, edgesToAvoid);
+		LotPath toItselfAgain = BotLotPF.getShortestPath(graph, start, start, edgesToAvoid);
+		check(toItself == null && toItselfAgain == null && cache.size() == 0, "nothing held for a path to the same node");
+
+		edgesToAvoid.addAll(start.getEdges());
+		check(BotLotPF.getShortestPath(graph, start, end, edgesToAvoid) == null, "no path when every edge out is avoided");
+		check(BotLotPF.getShortestPath(graph, start, end, edgesToAvoid) == null && cache.size() == 0, "nothing held when no path is found");
+
+		//a line of nodes has about as many nodes as edges, so random path gens are used
+		LotGraph line = new LotGraph();
+		LotNode lineStart = line.createNode();
+		LotNode lineCur = lineStart;
+		for(int i = 0; i < 5; i++){
+			LotNode lineNext = line.createNode();
+			line.createEdge(lineCur).setEndNode(lineNext);
+			lineCur = lineNext;
+		}
+		LotPath linePath = BotLotPF.getShortestPath(line, lineStart, lineCur, new ArrayList<LotEdge>());
+		check(linePath.size() == 5 && cache.size() == 0, "random path gens are not held");
+
+		BotLotPF.pathCache = null;
+		System.out.println("\nAll passed.");
+	}
+}
@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import botLot.lotGraph.*;
+import botLot.pathFinding.*;
+import botLot.pathFinding.Algorithms.*;
+
+/**
+ * Tests the reachability searches on a graph with edges going to nodes not in the graph, and edges with no end node.
+ *
+ * @author Greg Stewart
+ */
+public class ReachabilityTest {
+
+	private static void check(boolean passed, String testName){
+		if(!passed){
+			System.out.println("FAILED: " + testName);
+			System.exit(1);
+		}
+		System.out.println("Passed: " + testName);
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("\nBotLot Reachability Test\n" + "Tests searches over edges to nodes outside the graph\n");
+
+		//n1 -> n2 -> n3, with n1 and n2 also having edges out of the graph, and n1 one with no end node
+		LotGraph graph = new LotGraph();
+		LotNode n1 = graph.createNode();
+		LotNode n2 = graph.createNode();
+		LotNode n3 = graph.createNode();
+		LotNode outside = new LotNode("outside");
+		graph.createEdge(n1).setEndNode(n2);
+		graph.createEdge(n2).setEndNode(n3);
+		graph.createEdge(n1).setEndNode(outside);
+		graph.createEdge(n2).setEndNode(outside);
+		graph.createEdge(n1);
+		ArrayList<LotEdge> edgesToAvoid = new ArrayList<LotEdge>();
+
+		check(BotLotPFWorkers.hasPath(graph, n1, n3, edgesToAvoid), "hasPath with edges to outside nodes");
+		check(!BotLotPFWorkers.hasPath(graph, n3, n1, edgesToAvoid), "no path backwards");
+		check(new BotLotPFReachability(graph, edgesToAvoid).getTrapEdges(n1, n3).isEmpty(), "edges to outside nodes are not trap edges");
+		check(new BotLotPFReachability(graph, edgesToAvoid).getNodesReaching(n3).cardinality() == 3, "nodes reaching the end");
+		check(new BotLotPFReachability(graph, edgesToAvoid).getNodesReachable(n1).cardinality() == 3, "nodes reachable from the start");
+		check(BotLotPFWorkers.getTrapEdges(graph, n1, n3).isEmpty(), "trap edges through the workers");
+
+		LotPath randomPath = new BotLotPFRandom(graph, n1, n3, edgesToAvoid).findPath();
+		check(randomPath.size() == 2 && randomPath.getEndNode() == n3, "random path never goes out of the graph");
+
+		System.out.println("\nAll passed.");
+	}
+}
@@ -0,0 +1,9 @@
+#!/bin/sh
+# Compiles the BotLot sources and the behaviour tests, then runs each test. Stops at the first one to fail.
+
+mkdir -p classes
+javac -d classes $(find ../../src/botLot -name "*.java") *.java || exit 1
+
+for curTest in ReachabilityTest PathCacheTest LotPathTest EngineEquivalenceTest IdUniquenessTest BotLotCursorTest; do
+	java -cp classes $curTest || exit 1
+done
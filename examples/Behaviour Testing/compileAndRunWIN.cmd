@@ -0,0 +1,11 @@
+@ECHO OFF
+REM		Compiles the BotLot sources and the behaviour tests, then runs each test. Stops at the first one to fail.
+REM		IF IT FAILS TO COMPILE, ensure to have the JDK configured for command line:
+REM			set path=%path%;C:\Program Files\Java\jdk1.*.***\bin  <-set the appropriate jdk folder
+
+if not exist classes mkdir classes
+dir /s /b ..\..\src\botLot\*.java > sources.txt
+javac -d classes @sources.txt *.java || exit /b 1
+del sources.txt
+
+for %%t in (ReachabilityTest PathCacheTest LotPathTest EngineEquivalenceTest IdUniquenessTest BotLotCursorTest) do java -classpath classes %%t || exit /b 1
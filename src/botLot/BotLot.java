@@ -27,8 +27,10 @@ public class BotLot{
 	private LotNode curNode;
 	/** The node we are currently trying to get to. Required to be set for any path finding operations. */
 	private LotNode destNode;
-	/** The current path to the node we are trying to get to.*/
+	/** The current path to the node we are trying to get to. Edges before {@link #curPathIndex} have already been gone through.*/
 	private LotPath curPath;
+	/** How far we have gone through {@link #curPath}; the index of the next edge to go down. Lets us move through the path without changing or copying it every step. */
+	private int curPathIndex = 0;
 	
     //=========================================================================
     //    Constructors
@@ -41,11 +43,24 @@ public class BotLot{
 	 * @param lotIn	The other BotLot object.
 	 */
 	public BotLot(BotLot lotIn){
-		this();
-		this.mainGraph = new LotGraph(lotIn.mainGraph);
-		//just set the node, we know that it is valid from the nature of the object
-		this.curNode = new LotNode(lotIn.getCurNode());
-		this.curPath = new LotPath(lotIn.getCurPath());
+		this(new LotGraph(lotIn.mainGraph));
+		//the graph is a copy, so point to the copies of the nodes and edges. We know they are there from the nature of the object
+		if(lotIn.hasCurNode()){
+			this.curNode = this.mainGraph.getNode(lotIn.getCurNode().getId());
+		}
+		if(lotIn.hasDestNode()){
+			this.destNode = this.mainGraph.getNode(lotIn.getDestNode().getId());
+		}
+		ArrayList<LotEdge> pathEdges = new ArrayList<LotEdge>();
+		for(LotEdge curEdge : lotIn.getCurPath().getEdges()){
+			pathEdges.add(this.mainGraph.getEdge(curEdge.getId()));
+		}
+		try{
+			this.curPath.setPath(pathEdges);
+		}catch(LotPathException e){
+			System.out.println("FATAL ERR- BotLot(BotLot)- This should not happen. Error: " + e.getMessage());
+			System.exit(1);
+		}
 	}//BotLot(BotLot)
 	
 	/**
@@ -168,6 +183,22 @@ public class BotLot{
 		return this;
 	}//setCurNode(int)
 	
+	/**
+	 * Sets {@link #curNode} to the node with the handle given ({@link LotNode#getHandle()}).
+	 * 
+	 * @param nodeHandleIn	The handle of the node.
+	 * @return	This BotLot.
+	 * @throws BotLotException	If the handle does not point to a node.
+	 */
+	public BotLot setCurNodeByHandle(int nodeHandleIn) throws BotLotException{
+		try{
+			this.curNode = this.mainGraph.getNodeByHandle(nodeHandleIn);
+		}catch(LotGraphException err){
+			throw new BotLotException("setCurNodeByHandle(int)- Node not found within graph data.");
+		}
+		return this;
+	}//setCurNodeByHandle(int)
+	
 	/**
 	 * Clears the current node.
 	 * @return	This BotLot.
@@ -242,6 +273,22 @@ public class BotLot{
 		return this;
 	}//setDestNode(int)
 	
+	/**
+	 * Sets {@link #destNode} to the node with the handle given ({@link LotNode#getHandle()}).
+	 * 
+	 * @param nodeHandleIn	The handle of the destination node.
+	 * @return	This BotLot.
+	 * @throws BotLotException	If the handle does not point to a node.
+	 */
+	public BotLot setDestNodeByHandle(int nodeHandleIn) throws BotLotException{
+		try{
+			this.destNode = this.mainGraph.getNodeByHandle(nodeHandleIn);
+		}catch(LotGraphException err){
+			throw new BotLotException("setDestNodeByHandle(int)- Node not found within graph data.");
+		}
+		return this;
+	}//setDestNodeByHandle(int)
+	
 	/**
 	 * Clears {@link #destNode}.
 	 * @return	This BotLot.
@@ -452,6 +499,8 @@ public class BotLot{
 	
 	/**
 	 * Sets {@link #curPath}. Also checks that path to ensure it is valid.
+	 * <p>
+	 * The path given is held, not copied, but is never changed by this object; moving through it only moves past its edges ({@link #curPathIndex}).
 	 * 
 	 * @param pathIn	The path to set to.
 	 * @return	This BotLot.
@@ -459,6 +508,7 @@ public class BotLot{
 	 */
 	public BotLot setCurPath(LotPath pathIn) throws BotLotException{
 		this.curPath = pathIn;
+		this.curPathIndex = 0;
 		if(!this.curPathIsValid()){
 			this.clearCurPath();
 			throw new BotLotException("Path given is not valid; is not continuous for this data.");
@@ -538,6 +588,25 @@ public class BotLot{
 		return this;
 	}//movedDownEdge(String)
 	
+	/**
+	 * Acknowledges that we have moved down the edge with the handle given ({@link LotEdge#getHandle()}).
+	 * <p>
+	 * CLEARS THE CURRENT PATH because the path would no longer be valid.
+	 * 
+	 * @param edgeMovedDownHandle	The handle of the edge moved down.
+	 * @return	This BotLot.
+	 * @throws BotLotException If the handle does not point to an edge, or the current node does not have the edge.
+	 */
+	public BotLot movedDownEdgeByHandle(int edgeMovedDownHandle) throws BotLotException{
+		LotEdge edgeMovedDown = null;
+		try{
+			edgeMovedDown = this.mainGraph.getEdgeByHandle(edgeMovedDownHandle);
+		}catch(LotGraphException err){
+			throw new BotLotException("movedDownEdgeByHandle(int)- Edge not found within graph data.");
+		}
+		return this.movedDownEdge(edgeMovedDown);
+	}//movedDownEdgeByHandle(int)
+	
 	/**
 	 * Moves {@link #curNode} through one edge.
 	 * 
@@ -545,17 +614,16 @@ public class BotLot{
 	 * @throws BotLotException	If the path is empty.
 	 */
 	public BotLot movedThroughPath() throws BotLotException{
-		if(!this.getCurPath().path.isEmpty()){
+		if(this.hasPath()){
+			LotEdge nextEdge = this.curPath.getEdge(this.curPathIndex);
 			try{
-				//hold the current path, to have it for use after we move
-				LotPath tempPath = new LotPath(this.getCurPath());
-				this.movedDownEdge(tempPath.path.removeFirst());
-				//System.out.println("Moved down edge fine");
-				this.curPath = tempPath;
-			}catch(BotLotException e){
+				this.curNode = this.mainGraph.getOtherNode(this.getCurNode(), nextEdge);
+			}catch(LotGraphException e){
 				System.out.println("FATAL ERR- movedThroughPath(). This should not happen. Error: " + e.getMessage());
 				System.exit(1);
 			}
+			//move past the edge, rather than taking it out of the path
+			this.curPathIndex++;
 		}else{
 			throw new BotLotException("Current path is empty or reached end of current path.");
 		}
@@ -570,7 +638,7 @@ public class BotLot{
 	 * @throws BotLotException	If something went wrong.
 	 */
 	public BotLot movedThroughPath(int numSteps) throws BotLotException{
-		if(!this.getCurPath().path.isEmpty()){
+		if(this.hasPath()){
 			for(int i = 1; i <= numSteps; i++){
 				//System.out.println("Moving down path, " + i);
 				try{
@@ -596,7 +664,7 @@ public class BotLot{
 	public BotLot movedToEndOfPath() throws BotLotException{
 		if(this.hasPath()){
 			try{
-				this.movedThroughPath(this.getCurPath().size());
+				this.movedThroughPath(this.getNumEdgesLeft());
 				this.clearDestNode();
 			}catch(BotLotException e){
 				if(e.getMessage().equals("Reached end of path early.")){
@@ -618,6 +686,7 @@ public class BotLot{
 	 */
 	public BotLot clearCurPath(){
 		this.curPath = new LotPath();
+		this.curPathIndex = 0;
 		return this;
 	}//clearCurPath()
 	
@@ -787,14 +856,31 @@ public class BotLot{
 	}//graphHasDestNode()
 	
 	/**
-	 * Gets {@link #curPath}.
+	 * Gets the rest of {@link #curPath} to go through.
+	 * <p>
+	 * Does not change the path held. If none of it has been gone through, gives {@link #curPath} itself. Otherwise gives a new path of the edges left ({@link LotPath#subPath(int)}).
 	 * 
-	 * @return	{@link #curPath}.
+	 * @return	The rest of {@link #curPath}.
 	 */
 	public LotPath getCurPath(){
+		if(this.curPathIndex > 0){
+			return this.curPath.subPath(Math.min(this.curPathIndex, this.curPath.size()));
+		}
 		return this.curPath;
 	}//getCurPath()
 	
+	/**
+	 * Gets the number of edges left to go through in {@link #curPath}.
+	 * 
+	 * @return	The number of edges left in the path. 0 if no path.
+	 */
+	public int getNumEdgesLeft(){
+		if(this.curPath == null){
+			return 0;
+		}
+		return Math.max(this.curPath.size() - this.curPathIndex, 0);
+	}//getNumEdgesLeft()
+	
 	/**
 	 * Checks the continuity of {@link #curPath}, and if it matches up with where we are, and where we want to go.
 	 * <p>
@@ -808,9 +894,9 @@ public class BotLot{
 			System.out.println("No path set.");
 			return false;
 		}
-		//if it is continuous or not
+		//if it is continuous or not. Only the rest of the path, so it needn't be copied out
 		try {
-			return BotLotPFWorkers.pathIsValid(this);
+			return BotLotPFWorkers.pathIsValid(this.curPath, this.curPathIndex, this.mainGraph, this.getCurNode(), this.getDestNode(), new ArrayList<LotEdge>());
 		} catch (BotLotPFException e) {
 			e.printStackTrace();
 			System.out.println("FATAL ERROR- curPathIsValid()- this should not happen. Error: " + e.getMessage());
@@ -826,7 +912,7 @@ public class BotLot{
 	 */
 	public LotEdge getNextEdge(){
 		if(this.hasPath()){
-			this.getCurPath().path.get(0);
+			return this.curPath.getEdge(this.curPathIndex);
 		}
 		return null;
 	}//getNextEdge()
@@ -839,7 +925,7 @@ public class BotLot{
 	 * @return	If we have a path.
 	 */
 	public boolean hasPath(){
-		if((this.getCurPath() != new LotPath()) && (this.getCurPath() != null) && this.getCurPath().size() > 0){
+		if(this.getNumEdgesLeft() > 0){
 			return true;
 		}
 		return false;
@@ -938,6 +1024,21 @@ public class BotLot{
 		return this;
 	}//calcNewPath(int)
 	
+	/**
+	 * Calculates a new path to the node with the handle given ({@link LotNode#getHandle()}) using the functions in the BotLotWorkers class.
+	 * <p>
+	 * Automatically sets {@link #destNode}.
+	 * 
+	 * @param destNodeHandle	The handle of the destination node.
+	 * @return	This BotLot.
+	 * @throws BotLotException	If the handle does not point to a node, or something goes wrong with the generation.
+	 */
+	public BotLot calcNewPathByHandle(int destNodeHandle) throws BotLotException{
+		this.setDestNodeByHandle(destNodeHandle);
+		this.setCurPath(this.calcNewPathGivePath());
+		return this;
+	}//calcNewPathByHandle(int)
+	
 	/**
 	 * Determines if the graph is 'ready', meaning that it is populated enough to work.
 	 * <p>
@@ -965,33 +1066,16 @@ public class BotLot{
 	
 	/**
 	 * Returns the closest node that is not complete. Null if it is complete.
-	 * @return The closest node that is not complete. Null if it is complete.
+	 * <p>
+	 * Found in a single search out from the current node ({@link BotLotPF#getClosestIncompleteNode(BotLot)}). The current node is not counted, even if it is not complete; we are already at it, and setting it as the destination ({@link #setClosestNotCompleteNode()}) would give no path to go down. This was never given before either, as finding the path from the current node to itself did not give one.
+	 * 
+	 * @return The closest node that is not complete. Null if it is complete, or none can be reached.
 	 */
 	public LotNode getClosestNotCompleteNode(){
 		if(!this.mainGraph.graphIsComplete()){
-			try{
-				LotNode destNodeHolder = this.getDestNode();
-				ArrayList<LotNode> incompleteNodes = this.mainGraph.getIncompleteNodes();
-			
-				LotNode curClosestNode = null;
-				LotPath tempPath = null;
-				double curLowestMetric = Double.POSITIVE_INFINITY;
-				for(LotNode curNode : incompleteNodes){
-					this.setDestNode(curNode);
-					tempPath = this.calcNewPathGivePath();
-					if(tempPath.getPathMetric() < curLowestMetric){
-						curClosestNode = curNode;
-						curLowestMetric = tempPath.getPathMetric();
-					}
-				}
-				this.setDestNode(destNodeHolder);
-				return curClosestNode;
-			}catch(BotLotException e){
-				System.out.println("FATAL ERR- getClosestNotCompleteNode(). You should not get this. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			return BotLotPF.getClosestIncompleteNode(this);
 		}
-		return null;//to make errors go away
+		return null;
 	}//getClosestNotCompleteNode()
 	
 	/**
@@ -1072,10 +1156,46 @@ public class BotLot{
 		return this.getConnectedNodeEdgeRatio(new ArrayList<LotEdge>());
 	}
 	
+	/**
+	 * Gets the String form of the rest of {@link #curPath}, the same as {@link LotPath#toString()} would give for {@link #getCurPath()}, without making a new path for it.
+	 * 
+	 * @return	The rest of the current path as a String. "null" if there is no path.
+	 */
+	private String curPathString(){
+		if(this.curPath == null){
+			return "null";
+		}
+		int fromIndex = Math.min(this.curPathIndex, this.curPath.size());
+		int numEdgesLeft = this.curPath.size() - fromIndex;
+		//summed in order from the first edge left, as a new path of them would, so copies give the same String
+		double metricLeft = 0;
+		for(int i = fromIndex; i < this.curPath.size(); i++){
+			metricLeft += this.curPath.getEdge(i).getMetric();
+		}
+		return "LotPath [metric=" + metricLeft + ", numEdges=" + numEdgesLeft + ", edge/metric ratio=" + (numEdgesLeft / metricLeft) + ", path=" + this.curPath.getEdges().subList(fromIndex, this.curPath.size()) + " ]";
+	}//curPathString()
+	
+	/**
+	 * Gets the hash code of the rest of {@link #curPath}, the same as {@link LotPath#hashCode()} would give for {@link #getCurPath()}, without making a new path for it.
+	 * 
+	 * @return	The hash code of the rest of the current path. 0 if there is no path.
+	 */
+	private int curPathHashCode(){
+		if(this.curPath == null){
+			return 0;
+		}
+		int edgesHash = 1;
+		for(int i = this.curPathIndex; i < this.curPath.size(); i++){
+			LotEdge curEdge = this.curPath.getEdge(i);
+			edgesHash = 31 * edgesHash + (curEdge == null ? 0 : curEdge.hashCode());
+		}
+		return 31 + edgesHash;
+	}//curPathHashCode()
+	
 	@Override
 	public String toString() {
 		return "BotLot [mainGraph=" + mainGraph + ", curNode=" + curNode.getId() + ", destNode=" + destNode.getId() + ", curPath="
-				+ curPath + "]";
+				+ this.curPathString() + "]";
 	}
 
 	@Override
@@ -1083,7 +1203,7 @@ public class BotLot{
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((curNode == null) ? 0 : curNode.hashCode());
-		result = prime * result + ((curPath == null) ? 0 : curPath.hashCode());
+		result = prime * result + this.curPathHashCode();
 		result = prime * result + ((mainGraph == null) ? 0 : mainGraph.hashCode());
 		return result;
 	}
@@ -253,9 +253,8 @@ public class BotLotDS {
 	        Element curNode = (Element)rootElement.getFirstChild();
 	        System.out.println("------ NAME OF NODE ELEMENT:" + curNode.getNodeName());
 	        while(curNode != null){
-	        	LotNode newNode = new LotNode();
-				//get ID
-				newNode.setId(curNode.getAttribute("id"));
+	        	//get ID
+				LotNode newNode = new LotNode(curNode.getAttribute("id"));
 				//get numEdges
 				newNode.setActNumEdges(Integer.parseInt(curNode.getAttribute("numEdges")));
 				//get rest of attributes
@@ -278,9 +277,8 @@ public class BotLotDS {
 	        	NodeList edges = curNode.getChildNodes();
 	        	for(int i = 0; i < edges.getLength(); i++){
 	        		Element curEdge = (Element)edges.item(i);
-	        		LotEdge newEdge = new LotEdge();
-					//get ID
-					newEdge.setId(curEdge.getAttribute("id"));
+	        		//get ID
+					LotEdge newEdge = new LotEdge(curEdge.getAttribute("id"));
 					//get numEdges
 					newEdge.setMetric(Double.parseDouble(curEdge.getAttribute("metric")));
 					//get end node
@@ -300,6 +298,7 @@ public class BotLotDS {
 	        	System.out.println("Got all edges for " + curNode.getAttribute("id"));
 	        	curNode = (Element)curNode.getNextSibling();
 	        }
+	        BotLotDataSource.loadLandmarkIndex(graphOut, this.pathLogin);
 	        return graphOut;
 	    } catch (SAXException e) {
 	    	throw new BotLotDSException("" + e.getMessage());
@@ -419,6 +418,7 @@ public class BotLotDS {
 		}catch(Exception e){
 			throw new BotLotDSException("Unable to create XML file- " + e.getClass() + " - " + e.getMessage());
 		}
+		BotLotDataSource.saveLandmarkIndex(lotIn, this.pathLogin);
 	}//saveDataToXML(LotGraph)
 	
 	/**
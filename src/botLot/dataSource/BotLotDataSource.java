@@ -1,5 +1,11 @@
 package botLot.dataSource;
 
+import java.io.File;
+
+import botLot.lotGraph.LotGraph;
+import botLot.pathFinding.Algorithms.BotLotPFAlgException;
+import botLot.pathFinding.Algorithms.BotLotPFLandmarkIndex;
+
 /**
  * Abstract class for the different data source objects for BotLot.
  * <p>
@@ -19,4 +25,44 @@ public abstract class BotLotDataSource {
 		
 	}
 	
+	/**
+	 * Loads the landmark index saved next to a map file, if there is one, and attaches it to the graph read from the file ({@link BotLotPFLandmarkIndex#load(LotGraph, String)}).
+	 * <p>
+	 * An index that can't be loaded (out of date format, cut short, corrupt) does not stop the graph from being gotten; the problem is logged, and a new index is built and attached in its place. It is saved over the bad one when the graph is next saved.
+	 * 
+	 * @param graphIn	The graph read from the map file.
+	 * @param mapFileLocIn	The location of the map file.
+	 */
+	static void loadLandmarkIndex(LotGraph graphIn, String mapFileLocIn){
+		if(!new File(BotLotPFLandmarkIndex.getFileLocation(mapFileLocIn)).isFile()){
+			return;
+		}
+		try{
+			BotLotPFLandmarkIndex.load(graphIn, mapFileLocIn);
+		}catch(BotLotPFAlgException e){
+			System.out.println("WARN- loadLandmarkIndex(LotGraph, String)- Unable to load landmark index saved with graph, rebuilding it. Error: " + e.getMessage());
+			graphIn.attachIndex(BotLotPFLandmarkIndex.INDEX_KEY, null);
+			BotLotPFLandmarkIndex.getIndex(graphIn);
+		}
+	}//loadLandmarkIndex(LotGraph, String)
+	
+	/**
+	 * Saves the landmark index attached to a graph, if there is one, next to the map file the graph was saved to ({@link BotLotPFLandmarkIndex#save(String)}).
+	 * 
+	 * @param graphIn	The graph saved.
+	 * @param mapFileLocIn	The location of the map file.
+	 * @throws BotLotDSException	If there is an index, but it could not be saved.
+	 */
+	static void saveLandmarkIndex(LotGraph graphIn, String mapFileLocIn) throws BotLotDSException{
+		BotLotPFLandmarkIndex index = BotLotPFLandmarkIndex.getAttachedIndex(graphIn);
+		if(index == null){
+			return;
+		}
+		try{
+			index.save(mapFileLocIn);
+		}catch(BotLotPFAlgException e){
+			throw new BotLotDSException("Unable to save landmark index with graph. Inner error: " + e.getMessage());
+		}
+	}//saveLandmarkIndex(LotGraph, String)
+	
 }//abstract class BotLotDataSource
@@ -0,0 +1,133 @@
+package botLot.dataSource;
+
+import botLot.BotLot;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotGraphException;
+import botLot.lotGraph.LotMappedGraph;
+
+/**
+ * Class to save LotGraph data to a memory mapped file ({@link LotMappedGraph}).
+ * <p>
+ * For maps too large to hold as XML, or as node and edge objects. {@link #getMappedGraph()} maps the file without reading it in, and the mapped graph can be searched as is ({@link botLot.pathFinding.BotLotPF#getShortestPath(LotMappedGraph, String, String)}).
+ * <p>
+ * As the point is to not have the graph on the heap, {@link #getGraph()} and {@link #getBotLot()} don't read one in, and throw instead. To get a normal graph anyway, make it explicitly with {@link LotMappedGraph#toLotGraph()}.
+ * <p>
+ * Only the graph is kept in the file. BotLot data is saved as just its graph, and no landmark index is kept ({@link botLot.pathFinding.Algorithms.BotLotPFLandmarkIndex}), as mapped graphs aren't searched with one.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotMappedDS extends BotLotDataSource implements BotLotDataSourceInterface {
+
+	/** Where the mapped file to store/retrieve data from is. */
+	private String dataFileLoc = "";
+
+	/**
+	 * Constructor to take in a mapped file location.
+	 * @param fileLocationIn	The file location to set.
+	 */
+	public BotLotMappedDS(String fileLocationIn){
+		this();
+		this.setFileLocation(fileLocationIn);
+	}
+
+	/**
+	 * Empty constructor.
+	 */
+	public BotLotMappedDS() {
+		super();
+	}
+
+	@Override
+	public boolean ready() {
+		return BotLotXMLDS.checkFileLocation(this.getFileLocation(), true);
+	}
+
+	/**
+	 * Determines if the object is ready to save or not.
+	 * @return	If the object is ready to save or not.
+	 */
+	public boolean readyToSave(){
+		return BotLotXMLDS.checkFileLocation(this.getFileLocation(), false);
+	}
+
+	/**
+	 * Maps the graph data saved, without reading it in.
+	 * @return	The graph data saved, read only.
+	 * @throws BotLotDSException	If the file could not be mapped.
+	 */
+	public LotMappedGraph getMappedGraph() throws BotLotDSException {
+		if(!this.ready()){
+			throw new BotLotDSException("Mapped data source not ready to get data.");
+		}
+		try{
+			return LotMappedGraph.open(this.getFileLocation());
+		}catch(LotGraphException e){
+			throw new BotLotDSException("Unable to map graph file. Inner error: " + e.getMessage());
+		}
+	}//getMappedGraph()
+
+	/**
+	 * Not supported; mapped graphs are not read onto the heap by the data source. Use {@link #getMappedGraph()}, and {@link LotMappedGraph#toLotGraph()} if a normal graph is really needed.
+	 * @throws BotLotDSException	Always.
+	 */
+	@Override
+	public LotGraph getGraph() throws BotLotDSException {
+		throw new BotLotDSException("Mapped data source does not read graphs onto the heap. Use getMappedGraph(), and toLotGraph() on it if a normal graph is needed.");
+	}//getGraph()
+
+	/**
+	 * Not supported; mapped graphs are not read onto the heap by the data source. Use {@link #getMappedGraph()}.
+	 * @throws BotLotDSException	Always.
+	 */
+	@Override
+	public BotLot getBotLot() throws BotLotDSException {
+		throw new BotLotDSException("Mapped data source does not read BotLot data onto the heap. Use getMappedGraph(), and toLotGraph() on it if a normal graph is needed.");
+	}//getBotLot()
+
+	@Override
+	public void saveGraph(LotGraph graphIn) throws BotLotDSException {
+		if(!this.readyToSave()){
+			throw new BotLotDSException("Mapped data source not ready to save.");
+		}
+		try{
+			LotMappedGraph.write(graphIn, this.getFileLocation());
+		}catch(LotGraphException e){
+			throw new BotLotDSException("Unable to save mapped graph file. Inner error: " + e.getMessage());
+		}
+	}//saveGraph(LotGraph)
+
+	@Override
+	public void saveBotLot(BotLot lotIn) throws BotLotDSException {
+		this.saveGraph(lotIn.mainGraph);
+	}//saveBotLot(BotLot)
+
+	@Override
+	public boolean sourceHasData() {
+		try {
+			return this.getMappedGraph().getNumNodes() > 0;
+		} catch (BotLotDSException e) {
+
+		}
+		return false;
+	}//sourceHasData
+
+	/**
+	 * Sets the location of the mapped file to use.
+	 * @param fileLocationIn	The new file location.
+	 */
+	public void setFileLocation(String fileLocationIn){
+		this.dataFileLoc = fileLocationIn;
+	}
+
+	/**
+	 * Gets the mapped file location set.
+	 * @return	The mapped file location set.
+	 */
+	public String getFileLocation(){
+		return this.dataFileLoc;
+	}
+
+}//class BotLotMappedDS extends BotLotDataSource implements BotLotDataSourceInterface
@@ -110,9 +110,8 @@ public class BotLotXMLDS extends BotLotDataSource implements BotLotDataSourceInt
 					continue;
 				}
 				
-				LotNode newNode = new LotNode();
 				//get ID
-				newNode.setId(curNode.getAttribute("id"));
+				LotNode newNode = new LotNode(curNode.getAttribute("id"));
 				//get numEdges
 				newNode.setActNumEdges(Integer.parseInt(curNode.getAttribute("numEdges")));
 				//get rest of attributes
@@ -139,9 +138,8 @@ public class BotLotXMLDS extends BotLotDataSource implements BotLotDataSourceInt
 				NodeList edges = curNode.getChildNodes();
 				for(int i = 0; i < edges.getLength(); i++){
 					Element curEdge = (Element)edges.item(i);
-					LotEdge newEdge = new LotEdge();
 					//get ID
-					newEdge.setId(curEdge.getAttribute("id"));
+					LotEdge newEdge = new LotEdge(curEdge.getAttribute("id"));
 					//get numEdges
 					newEdge.setMetric(Double.parseDouble(curEdge.getAttribute("metric")));
 					//get end node
@@ -175,6 +173,7 @@ public class BotLotXMLDS extends BotLotDataSource implements BotLotDataSourceInt
 				break;
 			}
 			
+			loadLandmarkIndex(graphOut, this.getFileLocation());
 			return graphOut;
 		} catch (SAXException e) {
 			throw new BotLotDSException("" + e.getMessage());
@@ -343,7 +342,7 @@ public class BotLotXMLDS extends BotLotDataSource implements BotLotDataSourceInt
 				}
 				rootElement.appendChild(path);
 				
-				for(LotEdge curEdge : lotIn.getCurPath().path){
+				for(LotEdge curEdge : lotIn.getCurPath().getEdges()){
 					Element newEdge = doc.createElement("pathStep");
 					newEdge.setAttribute("id", curEdge.getId());
 					path.appendChild(newEdge);
@@ -361,6 +360,7 @@ public class BotLotXMLDS extends BotLotDataSource implements BotLotDataSourceInt
 		}catch(Exception e){
 			throw new BotLotDSException("Unable to create XML file- " + e.getClass() + " - " + e.getMessage());
 		}
+		saveLandmarkIndex(graphToSave, this.getFileLocation());
 	}//saveBotLot(BotLot)
 
 	@Override
@@ -0,0 +1,243 @@
+package botLot.lotGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Index of the nodes or edges of a graph by the values of certain attributes (attribute key -&gt; value -&gt; the nodes/edges with it).
+ * <p>
+ * Only keys asked for are indexed. The graph holding this tells it when a node or edge with an indexed attribute is added, removed, or has the attribute changed, so that getting the nodes/edges with an attribute costs only the number found, rather than going over the whole graph.
+ * <p>
+ * What is found is given in the order it is in the graph (its index in the graph's node or edge list), the same as going over the graph would give; sorting costs O(k log k) for k things found.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ * @param <T>	The type of thing being indexed ({@link LotNode} or {@link LotEdge}).
+ */
+final class LotAttIndex<T> {
+	/** The things indexed, by the indexed attribute keys, then by the value of the attribute. Values with nothing left under them are taken out. */
+	private final HashMap<String, HashMap<String, HashSet<T>>> index;
+	/** If asking for a null value gets everything with the key, no matter the value. Otherwise, asking for a null value gets nothing. Set to match the hasAtt(String, String) of what is indexed. */
+	private final boolean nullMatchesAny;
+	/** Puts things in the order they are in the graph. */
+	private final Comparator<T> graphOrder = new Comparator<T>(){
+		@Override
+		public int compare(T thing1, T thing2){
+			return Integer.compare(graphIndexOf(thing1), graphIndexOf(thing2));
+		}
+	};
+
+	/**
+	 * Constructor to make an empty index, with no keys indexed.
+	 *
+	 * @param nullMatchesAnyIn	If asking for a null value gets everything with the key ({@link LotNode#hasAtt(String, String)}), or nothing ({@link LotEdge#hasAtt(String, String)}).
+	 */
+	LotAttIndex(boolean nullMatchesAnyIn){
+		this.index = new HashMap<String, HashMap<String, HashSet<T>>>();
+		this.nullMatchesAny = nullMatchesAnyIn;
+	}//LotAttIndex(boolean)
+
+	/**
+	 * Gets the index of a node or edge in the graph's node or edge list.
+	 *
+	 * @param thingIn	The node or edge.
+	 * @return	The index of the node or edge in the graph.
+	 */
+	private static int graphIndexOf(Object thingIn){
+		if(thingIn instanceof LotNode){
+			return ((LotNode)thingIn).getGraphIndex();
+		}
+		return ((LotEdge)thingIn).getGraphIndex();
+	}//graphIndexOf(Object)
+
+	/**
+	 * Gets whichever of the things given is first in the graph.
+	 *
+	 * @param thingsIn	The things to pick from.
+	 * @return	The thing first in the graph. Null if none given.
+	 */
+	private T firstInGraph(Iterable<T> thingsIn){
+		T first = null;
+		for(T curThing : thingsIn){
+			if(first == null || graphIndexOf(curThing) < graphIndexOf(first)){
+				first = curThing;
+			}
+		}
+		return first;
+	}//firstInGraph(Iterable<T>)
+
+	/**
+	 * Determines if an attribute key is indexed.
+	 *
+	 * @param keyIn	The attribute key.
+	 * @return	If the key is indexed.
+	 */
+	boolean isIndexed(String keyIn){
+		return this.index.containsKey(keyIn);
+	}//isIndexed(String)
+
+	/**
+	 * Determines if there are any keys indexed.
+	 *
+	 * @return	If any key is indexed.
+	 */
+	boolean isEmpty(){
+		return this.index.isEmpty();
+	}//isEmpty()
+
+	/**
+	 * Gets the attribute keys indexed.
+	 *
+	 * @return	The keys indexed. Do not change.
+	 */
+	Set<String> getKeys(){
+		return this.index.keySet();
+	}//getKeys()
+
+	/**
+	 * Starts indexing a key. Nothing is put under it; the graph adds what it has with the key after.
+	 *
+	 * @param keyIn	The attribute key to index.
+	 * @return	If the key was not indexed before.
+	 */
+	boolean addKey(String keyIn){
+		if(this.index.containsKey(keyIn)){
+			return false;
+		}
+		this.index.put(keyIn, new HashMap<String, HashSet<T>>());
+		return true;
+	}//addKey(String)
+
+	/**
+	 * Stops indexing a key, dropping everything under it.
+	 *
+	 * @param keyIn	The attribute key to stop indexing.
+	 */
+	void removeKey(String keyIn){
+		this.index.remove(keyIn);
+	}//removeKey(String)
+
+	/**
+	 * Adds something under an attribute. Ignored if the key is not indexed.
+	 *
+	 * @param thingIn	The node/edge with the attribute.
+	 * @param keyIn	The attribute key.
+	 * @param valIn	The value of the attribute.
+	 */
+	void add(T thingIn, String keyIn, String valIn){
+		HashMap<String, HashSet<T>> valMap = this.index.get(keyIn);
+		if(valMap == null){
+			return;
+		}
+		HashSet<T> things = valMap.get(valIn);
+		if(things == null){
+			things = new HashSet<T>();
+			valMap.put(valIn, things);
+		}
+		things.add(thingIn);
+	}//add(T, String, String)
+
+	/**
+	 * Removes something from under an attribute. Ignored if the key is not indexed.
+	 *
+	 * @param thingIn	The node/edge with the attribute.
+	 * @param keyIn	The attribute key.
+	 * @param valIn	The value of the attribute it was added under.
+	 */
+	void remove(T thingIn, String keyIn, String valIn){
+		HashMap<String, HashSet<T>> valMap = this.index.get(keyIn);
+		if(valMap == null){
+			return;
+		}
+		HashSet<T> things = valMap.get(valIn);
+		if(things != null){
+			things.remove(thingIn);
+			if(things.isEmpty()){
+				valMap.remove(valIn);
+			}
+		}
+	}//remove(T, String, String)
+
+	/**
+	 * Gets everything with an attribute, no matter the value. Only to be used on indexed keys.
+	 *
+	 * @param keyIn	The attribute key.
+	 * @return	A new list of everything with the attribute, in the order it is in the graph.
+	 */
+	ArrayList<T> get(String keyIn){
+		HashMap<String, HashSet<T>> valMap = this.index.get(keyIn);
+		int numThings = 0;
+		for(HashSet<T> things : valMap.values()){
+			numThings += things.size();
+		}
+		ArrayList<T> thingList = new ArrayList<T>(numThings);
+		for(HashSet<T> things : valMap.values()){
+			thingList.addAll(things);
+		}
+		Collections.sort(thingList, this.graphOrder);
+		return thingList;
+	}//get(String)
+
+	/**
+	 * Gets everything with an attribute key/value pair. Only to be used on indexed keys.
+	 *
+	 * @param keyIn	The attribute key.
+	 * @param valIn	The value of the attribute. Null for any value, or for nothing, as set by {@link #nullMatchesAny}.
+	 * @return	A new list of everything with the attribute key/value pair, in the order it is in the graph.
+	 */
+	ArrayList<T> get(String keyIn, String valIn){
+		if(valIn == null){
+			return (this.nullMatchesAny ? this.get(keyIn) : new ArrayList<T>());
+		}
+		HashSet<T> things = this.index.get(keyIn).get(valIn);
+		if(things == null){
+			return new ArrayList<T>();
+		}
+		ArrayList<T> thingList = new ArrayList<T>(things);
+		Collections.sort(thingList, this.graphOrder);
+		return thingList;
+	}//get(String, String)
+
+	/**
+	 * Gets the first thing in the graph with an attribute, no matter the value. Only to be used on indexed keys.
+	 *
+	 * @param keyIn	The attribute key.
+	 * @return	The first thing in the graph with the attribute. Null if none.
+	 */
+	T getFirst(String keyIn){
+		T first = null;
+		for(HashSet<T> things : this.index.get(keyIn).values()){
+			T curFirst = this.firstInGraph(things);
+			if(first == null || graphIndexOf(curFirst) < graphIndexOf(first)){
+				first = curFirst;
+			}
+		}
+		return first;
+	}//getFirst(String)
+
+	/**
+	 * Gets the first thing in the graph with an attribute key/value pair. Only to be used on indexed keys.
+	 *
+	 * @param keyIn	The attribute key.
+	 * @param valIn	The value of the attribute. Null for any value, or for nothing, as set by {@link #nullMatchesAny}.
+	 * @return	The first thing in the graph with the attribute key/value pair. Null if none.
+	 */
+	T getFirst(String keyIn, String valIn){
+		HashMap<String, HashSet<T>> valMap = this.index.get(keyIn);
+		if(valIn == null){
+			return (this.nullMatchesAny ? this.getFirst(keyIn) : null);
+		}
+		HashSet<T> things = valMap.get(valIn);
+		if(things == null){
+			return null;
+		}
+		return this.firstInGraph(things);
+	}//getFirst(String, String)
+
+}//class LotAttIndex<T>
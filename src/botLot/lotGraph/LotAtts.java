@@ -0,0 +1,539 @@
+package botLot.lotGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compact holder of the attributes of a {@link LotNode} or {@link LotEdge}.
+ * <p>
+ * Most nodes and edges have no attributes, or the same few keys as everything else in the graph. So rather than a map each, the keys are held in a {@link Schema} shared by everything in the graph with the same keys, and each holder only keeps its values, in an array lined up with the schema's keys. A schema's keys are kept sorted, so the same keys give the same schema whatever order they were added in. Holders with no attributes share the empty schema and an empty array, so they cost nothing past this object.
+ * <p>
+ * Schemas and keys are kept in a {@link KeyTable} held by the graph, so each key string is kept once per graph, and the table goes with the graph when it is no longer used. Holders are moved to the graph's table when their node or edge is added to it ({@link #setTable(KeyTable)}). Holders not in a graph, holders with more than {@link #MAX_SCHEMA_KEYS} keys, and holders made once their graph already has {@link #MAX_SCHEMAS} schemas (lots of one-off keys) fall back to a normal map.
+ * <p>
+ * Also holds typed attributes (doubles, longs, and booleans), kept apart from the String ones. These are held as raw bits in a long array, so reading them for every edge in a search needs no parsing or boxing. Holders with none don't make the arrays.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+final class LotAtts {
+	/** The most keys held in a schema. Holders with more fall back to a map. */
+	static final int MAX_SCHEMA_KEYS = 8;
+	/** The most schemas made in one key table. After this, holders needing a new schema fall back to a map. */
+	static final int MAX_SCHEMAS = 4096;
+	/** The values for holders with no attributes. Never changed. */
+	private static final String[] NO_VALUES = new String[0];
+	/** The schema of holders not in a graph. Has no table, so never gives out another schema; holders using it put their attributes in a map. */
+	private static final Schema NONE = new Schema(null, new String[0]);
+
+	/** The keys of the attributes held. When using {@link #map}, the empty schema of the table, to remember the table. */
+	private Schema schema;
+	/** The values of the attributes held, lined up with the keys in {@link #schema}. Null if using {@link #map}. */
+	private String[] values;
+	/** The attributes held, when they can't be held by a schema. Null otherwise. */
+	private HashMap<String, String> map;
+
+	/** Kind of typed attribute holding a double. */
+	static final byte KIND_DOUBLE = 1;
+	/** Kind of typed attribute holding a long. */
+	static final byte KIND_LONG = 2;
+	/** Kind of typed attribute holding a boolean. */
+	static final byte KIND_BOOLEAN = 3;
+	/** The keys of the typed attributes held, interned if in a graph. Null if none held. */
+	private String[] typedKeys = null;
+	/** The values of the typed attributes held, as raw bits, lined up with {@link #typedKeys}. Doubles are held as {@link Double#doubleToRawLongBits(double)}, booleans as 1 or 0. */
+	private long[] typedBits = null;
+	/** The kinds of the typed attributes held ({@link #KIND_DOUBLE}, etc), lined up with {@link #typedKeys}. */
+	private byte[] typedKinds = null;
+
+	/**
+	 * The keys and schemas used by the holders of one graph. Held by the graph, so it goes when the graph does.
+	 */
+	static final class KeyTable {
+		/** The keys used by the schemas, so each key string is kept only once. */
+		private final HashMap<String, String> keys = new HashMap<String, String>();
+		/** The schemas made, by their keys. */
+		private final HashMap<List<String>, Schema> schemas = new HashMap<List<String>, Schema>();
+		/** The schema with no keys, that all others are made from. */
+		private final Schema empty;
+
+		/**
+		 * Constructor to make an empty table.
+		 */
+		KeyTable(){
+			this.empty = new Schema(this, new String[0]);
+			this.schemas.put(Arrays.asList(this.empty.keys), this.empty);
+		}//KeyTable()
+
+		/**
+		 * Gets the one copy of a key kept in this table, adding it if not there.
+		 *
+		 * @param keyIn	The key.
+		 * @return	The copy of the key in this table.
+		 */
+		synchronized String intern(String keyIn){
+			String key = this.keys.get(keyIn);
+			if(key == null){
+				this.keys.put(keyIn, keyIn);
+				key = keyIn;
+			}
+			return key;
+		}//intern(String)
+
+		/**
+		 * Gets the schema with the given keys, making it if not there. To be called holding the lock on this table.
+		 *
+		 * @param keysIn	The keys, interned and sorted. Not copied.
+		 * @return	The schema with the keys. Null if it would need to be made, and there are already too many schemas.
+		 */
+		private Schema getSchema(String[] keysIn){
+			List<String> keyList = Arrays.asList(keysIn);
+			Schema schemaOut = this.schemas.get(keyList);
+			if(schemaOut == null && this.schemas.size() < MAX_SCHEMAS){
+				schemaOut = new Schema(this, keysIn);
+				this.schemas.put(keyList, schemaOut);
+			}
+			return schemaOut;
+		}//getSchema(String[])
+
+		/**
+		 * Gets the number of schemas made in this table.
+		 *
+		 * @return	The number of schemas made.
+		 */
+		synchronized int getNumSchemas(){
+			return this.schemas.size();
+		}//getNumSchemas()
+	}//class KeyTable
+
+	/**
+	 * The keys of a set of attributes, sorted, shared by all holders in a graph with the same keys.
+	 * <p>
+	 * Each schema remembers the schemas gotten by adding or taking away a key, so moving from one to another is a map lookup.
+	 */
+	static final class Schema {
+		/** The table this schema is in. Null for {@link LotAtts#NONE}. */
+		private final KeyTable table;
+		/** The keys, interned and sorted. Never changed. */
+		private final String[] keys;
+		/** The schemas gotten by adding a key to this one, by the key added. */
+		private final HashMap<String, Schema> withKey;
+		/** The schemas gotten by taking a key from this one, by the key taken. */
+		private final HashMap<String, Schema> withoutKey;
+
+		/**
+		 * Constructor to make a schema with the given keys.
+		 *
+		 * @param tableIn	The table the schema is in.
+		 * @param keysIn	The keys, interned and sorted. Not copied.
+		 */
+		private Schema(KeyTable tableIn, String[] keysIn){
+			this.table = tableIn;
+			this.keys = keysIn;
+			this.withKey = new HashMap<String, Schema>();
+			this.withoutKey = new HashMap<String, Schema>();
+		}//Schema(KeyTable, String[])
+
+		/**
+		 * Gets where a key is in this schema.
+		 *
+		 * @param keyIn	The key to find.
+		 * @return	The index of the key. -1 if not in this schema.
+		 */
+		int indexOf(String keyIn){
+			for(int i = 0; i < this.keys.length; i++){
+				if(this.keys[i] == keyIn || this.keys[i].equals(keyIn)){
+					return i;
+				}
+			}
+			return -1;
+		}//indexOf(String)
+
+		/**
+		 * Gets the schema with the keys of this one, plus the one given.
+		 *
+		 * @param keyIn	The key to add. Must not be in this schema already, or null.
+		 * @return	The schema with the key added. Null if it would have too many keys, there are already too many schemas, or this schema is not in a table.
+		 */
+		Schema with(String keyIn){
+			if(this.table == null){
+				return null;
+			}
+			synchronized(this.table){
+				Schema nextSchema = this.withKey.get(keyIn);
+				if(nextSchema != null || this.keys.length >= MAX_SCHEMA_KEYS){
+					return nextSchema;
+				}
+				String key = this.table.intern(keyIn);
+				//keep the keys sorted
+				int keyIndex = 0;
+				while(keyIndex < this.keys.length && this.keys[keyIndex].compareTo(key) < 0){
+					keyIndex++;
+				}
+				String[] nextKeys = new String[this.keys.length + 1];
+				System.arraycopy(this.keys, 0, nextKeys, 0, keyIndex);
+				nextKeys[keyIndex] = key;
+				System.arraycopy(this.keys, keyIndex, nextKeys, keyIndex + 1, this.keys.length - keyIndex);
+				nextSchema = this.table.getSchema(nextKeys);
+				if(nextSchema != null){
+					this.withKey.put(key, nextSchema);
+				}
+				return nextSchema;
+			}
+		}//with(String)
+
+		/**
+		 * Gets the schema with the keys of this one, less the one at the index given.
+		 *
+		 * @param keyIndex	The index of the key to take away.
+		 * @return	The schema with the key taken away. Null if it couldn't be made, for there being too many schemas.
+		 */
+		Schema without(int keyIndex){
+			synchronized(this.table){
+				Schema nextSchema = this.withoutKey.get(this.keys[keyIndex]);
+				if(nextSchema != null){
+					return nextSchema;
+				}
+				String[] nextKeys = new String[this.keys.length - 1];
+				System.arraycopy(this.keys, 0, nextKeys, 0, keyIndex);
+				System.arraycopy(this.keys, keyIndex + 1, nextKeys, keyIndex, this.keys.length - keyIndex - 1);
+				nextSchema = this.table.getSchema(nextKeys);
+				if(nextSchema != null){
+					this.withoutKey.put(this.keys[keyIndex], nextSchema);
+				}
+				return nextSchema;
+			}
+		}//without(int)
+
+		/**
+		 * Gets the number of keys in this schema.
+		 *
+		 * @return	The number of keys.
+		 */
+		int size(){
+			return this.keys.length;
+		}//size()
+
+		/**
+		 * Gets a key of this schema.
+		 *
+		 * @param keyIndex	The index of the key.
+		 * @return	The key.
+		 */
+		String getKey(int keyIndex){
+			return this.keys[keyIndex];
+		}//getKey(int)
+	}//class Schema
+
+	/**
+	 * Constructor to make an empty holder, not in a graph.
+	 */
+	LotAtts(){
+		this.schema = NONE;
+		this.clear();
+	}//LotAtts()
+
+	/**
+	 * Gets the empty schema of the table this holder is in.
+	 *
+	 * @return	The empty schema of the table. {@link #NONE} if not in one.
+	 */
+	private Schema getEmptySchema(){
+		return (this.schema.table == null ? NONE : this.schema.table.empty);
+	}//getEmptySchema()
+
+	/**
+	 * Moves the attributes held to another key table, for when the node or edge holding them is added to or removed from a graph.
+	 *
+	 * @param tableIn	The table of the graph now holding the node or edge. Null if not in a graph.
+	 */
+	void setTable(KeyTable tableIn){
+		if(this.schema.table == tableIn){
+			return;
+		}
+		HashMap<String, String> atts = (this.size() == 0 ? null : this.getAll());
+		this.schema = (tableIn == null ? NONE : tableIn.empty);
+		this.clear();
+		if(atts != null){
+			for(Entry<String, String> curAtt : atts.entrySet()){
+				this.put(curAtt.getKey(), curAtt.getValue());
+			}
+		}
+		if(this.typedKeys != null && tableIn != null){
+			for(int i = 0; i < this.typedKeys.length; i++){
+				this.typedKeys[i] = tableIn.intern(this.typedKeys[i]);
+			}
+		}
+	}//setTable(KeyTable)
+
+	/**
+	 * Gets the value of an attribute.
+	 *
+	 * @param keyIn	The key of the attribute.
+	 * @return	The value of the attribute. Null if not held (or held as null).
+	 */
+	String get(String keyIn){
+		if(this.map != null){
+			return this.map.get(keyIn);
+		}
+		int keyIndex = this.schema.indexOf(keyIn);
+		return (keyIndex < 0 ? null : this.values[keyIndex]);
+	}//get(String)
+
+	/**
+	 * Determines if an attribute is held.
+	 *
+	 * @param keyIn	The key of the attribute.
+	 * @return	If the attribute is held.
+	 */
+	boolean has(String keyIn){
+		if(this.map != null){
+			return this.map.containsKey(keyIn);
+		}
+		return this.schema.indexOf(keyIn) >= 0;
+	}//has(String)
+
+	/**
+	 * Gets the number of attributes held.
+	 *
+	 * @return	The number of attributes held.
+	 */
+	int size(){
+		return (this.map != null ? this.map.size() : this.schema.size());
+	}//size()
+
+	/**
+	 * Sets an attribute, adding it if not there.
+	 *
+	 * @param keyIn	The key of the attribute.
+	 * @param valIn	The value of the attribute.
+	 */
+	void put(String keyIn, String valIn){
+		if(this.map != null){
+			this.map.put(keyIn, valIn);
+			return;
+		}
+		int keyIndex = this.schema.indexOf(keyIn);
+		if(keyIndex >= 0){
+			this.values[keyIndex] = valIn;
+			return;
+		}
+		Schema nextSchema = (keyIn == null ? null : this.schema.with(keyIn));
+		if(nextSchema == null){
+			this.toMap().put(keyIn, valIn);
+			return;
+		}
+		keyIndex = nextSchema.indexOf(keyIn);
+		String[] nextValues = new String[this.values.length + 1];
+		System.arraycopy(this.values, 0, nextValues, 0, keyIndex);
+		nextValues[keyIndex] = valIn;
+		System.arraycopy(this.values, keyIndex, nextValues, keyIndex + 1, this.values.length - keyIndex);
+		this.schema = nextSchema;
+		this.values = nextValues;
+	}//put(String, String)
+
+	/**
+	 * Removes an attribute.
+	 *
+	 * @param keyIn	The key of the attribute to remove. Ignored if not held.
+	 */
+	void remove(String keyIn){
+		if(this.map != null){
+			this.map.remove(keyIn);
+			return;
+		}
+		int keyIndex = this.schema.indexOf(keyIn);
+		if(keyIndex < 0){
+			return;
+		}
+		Schema nextSchema = this.schema.without(keyIndex);
+		if(nextSchema == null){
+			this.toMap().remove(keyIn);
+			return;
+		}
+		String[] nextValues = (this.values.length == 1 ? NO_VALUES : new String[this.values.length - 1]);
+		System.arraycopy(this.values, 0, nextValues, 0, keyIndex);
+		System.arraycopy(this.values, keyIndex + 1, nextValues, keyIndex, this.values.length - keyIndex - 1);
+		this.schema = nextSchema;
+		this.values = nextValues;
+	}//remove(String)
+
+	/**
+	 * Removes all attributes. Typed attributes are left alone.
+	 */
+	void clear(){
+		this.schema = this.getEmptySchema();
+		this.values = NO_VALUES;
+		this.map = null;
+	}//clear()
+
+	/**
+	 * Sets the attributes held to the ones given, removing any others.
+	 *
+	 * @param attsIn	The attributes to hold. Copied. Null to hold none.
+	 */
+	void setAll(Map<String, String> attsIn){
+		this.clear();
+		if(attsIn == null){
+			return;
+		}
+		for(Entry<String, String> curAtt : attsIn.entrySet()){
+			this.put(curAtt.getKey(), curAtt.getValue());
+		}
+	}//setAll(Map<String, String>)
+
+	/**
+	 * Moves the attributes held into a map, for when they can't be held by a schema.
+	 *
+	 * @return	The map now holding the attributes ({@link #map}).
+	 */
+	private HashMap<String, String> toMap(){
+		this.map = this.getAll();
+		this.schema = this.getEmptySchema();
+		this.values = null;
+		return this.map;
+	}//toMap()
+
+	/**
+	 * Gets all the attributes held.
+	 *
+	 * @return	A new map of the attributes held.
+	 */
+	HashMap<String, String> getAll(){
+		if(this.map != null){
+			return new HashMap<String, String>(this.map);
+		}
+		HashMap<String, String> atts = new HashMap<String, String>();
+		for(int i = 0; i < this.values.length; i++){
+			atts.put(this.schema.getKey(i), this.values[i]);
+		}
+		return atts;
+	}//getAll()
+
+	/**
+	 * Gets where a typed attribute is held.
+	 *
+	 * @param keyIn	The key of the typed attribute.
+	 * @return	The index of the attribute. -1 if not held.
+	 */
+	private int typedIndexOf(String keyIn){
+		if(this.typedKeys == null){
+			return -1;
+		}
+		for(int i = 0; i < this.typedKeys.length; i++){
+			if(this.typedKeys[i] == keyIn || this.typedKeys[i].equals(keyIn)){
+				return i;
+			}
+		}
+		return -1;
+	}//typedIndexOf(String)
+
+	/**
+	 * Sets a typed attribute, adding it if not there.
+	 *
+	 * @param keyIn	The key of the typed attribute. Not null.
+	 * @param kindIn	The kind of the value ({@link #KIND_DOUBLE}, etc).
+	 * @param bitsIn	The value, as raw bits.
+	 */
+	void putTyped(String keyIn, byte kindIn, long bitsIn){
+		int keyIndex = this.typedIndexOf(keyIn);
+		if(keyIndex < 0){
+			keyIndex = (this.typedKeys == null ? 0 : this.typedKeys.length);
+			this.typedKeys = (keyIndex == 0 ? new String[1] : Arrays.copyOf(this.typedKeys, keyIndex + 1));
+			this.typedBits = (keyIndex == 0 ? new long[1] : Arrays.copyOf(this.typedBits, keyIndex + 1));
+			this.typedKinds = (keyIndex == 0 ? new byte[1] : Arrays.copyOf(this.typedKinds, keyIndex + 1));
+			this.typedKeys[keyIndex] = (this.schema.table == null ? keyIn : this.schema.table.intern(keyIn));
+		}
+		this.typedBits[keyIndex] = bitsIn;
+		this.typedKinds[keyIndex] = kindIn;
+	}//putTyped(String, byte, long)
+
+	/**
+	 * Gets the kind of a typed attribute.
+	 *
+	 * @param keyIn	The key of the typed attribute.
+	 * @return	The kind of the attribute ({@link #KIND_DOUBLE}, etc). 0 if not held.
+	 */
+	byte getTypedKind(String keyIn){
+		int keyIndex = this.typedIndexOf(keyIn);
+		return (keyIndex < 0 ? 0 : this.typedKinds[keyIndex]);
+	}//getTypedKind(String)
+
+	/**
+	 * Gets the raw bits of a typed attribute. Check {@link #getTypedKind(String)} first.
+	 *
+	 * @param keyIn	The key of the typed attribute.
+	 * @return	The value, as raw bits. 0 if not held.
+	 */
+	long getTypedBits(String keyIn){
+		int keyIndex = this.typedIndexOf(keyIn);
+		return (keyIndex < 0 ? 0 : this.typedBits[keyIndex]);
+	}//getTypedBits(String)
+
+	/**
+	 * Removes a typed attribute.
+	 *
+	 * @param keyIn	The key of the typed attribute. Ignored if not held.
+	 */
+	void removeTyped(String keyIn){
+		int keyIndex = this.typedIndexOf(keyIn);
+		if(keyIndex < 0){
+			return;
+		}
+		int lastIndex = this.typedKeys.length - 1;
+		if(lastIndex == 0){
+			this.clearTyped();
+			return;
+		}
+		//move the last one into the removed one's place
+		this.typedKeys[keyIndex] = this.typedKeys[lastIndex];
+		this.typedBits[keyIndex] = this.typedBits[lastIndex];
+		this.typedKinds[keyIndex] = this.typedKinds[lastIndex];
+		this.typedKeys = Arrays.copyOf(this.typedKeys, lastIndex);
+		this.typedBits = Arrays.copyOf(this.typedBits, lastIndex);
+		this.typedKinds = Arrays.copyOf(this.typedKinds, lastIndex);
+	}//removeTyped(String)
+
+	/**
+	 * Removes all typed attributes.
+	 */
+	void clearTyped(){
+		this.typedKeys = null;
+		this.typedBits = null;
+		this.typedKinds = null;
+	}//clearTyped()
+
+	/**
+	 * Gets the number of typed attributes held.
+	 *
+	 * @return	The number of typed attributes held.
+	 */
+	int numTyped(){
+		return (this.typedKeys == null ? 0 : this.typedKeys.length);
+	}//numTyped()
+
+	/**
+	 * Sets the typed attributes held to those of another holder.
+	 *
+	 * @param attsIn	The holder to copy the typed attributes of.
+	 */
+	void copyTypedFrom(LotAtts attsIn){
+		if(attsIn.typedKeys == null){
+			this.clearTyped();
+			return;
+		}
+		this.typedKeys = attsIn.typedKeys.clone();
+		this.typedBits = attsIn.typedBits.clone();
+		this.typedKinds = attsIn.typedKinds.clone();
+	}//copyTypedFrom(LotAtts)
+
+	@Override
+	public String toString(){
+		return this.getAll().toString();
+	}//toString()
+
+}//class LotAtts
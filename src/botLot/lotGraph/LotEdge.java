@@ -1,5 +1,7 @@
 package botLot.lotGraph;
+import java.util.Collections;//for the read only view of the attributes
 import java.util.HashMap;//for attributes
+import java.util.Map;//for attributes
 /**
  * LotEdge.java
  * <p>
@@ -16,10 +18,16 @@ public class LotEdge{
     private LotNode endNode;
     /** The metric for the edge, defaults to 0 */
     private double metric;
-    /** User defined attributes of the edge, defaults to empty */
-    protected HashMap<String,String> attributes;
+    /** User defined attributes of the edge, defaults to empty. Held compactly, in the same layout as other edges with the same keys. */
+    private LotAtts attributes;
 	/** Flag to denote this should be treated as a path with infinite size. For comparison purposes. */
 	public boolean infSizeFlag = false;
+	/** The node this edge comes from. Set by the node when this edge is added to or removed from it; null if not held by a node. */
+	private LotNode startNode = null;
+	/** Where this edge sits in the edge list of the graph holding it. Set by the graph; -1 if not in a graph. */
+	private int graphIndex = -1;
+	/** The handle given to this edge by the graph holding it. Never changes while in the graph, and never given to anything else. -1 if not in a graph. */
+	private int handle = -1;
     
     //=========================================================================
     //    Constructors
@@ -32,7 +40,8 @@ public class LotEdge{
      * @param edgeIn	The edge to copy off of.
      */
     public LotEdge(LotEdge edgeIn){
-    	this(edgeIn.getId(), edgeIn.getEndNode(), edgeIn.getMetric(), edgeIn.getAtts());
+    	this(edgeIn.getId(), edgeIn.getEndNode(), edgeIn.getMetric(), edgeIn.attributes.getAll());
+    	this.attributes.copyTypedFrom(edgeIn.attributes);
     	this.infSizeFlag = edgeIn.infSizeFlag;
     }//LotEdge(LotEdge)
     
@@ -58,7 +67,8 @@ public class LotEdge{
      */
     public LotEdge(String idIn){
         this();
-        this.setId(idIn);
+        //not in a graph yet, so nothing to check the Id against
+        this.id = idIn;
     }//LotEdge(idIn)
 
     /**
@@ -67,7 +77,7 @@ public class LotEdge{
     public LotEdge(){
     	this.endNode = null;
         this.metric = 0;
-        this.attributes = new HashMap<String,String>();
+        this.attributes = new LotAtts();
     }//LotEdge()
     
     //endregion
@@ -80,13 +90,24 @@ public class LotEdge{
     /**
      * Sets the edge's {@link #id}.
      * <p>
-     * Trusts that the Id being given is valid, and does not conflict with other Id's.
+     * When the edge is in a graph, the Id cannot be one already used by another edge in the graph. Otherwise, trusts that the Id being given is valid.
      *
      * @param   idIn    The new Id to set {@link #id} to.
      * @return	This edge.
+     * @throws	LotGraphException	If the edge is in a graph, and the Id is already used by another edge in it.
      */
-    public LotEdge setId(String idIn){
+    public LotEdge setId(String idIn) throws LotGraphException{
+        if(idIn != null && this.startNode != null && this.startNode.getGraph() != null){
+        	LotEdge heldEdge = this.startNode.getGraph().getIndexedEdge(idIn);
+        	if(heldEdge != null && heldEdge != this){
+        		throw new LotGraphException("Edge ID given is already used in the graph (" + idIn + ").");
+        	}
+        }
+        String oldId = this.id;
         this.id = idIn;
+        if(this.startNode != null && this.startNode.getGraph() != null){
+        	this.startNode.getGraph().edgeIdChanged(this, oldId);
+        }
         return this;
     }//setId(String)
     
@@ -97,7 +118,11 @@ public class LotEdge{
      * @return	This edge.
      */
     public LotEdge setEndNode(LotNode nodeIn){
+    	LotNode oldEndNode = this.endNode;
     	this.endNode = nodeIn;
+    	if(this.startNode != null && this.startNode.getGraph() != null){
+    		this.startNode.getGraph().edgeEndChanged(this, oldEndNode);
+    	}
     	return this;
     }//setEndNode(LotNode)
     
@@ -109,6 +134,9 @@ public class LotEdge{
      */
     public LotEdge setMetric(double metricIn){
         this.metric = metricIn;
+        if(this.startNode != null && this.startNode.getGraph() != null){
+        	this.startNode.getGraph().edgeMetricChanged(this);
+        }
         return this;
     }//setMetric(double)
 
@@ -122,20 +150,24 @@ public class LotEdge{
      * @return	This edge.
      */
     public LotEdge setAtt(String attKeyIn, String attValIn){
+        this.attsChanged(attKeyIn, false);
         this.attributes.put(attKeyIn, attValIn);
+        this.attsChanged(attKeyIn, true);
         return this;
     }//setAtt(String, String)
 
     /**
      * Sets {@link #attributes} to a new set of attributes.
      *
-     * @param	attsIn	The attributes to set this Edge's to.
+     * @param	attsIn	The attributes to set this Edge's to. Copied, so later changes to the map given are not seen.
      * @return	This edge.
      */
-    public LotEdge setAtts(HashMap<String,String> attsIn){
-        this.attributes = attsIn;
+    public LotEdge setAtts(Map<String,String> attsIn){
+        this.attsChanged(null, false);
+        this.attributes.setAll(attsIn);
+        this.attsChanged(null, true);
         return this;
-    }//setAtt(HashMap<String,String>)
+    }//setAtt(Map<String,String>)
 	
 	/**
      * Removes an attribute from {@link #attributes}.
@@ -144,9 +176,71 @@ public class LotEdge{
      * @return	This edge.
      */
     public LotEdge remAtt(String attKeyIn){
+        this.attsChanged(attKeyIn, false);
         this.attributes.remove(attKeyIn);
         return this;
     }//remAtt(String)
+	
+	/**
+	 * Sets a number attribute, held as a double rather than a String, so it can be read without parsing (for working out edge costs, etc). Adds it if not there.
+	 * <p>
+	 * Typed attributes (number, long, and boolean) are kept apart from the String ones, so this does not change {@link #getAtt(String)}. They are not saved by the data sources.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This edge.
+	 */
+	public LotEdge setNumAtt(String attKeyIn, double attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_DOUBLE, Double.doubleToRawLongBits(attValIn));
+		if(this.startNode != null && this.startNode.getGraph() != null){
+			this.startNode.getGraph().typedAttChanged();
+		}
+		return this;
+	}//setNumAtt(String, double)
+	
+	/**
+	 * Sets a long attribute, held as a long rather than a String. Adds it if not there.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This edge.
+	 */
+	public LotEdge setLongAtt(String attKeyIn, long attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_LONG, attValIn);
+		if(this.startNode != null && this.startNode.getGraph() != null){
+			this.startNode.getGraph().typedAttChanged();
+		}
+		return this;
+	}//setLongAtt(String, long)
+	
+	/**
+	 * Sets a boolean attribute, held as a boolean rather than a String. Adds it if not there.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This edge.
+	 */
+	public LotEdge setBoolAtt(String attKeyIn, boolean attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_BOOLEAN, (attValIn ? 1 : 0));
+		if(this.startNode != null && this.startNode.getGraph() != null){
+			this.startNode.getGraph().typedAttChanged();
+		}
+		return this;
+	}//setBoolAtt(String, boolean)
+	
+	/**
+	 * Removes a typed (number, long, or boolean) attribute.
+	 * 
+	 * @param attKeyIn	The key of the attribute to remove.
+	 * @return	This edge.
+	 */
+	public LotEdge remTypedAtt(String attKeyIn){
+		this.attributes.removeTyped(attKeyIn);
+		if(this.startNode != null && this.startNode.getGraph() != null){
+			this.startNode.getGraph().typedAttChanged();
+		}
+		return this;
+	}//remTypedAtt(String)
     
 	/**
      * Clears all attributes from this edge.
@@ -154,9 +248,22 @@ public class LotEdge{
      * @return	This edge.
 	 */
 	public LotEdge clearAtts(){
+		this.attsChanged(null, false);
 		this.attributes.clear();
 		return this;
 	}//clearAtts()
+	
+	/**
+	 * Tells the graph holding this edge (if any) about a change to {@link #attributes}, so it can keep its indexes up to date. To be called just before and just after the change.
+	 * 
+	 * @param attKeyIn	The key of the attribute changing. Null if all of them are.
+	 * @param changed	False before the change, true after.
+	 */
+	private void attsChanged(String attKeyIn, boolean changed){
+		if(this.startNode != null && this.startNode.getGraph() != null){
+			this.startNode.getGraph().edgeAttChanged(this, attKeyIn, changed);
+		}
+	}//attsChanged(String, boolean)
     
     //endregion
 	
@@ -175,6 +282,79 @@ public class LotEdge{
 		return this.id;
 	}//getId()
 	
+	/**
+	 * Gets the node this edge comes from ({@link #startNode}).
+	 * 
+	 * @return	The node this edge comes from. Null if not held by a node.
+	 */
+	public LotNode getStartNode(){
+		return this.startNode;
+	}//getStartNode()
+	
+	/**
+	 * Sets the node this edge comes from ({@link #startNode}). Only to be called by the node itself when adding or removing this edge.
+	 * 
+	 * @param nodeIn	The node now holding this edge. Null if removed.
+	 * @return	This edge.
+	 */
+	LotEdge setStartNode(LotNode nodeIn){
+		this.startNode = nodeIn;
+		return this;
+	}//setStartNode(LotNode)
+	
+	/**
+	 * Gets where this edge sits in the edge list of the graph holding it ({@link #graphIndex}).
+	 * 
+	 * @return	The index of this edge in its graph's edge list. -1 if not in a graph.
+	 */
+	int getGraphIndex(){
+		return this.graphIndex;
+	}//getGraphIndex()
+	
+	/**
+	 * Sets where this edge sits in the edge list of the graph holding it ({@link #graphIndex}). Only to be called by the graph itself.
+	 * 
+	 * @param graphIndexIn	The new index. -1 if removed from the graph.
+	 * @return	This edge.
+	 */
+	LotEdge setGraphIndex(int graphIndexIn){
+		this.graphIndex = graphIndexIn;
+		return this;
+	}//setGraphIndex(int)
+	
+	/**
+	 * Gets the handle given to this edge by the graph holding it ({@link #handle}).
+	 * <p>
+	 * Unlike the index, the handle does not change when other edges are removed, and is never given to another edge in the same graph, so it can be held on to in place of the edge or its ID.
+	 * 
+	 * @return	The handle of this edge. -1 if not in a graph.
+	 */
+	public int getHandle(){
+		return this.handle;
+	}//getHandle()
+	
+	/**
+	 * Sets the handle of this edge ({@link #handle}). Only to be called by the graph itself.
+	 * 
+	 * @param handleIn	The new handle. -1 if removed from the graph.
+	 * @return	This edge.
+	 */
+	LotEdge setHandle(int handleIn){
+		this.handle = handleIn;
+		return this;
+	}//setHandle(int)
+	
+	/**
+	 * Moves the attributes of this edge to the key table of the graph now holding it. Only to be called by the graph itself.
+	 * 
+	 * @param tableIn	The key table of the graph now holding this edge. Null if removed.
+	 * @return	This edge.
+	 */
+	LotEdge setAttTable(LotAtts.KeyTable tableIn){
+		this.attributes.setTable(tableIn);
+		return this;
+	}//setAttTable(LotAtts.KeyTable)
+	
 	/**
 	 * Returns {@link #endNode}.
 	 * 
@@ -218,12 +398,86 @@ public class LotEdge{
 	/**
 	 * Returns the attributes {@link #attributes} for this Edge.
 	 * 
-	 * @return {@link #attributes}
+	 * @return A read only copy of {@link #attributes}. Use {@link #setAtt(String, String)} and {@link #remAtt(String)} to change them.
 	 */
-	public HashMap<String, String> getAtts(){
-		return this.attributes;
+	public Map<String, String> getAtts(){
+		return Collections.unmodifiableMap(this.attributes.getAll());
 	}//getAtts()
 	
+	/**
+	 * Gets the number of attributes this edge has, without copying them out.
+	 * 
+	 * @return	The number of attributes in {@link #attributes}.
+	 */
+	public int getNumAtts(){
+		return this.attributes.size();
+	}//getNumAtts()
+	
+	/**
+	 * Gets a number attribute set by {@link #setNumAtt(String, double)} or {@link #setLongAtt(String, long)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this edge has no number attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public double getNumAtt(String attKey, double defaultVal){
+		switch(this.attributes.getTypedKind(attKey)){
+			case LotAtts.KIND_DOUBLE:
+				return Double.longBitsToDouble(this.attributes.getTypedBits(attKey));
+			case LotAtts.KIND_LONG:
+				return this.attributes.getTypedBits(attKey);
+			default:
+				return defaultVal;
+		}
+	}//getNumAtt(String, double)
+	
+	/**
+	 * Gets a long attribute set by {@link #setLongAtt(String, long)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this edge has no long attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public long getLongAtt(String attKey, long defaultVal){
+		if(this.attributes.getTypedKind(attKey) == LotAtts.KIND_LONG){
+			return this.attributes.getTypedBits(attKey);
+		}
+		return defaultVal;
+	}//getLongAtt(String, long)
+	
+	/**
+	 * Gets a boolean attribute set by {@link #setBoolAtt(String, boolean)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this edge has no boolean attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public boolean getBoolAtt(String attKey, boolean defaultVal){
+		if(this.attributes.getTypedKind(attKey) == LotAtts.KIND_BOOLEAN){
+			return this.attributes.getTypedBits(attKey) != 0;
+		}
+		return defaultVal;
+	}//getBoolAtt(String, boolean)
+	
+	/**
+	 * Tests if there is a typed (number, long, or boolean) attribute with the given key.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @return	If the typed attribute exists.
+	 */
+	public boolean hasTypedAtt(String attKey){
+		return this.attributes.getTypedKind(attKey) != 0;
+	}//hasTypedAtt(String)
+	
+	/**
+	 * Gets the number of typed attributes this edge has.
+	 * 
+	 * @return	The number of typed attributes.
+	 */
+	public int getNumTypedAtts(){
+		return this.attributes.numTyped();
+	}//getNumTypedAtts()
+	
 	/**
 	 * Tests if there is a key in {@link #attributes}.
 	 * 
@@ -231,7 +485,7 @@ public class LotEdge{
 	 * @return	If the key-value pair exists.
 	 */
 	public boolean hasAtt(String attKey){
-		return this.attributes.containsKey(attKey);
+		return this.attributes.has(attKey);
 	}//hasAtt(String)
 	
 	/**
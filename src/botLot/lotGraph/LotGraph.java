@@ -3,6 +3,10 @@ package botLot.lotGraph;
 import java.util.Random;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Class LotGraph
@@ -11,6 +15,8 @@ import java.util.Collection;
  * <p>
  * Includes everything needed to add, remove, and get/set nodes and edges.
  * <p>
+ * Nodes ({@link #getNodes()}, {@link #getNode(int)}, {@link #getNodeIndex(LotNode)}) and edges ({@link #getEdgeListView()}, {@link #getEdge(int)}, {@link #getEdgeIndex(LotEdge)}) are kept in the order they were added, until one is removed. Removing a node or edge moves the last one into its place, rather than moving everything after it up, so that removing is O(1) (plus the edges of a removed node). So an index only points to the same node or edge while nothing is removed; use handles ({@link LotNode#getHandle()}, {@link LotEdge#getHandle()}) or ID's to keep track of them across removals.
+ * <p>
  * Started: 10/7/15
  * <p>
  * Future plans:
@@ -29,6 +35,54 @@ public class LotGraph {
 	 */
 	/** The nodes we currently have. */
 	private ArrayList<LotNode> nodes;
+	/** Index of the nodes we have, by their ID's. Kept up to date as nodes are added, removed, or have their ID's changed. */
+	private HashMap<String, LotNode> nodeIdIndex;
+	/** Index of the edges held by our nodes, by their ID's. Kept up to date as edges are added to or removed from our nodes. */
+	private HashMap<String, LotEdge> edgeIdIndex;
+	/** All the edges held by our nodes. Kept up to date as edges are added to or removed from our nodes, rather than rebuilt. Each edge knows its own index in this. */
+	private ArrayList<LotEdge> edgeList;
+	/** Read only view of {@link #edgeList}, handed out by {@link #getEdgeListView()}. */
+	private List<LotEdge> edgeListView;
+	/** The nodes held, by their handles ({@link LotNode#getHandle()}). Removed nodes are dropped. */
+	private LotHandleMap<LotNode> nodesByHandle;
+	/** The edges held by our nodes, by their handles ({@link LotEdge#getHandle()}). Removed edges are dropped. */
+	private LotHandleMap<LotEdge> edgesByHandle;
+	/** The handle to give the next node taken. Handles are never given out twice, so a handle kept for a removed node never finds another. */
+	private int nextNodeHandle = 0;
+	/** The handle to give the next edge taken. Handles are never given out twice, so a handle kept for a removed edge never finds another. */
+	private int nextEdgeHandle = 0;
+	/** The edges held by our nodes that end at a node not in this graph, by the node they end at. When that node is added, they become its incoming edges. */
+	private HashMap<LotNode, ArrayList<LotEdge>> edgesToOutsideNodes;
+	/** Counts changes made to the graph. Goes up with every node or edge added, removed, or changed, so anything built off of the graph can tell if it is out of date. */
+	private long version = 0;
+	/** Counts changes made to the attributes of the nodes and edges in the graph, String and typed. Also goes up when a node is added, as its attributes come in with it. Apart from {@link #version}, as String attributes are not part of the layout. */
+	private long attVersion = 0;
+	/** The number of changes kept in the edge change journal ({@link #journalEdges}). */
+	private static final int JOURNAL_SIZE = 256;
+	/** The edge change journal. The last {@link #JOURNAL_SIZE} edges added to or taken out of the graph, given a different end node, or coming in to a node just added, in a ring. Lets things held over the graph (paths, indexes) check if what they use has changed, without going over all of it. Metric changes are not in it; see {@link #metricListeners}. */
+	private LotEdge[] journalEdges = new LotEdge[JOURNAL_SIZE];
+	/** The version of the graph ({@link #version}) just after each change in {@link #journalEdges}. */
+	private long[] journalVersions = new long[JOURNAL_SIZE];
+	/** The number of changes ever put in the journal. */
+	private long numJournaled = 0;
+	/** The version of the newest change dropped off of the journal. The journal has every change made after this version. */
+	private long journalDroppedVersion = 0;
+	/** Indexes built off of this graph by other parts of BotLot (path finding, etc), kept with the graph so they go away with it. Not copied with the graph. */
+	private HashMap<String, Object> attachedIndexes;
+	/** The attached indexes that are told about metric changes ({@link LotMetricListener}). Replaced rather than changed, so it can be gone over without locking. */
+	private volatile LotMetricListener[] metricListeners = new LotMetricListener[0];
+	/** The strongly connected components of this graph, made when first asked for and then kept up to date as the graph changes. Not copied with the graph. */
+	private LotGraphComponents components = null;
+	/** The last snapshot made of this graph by {@link #freeze()}. Not copied with the graph. */
+	private LotGraphSnapshot snapshot = null;
+	/** The paths registered to be told about changes to their edges, made when first asked for. Not copied with the graph. */
+	private LotPathRegistry pathRegistry = null;
+	/** The attribute keys and layouts shared by the attributes of our nodes and edges, so they go away with this graph. Not copied with the graph. */
+	private final LotAtts.KeyTable attKeys = new LotAtts.KeyTable();
+	/** Index of our nodes by the values of the attribute keys asked for with {@link #indexNodeAtt(String)}. Kept up to date as nodes are added, removed, or have their attributes changed. Not copied with the graph. */
+	private LotAttIndex<LotNode> nodeAttIndex;
+	/** Index of our edges by the values of the attribute keys asked for with {@link #indexEdgeAtt(String)}. Kept up to date as edges are added, removed, or have their attributes changed. Not copied with the graph. */
+	private LotAttIndex<LotEdge> edgeAttIndex;
 
 	/*
 	 * stuff for id generation
@@ -41,8 +95,12 @@ public class LotGraph {
 	private final static String edgeIdPred = "BOTLOTEDGE";
 	/** The predicate of new node id's. */
 	private final static String nodeIdPred = "BOTLOTNODE";
-	/** The max value of new ids' salts. */
-	private final static int idSaltRange = Integer.MAX_VALUE;
+	/** The next number in the sequence of new node ID's. Reset along with the random number generator, so the same ID's come out of the same seed. */
+	private long nodeIdSeq = 0;
+	/** The next number in the sequence of new edge ID's. Reset along with the random number generator, so the same ID's come out of the same seed. */
+	private long edgeIdSeq = 0;
+	/** The number of digits after the predicate in new ID's. */
+	private final static int idDigits = 20;
 
 	// =========================================================================
 	// Constructors
@@ -51,6 +109,8 @@ public class LotGraph {
 
 	/**
 	 * Essentially copies the info from the input graph.
+	 * <p>
+	 * Nodes and edges are copied rather than shared, as a node can only be held by one graph at a time. ID's, metrics, and attributes are kept the same.
 	 * 
 	 * @param graphIn
 	 *            THe graph to get info from.
@@ -58,12 +118,31 @@ public class LotGraph {
 	public LotGraph(LotGraph graphIn) {
 		this();
 		try {
-			this.setNodes(graphIn.getNodes());
+			for (LotNode curNode : graphIn.getNodes()) {
+				LotNode newNode = new LotNode(curNode.getId());
+				newNode.setActNumEdges(curNode.getActNumEdges());
+				newNode.setAtts(curNode.getAtts());
+				newNode.copyTypedAtts(curNode);
+				this.addNode(newNode);
+			}
+			for (LotNode curNode : graphIn.getNodes()) {
+				LotNode newNode = this.getNode(curNode.getId());
+				for (LotEdge curEdge : curNode.getEdges()) {
+					LotEdge newEdge = new LotEdge(curEdge);
+					newEdge.setAtts(curEdge.getAtts());
+					if (curEdge.endSet()) {
+						newEdge.setEndNode(this.getNode(curEdge.getEndNode().getId()));
+					}
+					this.setEdge(newEdge, newNode);
+				}
+			}
 		} catch (LotGraphException err) {
 			System.out.println("FATAL ERR- LotGraph(LotGraph)- This should not happen. Error: " + err.getMessage());
 			System.exit(1);
 		}
 		this.setRand(graphIn.getRand(), graphIn.getRandSeed());
+		this.nodeIdSeq = graphIn.nodeIdSeq;
+		this.edgeIdSeq = graphIn.edgeIdSeq;
 	}// LotGraph(LotGraph)
 
 	/**
@@ -112,6 +191,16 @@ public class LotGraph {
 	 */
 	public LotGraph() {
 		this.nodes = new ArrayList<LotNode>();
+		this.nodeIdIndex = new HashMap<String, LotNode>();
+		this.edgeIdIndex = new HashMap<String, LotEdge>();
+		this.edgeList = new ArrayList<LotEdge>();
+		this.edgeListView = Collections.unmodifiableList(this.edgeList);
+		this.nodesByHandle = new LotHandleMap<LotNode>();
+		this.edgesByHandle = new LotHandleMap<LotEdge>();
+		this.edgesToOutsideNodes = new HashMap<LotNode, ArrayList<LotEdge>>();
+		this.attachedIndexes = new HashMap<String, Object>();
+		this.nodeAttIndex = new LotAttIndex<LotNode>(true);
+		this.edgeAttIndex = new LotAttIndex<LotEdge>(false);
 		this.rand = new Random();
 		// System.out.println("DEBUG- Initial Sizes: \n\tnodeList: " +
 		// this.getNodeListSize() + "\n\t# edges: " + this.getNumEdges());
@@ -135,7 +224,28 @@ public class LotGraph {
 	 */
 	public LotGraph setNodes(Collection<LotNode> nodesIn) throws LotGraphException {
 		if (checkNodeEdges(nodesIn)) {
+			for (LotNode curNode : nodesIn) {
+				if (curNode.getGraph() != null && curNode.getGraph() != this) {
+					throw new LotGraphException("Node list given has a node already held by another graph (" + curNode.getId() + ").");
+				}
+			}
+			for (LotNode curNode : this.nodes) {
+				this.unregisterNode(curNode);
+			}
+			if (this.components != null) {
+				this.components.invalidate();
+			}
 			this.nodes = (ArrayList<LotNode>)nodesIn;
+			//take all the nodes before their edges, so edges between them are all indexed
+			for (int i = 0; i < this.nodes.size(); i++) {
+				this.takeNode(this.nodes.get(i));
+				this.nodes.get(i).setGraphIndex(i);
+			}
+			for (LotNode curNode : this.nodes) {
+				for (LotEdge curEdge : curNode.getEdges()) {
+					this.edgeAttached(curNode, curEdge);
+				}
+			}
 		} else {
 			throw new LotGraphException("Node list given is invalid.");
 		}
@@ -151,9 +261,15 @@ public class LotGraph {
 	 *            The node we are adding this edge to.
      * @return	This graph.
 	 * @throws LotGraphException
-	 *             If either node does not exist.
+	 *             If either node does not exist, the edge's ID is missing or already in use, or the edge already belongs to a node.
 	 */
 	public LotGraph setEdge(LotEdge edgeIn, LotNode fromNode) throws LotGraphException {
+		if (edgeIn.getId() == null || !this.idIsUnique('e', edgeIn.getId())) {
+			throw new LotGraphException("Edge given has no ID, or an ID already in use.");
+		}
+		if (edgeIn.getStartNode() != null) {
+			throw new LotGraphException("Edge given already belongs to a node.");
+		}
 		if (this.hasNode(fromNode)) {
 			if (this.hasNode(edgeIn.getEndNode()) | edgeIn.getEndNode() == null) {
 				if (!this.nodeIsFull(fromNode)) {
@@ -185,9 +301,15 @@ public class LotGraph {
 	 *            The first node's ID.
      * @return	This graph.
 	 * @throws LotGraphException
-	 *             If either node does not exist.
+	 *             If either node does not exist, the edge's ID is missing or already in use, or the edge already belongs to a node.
 	 */
 	public LotGraph setEdge(LotEdge edgeIn, String fromNodeId) throws LotGraphException {
+		if (edgeIn.getId() == null || !this.idIsUnique('e', edgeIn.getId())) {
+			throw new LotGraphException("Edge given has no ID, or an ID already in use.");
+		}
+		if (edgeIn.getStartNode() != null) {
+			throw new LotGraphException("Edge given already belongs to a node.");
+		}
 		if (this.hasNode(fromNodeId)) {
 			if (this.hasNode(edgeIn.getEndNode()) | edgeIn.getEndNode() == null) {
 				if (!this.nodeIsFull(fromNodeId)) {
@@ -219,9 +341,15 @@ public class LotGraph {
 	 *            The node we are dealing with.
      * @return	This graph.
 	 * @throws LotGraphException
-	 *             If either node does not exist.
+	 *             If either node does not exist, the edge's ID is missing or already in use, or the edge already belongs to a node.
 	 */
 	public LotGraph setEdge(LotEdge edgeIn, int fromNodeIndex) throws LotGraphException {
+		if (edgeIn.getId() == null || !this.idIsUnique('e', edgeIn.getId())) {
+			throw new LotGraphException("Edge given has no ID, or an ID already in use.");
+		}
+		if (edgeIn.getStartNode() != null) {
+			throw new LotGraphException("Edge given already belongs to a node.");
+		}
 		if (this.hasNode(fromNodeIndex)) {
 			if (this.hasNode(edgeIn.getEndNode()) | edgeIn.getEndNode() == null) {
 				if (!this.nodeIsFull(fromNodeIndex)) {
@@ -252,7 +380,12 @@ public class LotGraph {
 	 */
 	private LotEdge createEdge() {
 		LotEdge newEdge = new LotEdge();
-		newEdge.setId(this.getNewUniqueId('e'));
+		try {
+			newEdge.setId(this.getNewUniqueId('e'));
+		} catch (LotGraphException e) {
+			System.out.println("FATAL ERR- createEdge(). This should not happen. Error: " + e.getMessage());
+			System.exit(1);
+		}
 		return newEdge;
 	}// createEdge()
 	
@@ -288,7 +421,7 @@ public class LotGraph {
 	 * Creates an edge going out from a given node, and returns the index of it.
 	 * 
 	 * @param fromNode	The node this edge goes out from.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(LotNode fromNode) throws LotGraphException{
@@ -327,7 +460,7 @@ public class LotGraph {
 	 * Creates an edge going out from a given node, and returns the index of it.
 	 * 
 	 * @param fromNodeId	The ID of the node this edge goes out from.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(String fromNodeId) throws LotGraphException{
@@ -366,7 +499,7 @@ public class LotGraph {
 	 * Creates an edge going out from a given node, and returns the index of it.
 	 * 
 	 * @param fromNodeIndex	The node this edge goes out from.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(int fromNodeIndex) throws LotGraphException{
@@ -419,7 +552,7 @@ public class LotGraph {
 	 * 
 	 * @param fromNode	The node this edge goes out from.
 	 * @param toNode	The node this edge goes to.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode or toNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(LotNode fromNode, LotNode toNode) throws LotGraphException{
@@ -472,7 +605,7 @@ public class LotGraph {
 	 * 
 	 * @param fromNodeId	The Id of the node this edge goes out from.
 	 * @param toNodeId	The Id of the node this edge goes to.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode or toNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(String fromNodeId, String toNodeId) throws LotGraphException{
@@ -525,12 +658,24 @@ public class LotGraph {
 	 * 
 	 * @param fromNodeIndex	The index of the node this edge goes out from.
 	 * @param toNodeIndex	The index of the node this edge goes to.
-	 * @return	The index of the new edge in the generated edge list.
+	 * @return	The index of the new edge in the edge list.
 	 * @throws LotGraphException	If the fromNode or toNode is not in the graph. 
 	 */
 	public int createEdgeGiveIndex(int fromNodeIndex, int toNodeIndex) throws LotGraphException{
 		return this.getEdgeIndex(this.createEdge(fromNodeIndex, toNodeIndex));
 	}
+	
+	/**
+	 * Creates an edge between two nodes given by their handles, and returns the handle of it.
+	 * 
+	 * @param fromNodeHandle	The handle of the node this edge goes out from.
+	 * @param toNodeHandle	The handle of the node this edge goes to.
+	 * @return	The handle of the new edge.
+	 * @throws LotGraphException	If there is no node with either handle.
+	 */
+	public int createEdgeGiveHandle(int fromNodeHandle, int toNodeHandle) throws LotGraphException{
+		return this.createEdge(this.getNodeByHandle(fromNodeHandle), this.getNodeByHandle(toNodeHandle)).getHandle();
+	}
 
 	/**
 	 * Removes the edge given.
@@ -543,19 +688,13 @@ public class LotGraph {
 	 */
 	public LotGraph removeEdge(LotEdge edgeIn) throws LotGraphException {
 		if (this.hasEdge(edgeIn)) {
-			// find which node has the edge
-			outerLoop: for (int i = 0; i < this.getNumNodes(); i++) {
-				if (this.getNode(i).hasEdge(edgeIn)) {
-					try {
-						this.getNode(i).remEdge(edgeIn);
-					} catch (LotNodeException e) {
-						System.out.println(
-								"FATAL ERR- removeEdge(LotEdge)- This should not happen. Cannot remove edge. Error: "
-										+ e.getMessage());
-						System.exit(1);
-					}
-					break outerLoop;
-				}
+			try {
+				edgeIn.getStartNode().remEdge(edgeIn);
+			} catch (LotNodeException e) {
+				System.out.println(
+						"FATAL ERR- removeEdge(LotEdge)- This should not happen. Cannot remove edge. Error: "
+								+ e.getMessage());
+				System.exit(1);
 			}
 		} else {
 			throw new LotGraphException("Edge not found in stored data.");
@@ -574,19 +713,7 @@ public class LotGraph {
 	 */
 	public LotGraph removeEdge(String edgeIdIn) throws LotGraphException {
 		if (this.hasEdge(edgeIdIn)) {
-			outerLoop: for (int i = 0; i < this.getNumNodes(); i++) {
-				if (this.getNode(i).hasEdge(edgeIdIn)) {
-					try {
-						this.getNode(i).remEdge(edgeIdIn);
-					} catch (LotNodeException e) {
-						System.out.println(
-								"FATAL ERR- removeEdge(LotEdge)- This should not happen. Cannot remove edge. Error: "
-										+ e.getMessage());
-						System.exit(1);
-					}
-					break outerLoop;
-				}
-			}
+			this.removeEdge(this.getEdge(edgeIdIn));
 		} else {
 			throw new LotGraphException("Edge not found in stored data.");
 		}
@@ -596,42 +723,34 @@ public class LotGraph {
 	/**
 	 * Removes the edge given.
 	 * 
-	 * TODO:: test this extensively
-	 * 
 	 * @param edgeIndexIn
-	 *            The index of the edge in the generated index list to remove.
+	 *            The index of the edge in the edge list to remove.
      * @return	This graph.
 	 * @throws LotGraphException
 	 *             If the edge is not in the data set.
 	 */
 	public LotGraph removeEdge(int edgeIndexIn) throws LotGraphException {
 		if (this.hasEdge(edgeIndexIn)) {
-			// get node
-			LotNode tempNode = null;
-			int count = 0;
-			outerLoop: for (int i = 0; i < this.getNumNodes(); i++) {
-				count += this.getNode(i).getNumEdges() - 1;
-				if (count >= edgeIndexIn) {
-					tempNode = this.getNode(i);
-					break outerLoop;
-				}
-			}
-			if (tempNode == null) {
-				System.out.println("FATAL ERR- removeEdge(int)- This should not happen. No node found.");
-				System.exit(1);
-			}
-			try {
-				this.getNode(tempNode).remEdge(count - edgeIndexIn);
-			} catch (LotNodeException e) {
-				System.out.println("FATAL ERR- removeEdge(int)- This should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			this.removeEdge(this.getEdge(edgeIndexIn));
 		} else {
 			throw new LotGraphException("Edge not found in stored data.");
 		}
 		return this;
 	}// removeEdge(int)
 
+	/**
+	 * Removes the edge with the given handle.
+	 * 
+	 * @param edgeHandleIn
+	 *            The handle of the edge to remove.
+     * @return	This graph.
+	 * @throws LotGraphException
+	 *             If there is no edge with the handle.
+	 */
+	public LotGraph removeEdgeByHandle(int edgeHandleIn) throws LotGraphException {
+		return this.removeEdge(this.getEdgeByHandle(edgeHandleIn));
+	}// removeEdgeByHandle(int)
+
 	/**
 	 * Removes an edge between two nodes.
 	 * 
@@ -742,14 +861,24 @@ public class LotGraph {
      * @return	This graph.
 	 * @throws LotGraphException
 	 *             If the new node has the same ID of a node already present in
-	 *             {@link #nodes}.
+	 *             {@link #nodes}, has edges with ID's already present, or is already held by a graph.
 	 */
 	public LotGraph addNode(LotNode newNode) throws LotGraphException {
 		if (!checkNodeEdges(newNode)) {
 			throw new LotGraphException("Node entered has invalid edges.");
 		}
+		if (newNode.getGraph() != null) {
+			throw new LotGraphException("Node entered is already held by a graph (" + newNode.getId() + ").");
+		}
+		for (LotEdge curEdge : newNode.getEdges()) {
+			if (curEdge.getId() == null || !this.idIsUnique('e', curEdge.getId())) {
+				throw new LotGraphException("Node entered has an edge with no ID, or a duplicate ID (" + curEdge.getId() + ").");
+			}
+		}
 		if (this.idIsUnique('n', newNode.getId())) {
 			this.getNodes().add(newNode);
+			newNode.setGraphIndex(this.getNodes().size() - 1);
+			this.registerNode(newNode);
 		} else {
 			throw new LotGraphException("Node entered has duplicate ID (" + newNode.getId() + ").");
 		}
@@ -764,7 +893,12 @@ public class LotGraph {
 	public LotNode createNode() {
 		// System.out.println("Creating node.");
 		LotNode newNode = new LotNode();
-		newNode.setId(this.getNewUniqueId('n'));
+		try {
+			newNode.setId(this.getNewUniqueId('n'));
+		} catch (LotNodeException e) {
+			System.out.println("FATAL ERR- createNode(). This should not happen. Error: " + e.getMessage());
+			System.exit(1);
+		}
 		// System.out.println("Set up new node");
 		try {
 			this.addNode(newNode);
@@ -799,9 +933,22 @@ public class LotGraph {
 	public int createNodeGiveIndex(){
 		return this.getNodeIndex(this.createNode());
 	}
+	
+	/**
+	 * Creates a new node, adds it to {@link #nodes}.
+	 * <p>
+	 * Wrapper for {@link #createNode()}
+	 * 
+	 * @return	The handle of the new node.
+	 */
+	public int createNodeGiveHandle(){
+		return this.createNode().getHandle();
+	}
 
 	/**
-	 * Removes the given node from {@link #nodes}. Goes through all edges, nulling the head nodes where they are this node.
+	 * Removes the given node from {@link #nodes}. Nulls the end nodes of the edges coming in to this node.
+	 * <p>
+	 * The last node in {@link #nodes} is moved into the removed node's place (see the class description).
 	 * 
 	 * @param nodeToRemove
 	 *            The node to remove from the list.
@@ -811,12 +958,18 @@ public class LotGraph {
 	 */
 	public LotGraph removeNode(LotNode nodeToRemove) throws LotGraphException {
 		if (this.hasNode(nodeToRemove)) {
-			this.getNodes().remove(nodeToRemove);
-			for(int i = 0; i < this.getEdgeList().size(); i++){
-				if(this.getEdge(i).getEndNode() == nodeToRemove){
-					this.getEdge(i).setEndNode(null);
-				}
-			}
+			//null the edges coming in. Each one takes itself out of the incoming list as it goes
+			while(!nodeToRemove.getInEdges().isEmpty()){
+				nodeToRemove.getInEdges().get(nodeToRemove.getInEdges().size() - 1).setEndNode(null);
+			}
+			//swap the last node into the removed node's place, so we don't have to shift everything down
+			int index = nodeToRemove.getGraphIndex();
+			LotNode lastNode = this.nodes.remove(this.nodes.size() - 1);
+			if (lastNode != nodeToRemove) {
+				this.nodes.set(index, lastNode);
+				lastNode.setGraphIndex(index);
+			}
+			this.unregisterNode(nodeToRemove);
 		} else {
 			throw new LotGraphException("The node given is not within sotred data.");
 		}
@@ -824,7 +977,7 @@ public class LotGraph {
 	}// removeNode(LotNode)
 
 	/**
-	 * Removes the node with the given Id from {@link #nodes}. Goes through all edges, nulling the head nodes where they are this node.
+	 * Removes the node with the given Id from {@link #nodes}. Nulls the end nodes of the edges coming in to this node.
 	 * 
 	 * @param nodeToRemoveId
 	 *            The id of the node to remove.
@@ -844,7 +997,7 @@ public class LotGraph {
 
 	/**
 	 * Removes the node at the specified index in {@link #nodes} from
-	 * {@link #nodes}.  Goes through all edges, nulling the head nodes where they are this node.
+	 * {@link #nodes}.  Nulls the end nodes of the edges coming in to this node.
 	 * 
 	 * @param nodeToRemoveIndex
 	 *            The index of the node to remove.
@@ -862,6 +1015,19 @@ public class LotGraph {
 		return this;
 	}// removeNode(int)
 
+	/**
+	 * Removes the node with the given handle from {@link #nodes}. Nulls the end nodes of the edges coming in to this node.
+	 * 
+	 * @param nodeToRemoveHandle
+	 *            The handle of the node to remove.
+     * @return	This graph.
+	 * @throws LotGraphException
+	 *             If there is no node with the handle.
+	 */
+	public LotGraph removeNodeByHandle(int nodeToRemoveHandle) throws LotGraphException {
+		return this.removeNode(this.getNodeByHandle(nodeToRemoveHandle));
+	}// removeNodeByHandle(int)
+
 	/**
 	 * Sets the random number generator.
 	 * 
@@ -873,6 +1039,8 @@ public class LotGraph {
 	public LotGraph setRand(Random randIn, long seedIn) {
 		this.randSeed = seedIn;
 		this.rand = randIn;
+		this.nodeIdSeq = 0;
+		this.edgeIdSeq = 0;
 		return this;
 	}// setRand(Random)
 	
@@ -884,6 +1052,8 @@ public class LotGraph {
 	public LotGraph setRandSeed(long seedIn){
 		this.randSeed = seedIn;
 		this.rand = new Random(this.randSeed);
+		this.nodeIdSeq = 0;
+		this.edgeIdSeq = 0;
 		return this;
 	}
 
@@ -894,6 +1064,8 @@ public class LotGraph {
 
 	/**
 	 * Gets {@link #nodes}.
+	 * <p>
+	 * This is the graph's own list; add and remove nodes through {@link #addNode(LotNode)} and {@link #removeNode(LotNode)}, not this list, or the graph's indexes will be wrong.
 	 * 
 	 * @return The node list.
 	 */
@@ -921,8 +1093,8 @@ public class LotGraph {
 	 * @return The node in, if found. Null if not found.
 	 */
 	public LotNode getNode(LotNode nodeIn) {
-		if (this.getNodes().contains(nodeIn)) {
-			return this.getNodes().get(this.getNodeIndex(nodeIn));
+		if (nodeIn != null && nodeIn.getGraph() == this) {
+			return nodeIn;
 		}
 		return null;
 	}// getNode(LotNode)
@@ -935,16 +1107,13 @@ public class LotGraph {
 	 * @return The node found. Null if nothing found.
 	 */
 	public LotNode getNode(String nodeIdIn) {
-		for (int i = 0; i < this.getNumNodes(); i++) {
-			if (this.getNodes().get(i).getId().equals(nodeIdIn)) {
-				return this.getNodes().get(i);
-			}
-		}
-		return null;
+		return this.nodeIdIndex.get(nodeIdIn);
 	}// getNode(String)
 
 	/**
 	 * Gets the node at the specified index in {@link #nodes}.
+	 * <p>
+	 * Only consistent when not removing nodes between calls; removing a node moves the last node into its place (see the class description).
 	 * 
 	 * @param nodeIndexIn
 	 *            The index of the node we are trying to get.
@@ -960,6 +1129,46 @@ public class LotGraph {
 		}
 	}// getNode(int)
 	
+	/**
+	 * Gets the node with the given handle ({@link LotNode#getHandle()}).
+	 * 
+	 * @param nodeHandleIn
+	 *            The handle of the node we are trying to get.
+	 * @return The node found.
+	 * @throws LotGraphException
+	 *             If there is no node with the handle.
+	 */
+	public LotNode getNodeByHandle(int nodeHandleIn) throws LotGraphException {
+		if (this.hasNodeByHandle(nodeHandleIn)) {
+			return this.nodesByHandle.get(nodeHandleIn);
+		}
+		throw new LotGraphException("No node with the given handle (" + nodeHandleIn + ").");
+	}// getNodeByHandle(int)
+	
+	/**
+	 * Determines if there is a node with the given handle.
+	 * 
+	 * @param nodeHandleIn	The handle to look for.
+	 * @return	If there is a node with the handle.
+	 */
+	public boolean hasNodeByHandle(int nodeHandleIn) {
+		return this.nodesByHandle.containsKey(nodeHandleIn);
+	}// hasNodeByHandle(int)
+	
+	/**
+	 * Gets the handle of the node with the given ID.
+	 * 
+	 * @param nodeIdIn	The ID of the node.
+	 * @return	The handle of the node. -1 if there is no node with the ID.
+	 */
+	public int getNodeHandle(String nodeIdIn) {
+		LotNode tempNode = this.getNode(nodeIdIn);
+		if (tempNode != null) {
+			return tempNode.getHandle();
+		}
+		return -1;
+	}// getNodeHandle(String)
+	
 	/**
 	 * Gets the node that is at the beginning of the given edge.
 	 * 
@@ -969,15 +1178,10 @@ public class LotGraph {
 	 */
 	public LotNode getNode(LotEdge edgeIn) throws LotGraphException{
 		if(this.hasEdge(edgeIn)){
-			for(LotNode curNode : this.getNodes()){
-				if(curNode.hasEdge(edgeIn)){
-					return curNode;
-				}
-			}
+			return edgeIn.getStartNode();
 		}else{
 			throw new LotGraphException("The edge given is not in the dataset.");
 		}
-		return null;//shouldn't ever do this
 	}//getNode(LotEdge)
 
 	/**
@@ -988,6 +1192,9 @@ public class LotGraph {
 	 * @return	The node being searched for. Null if not found.
 	 */
 	public LotNode getNode(String key, String value){
+		if(this.nodeAttIndex.isIndexed(key)){
+			return this.nodeAttIndex.getFirst(key, value);
+		}
 		for(LotNode curNode : this.getNodes()){
 			if(curNode.hasAtt(key, value)){
 				return curNode;
@@ -1073,29 +1280,33 @@ public class LotGraph {
 	
 	/**
 	 * Gets the index of the specified node in the list in {@link #nodes}.
+	 * <p>
+	 * Only consistent when not removing nodes between calls; removing a node moves the last node into its place (see the class description).
 	 * 
 	 * @param nodeIn
 	 *            The node to find the index of.
 	 * @return The index of the node, if found. -1 if not found.
 	 */
 	public int getNodeIndex(LotNode nodeIn) {
-		return this.getNodes().indexOf(nodeIn);
+		if (this.hasNode(nodeIn)) {
+			return nodeIn.getGraphIndex();
+		}
+		return -1;
 	}// getNodeIndex(LotNode)
 
 	/**
 	 * Gets the index of the specified node in {@link #nodes}.
+	 * <p>
+	 * Only consistent when not removing nodes between calls; removing a node moves the last node into its place (see the class description).
 	 * 
 	 * @param nodeIdIn
 	 *            The Id of the node to find in {@link #nodes}.
 	 * @return The index of the node, if found. -1 if not found.
 	 */
 	public int getNodeIndex(String nodeIdIn) {
-		if (this.hasNode(nodeIdIn)) {
-			for(LotNode curNode : this.getNodes()){
-				if(curNode.getId().equals(nodeIdIn)){
-					return this.getNodes().indexOf(curNode);
-				}
-			}
+		LotNode tempNode = this.getNode(nodeIdIn);
+		if (tempNode != null) {
+			return tempNode.getGraphIndex();
 		}
 		return -1;
 	}// getNodeIndex(String)
@@ -1200,17 +1411,24 @@ public class LotGraph {
 	/**
 	 * Gets an arrayList of initialized edges in {@link #nodes}.
 	 * <p>
-	 * Generates this with every call.
+	 * Copies every edge into a new list with every call, so is O(E); the list can be changed, and kept as the graph changes. Use {@link #getEdgeListView()} to just go through the edges, without copying.
 	 * 
 	 * @return The ArrayList of initialized edges.
 	 */
 	public ArrayList<LotEdge> getEdgeList() {
-		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
-		for (LotNode curNode : this.getNodes()) {
-			edgeList.addAll(curNode.getEdges());
-		}
-		return edgeList;
+		return new ArrayList<LotEdge>(this.edgeList);
 	}// getEdgeList()
+
+	/**
+	 * Gets a read only view of the initialized edges in {@link #nodes} ({@link #edgeList}).
+	 * <p>
+	 * Not rebuilt with each call, and stays up to date as edges are added or removed, so do not add or remove edges while going through it.
+	 * 
+	 * @return The read only list of initialized edges.
+	 */
+	public List<LotEdge> getEdgeListView() {
+		return this.edgeListView;
+	}// getEdgeListView()
 	
 	/**
 	 * Gets an arrayList of initialized edges in {@link #nodes}, excluding the ones in the given list.
@@ -1219,8 +1437,8 @@ public class LotGraph {
 	 * @return	An arrayList of initialized edges in {@link #nodes}, excluding the ones in the given list.
 	 */
 	public ArrayList<LotEdge> getEdgeList(Collection<LotEdge> edgesToAvoid){
-		ArrayList<LotEdge> listOut = this.getEdgeList();
-		listOut.removeAll(edgesToAvoid);
+		ArrayList<LotEdge> listOut = new ArrayList<LotEdge>(this.edgeList);
+		listOut.removeAll(new HashSet<LotEdge>(edgesToAvoid));
 		return listOut;
 	}//getEdgeList(Collection<LotEdge>)
 
@@ -1230,9 +1448,85 @@ public class LotGraph {
 	 * @return The number of edges currently set.
 	 */
 	public int getNumEdges() {
-		return this.getEdgeList().size();
+		return this.edgeList.size();
 	}// getNumEdges()
 	
+	/**
+	 * Gets the version of the graph ({@link #version}). Goes up with every node or edge added, removed, or changed (ID's, end nodes, and metrics).
+	 * <p>
+	 * Keep this along with anything built off of the graph; if it is different later, the graph has changed since.
+	 * 
+	 * @return	The version of the graph.
+	 */
+	public long getVersion() {
+		return this.version;
+	}// getVersion()
+	
+	/**
+	 * Gets the attribute version of the graph ({@link #attVersion}). Goes up with every change to the attributes of a node or edge in the graph, String or typed, and with every node added. String attribute changes do not change {@link #getVersion()}, so use this to tell when something built off of the attributes is out of date.
+	 * 
+	 * @return	The attribute version of the graph.
+	 */
+	public long getAttVersion() {
+		return this.attVersion;
+	}// getAttVersion()
+	
+	/**
+	 * Gets the edges that have been added to the graph, taken out of it (removed, or their node removed), given a different end node, or that come in to a node added, since the version of the graph given ({@link #getVersion()}).
+	 * <p>
+	 * Only the last few hundred changes are kept. Costs only the number of changes since the version given. Metric changes are not kept; attach a {@link LotMetricListener} to be told about those.
+	 * 
+	 * @param versionIn	The version of the graph to get the changes since.
+	 * @return	The edges changed since the version given, newest first. Edges changed more than once are in the list more than once. Null if the changes made since the version given are no longer all kept.
+	 */
+	public List<LotEdge> getEdgesChangedSince(long versionIn) {
+		if (versionIn < this.journalDroppedVersion) {
+			return null;
+		}
+		ArrayList<LotEdge> changedEdges = new ArrayList<LotEdge>();
+		for (long i = this.numJournaled - 1; i >= 0 && i >= this.numJournaled - JOURNAL_SIZE; i--) {
+			int slot = (int) (i % JOURNAL_SIZE);
+			if (this.journalVersions[slot] <= versionIn) {
+				break;
+			}
+			changedEdges.add(this.journalEdges[slot]);
+		}
+		return changedEdges;
+	}// getEdgesChangedSince(long)
+	
+	/**
+	 * Gets an index attached to this graph.
+	 * 
+	 * @param keyIn	The key the index was attached with.
+	 * @return	The index attached with the given key. Null if none.
+	 */
+	public synchronized Object getAttachedIndex(String keyIn) {
+		return this.attachedIndexes.get(keyIn);
+	}// getAttachedIndex(String)
+	
+	/**
+	 * Attaches an index built off of this graph to it, so it can be reused and goes away with the graph. Use {@link #getVersion()} to tell when it is out of date, and {@link #getEdgesChangedSince(long)} to see what changed. An index that is a {@link LotMetricListener} is told about metric changes while attached.
+	 * 
+	 * @param keyIn	The key to attach the index with.
+	 * @param indexIn	The index to attach. Null to remove the index with the key given.
+	 * @return	This graph.
+	 */
+	public synchronized LotGraph attachIndex(String keyIn, Object indexIn) {
+		if (indexIn == null) {
+			this.attachedIndexes.remove(keyIn);
+		} else {
+			this.attachedIndexes.put(keyIn, indexIn);
+		}
+		ArrayList<LotMetricListener> listeners = new ArrayList<LotMetricListener>();
+		for (Object curIndex : this.attachedIndexes.values()) {
+			if (curIndex instanceof LotMetricListener) {
+				listeners.add((LotMetricListener) curIndex);
+			}
+		}
+		this.metricListeners = listeners.toArray(new LotMetricListener[listeners.size()]);
+		return this;
+	}// attachIndex(String, Object)
+	
 	/**
 	 * Gets the specified edge.
 	 * 
@@ -1241,15 +1535,128 @@ public class LotGraph {
 	 * @return The edge, null if not found.
 	 */
 	public LotEdge getEdge(LotEdge edgeIn) {
-		ArrayList<LotEdge> tempEdgeList = this.getEdgeList();
-		for (int i = 0; i < tempEdgeList.size(); i++) {
-			if (tempEdgeList.get(i).equals(edgeIn)) {
-				return tempEdgeList.get(i);
-			}
+		if (edgeIn != null && edgeIn.getStartNode() != null && edgeIn.getStartNode().getGraph() == this) {
+			return edgeIn;
 		}
 		return null;
 	}// getEdge(LotEdge)
 
+	/**
+	 * Gets the strongly connected components of this graph, to quickly tell if one node can get to another. Made the first time this is called, then kept up to date as the graph changes.
+	 * 
+	 * @return	The strongly connected components of this graph.
+	 */
+	public synchronized LotGraphComponents getComponents() {
+		if (this.components == null) {
+			this.components = new LotGraphComponents(this);
+		}
+		return this.components;
+	}// getComponents()
+
+	/**
+	 * Gets the path registry of this graph, to register paths held over the graph and be told when the edges they use change. Made the first time this is called.
+	 * 
+	 * @return	The path registry of this graph.
+	 */
+	public synchronized LotPathRegistry getPathRegistry() {
+		if (this.pathRegistry == null) {
+			this.pathRegistry = new LotPathRegistry(this);
+		}
+		return this.pathRegistry;
+	}// getPathRegistry()
+
+	/**
+	 * Gets a read only snapshot of this graph's layout in flat arrays, for searching. The last one made is kept, and only remade if the graph has changed since ({@link #getVersion()}), so this is cheap to call before every search.
+	 * 
+	 * @return	A snapshot of this graph as it is now.
+	 */
+	public synchronized LotGraphSnapshot freeze() {
+		if (this.snapshot == null || this.snapshot.getVersion() != this.version) {
+			this.snapshot = new LotGraphSnapshot(this);
+		}
+		return this.snapshot;
+	}// freeze()
+
+	/**
+	 * Starts indexing the nodes by the values of an attribute, so that getting the nodes with the attribute ({@link #getNodesWithAtt(String, String)}, {@link #getNode(String, String)}, etc) costs only the number of nodes found rather than going over all of them.
+	 * <p>
+	 * Kept up to date through {@link LotNode#setAtt(String, String)}, {@link LotNode#remAtt(String)}, and {@link LotNode#setAtts(Map)}.
+	 * 
+	 * @param attKeyIn	The attribute key to index.
+	 * @return	This graph.
+	 */
+	public LotGraph indexNodeAtt(String attKeyIn) {
+		if (this.nodeAttIndex.addKey(attKeyIn)) {
+			for (LotNode curNode : this.nodes) {
+				if (curNode.hasAtt(attKeyIn)) {
+					this.nodeAttIndex.add(curNode, attKeyIn, curNode.getAtt(attKeyIn));
+				}
+			}
+		}
+		return this;
+	}// indexNodeAtt(String)
+
+	/**
+	 * Stops indexing the nodes by an attribute.
+	 * 
+	 * @param attKeyIn	The attribute key to stop indexing.
+	 * @return	This graph.
+	 */
+	public LotGraph unindexNodeAtt(String attKeyIn) {
+		this.nodeAttIndex.removeKey(attKeyIn);
+		return this;
+	}// unindexNodeAtt(String)
+
+	/**
+	 * Determines if the nodes are indexed by an attribute.
+	 * 
+	 * @param attKeyIn	The attribute key.
+	 * @return	If the nodes are indexed by the attribute.
+	 */
+	public boolean nodeAttIsIndexed(String attKeyIn) {
+		return this.nodeAttIndex.isIndexed(attKeyIn);
+	}// nodeAttIsIndexed(String)
+
+	/**
+	 * Starts indexing the edges by the values of an attribute, so that getting the edges with the attribute ({@link #getEdgesWithAtt(String, String)}, {@link #getEdge(String, String)}, etc) costs only the number of edges found rather than going over all of them.
+	 * <p>
+	 * Kept up to date through {@link LotEdge#setAtt(String, String)}, {@link LotEdge#remAtt(String)}, {@link LotEdge#setAtts(Map)}, and {@link LotEdge#clearAtts()}.
+	 * 
+	 * @param attKeyIn	The attribute key to index.
+	 * @return	This graph.
+	 */
+	public LotGraph indexEdgeAtt(String attKeyIn) {
+		if (this.edgeAttIndex.addKey(attKeyIn)) {
+			for (LotEdge curEdge : this.edgeList) {
+				if (curEdge.hasAtt(attKeyIn)) {
+					this.edgeAttIndex.add(curEdge, attKeyIn, curEdge.getAtt(attKeyIn));
+				}
+			}
+		}
+		return this;
+	}// indexEdgeAtt(String)
+
+	/**
+	 * Stops indexing the edges by an attribute.
+	 * 
+	 * @param attKeyIn	The attribute key to stop indexing.
+	 * @return	This graph.
+	 */
+	public LotGraph unindexEdgeAtt(String attKeyIn) {
+		this.edgeAttIndex.removeKey(attKeyIn);
+		return this;
+	}// unindexEdgeAtt(String)
+
+	/**
+	 * Determines if the edges are indexed by an attribute.
+	 * 
+	 * @param attKeyIn	The attribute key.
+	 * @return	If the edges are indexed by the attribute.
+	 */
+	public boolean edgeAttIsIndexed(String attKeyIn) {
+		return this.edgeAttIndex.isIndexed(attKeyIn);
+	}// edgeAttIsIndexed(String)
+
 	/**
 	 * Gets the edge with the specified ID.
 	 * 
@@ -1258,19 +1665,13 @@ public class LotGraph {
 	 * @return The edge, null if not found.
 	 */
 	public LotEdge getEdge(String edgeIdIn) {
-		ArrayList<LotEdge> tempEdgeList = this.getEdgeList();
-		for (int i = 0; i < tempEdgeList.size(); i++) {
-			if (tempEdgeList.get(i).getId().equals(edgeIdIn)) {
-				return tempEdgeList.get(i);
-			}
-		}
-		return null;
+		return this.edgeIdIndex.get(edgeIdIn);
 	}// getEdge(String)
 
 	/**
-	 * Gets the edge at the specified index of the generated Edge list.
+	 * Gets the edge at the specified index of the edge list.
 	 * <p>
-	 * Only consistent when not adding or removing edges between calls.
+	 * Only consistent when not removing edges between calls; removing an edge moves the last edge into its place (see the class description).
 	 * 
 	 * @param edgeIndex
 	 *            The index of the edge to get.
@@ -1279,14 +1680,53 @@ public class LotGraph {
 	 *             If the index is out of bounds.
 	 */
 	public LotEdge getEdge(int edgeIndex) throws LotGraphException {
-		ArrayList<LotEdge> tempEdges = this.getEdgeList();
-		if (tempEdges.size() > edgeIndex) {
-			return tempEdges.get(edgeIndex);
+		if (edgeIndex >= 0 && this.edgeList.size() > edgeIndex) {
+			return this.edgeList.get(edgeIndex);
 		} else {
-			throw new LotGraphException("edgeIndex(" + edgeIndex + ") is out of bounds (max: " + tempEdges.size() + "");
+			throw new LotGraphException("edgeIndex(" + edgeIndex + ") is out of bounds (max: " + this.edgeList.size() + "");
 		}
 	}// getEdge(int)
 	
+	/**
+	 * Gets the edge with the given handle ({@link LotEdge#getHandle()}).
+	 * 
+	 * @param edgeHandleIn
+	 *            The handle of the edge we are trying to get.
+	 * @return The edge found.
+	 * @throws LotGraphException
+	 *             If there is no edge with the handle.
+	 */
+	public LotEdge getEdgeByHandle(int edgeHandleIn) throws LotGraphException {
+		if (this.hasEdgeByHandle(edgeHandleIn)) {
+			return this.edgesByHandle.get(edgeHandleIn);
+		}
+		throw new LotGraphException("No edge with the given handle (" + edgeHandleIn + ").");
+	}// getEdgeByHandle(int)
+	
+	/**
+	 * Determines if there is an edge with the given handle.
+	 * 
+	 * @param edgeHandleIn	The handle to look for.
+	 * @return	If there is an edge with the handle.
+	 */
+	public boolean hasEdgeByHandle(int edgeHandleIn) {
+		return this.edgesByHandle.containsKey(edgeHandleIn);
+	}// hasEdgeByHandle(int)
+	
+	/**
+	 * Gets the handle of the edge with the given ID.
+	 * 
+	 * @param edgeIdIn	The ID of the edge.
+	 * @return	The handle of the edge. -1 if there is no edge with the ID.
+	 */
+	public int getEdgeHandle(String edgeIdIn) {
+		LotEdge tempEdge = this.getEdge(edgeIdIn);
+		if (tempEdge != null) {
+			return tempEdge.getHandle();
+		}
+		return -1;
+	}// getEdgeHandle(String)
+	
 	/**
 	 * Gets the Edge with a particular key/value pair.
 	 * 
@@ -1295,7 +1735,10 @@ public class LotGraph {
 	 * @return	The Edge being searched for. Null if not found.
 	 */
 	public LotEdge getEdge(String key, String value){
-		for(LotEdge curEdge : this.getEdgeList()){
+		if(this.edgeAttIndex.isIndexed(key)){
+			return this.edgeAttIndex.getFirst(key, value);
+		}
+		for(LotEdge curEdge : this.getEdgeListView()){
 			if(curEdge.hasAtt(key, value)){
 				return curEdge;
 			}
@@ -1304,39 +1747,34 @@ public class LotGraph {
 	}//getEdge(String, String)
 
 	/**
-	 * Gets the index of a specified edge in the generated index list.
+	 * Gets the index of a specified edge in the edge list.
 	 * <p>
-	 * Only consistent when not adding or removing edges between calls.
+	 * Only consistent when not removing edges between calls; removing an edge moves the last edge into its place (see the class description).
 	 * 
 	 * @param edgeIn
 	 *            The edge to find.
 	 * @return The index of the edge, if found. -1 if not found.
 	 */
 	public int getEdgeIndex(LotEdge edgeIn) {
-		ArrayList<LotEdge> tempEdgeList = this.getEdgeList();
-		for (int i = 0; i < tempEdgeList.size(); i++) {
-			if (tempEdgeList.get(i) == edgeIn) {
-				return i;
-			}
+		if (this.hasEdge(edgeIn)) {
+			return edgeIn.getGraphIndex();
 		}
 		return -1;
 	}// getEdgeIndex(LotEdge)
 
 	/**
-	 * Gets the index of a specified edge in the generated index list.
+	 * Gets the index of a specified edge in the edge list.
 	 * <p>
-	 * Only consistent when not adding or removing edges between calls.
+	 * Only consistent when not removing edges between calls; removing an edge moves the last edge into its place (see the class description).
 	 * 
 	 * @param edgeIdIn
 	 *            The Id of the edge to find.
 	 * @return The index of the edge, if found. -1 if not found.
 	 */
 	public int getEdgeIndex(String edgeIdIn) {
-		ArrayList<LotEdge> tempEdgeList = this.getEdgeList();
-		for (int i = 0; i < tempEdgeList.size(); i++) {
-			if (tempEdgeList.get(i).getId().equals(edgeIdIn)) {
-				return i;
-			}
+		LotEdge tempEdge = this.getEdge(edgeIdIn);
+		if (tempEdge != null) {
+			return tempEdge.getGraphIndex();
 		}
 		return -1;
 	}// getEdgeIndex(String)
@@ -1370,7 +1808,7 @@ public class LotGraph {
 	}// hasEdge(String)
 
 	/**
-	 * Tests if there is an edge at the specified index of the generated edge
+	 * Tests if there is an edge at the specified index of the edge
 	 * list.
 	 * <p>
 	 * Only consistent if not adding or removing edges between calls.
@@ -1666,20 +2104,7 @@ public class LotGraph {
 	 */
 	public ArrayList<LotEdge> getEdgesToNode(LotNode nodeIn) throws LotGraphException{
 		if(this.hasNode(nodeIn)){
-			if(!this.hasEdgeToNode(nodeIn)){
-				return new ArrayList<LotEdge>();
-			}
-			ArrayList<LotEdge> edgesToNode = new ArrayList<LotEdge>();
-			for(LotNode curNode : this.getNodes()){
-				if(curNode.hasEdgeTo(nodeIn)){
-					for(LotEdge curEdge : curNode.getEdges()){
-						if(curEdge.getEndNode() == nodeIn){
-							edgesToNode.add(curEdge);
-						}
-					}
-				}//if something goes to the node given
-			}//main loop
-			return edgesToNode;
+			return new ArrayList<LotEdge>(nodeIn.getInEdges());
 		}else{
 			throw new LotGraphException("The id given does not belong to any held nodes.");
 		}
@@ -1766,15 +2191,10 @@ public class LotGraph {
 	 */
 	public boolean hasEdgeToNode(LotNode nodeIn) throws LotGraphException{
 		if(this.hasNode(nodeIn)){
-			for(LotNode curNode : this.getNodes()){
-				if(curNode.hasEdgeTo(nodeIn)){
-					return true;
-				}//if something goes to the node given
-			}//main loop
+			return !nodeIn.getInEdges().isEmpty();
 		}else{
 			throw new LotGraphException("The given node is not within the dataset.");
 		}
-		return false; 
 	}
 	
 	/**
@@ -1872,7 +2292,11 @@ public class LotGraph {
 	 * @throws LotGraphException	If that node is not within the dataset.
 	 */
 	public int getNumEdgesToNode(LotNode nodeIn) throws LotGraphException{
-		return this.getEdgesToNode(nodeIn).size();
+		if(this.hasNode(nodeIn)){
+			return nodeIn.getInEdges().size();
+		}else{
+			throw new LotGraphException("The given node is not within the dataset.");
+		}
 	}
 	
 	/**
@@ -1937,14 +2361,16 @@ public class LotGraph {
 	 * Gets a list of edges with a particular attribute, no matter the value.
 	 * 
 	 * @param attKeyIn	The attribute key to check for.
-	 * @return	A list of edges with the given attribute key.
+	 * @return	A list of edges with the given attribute key. In the order they are in the graph, whether or not the key is indexed ({@link #indexEdgeAtt(String)}).
 	 */
 	public ArrayList<LotEdge> getEdgesWithAtt(String attKeyIn){
-		ArrayList<LotEdge> edgeList = this.getEdgeList();
-		for(int i = 0; i < edgeList.size(); i++){
-			if(!edgeList.get(i).hasAtt(attKeyIn)){
-				edgeList.remove(i);
-				i--;
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.edgeAttIndex.get(attKeyIn);
+		}
+		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
+		for(LotEdge curEdge : this.edgeList){
+			if(curEdge.hasAtt(attKeyIn)){
+				edgeList.add(curEdge);
 			}
 		}
 		return edgeList;
@@ -1955,27 +2381,32 @@ public class LotGraph {
 	 * 
 	 * @param attKeyIn	The attribute key.
 	 * @param attValIn	The attribute value.
-	 * @return	A list of edges with the given attribute value pair.
+	 * @return	A list of edges with the given attribute value pair. In the order they are in the graph, whether or not the key is indexed ({@link #indexEdgeAtt(String)}).
 	 */
 	public ArrayList<LotEdge> getEdgesWithAtt(String attKeyIn, String attValIn){
-		ArrayList<LotEdge> edgeList = this.getEdgeList();
-		for(int i = 0; i < edgeList.size(); i++){
-			if(!edgeList.get(i).hasAtt(attKeyIn, attValIn)){
-				edgeList.remove(i);
-				i--;
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.edgeAttIndex.get(attKeyIn, attValIn);
+		}
+		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
+		for(LotEdge curEdge : this.edgeList){
+			if(curEdge.hasAtt(attKeyIn, attValIn)){
+				edgeList.add(curEdge);
 			}
 		}
 		return edgeList;
 	}//getEdgesWithAtt(String, String)
 	
 	/**
-	 * Gets the first occurrence of an edge with the given attribute key.
+	 * Gets the first occurrence of an edge with the given attribute key. First in the order they are in the graph, whether or not the key is indexed.
 	 * 
 	 * @param attKeyIn	The attribute key to search for.
 	 * @return	The first occurrence of an edge with the given attribute key. Null if none found.
 	 */
 	public LotEdge getEdgeWithAtt(String attKeyIn){
-		for(LotEdge curEdge : this.getEdgeList()){
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.edgeAttIndex.getFirst(attKeyIn);
+		}
+		for(LotEdge curEdge : this.getEdgeListView()){
 			if(curEdge.hasAtt(attKeyIn)){
 				return curEdge;
 			}
@@ -1984,14 +2415,17 @@ public class LotGraph {
 	}
 	
 	/**
-	 * Gets the first occurrence of an edge with the given attribute key/value pair.
+	 * Gets the first occurrence of an edge with the given attribute key/value pair. First in the order they are in the graph, whether or not the key is indexed.
 	 * 
 	 * @param attKeyIn	The attribute key to search for.
 	 * @param attValIn	The attribute value to search for.
 	 * @return	The first occurrence of an edge with the given attribute key/value pair. Null if none found.
 	 */
 	public LotEdge getEdgeWithAtt(String attKeyIn, String attValIn){
-		for(LotEdge curEdge : this.getEdgeList()){
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.edgeAttIndex.getFirst(attKeyIn, attValIn);
+		}
+		for(LotEdge curEdge : this.getEdgeListView()){
 			if(curEdge.hasAtt(attKeyIn, attValIn)){
 				return curEdge;
 			}
@@ -2003,14 +2437,16 @@ public class LotGraph {
 	 * Gets a list of nodes with a particular attribute, no matter the value.
 	 * 
 	 * @param attKeyIn	The key of the attribute.
-	 * @return	A list of nodes with the given attribute.
+	 * @return	A list of nodes with the given attribute. In the order they are in the graph, whether or not the key is indexed ({@link #indexNodeAtt(String)}).
 	 */
 	public ArrayList<LotNode> getNodesWithAtt(String attKeyIn){
-		ArrayList<LotNode> nodeList = this.getNodes();
-		for(int i = 0; i < nodeList.size(); i++){
-			if(!nodeList.get(i).hasAtt(attKeyIn)){
-				nodeList.remove(i);
-				i--;
+		if(this.nodeAttIndex.isIndexed(attKeyIn)){
+			return this.nodeAttIndex.get(attKeyIn);
+		}
+		ArrayList<LotNode> nodeList = new ArrayList<LotNode>();
+		for(LotNode curNode : this.nodes){
+			if(curNode.hasAtt(attKeyIn)){
+				nodeList.add(curNode);
 			}
 		}
 		return nodeList;
@@ -2021,25 +2457,30 @@ public class LotGraph {
 	 * 
 	 * @param attKeyIn	The key of the attribute.
 	 * @param attValIn	The value of the attribute.
-	 * @return	A list of nodes with a particular attribute key-value pair.
+	 * @return	A list of nodes with a particular attribute key-value pair. In the order they are in the graph, whether or not the key is indexed ({@link #indexNodeAtt(String)}).
 	 */
 	public ArrayList<LotNode> getNodesWithAtt(String attKeyIn, String attValIn){
-		ArrayList<LotNode> nodeList = this.getNodes();
-		for(int i = 0; i < nodeList.size(); i++){
-			if(!nodeList.get(i).hasAtt(attKeyIn, attValIn)){
-				nodeList.remove(i);
-				i--;
+		if(this.nodeAttIndex.isIndexed(attKeyIn)){
+			return this.nodeAttIndex.get(attKeyIn, attValIn);
+		}
+		ArrayList<LotNode> nodeList = new ArrayList<LotNode>();
+		for(LotNode curNode : this.nodes){
+			if(curNode.hasAtt(attKeyIn, attValIn)){
+				nodeList.add(curNode);
 			}
 		}
 		return nodeList;
 	}//getNodesWithAtt(String, String)
 	
 	/**
-	 * Gets the first occurrence of a node with the given attribute key.
+	 * Gets the first occurrence of a node with the given attribute key. First in the order they are in the graph, whether or not the key is indexed.
 	 * @param attKeyIn	The key to search for.
 	 * @return	The first occurrence of a node with the given attribute key. Null if none found.
 	 */
 	public LotNode getNodeWithAtt(String attKeyIn){
+		if(this.nodeAttIndex.isIndexed(attKeyIn)){
+			return this.nodeAttIndex.getFirst(attKeyIn);
+		}
 		for(LotNode curNode: this.getNodes()){
 			if(curNode.hasAtt(attKeyIn)){
 				return curNode;
@@ -2049,12 +2490,15 @@ public class LotGraph {
 	}
 	
 	/**
-	 * Gets the first occurrence of a node with the given attribute key/value pair.
+	 * Gets the first occurrence of a node with the given attribute key/value pair. First in the order they are in the graph, whether or not the key is indexed.
 	 * @param attKeyIn	The key to search for.
 	 * @param attValIn	The value to search for.
 	 * @return	The first occurrence of a node with the given attribute key/value pair. Null if none found.
 	 */
 	public LotNode getNodeWithAtt(String attKeyIn, String attValIn){
+		if(this.nodeAttIndex.isIndexed(attKeyIn)){
+			return this.nodeAttIndex.getFirst(attKeyIn, attValIn);
+		}
 		for(LotNode curNode: this.getNodes()){
 			if(curNode.hasAtt(attKeyIn, attValIn)){
 				return curNode;
@@ -2073,13 +2517,7 @@ public class LotGraph {
 		ArrayList<LotNode> nodeList = this.getNodesWithAtt(attKeyIn);
 		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
 		for(LotNode curNode : nodeList){
-			try {
-				edgeList.addAll(this.getEdgesToNode(curNode));
-			} catch (LotGraphException e) {
-				e.printStackTrace();
-				System.out.println("FATAL ERROR- This should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			edgeList.addAll(curNode.getInEdges());
 		}
 		
 		return edgeList;
@@ -2096,13 +2534,7 @@ public class LotGraph {
 		ArrayList<LotNode> nodeList = this.getNodesWithAtt(attKeyIn, attValIn);
 		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
 		for(LotNode curNode : nodeList){
-			try {
-				edgeList.addAll(this.getEdgesToNode(curNode));
-			} catch (LotGraphException e) {
-				e.printStackTrace();
-				System.out.println("FATAL ERROR- This should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			edgeList.addAll(curNode.getInEdges());
 		}
 		
 		return edgeList;
@@ -2114,8 +2546,15 @@ public class LotGraph {
 	 * @return A list of edges without the specified attribute key.
 	 */
 	public ArrayList<LotEdge> getEdgesWithOutAtt(String attKeyIn){
-		ArrayList<LotEdge> edgeList = this.getEdgeList();
-		edgeList.removeAll(this.getEdgesWithAtt(attKeyIn));
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.withOut(this.edgeList, this.edgeAttIndex.get(attKeyIn));
+		}
+		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
+		for(LotEdge curEdge : this.edgeList){
+			if(!curEdge.hasAtt(attKeyIn)){
+				edgeList.add(curEdge);
+			}
+		}
 		return edgeList;
 	}
 	
@@ -2126,8 +2565,15 @@ public class LotGraph {
 	 * @return A list of edges without the specified attribute key/value pair.
 	 */
 	public ArrayList<LotEdge> getEdgesWithOutAtt(String attKeyIn, String attValIn){
-		ArrayList<LotEdge> edgeList = this.getEdgeList();
-		edgeList.removeAll(this.getEdgesWithAtt(attKeyIn, attValIn));
+		if(this.edgeAttIndex.isIndexed(attKeyIn)){
+			return this.withOut(this.edgeList, this.edgeAttIndex.get(attKeyIn, attValIn));
+		}
+		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
+		for(LotEdge curEdge : this.edgeList){
+			if(!curEdge.hasAtt(attKeyIn, attValIn)){
+				edgeList.add(curEdge);
+			}
+		}
 		return edgeList;
 	}
 	
@@ -2137,9 +2583,7 @@ public class LotGraph {
 	 * @return A list of nodes without the given attribute key.
 	 */
 	public ArrayList<LotNode> getNodesWithOutAtt(String attKeyIn){
-		ArrayList<LotNode> nodeList = new ArrayList<LotNode>(this.nodes);//new one to not remove portions of the main node list
-		nodeList.removeAll(this.getNodesWithAtt(attKeyIn));
-		return nodeList;
+		return this.withOut(this.nodes, this.getNodesWithAtt(attKeyIn));
 	}
 	
 	/**
@@ -2149,11 +2593,28 @@ public class LotGraph {
 	 * @return A list of nodes without the given attribute key/value pair.
 	 */
 	public ArrayList<LotNode> getNodesWithOutAtt(String attKeyIn, String attValIn){
-		ArrayList<LotNode> nodeList = new ArrayList<LotNode>(this.nodes);//new one to not remove portions of the main node list
-		nodeList.removeAll(this.getNodesWithAtt(attKeyIn, attValIn));
-		return nodeList;
+		return this.withOut(this.nodes, this.getNodesWithAtt(attKeyIn, attValIn));
 	}
 	
+	/**
+	 * Gets the things in a list that are not in another, using a hash set of the ones to leave out rather than searching the list for each.
+	 * 
+	 * @param <T>	The type of thing in the lists.
+	 * @param listIn	The list to go through. Not changed.
+	 * @param toLeaveOut	The things to leave out.
+	 * @return	A new list of the things in the list given not in the things to leave out, in the same order.
+	 */
+	private <T> ArrayList<T> withOut(List<T> listIn, Collection<T> toLeaveOut){
+		HashSet<T> leaveOutSet = new HashSet<T>(toLeaveOut);
+		ArrayList<T> outList = new ArrayList<T>(Math.max(0, listIn.size() - leaveOutSet.size()));
+		for(T curThing : listIn){
+			if(!leaveOutSet.contains(curThing)){
+				outList.add(curThing);
+			}
+		}
+		return outList;
+	}// withOut(List<T>, Collection<T>)
+	
 	/**
 	 * Gets a list of edges that point to nodes that don't have a specified attribute key.
 	 * @param attKeyIn The key to not have in the nodes to get edges for.
@@ -2163,13 +2624,7 @@ public class LotGraph {
 		ArrayList<LotNode> nodeList = this.getNodesWithOutAtt(attKeyIn);
 		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
 		for(LotNode curNode : nodeList){
-			try {
-				edgeList.addAll(this.getEdgesToNode(curNode));
-			} catch (LotGraphException e) {
-				e.printStackTrace();
-				System.out.println("FATAL ERROR- This should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			edgeList.addAll(curNode.getInEdges());
 		}
 		return edgeList;
 	}
@@ -2184,13 +2639,7 @@ public class LotGraph {
 		ArrayList<LotNode> nodeList = this.getNodesWithOutAtt(attKeyIn, attValIn);
 		ArrayList<LotEdge> edgeList = new ArrayList<LotEdge>();
 		for(LotNode curNode : nodeList){
-			try {
-				edgeList.addAll(this.getEdgesToNode(curNode));
-			} catch (LotGraphException e) {
-				e.printStackTrace();
-				System.out.println("FATAL ERROR- This should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
+			edgeList.addAll(curNode.getInEdges());
 		}
 		return edgeList;
 	}
@@ -2538,8 +2987,7 @@ public class LotGraph {
 	public String toString() {
 		final int maxLen = 10;
 		return "LotGraph [nodes=" + (nodes != null ? nodes.subList(0, Math.min(nodes.size(), maxLen)) : null)
-				+ ", edgeIdPred=" + edgeIdPred + ", nodeIdPred=" + nodeIdPred + ", idSaltRange="
-				+ idSaltRange + "]";
+				+ ", edgeIdPred=" + edgeIdPred + ", nodeIdPred=" + nodeIdPred + "]";
 	}//toString()
 
 	@Override
@@ -2606,34 +3054,58 @@ public class LotGraph {
 	/**
 	 * Generates a new ID for new nodes or edges.
 	 * <p>
-	 * Does this by combining two random integers (ideally never getting the
-	 * same one twice).
+	 * Takes the next number in the sequence for the type of ID, and scrambles it with the random seed ({@link #randSeed}) into a 20 digit number. The scrambling never gives the same number for two different sequence numbers, so ID's made this way never match each other, and the same seed always gives the same ID's.
 	 * <p>
-	 * Not guaranteed unique, use {@link #getNewUniqueId(char)} for that.
+	 * Can still match ID's that came from elsewhere (loaded or set by hand), use {@link #getNewUniqueId(char)} to skip those.
 	 * 
 	 * @param idType
 	 *            The type of id to generate (node='n', edge='e').
 	 * @return The new ID.
 	 */
 	private String getNewId(char idType) {
-		String output = "";
+		String pred;
+		long seq;
 		switch (idType) {
 		case 'n':
-			output = nodeIdPred;
+			pred = nodeIdPred;
+			seq = this.nodeIdSeq++;
 			break;
 		case 'e':
-			output = edgeIdPred;
+			pred = edgeIdPred;
+			seq = this.edgeIdSeq++;
 			break;
 		default:
 			return null;
 		}
-		output += String.format("%010d", (new Integer(rand.nextInt(idSaltRange))))
-				+ String.format("%010d", (new Integer(rand.nextInt(idSaltRange))));
-		return output;
+		//both steps are one to one, so different sequence numbers always give different salts
+		long salt = scrambleBits(scrambleBits(this.randSeed ^ idType) + seq * 0x9E3779B97F4A7C15L);
+		String digits = Long.toUnsignedString(salt);
+		StringBuilder output = new StringBuilder(pred.length() + idDigits);
+		output.append(pred);
+		for (int i = digits.length(); i < idDigits; i++) {
+			output.append('0');
+		}
+		return output.append(digits).toString();
 	}// getNewId()
 
+	/**
+	 * Scrambles the bits of a number. One to one, so no two numbers give the same result.
+	 * <p>
+	 * The finishing step of the SplitMix64 generator.
+	 * 
+	 * @param bitsIn	The number to scramble.
+	 * @return	The scrambled number.
+	 */
+	private static long scrambleBits(long bitsIn) {
+		bitsIn = (bitsIn ^ (bitsIn >>> 30)) * 0xBF58476D1CE4E5B9L;
+		bitsIn = (bitsIn ^ (bitsIn >>> 27)) * 0x94D049BB133111EBL;
+		return bitsIn ^ (bitsIn >>> 31);
+	}// scrambleBits(long)
+
 	/**
 	 * Gets a guaranteed unique id.
+	 * <p>
+	 * ID's from {@link #getNewId(char)} never match each other, so this only has to skip ones matching ID's that came from elsewhere, each checked against the ID indexes in O(1).
 	 * 
 	 * @param idType
 	 *            The type of ID to get ('n'=node, 'e'=edge).
@@ -2659,36 +3131,364 @@ public class LotGraph {
 	public boolean idIsUnique(char idType, String idIn) {
 		switch (idType) {
 		case 'n':
-			// System.out.println("# nodes: " + this.getNodeListSize() );
-			if (this.getNumNodes() == 0) {
-				return true;
-			}
-			for (int i = 0; i < this.getNumNodes(); i++) {
-				try {
-					if (this.getNode(i).getId().equals(idIn)) {
-						return false;
-					}
-				} catch (LotGraphException err) {
-					System.out.println(
-							"FATAL-ERROR- idIsUnique(). You should not get this error. Message: " + err.getMessage());
-					System.exit(1);
+			return !this.nodeIdIndex.containsKey(idIn);
+		case 'e':
+			return !this.edgeIdIndex.containsKey(idIn);
+		}
+		return true;
+	}// idIsUnique(char, String)
+	
+	/**
+	 * Gets the node held under an ID in {@link #nodeIdIndex}, for nodes to check an ID they are being given is not already used.
+	 * 
+	 * @param idIn	The ID to look up.
+	 * @return	The node held under the ID. Null if none.
+	 */
+	LotNode getIndexedNode(String idIn) {
+		return this.nodeIdIndex.get(idIn);
+	}// getIndexedNode(String)
+	
+	/**
+	 * Gets the edge held under an ID in {@link #edgeIdIndex}, for nodes and edges to check an ID they are being given is not already used.
+	 * 
+	 * @param idIn	The ID to look up.
+	 * @return	The edge held under the ID. Null if none.
+	 */
+	LotEdge getIndexedEdge(String idIn) {
+		return this.edgeIdIndex.get(idIn);
+	}// getIndexedEdge(String)
+	
+	/**
+	 * Takes ownership of a node that was just put into {@link #nodes}, and adds it and its edges to the ID indexes.
+	 * 
+	 * @param nodeIn	The node being added.
+	 */
+	private void registerNode(LotNode nodeIn) {
+		this.takeNode(nodeIn);
+		for (LotEdge curEdge : nodeIn.getEdges()) {
+			this.edgeAttached(nodeIn, curEdge);
+		}
+	}// registerNode(LotNode)
+	
+	/**
+	 * Takes ownership of a node and adds it to {@link #nodeIdIndex}, without its edges.
+	 * 
+	 * @param nodeIn	The node being added.
+	 */
+	private void takeNode(LotNode nodeIn) {
+		this.version++;
+		this.attVersion++;
+		nodeIn.setGraph(this);
+		nodeIn.setHandle(this.nextNodeHandle++);
+		this.nodesByHandle.put(nodeIn.getHandle(), nodeIn);
+		nodeIn.setAttTable(this.attKeys);
+		nodeIn.clearInEdges();
+		this.nodeIdIndex.put(nodeIn.getId(), nodeIn);
+		this.indexNodeAtts(nodeIn, null, true);
+		if (this.components != null) {
+			this.components.nodeAdded(nodeIn);
+		}
+		//edges already in the graph that end at this node now come in to it
+		ArrayList<LotEdge> edgesIn = this.edgesToOutsideNodes.remove(nodeIn);
+		if (edgesIn != null) {
+			for (LotEdge curEdge : edgesIn) {
+				nodeIn.addInEdge(curEdge);
+				if (this.components != null) {
+					this.components.edgeAdded(curEdge);
 				}
+				this.journalEdge(curEdge);
 			}
-			break;
-		case 'e':
-			if (this.getNumEdges() == 0) {
-				return true;
+		}
+	}// takeNode(LotNode)
+	
+	/**
+	 * Releases a node that was just taken out of {@link #nodes}, removing it and its edges from the ID indexes.
+	 * 
+	 * @param nodeIn	The node being removed.
+	 */
+	private void unregisterNode(LotNode nodeIn) {
+		this.version++;
+		for (LotEdge curEdge : nodeIn.getEdges()) {
+			this.edgeDetached(nodeIn, curEdge);
+		}
+		if (this.nodeIdIndex.get(nodeIn.getId()) == nodeIn) {
+			this.nodeIdIndex.remove(nodeIn.getId());
+		}
+		this.indexNodeAtts(nodeIn, null, false);
+		nodeIn.clearInEdges();
+		nodeIn.setGraph(null);
+		nodeIn.setGraphIndex(-1);
+		nodeIn.setAttTable(null);
+		if (nodeIn.getHandle() >= 0) {
+			this.nodesByHandle.remove(nodeIn.getHandle());
+		}
+		nodeIn.setHandle(-1);
+		if (this.components != null) {
+			this.components.invalidate();
+		}
+	}// unregisterNode(LotNode)
+	
+	/**
+	 * Called by a node held by this graph when its ID changes, to keep {@link #nodeIdIndex} up to date.
+	 * 
+	 * @param nodeIn	The node that changed.
+	 * @param oldId	The ID the node had before.
+	 */
+	void nodeIdChanged(LotNode nodeIn, String oldId) {
+		this.version++;
+		if (this.nodeIdIndex.get(oldId) == nodeIn) {
+			this.nodeIdIndex.remove(oldId);
+		}
+		this.nodeIdIndex.put(nodeIn.getId(), nodeIn);
+	}// nodeIdChanged(LotNode, String)
+	
+	/**
+	 * Called by an edge held by this graph when its ID changes, to keep {@link #edgeIdIndex} up to date.
+	 * 
+	 * @param edgeIn	The edge that changed.
+	 * @param oldId	The ID the edge had before.
+	 */
+	void edgeIdChanged(LotEdge edgeIn, String oldId) {
+		this.version++;
+		if (oldId != null && this.edgeIdIndex.get(oldId) == edgeIn) {
+			this.edgeIdIndex.remove(oldId);
+		}
+		if (edgeIn.getId() != null) {
+			this.edgeIdIndex.put(edgeIn.getId(), edgeIn);
+		}
+	}// edgeIdChanged(LotEdge, String)
+	
+	/**
+	 * Called by a node held by this graph when an edge is added to it, to keep {@link #edgeIdIndex} up to date.
+	 * 
+	 * @param fromNode	The node the edge was added to.
+	 * @param edgeIn	The edge added.
+	 */
+	void edgeAttached(LotNode fromNode, LotEdge edgeIn) {
+		this.version++;
+		if (edgeIn.getId() != null) {
+			this.edgeIdIndex.put(edgeIn.getId(), edgeIn);
+		}
+		edgeIn.setGraphIndex(this.edgeList.size());
+		this.edgeList.add(edgeIn);
+		edgeIn.setHandle(this.nextEdgeHandle++);
+		this.edgesByHandle.put(edgeIn.getHandle(), edgeIn);
+		edgeIn.setAttTable(this.attKeys);
+		this.indexEdgeAtts(edgeIn, null, true);
+		if (edgeIn.getEndNode() != null && edgeIn.getEndNode().getGraph() == this) {
+			edgeIn.getEndNode().addInEdge(edgeIn);
+		} else {
+			this.setEdgeToOutsideNode(edgeIn, edgeIn.getEndNode(), true);
+		}
+		if (this.components != null) {
+			this.components.edgeAdded(edgeIn);
+		}
+		this.journalEdge(edgeIn);
+	}// edgeAttached(LotNode, LotEdge)
+	
+	/**
+	 * Called by a node held by this graph when an edge is removed from it, to keep {@link #edgeIdIndex} up to date.
+	 * 
+	 * @param fromNode	The node the edge was removed from.
+	 * @param edgeIn	The edge removed.
+	 */
+	void edgeDetached(LotNode fromNode, LotEdge edgeIn) {
+		this.version++;
+		if (edgeIn.getId() != null && this.edgeIdIndex.get(edgeIn.getId()) == edgeIn) {
+			this.edgeIdIndex.remove(edgeIn.getId());
+		}
+		//swap the last edge into the removed edge's place, so we don't have to shift everything down
+		int index = edgeIn.getGraphIndex();
+		if (index >= 0 && index < this.edgeList.size() && this.edgeList.get(index) == edgeIn) {
+			LotEdge lastEdge = this.edgeList.remove(this.edgeList.size() - 1);
+			if (lastEdge != edgeIn) {
+				this.edgeList.set(index, lastEdge);
+				lastEdge.setGraphIndex(index);
+			}
+		}
+		edgeIn.setGraphIndex(-1);
+		if (edgeIn.getHandle() >= 0 && this.edgesByHandle.get(edgeIn.getHandle()) == edgeIn) {
+			this.edgesByHandle.remove(edgeIn.getHandle());
+		}
+		edgeIn.setHandle(-1);
+		this.indexEdgeAtts(edgeIn, null, false);
+		edgeIn.setAttTable(null);
+		if (edgeIn.getEndNode() != null && edgeIn.getEndNode().getGraph() == this) {
+			edgeIn.getEndNode().remInEdge(edgeIn);
+		} else {
+			this.setEdgeToOutsideNode(edgeIn, edgeIn.getEndNode(), false);
+		}
+		if (this.components != null) {
+			this.components.invalidate();
+		}
+		this.journalEdge(edgeIn);
+		if (this.pathRegistry != null) {
+			this.pathRegistry.edgeChanged(edgeIn);
+		}
+	}// edgeDetached(LotNode, LotEdge)
+	
+	/**
+	 * Called by an edge held by this graph when its end node changes, to keep the nodes' incoming edges up to date.
+	 * 
+	 * @param edgeIn	The edge that changed.
+	 * @param oldEndNode	The node the edge ended at before.
+	 */
+	void edgeEndChanged(LotEdge edgeIn, LotNode oldEndNode) {
+		this.version++;
+		if (oldEndNode != null && oldEndNode.getGraph() == this) {
+			oldEndNode.remInEdge(edgeIn);
+		} else {
+			this.setEdgeToOutsideNode(edgeIn, oldEndNode, false);
+		}
+		if (edgeIn.getEndNode() != null && edgeIn.getEndNode().getGraph() == this) {
+			edgeIn.getEndNode().addInEdge(edgeIn);
+		} else {
+			this.setEdgeToOutsideNode(edgeIn, edgeIn.getEndNode(), true);
+		}
+		if (this.components != null) {
+			if (oldEndNode != null) {
+				this.components.invalidate();
+			} else {
+				this.components.edgeAdded(edgeIn);
+			}
+		}
+		this.journalEdge(edgeIn);
+		if (this.pathRegistry != null) {
+			this.pathRegistry.edgeChanged(edgeIn);
+		}
+	}// edgeEndChanged(LotEdge, LotNode)
+	
+	/**
+	 * Adds or removes an edge from {@link #edgesToOutsideNodes}.
+	 * 
+	 * @param edgeIn	The edge ending at a node not in this graph.
+	 * @param endNodeIn	The node not in this graph. Nothing is done if null.
+	 * @param add	If to add the edge, rather than remove it.
+	 */
+	private void setEdgeToOutsideNode(LotEdge edgeIn, LotNode endNodeIn, boolean add) {
+		if (endNodeIn == null) {
+			return;
+		}
+		ArrayList<LotEdge> edgesIn = this.edgesToOutsideNodes.get(endNodeIn);
+		if (add) {
+			if (edgesIn == null) {
+				edgesIn = new ArrayList<LotEdge>(2);
+				this.edgesToOutsideNodes.put(endNodeIn, edgesIn);
 			}
-			ArrayList<LotEdge> tempEdgeList = this.getEdgeList();
-			for (int i = 0; i < tempEdgeList.size(); i++) {
-				if (tempEdgeList.get(i).getId().equals(idIn)) {
-					return false;
+			edgesIn.add(edgeIn);
+		} else if (edgesIn != null) {
+			edgesIn.remove(edgeIn);
+			if (edgesIn.isEmpty()) {
+				this.edgesToOutsideNodes.remove(endNodeIn);
+			}
+		}
+	}// setEdgeToOutsideNode(LotEdge, LotNode, boolean)
+	
+	/**
+	 * Puts a change to an edge in the edge change journal ({@link #journalEdges}), at the current version. Drops the oldest change if the journal is full.
+	 * 
+	 * @param edgeIn	The edge that changed.
+	 */
+	private void journalEdge(LotEdge edgeIn) {
+		int slot = (int) (this.numJournaled % JOURNAL_SIZE);
+		if (this.numJournaled >= JOURNAL_SIZE) {
+			this.journalDroppedVersion = this.journalVersions[slot];
+		}
+		this.journalEdges[slot] = edgeIn;
+		this.journalVersions[slot] = this.version;
+		this.numJournaled++;
+	}// journalEdge(LotEdge)
+	
+	/**
+	 * Called by an edge held by this graph when its metric changes. Not put in the edge change journal ({@link #journalEdges}); the attached indexes that listen for it ({@link #metricListeners}) are told instead.
+	 * 
+	 * @param edgeIn	The edge that changed.
+	 */
+	void edgeMetricChanged(LotEdge edgeIn) {
+		this.version++;
+		if (this.pathRegistry != null) {
+			this.pathRegistry.edgeChanged(edgeIn);
+		}
+		for (LotMetricListener curListener : this.metricListeners) {
+			curListener.edgeMetricChanged(edgeIn);
+		}
+	}// edgeMetricChanged(LotEdge)
+	
+	/**
+	 * Called by a node or edge held by this graph when one of its typed attributes changes. These can go into the costs of edges, so count as a change to the graph.
+	 */
+	void typedAttChanged() {
+		this.version++;
+		this.attVersion++;
+	}// typedAttChanged()
+	
+	/**
+	 * Called by a node held by this graph just before and just after changing its attributes, to keep {@link #nodeAttIndex} and {@link #attVersion} up to date.
+	 * 
+	 * @param nodeIn	The node changing.
+	 * @param attKeyIn	The key of the attribute changing. Null if all of them are.
+	 * @param changed	False before the change, to take the node out from under its old values. True after, to put it under the new ones.
+	 */
+	void nodeAttChanged(LotNode nodeIn, String attKeyIn, boolean changed) {
+		this.attVersion++;
+		this.indexNodeAtts(nodeIn, attKeyIn, changed);
+	}// nodeAttChanged(LotNode, String, boolean)
+	
+	/**
+	 * Called by an edge held by this graph just before and just after changing its attributes, to keep {@link #edgeAttIndex} and {@link #attVersion} up to date.
+	 * 
+	 * @param edgeIn	The edge changing.
+	 * @param attKeyIn	The key of the attribute changing. Null if all of them are.
+	 * @param changed	False before the change, to take the edge out from under its old values. True after, to put it under the new ones.
+	 */
+	void edgeAttChanged(LotEdge edgeIn, String attKeyIn, boolean changed) {
+		this.attVersion++;
+		this.indexEdgeAtts(edgeIn, attKeyIn, changed);
+	}// edgeAttChanged(LotEdge, String, boolean)
+	
+	/**
+	 * Adds a node to, or removes it from, {@link #nodeAttIndex} under the values of its indexed attributes.
+	 * 
+	 * @param nodeIn	The node to add or remove.
+	 * @param attKeyIn	The attribute to add or remove the node under. Null for all indexed attributes.
+	 * @param adding	If adding the node. Otherwise, removing it.
+	 */
+	private void indexNodeAtts(LotNode nodeIn, String attKeyIn, boolean adding) {
+		if (this.nodeAttIndex.isEmpty()) {
+			return;
+		}
+		for (String curKey : (attKeyIn == null ? this.nodeAttIndex.getKeys() : Collections.singleton(attKeyIn))) {
+			if (this.nodeAttIndex.isIndexed(curKey) && nodeIn.hasAtt(curKey)) {
+				if (adding) {
+					this.nodeAttIndex.add(nodeIn, curKey, nodeIn.getAtt(curKey));
+				} else {
+					this.nodeAttIndex.remove(nodeIn, curKey, nodeIn.getAtt(curKey));
 				}
 			}
-			break;
 		}
-		return true;
-	}// idIsUnique(char, String)
+	}// indexNodeAtts(LotNode, String, boolean)
+	
+	/**
+	 * Adds an edge to, or removes it from, {@link #edgeAttIndex} under the values of its indexed attributes.
+	 * 
+	 * @param edgeIn	The edge to add or remove.
+	 * @param attKeyIn	The attribute to add or remove the edge under. Null for all indexed attributes.
+	 * @param adding	If adding the edge. Otherwise, removing it.
+	 */
+	private void indexEdgeAtts(LotEdge edgeIn, String attKeyIn, boolean adding) {
+		if (this.edgeAttIndex.isEmpty()) {
+			return;
+		}
+		for (String curKey : (attKeyIn == null ? this.edgeAttIndex.getKeys() : Collections.singleton(attKeyIn))) {
+			if (this.edgeAttIndex.isIndexed(curKey) && edgeIn.hasAtt(curKey)) {
+				if (adding) {
+					this.edgeAttIndex.add(edgeIn, curKey, edgeIn.getAtt(curKey));
+				} else {
+					this.edgeAttIndex.remove(edgeIn, curKey, edgeIn.getAtt(curKey));
+				}
+			}
+		}
+	}// indexEdgeAtts(LotEdge, String, boolean)
 
 	// endregion
 }// class LotGraph
\ No newline at end of file
@@ -0,0 +1,502 @@
+package botLot.lotGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The strongly connected components of a graph, used to answer if one node can get to another without searching.
+ * <p>
+ * Nodes that can all get to each other are put into the same component. The components then form a DAG (the condensation of the graph), and each component keeps a BitSet of every component it can get to, including itself. So whether there is a path from one node to another is just a lookup of each node's component, and one bit.
+ * <p>
+ * Kept by the graph ({@link LotGraph#getComponents()}), which tells it about every change. Edges added are applied as they come in: an edge already implied by what we know changes nothing, an edge between two components adds what the second can get to to everything that can get to the first, and an edge that closes a loop merges every component on that loop into one. Nodes added get a component of their own the first time they are looked at. Anything taken away (edges, nodes, or edges changed to go elsewhere) just marks this as out of date, and it is rebuilt from scratch (Tarjan's algorithm) the next time it is asked something. So a bunch of removals only cost one rebuild.
+ * <p>
+ * Takes one bit for every pair of components, so is best for graphs that are mostly made up of a few large components, which most maps are. When there are more than {@link #MAX_CLOSURE_COMPONENTS} components, the reachable sets are not kept; the condensation's edges are kept instead, and each path asked about is searched for over the components (a breadth first search). Edges added are then not applied as they come in; the next question rebuilds.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class LotGraphComponents {
+	/** The most components to keep reachable sets for. Past this, the sets would take too much memory (one bit for each pair of components), so paths are searched for over the condensation instead. */
+	public static final int MAX_CLOSURE_COMPONENTS = 4096;
+	/** The graph these are the components of. */
+	private final LotGraph graph;
+	/** If what we have matches the graph. False after anything is taken away from the graph. */
+	private boolean upToDate = false;
+	/** If the graph has edges going to nodes it doesn't hold. Adding a node could then add paths we weren't told about. */
+	private boolean hasOutsideEdges = false;
+	/** The number of nodes we have components for. Nodes after this in the graph's node list were added since, and have components of their own. */
+	private int numNodes = 0;
+	/** The component of each node, by the node's index in the graph's node list. */
+	private int[] nodeComps = new int[0];
+	/** The number of component numbers given out, including ones merged into others. */
+	private int numCompNums = 0;
+	/** The number of components there actually are. */
+	private int numComps = 0;
+	/** If the reachable sets ({@link #reachable}) are kept. False when there were more than {@link #MAX_CLOSURE_COMPONENTS} components when last built. */
+	private boolean useClosure = true;
+	/** The components each component can get to, including itself. Null for component numbers merged into others. Not kept when not {@link #useClosure}. */
+	private BitSet[] reachable = new BitSet[0];
+	/** When not {@link #useClosure}, where each component's edges start in {@link #condTargets}, by component number. Components made after the last build have no edges. */
+	private int[] condStarts = new int[1];
+	/** When not {@link #useClosure}, the components each component has an edge to, other than itself. */
+	private int[] condTargets = new int[0];
+	/** The components that are on a loop; ones with more than one node, or a node with an edge to itself. */
+	private final BitSet onLoop = new BitSet();
+
+	/**
+	 * Constructor taking the graph to keep the components of. Nothing is built until first needed.
+	 *
+	 * @param graphIn	The graph to keep the components of.
+	 */
+	LotGraphComponents(LotGraph graphIn){
+		this.graph = graphIn;
+	}//LotGraphComponents(LotGraph)
+
+	/**
+	 * Gets the graph these are the components of.
+	 *
+	 * @return	The graph these are the components of.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Determines if these match the graph, or will be rebuilt when next used.
+	 *
+	 * @return	If these match the graph.
+	 */
+	public synchronized boolean isUpToDate(){
+		return this.upToDate;
+	}//isUpToDate()
+
+	/**
+	 * Determines if there is a path of at least one edge from one node to another. For a node to itself, this means it is on a loop.
+	 *
+	 * @param fromNode	The node to start at.
+	 * @param toNode	The node to get to.
+	 * @return	If there is a path from the one node to the other. False if either is not in the graph.
+	 */
+	public synchronized boolean hasPath(LotNode fromNode, LotNode toNode){
+		int fromComp = this.getComponent(fromNode);
+		int toComp = this.getComponent(toNode);
+		if(fromComp < 0 || toComp < 0){
+			return false;
+		}
+		if(fromNode == toNode){
+			return this.onLoop.get(fromComp);
+		}
+		if(this.useClosure){
+			return this.reachable[fromComp].get(toComp);
+		}
+		return this.searchPath(fromComp, toComp);
+	}//hasPath(LotNode, LotNode)
+
+	/**
+	 * Searches for a path from one component to another over the condensation, for when the reachable sets are not kept.
+	 *
+	 * @param fromComp	The component to start at.
+	 * @param toComp	The component to get to.
+	 * @return	If the one component can get to the other.
+	 */
+	private boolean searchPath(int fromComp, int toComp){
+		if(fromComp == toComp){
+			return true;
+		}
+		int numCondComps = this.condStarts.length - 1;
+		//components made since the last build have no edges
+		if(fromComp >= numCondComps){
+			return false;
+		}
+		BitSet visited = new BitSet(numCondComps);
+		int[] queue = new int[numCondComps];
+		int queueStart = 0;
+		int queueEnd = 0;
+		visited.set(fromComp);
+		queue[queueEnd++] = fromComp;
+		while(queueStart < queueEnd){
+			int curComp = queue[queueStart++];
+			for(int i = this.condStarts[curComp]; i < this.condStarts[curComp + 1]; i++){
+				int nextComp = this.condTargets[i];
+				if(nextComp == toComp){
+					return true;
+				}
+				if(!visited.get(nextComp)){
+					visited.set(nextComp);
+					queue[queueEnd++] = nextComp;
+				}
+			}
+		}
+		return false;
+	}//searchPath(int, int)
+
+	/**
+	 * Determines if two nodes can get to each other.
+	 *
+	 * @param nodeOne	One of the nodes.
+	 * @param nodeTwo	The other node.
+	 * @return	If the nodes are in the same component. False if either is not in the graph.
+	 */
+	public synchronized boolean inSameComponent(LotNode nodeOne, LotNode nodeTwo){
+		int compOne = this.getComponent(nodeOne);
+		return compOne >= 0 && compOne == this.getComponent(nodeTwo);
+	}//inSameComponent(LotNode, LotNode)
+
+	/**
+	 * Gets the number of the component a node is in. Only good until the graph is next changed.
+	 *
+	 * @param nodeIn	The node to get the component of.
+	 * @return	The number of the node's component. -1 if the node is not in the graph.
+	 */
+	public synchronized int getComponent(LotNode nodeIn){
+		if(nodeIn == null || nodeIn.getGraph() != this.graph){
+			return -1;
+		}
+		this.update();
+		return this.nodeComps[nodeIn.getGraphIndex()];
+	}//getComponent(LotNode)
+
+	/**
+	 * Gets the number of strongly connected components in the graph.
+	 *
+	 * @return	The number of components.
+	 */
+	public synchronized int getNumComponents(){
+		this.update();
+		return this.numComps;
+	}//getNumComponents()
+
+	// =========================================================================
+	// Change tracking, called by the graph
+	// region Change tracking
+	// =========================================================================
+
+	/**
+	 * Called by the graph when an edge is added, or given an end node.
+	 *
+	 * @param edgeIn	The edge added.
+	 */
+	synchronized void edgeAdded(LotEdge edgeIn){
+		if(!this.upToDate || edgeIn.getEndNode() == null || edgeIn.getStartNode() == null){
+			return;
+		}
+		if(edgeIn.getEndNode().getGraph() != this.graph){
+			this.hasOutsideEdges = true;
+			return;
+		}
+		if(!this.useClosure){
+			this.upToDate = false;
+			return;
+		}
+		this.addNewNodes();
+		if(this.numComps > MAX_CLOSURE_COMPONENTS){
+			this.upToDate = false;
+			return;
+		}
+		this.addLink(this.nodeComps[edgeIn.getStartNode().getGraphIndex()], this.nodeComps[edgeIn.getEndNode().getGraphIndex()]);
+	}//edgeAdded(LotEdge)
+
+	/**
+	 * Called by the graph when a node is added. The node is given its component when next needed, unless edges we know about could now go to it.
+	 *
+	 * @param nodeIn	The node added.
+	 */
+	synchronized void nodeAdded(LotNode nodeIn){
+		if(this.hasOutsideEdges){
+			this.upToDate = false;
+		}
+	}//nodeAdded(LotNode)
+
+	/**
+	 * Called by the graph when anything is taken away. Marks these to be rebuilt when next needed.
+	 */
+	synchronized void invalidate(){
+		this.upToDate = false;
+	}//invalidate()
+
+	// endregion
+
+	// =========================================================================
+	// Building and updating
+	// region Building and updating
+	// =========================================================================
+
+	/**
+	 * Makes sure these match the graph, rebuilding if anything was taken away, and giving nodes added since their own components.
+	 */
+	private void update(){
+		if(!this.upToDate){
+			this.build();
+		}else{
+			this.addNewNodes();
+			if(this.useClosure && this.numComps > MAX_CLOSURE_COMPONENTS){
+				this.build();
+			}
+		}
+	}//update()
+
+	/**
+	 * Gives each node added to the graph since we last looked a component of its own.
+	 */
+	private void addNewNodes(){
+		int graphNodes = this.graph.getNumNodes();
+		if(this.numNodes >= graphNodes){
+			return;
+		}
+		if(this.nodeComps.length < graphNodes){
+			this.nodeComps = Arrays.copyOf(this.nodeComps, Math.max(graphNodes, this.nodeComps.length * 2));
+		}
+		for(int i = this.numNodes; i < graphNodes; i++){
+			this.nodeComps[i] = this.newComponent();
+		}
+		this.numNodes = graphNodes;
+	}//addNewNodes()
+
+	/**
+	 * Makes a new component that can only get to itself.
+	 *
+	 * @return	The new component's number.
+	 */
+	private int newComponent(){
+		if(this.useClosure){
+			if(this.numCompNums == this.reachable.length){
+				this.reachable = Arrays.copyOf(this.reachable, Math.max(16, this.reachable.length * 2));
+			}
+			BitSet newReachable = new BitSet();
+			newReachable.set(this.numCompNums);
+			this.reachable[this.numCompNums] = newReachable;
+		}
+		this.numComps++;
+		return this.numCompNums++;
+	}//newComponent()
+
+	/**
+	 * Applies a new edge going from one component to another.
+	 * <p>
+	 * Everything that can get to the first component can now get to everything the second can get to. If the second could already get to the first, the edge closes a loop, and every component that is both gotten to from the second and gets to the first is merged into the first.
+	 *
+	 * @param fromComp	The component the edge starts in.
+	 * @param toComp	The component the edge ends in.
+	 */
+	private void addLink(int fromComp, int toComp){
+		if(fromComp == toComp){
+			this.onLoop.set(fromComp);
+			return;
+		}
+		if(this.reachable[fromComp].get(toComp)){
+			return;
+		}
+		BitSet toReachable = this.reachable[toComp];
+		for(int i = 0; i < this.numCompNums; i++){
+			if(this.reachable[i] != null && this.reachable[i].get(fromComp)){
+				this.reachable[i].or(toReachable);
+			}
+		}
+		if(!toReachable.get(fromComp)){
+			return;
+		}
+		//the edge closed a loop. Merge everything on it into fromComp
+		BitSet merged = new BitSet();
+		for(int i = toReachable.nextSetBit(0); i >= 0; i = toReachable.nextSetBit(i + 1)){
+			if(this.reachable[i].get(fromComp)){
+				merged.set(i);
+			}
+		}
+		for(int i = 0; i < this.numNodes; i++){
+			if(merged.get(this.nodeComps[i])){
+				this.nodeComps[i] = fromComp;
+			}
+		}
+		for(int i = merged.nextSetBit(0); i >= 0; i = merged.nextSetBit(i + 1)){
+			if(i != fromComp){
+				this.reachable[i] = null;
+				this.onLoop.clear(i);
+				this.numComps--;
+			}
+		}
+		for(int i = 0; i < this.numCompNums; i++){
+			if(this.reachable[i] != null && this.reachable[i].intersects(merged)){
+				this.reachable[i].andNot(merged);
+				this.reachable[i].set(fromComp);
+			}
+		}
+		this.onLoop.set(fromComp);
+	}//addLink(int, int)
+
+	/**
+	 * Rebuilds everything from the graph.
+	 * <p>
+	 * Finds the components with an iterative Tarjan's algorithm, so large graphs can't overflow the stack. Tarjan's gives each component only after every component it can get to, so the components' reachable sets can then be built in the order they were numbered. When there are too many components for the reachable sets, the condensation's edges are kept instead.
+	 */
+	private void build(){
+		ArrayList<LotNode> nodes = this.graph.getNodes();
+		int n = nodes.size();
+		this.numNodes = n;
+		this.nodeComps = new int[Math.max(1, n)];
+		Arrays.fill(this.nodeComps, -1);
+		this.numCompNums = 0;
+		this.numComps = 0;
+		this.useClosure = true;
+		this.reachable = new BitSet[16];
+		this.condStarts = new int[1];
+		this.condTargets = new int[0];
+		this.onLoop.clear();
+		this.hasOutsideEdges = false;
+
+		int[] order = new int[n];
+		int[] low = new int[n];
+		Arrays.fill(order, -1);
+		int[] nodeStack = new int[n];
+		int nodeStackSize = 0;
+		BitSet onStack = new BitSet(n);
+		int[] callNodes = new int[n];
+		int[] callEdges = new int[n];
+		int callSize = 0;
+		int nextOrder = 0;
+
+		for(int start = 0; start < n; start++){
+			if(order[start] >= 0){
+				continue;
+			}
+			callNodes[0] = start;
+			callEdges[0] = 0;
+			callSize = 1;
+			order[start] = low[start] = nextOrder++;
+			nodeStack[nodeStackSize++] = start;
+			onStack.set(start);
+			while(callSize > 0){
+				int curIndex = callNodes[callSize - 1];
+				ArrayList<LotEdge> curEdges = nodes.get(curIndex).getEdges();
+				if(callEdges[callSize - 1] < curEdges.size()){
+					LotNode nextNode = curEdges.get(callEdges[callSize - 1]++).getEndNode();
+					if(nextNode == null){
+						continue;
+					}
+					if(nextNode.getGraph() != this.graph){
+						this.hasOutsideEdges = true;
+						continue;
+					}
+					int nextIndex = nextNode.getGraphIndex();
+					if(order[nextIndex] < 0){
+						order[nextIndex] = low[nextIndex] = nextOrder++;
+						nodeStack[nodeStackSize++] = nextIndex;
+						onStack.set(nextIndex);
+						callNodes[callSize] = nextIndex;
+						callEdges[callSize] = 0;
+						callSize++;
+					}else if(onStack.get(nextIndex)){
+						low[curIndex] = Math.min(low[curIndex], order[nextIndex]);
+					}
+					continue;
+				}
+				callSize--;
+				if(low[curIndex] == order[curIndex]){
+					int newComp = this.newComponent();
+					int popped;
+					do{
+						popped = nodeStack[--nodeStackSize];
+						onStack.clear(popped);
+						this.nodeComps[popped] = newComp;
+					}while(popped != curIndex);
+				}
+				if(callSize > 0){
+					int parentIndex = callNodes[callSize - 1];
+					low[parentIndex] = Math.min(low[parentIndex], low[curIndex]);
+				}
+			}
+		}
+
+		//group the nodes by component, so each component's edges can be gone through together
+		int[] compStarts = new int[this.numCompNums + 1];
+		for(int i = 0; i < n; i++){
+			compStarts[this.nodeComps[i] + 1]++;
+		}
+		for(int i = 0; i < this.numCompNums; i++){
+			compStarts[i + 1] += compStarts[i];
+		}
+		int[] compNodes = new int[n];
+		int[] fill = Arrays.copyOf(compStarts, this.numCompNums);
+		for(int i = 0; i < n; i++){
+			compNodes[fill[this.nodeComps[i]]++] = i;
+		}
+		if(this.numCompNums > MAX_CLOSURE_COMPONENTS){
+			this.buildCondensation(nodes, compStarts, compNodes);
+			this.upToDate = true;
+			return;
+		}
+		for(int curComp = 0; curComp < this.numCompNums; curComp++){
+			if(compStarts[curComp + 1] - compStarts[curComp] > 1){
+				this.onLoop.set(curComp);
+			}
+			BitSet curReachable = this.reachable[curComp];
+			for(int i = compStarts[curComp]; i < compStarts[curComp + 1]; i++){
+				for(LotEdge curEdge : nodes.get(compNodes[i]).getEdges()){
+					LotNode nextNode = curEdge.getEndNode();
+					if(nextNode == null || nextNode.getGraph() != this.graph){
+						continue;
+					}
+					int nextComp = this.nodeComps[nextNode.getGraphIndex()];
+					if(nextComp == curComp){
+						if(nextNode == nodes.get(compNodes[i])){
+							this.onLoop.set(curComp);
+						}
+					}else if(!curReachable.get(nextComp)){
+						curReachable.or(this.reachable[nextComp]);
+					}
+				}
+			}
+		}
+		this.upToDate = true;
+	}//build()
+
+	/**
+	 * Keeps the condensation's edges in place of the reachable sets, for when there are too many components for them. Each component's edges to other components are kept once.
+	 *
+	 * @param nodes	The graph's nodes.
+	 * @param compStarts	Where each component's nodes start in the nodes grouped by component.
+	 * @param compNodes	The indexes of the nodes, grouped by component.
+	 */
+	private void buildCondensation(ArrayList<LotNode> nodes, int[] compStarts, int[] compNodes){
+		this.useClosure = false;
+		this.reachable = new BitSet[0];
+		this.condStarts = new int[this.numCompNums + 1];
+		int[] targets = new int[16];
+		int numTargets = 0;
+		//the last component each component was given an edge from, so each edge is only kept once
+		int[] lastFrom = new int[this.numCompNums];
+		Arrays.fill(lastFrom, -1);
+		for(int curComp = 0; curComp < this.numCompNums; curComp++){
+			this.condStarts[curComp] = numTargets;
+			if(compStarts[curComp + 1] - compStarts[curComp] > 1){
+				this.onLoop.set(curComp);
+			}
+			for(int i = compStarts[curComp]; i < compStarts[curComp + 1]; i++){
+				for(LotEdge curEdge : nodes.get(compNodes[i]).getEdges()){
+					LotNode nextNode = curEdge.getEndNode();
+					if(nextNode == null || nextNode.getGraph() != this.graph){
+						continue;
+					}
+					int nextComp = this.nodeComps[nextNode.getGraphIndex()];
+					if(nextComp == curComp){
+						if(nextNode == nodes.get(compNodes[i])){
+							this.onLoop.set(curComp);
+						}
+					}else if(lastFrom[nextComp] != curComp){
+						lastFrom[nextComp] = curComp;
+						if(numTargets == targets.length){
+							targets = Arrays.copyOf(targets, targets.length * 2);
+						}
+						targets[numTargets++] = nextComp;
+					}
+				}
+			}
+		}
+		this.condStarts[this.numCompNums] = numTargets;
+		this.condTargets = Arrays.copyOf(targets, numTargets);
+	}//buildCondensation(ArrayList<LotNode>, int[], int[])
+
+	// endregion
+}//class LotGraphComponents
@@ -0,0 +1,63 @@
+package botLot.lotGraph;
+
+/**
+ * LotGraphLayout.java
+ * <p>
+ * The layout of a graph as numbered nodes and edges, with each node's edges numbered next to each other (compressed sparse row form), for searching without node and edge objects.
+ * <p>
+ * Made by a snapshot of a graph ({@link LotGraphSnapshot}), and by a memory mapped graph ({@link LotMappedGraph}), so the same searches can go over either.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public interface LotGraphLayout {
+
+	/**
+	 * Gets the number of nodes. Nodes are numbered from 0 up to this.
+	 *
+	 * @return	The number of nodes.
+	 */
+	public int getNumNodes();
+
+	/**
+	 * Gets the number of edges. Edges are numbered from 0 up to this.
+	 *
+	 * @return	The number of edges.
+	 */
+	public int getNumEdges();
+
+	/**
+	 * Gets the number of the first edge coming from a node. The node's edges are the ones from here to here plus {@link #getNumEdges(int)}.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The number of the node's first edge.
+	 */
+	public int getFirstEdge(int nodeNum);
+
+	/**
+	 * Gets the number of edges coming from a node.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The number of edges coming from the node.
+	 */
+	public int getNumEdges(int nodeNum);
+
+	/**
+	 * Gets the number of the node an edge goes to.
+	 *
+	 * @param edgeNum	The number of the edge.
+	 * @return	The number of the node the edge goes to. -1 if it doesn't go to a node in the graph.
+	 */
+	public int getEdgeEndNode(int edgeNum);
+
+	/**
+	 * Gets the metric of an edge.
+	 *
+	 * @param edgeNum	The number of the edge.
+	 * @return	The metric of the edge.
+	 */
+	public double getEdgeMetric(int edgeNum);
+
+}//interface LotGraphLayout
@@ -0,0 +1,295 @@
+package botLot.lotGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A read only copy of the layout of a graph, held in flat arrays for searching (compressed sparse row form).
+ * <p>
+ * Each node is given a number, which is its index in the graph's node list when this was made. The edges going out of each node are given slots next to each other ({@link #getFirstEdge(int)}, {@link #getNumEdges(int)}), and each slot holds the number of the node the edge goes to ({@link #getEdgeEndNode(int)}) and its metric ({@link #getEdgeMetric(int)}). The edges coming in to each node are kept the same way, by the slots of the edges ({@link #getFirstInEdge(int)}, {@link #getInEdgeSlot(int)}). So a search can go over the graph without touching any node or edge objects, and only needs them to put together the path at the end ({@link #getNode(int)}, {@link #getEdge(int)}).
+ * <p>
+ * Edges without an end node, or going to a node not in the graph, are left out. Laid out the same way as a memory mapped graph ({@link LotGraphLayout}), with edges numbered by their slots, so the same searches can go over either.
+ * <p>
+ * Gotten from {@link LotGraph#freeze()}, which keeps the last one made and only makes a new one after the graph has changed. Nothing in here changes once made, and the arrays are never handed out, so it can be searched by any number of threads at once.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class LotGraphSnapshot implements LotGraphLayout {
+	/** The graph this was made from. */
+	private final LotGraph graph;
+	/** The version of the graph this was made from ({@link LotGraph#getVersion()}). */
+	private final long version;
+	/** The nodes, by their number. */
+	private final LotNode[] nodes;
+	/** The edges, by their slot. */
+	private final LotEdge[] edges;
+	/** Where each node's edges start in the slots, by the node's number. One longer than the number of nodes, so the last entry is the number of edges. */
+	private final int[] offsets;
+	/** The number of the node each edge goes to, by the edge's slot. */
+	private final int[] targets;
+	/** The number of the node each edge comes from, by the edge's slot. */
+	private final int[] sources;
+	/** The metric of each edge, by the edge's slot. */
+	private final double[] metrics;
+	/** Where each node's incoming edges start in {@link #inSlots}, by the node's number. One longer than the number of nodes. */
+	private final int[] inOffsets;
+	/** The slots of the edges coming in to each node, grouped by the node. */
+	private final int[] inSlots;
+	/** The slot of each edge, by its index in the graph's edge list. -1 for edges left out. */
+	private final int[] edgeSlots;
+
+	/**
+	 * Constructor that makes the snapshot from the graph as it is now.
+	 *
+	 * @param graphIn	The graph to take the snapshot of.
+	 */
+	LotGraphSnapshot(LotGraph graphIn){
+		this.graph = graphIn;
+		this.version = graphIn.getVersion();
+		ArrayList<LotNode> nodeList = graphIn.getNodes();
+		int numNodes = nodeList.size();
+		this.nodes = nodeList.toArray(new LotNode[numNodes]);
+
+		//count the edges we keep, to size everything
+		this.offsets = new int[numNodes + 1];
+		this.inOffsets = new int[numNodes + 1];
+		for(int i = 0; i < numNodes; i++){
+			int numKept = 0;
+			for(LotEdge curEdge : this.nodes[i].getEdges()){
+				if(this.keepEdge(curEdge)){
+					numKept++;
+					this.inOffsets[curEdge.getEndNode().getGraphIndex() + 1]++;
+				}
+			}
+			this.offsets[i + 1] = this.offsets[i] + numKept;
+		}
+		for(int i = 0; i < numNodes; i++){
+			this.inOffsets[i + 1] += this.inOffsets[i];
+		}
+		int numEdges = this.offsets[numNodes];
+		this.edges = new LotEdge[numEdges];
+		this.targets = new int[numEdges];
+		this.sources = new int[numEdges];
+		this.metrics = new double[numEdges];
+		this.inSlots = new int[numEdges];
+		this.edgeSlots = new int[graphIn.getNumEdges()];
+		Arrays.fill(this.edgeSlots, -1);
+
+		int[] inFill = Arrays.copyOf(this.inOffsets, numNodes);
+		int slot = 0;
+		for(int i = 0; i < numNodes; i++){
+			for(LotEdge curEdge : this.nodes[i].getEdges()){
+				if(!this.keepEdge(curEdge)){
+					continue;
+				}
+				int target = curEdge.getEndNode().getGraphIndex();
+				this.edges[slot] = curEdge;
+				this.targets[slot] = target;
+				this.sources[slot] = i;
+				this.metrics[slot] = curEdge.getMetric();
+				this.inSlots[inFill[target]++] = slot;
+				this.edgeSlots[curEdge.getGraphIndex()] = slot;
+				slot++;
+			}
+		}
+	}//LotGraphSnapshot(LotGraph)
+
+	/**
+	 * Determines if an edge is kept in the snapshot.
+	 *
+	 * @param edgeIn	The edge to check.
+	 * @return	If the edge goes to a node in the graph.
+	 */
+	private boolean keepEdge(LotEdge edgeIn){
+		return edgeIn.getEndNode() != null && edgeIn.getEndNode().getGraph() == this.graph;
+	}//keepEdge(LotEdge)
+
+	/**
+	 * Gets the graph this was made from.
+	 *
+	 * @return	The graph this was made from.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Gets the version of the graph this was made from.
+	 *
+	 * @return	The version of the graph this was made from.
+	 */
+	public long getVersion(){
+		return this.version;
+	}//getVersion()
+
+	/**
+	 * Determines if the graph has changed since this was made.
+	 *
+	 * @return	If this still matches the graph.
+	 */
+	public boolean isUpToDate(){
+		return this.version == this.graph.getVersion();
+	}//isUpToDate()
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return	The number of nodes.
+	 */
+	@Override
+	public int getNumNodes(){
+		return this.nodes.length;
+	}//getNumNodes()
+
+	/**
+	 * Gets the number of edges kept.
+	 *
+	 * @return	The number of edges kept.
+	 */
+	@Override
+	public int getNumEdges(){
+		return this.edges.length;
+	}//getNumEdges()
+
+	/**
+	 * Gets the number given to a node.
+	 *
+	 * @param nodeIn	The node to get the number of.
+	 * @return	The number of the node. -1 if the node was not in the graph when this was made, or nodes have been removed from the graph since.
+	 */
+	public int getNodeNum(LotNode nodeIn){
+		if(nodeIn == null || nodeIn.getGraph() != this.graph){
+			return -1;
+		}
+		int index = nodeIn.getGraphIndex();
+		if(index < this.nodes.length && this.nodes[index] == nodeIn){
+			return index;
+		}
+		return -1;
+	}//getNodeNum(LotNode)
+
+	/**
+	 * Gets the node with the given number.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The node.
+	 */
+	public LotNode getNode(int nodeNum){
+		return this.nodes[nodeNum];
+	}//getNode(int)
+
+	/**
+	 * Gets the slot of an edge.
+	 *
+	 * @param edgeIn	The edge to get the slot of.
+	 * @return	The slot of the edge. -1 if the edge was left out, was not in the graph when this was made, or edges have been removed from the graph since.
+	 */
+	public int getEdgeSlot(LotEdge edgeIn){
+		int index = this.graph.getEdgeIndex(edgeIn);
+		if(index >= 0 && index < this.edgeSlots.length){
+			int slot = this.edgeSlots[index];
+			if(slot >= 0 && this.edges[slot] == edgeIn){
+				return slot;
+			}
+		}
+		return -1;
+	}//getEdgeSlot(LotEdge)
+
+	/**
+	 * Gets the edge in the given slot.
+	 *
+	 * @param slot	The slot of the edge.
+	 * @return	The edge.
+	 */
+	public LotEdge getEdge(int slot){
+		return this.edges[slot];
+	}//getEdge(int)
+
+	/**
+	 * Gets the first slot of a node's edges. The node's edges are the slots from this up to this plus {@link #getNumEdges(int)}.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The slot of the node's first edge.
+	 */
+	@Override
+	public int getFirstEdge(int nodeNum){
+		return this.offsets[nodeNum];
+	}//getFirstEdge(int)
+
+	/**
+	 * Gets the number of edges a node has in the snapshot.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The number of edges the node has.
+	 */
+	@Override
+	public int getNumEdges(int nodeNum){
+		return this.offsets[nodeNum + 1] - this.offsets[nodeNum];
+	}//getNumEdges(int)
+
+	/**
+	 * Gets the number of the node an edge goes to.
+	 *
+	 * @param slot	The slot of the edge.
+	 * @return	The number of the edge's end node.
+	 */
+	@Override
+	public int getEdgeEndNode(int slot){
+		return this.targets[slot];
+	}//getEdgeEndNode(int)
+
+	/**
+	 * Gets the number of the node an edge comes from.
+	 *
+	 * @param slot	The slot of the edge.
+	 * @return	The number of the edge's start node.
+	 */
+	public int getEdgeStartNode(int slot){
+		return this.sources[slot];
+	}//getEdgeStartNode(int)
+
+	/**
+	 * Gets the metric of an edge. Taken when this was made.
+	 *
+	 * @param slot	The slot of the edge.
+	 * @return	The metric of the edge.
+	 */
+	@Override
+	public double getEdgeMetric(int slot){
+		return this.metrics[slot];
+	}//getEdgeMetric(int)
+
+	/**
+	 * Gets where a node's incoming edges start. The node's incoming edges are gotten with {@link #getInEdgeSlot(int)}, from this up to this plus {@link #getNumInEdges(int)}.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	Where the node's incoming edges start.
+	 */
+	public int getFirstInEdge(int nodeNum){
+		return this.inOffsets[nodeNum];
+	}//getFirstInEdge(int)
+
+	/**
+	 * Gets the number of edges coming in to a node in the snapshot.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The number of edges coming in to the node.
+	 */
+	public int getNumInEdges(int nodeNum){
+		return this.inOffsets[nodeNum + 1] - this.inOffsets[nodeNum];
+	}//getNumInEdges(int)
+
+	/**
+	 * Gets the slot of an incoming edge. The incoming edges are grouped by the node they come in to ({@link #getFirstInEdge(int)}).
+	 *
+	 * @param inEdgeNum	Where the incoming edge is.
+	 * @return	The slot of the edge.
+	 */
+	public int getInEdgeSlot(int inEdgeNum){
+		return this.inSlots[inEdgeNum];
+	}//getInEdgeSlot(int)
+
+}//class LotGraphSnapshot
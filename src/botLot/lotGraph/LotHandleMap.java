@@ -0,0 +1,175 @@
+package botLot.lotGraph;
+
+import java.util.Arrays;
+
+/**
+ * Map of the nodes or edges of a graph by their handles ({@link LotNode#getHandle()}, {@link LotEdge#getHandle()}).
+ * <p>
+ * Handles are kept in a plain int array, with the things they go to in a matching array, using open addressing with linear probing. So nothing is boxed, and there is no entry object per thing held. Removing one moves the ones after it back into the gap, so no markers are left behind and lookups never slow down as things come and go.
+ * <p>
+ * Handles are never given out twice by a graph, so they can't be used as indexes into an array without it growing forever; this only holds the handles in use.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ * @param <T>	The type of thing held ({@link LotNode} or {@link LotEdge}).
+ */
+final class LotHandleMap<T> {
+	/** Marks a free slot in {@link #handles}. Handles given out are never negative. */
+	private static final int FREE = -1;
+	/** The handles held. {@link #FREE} where there is nothing. */
+	private int[] handles;
+	/** The things held, in the same slots as their handles. */
+	private Object[] things;
+	/** The number of things held. */
+	private int size = 0;
+
+	/**
+	 * Constructor to make an empty map.
+	 */
+	LotHandleMap(){
+		this.handles = new int[16];
+		Arrays.fill(this.handles, FREE);
+		this.things = new Object[16];
+	}//LotHandleMap()
+
+	/**
+	 * Gets the slot a handle would first be looked for in.
+	 *
+	 * @param handleIn	The handle.
+	 * @param maskIn	The number of slots, less one.
+	 * @return	The slot to start looking in.
+	 */
+	private static int firstSlot(int handleIn, int maskIn){
+		//handles are given out in order, so spread them out
+		int hash = handleIn * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & maskIn;
+	}//firstSlot(int, int)
+
+	/**
+	 * Gets the slot holding a handle.
+	 *
+	 * @param handleIn	The handle to look for.
+	 * @return	The slot holding the handle. -1 if not held.
+	 */
+	private int slotOf(int handleIn){
+		if(handleIn < 0){
+			return -1;
+		}
+		int mask = this.handles.length - 1;
+		for(int slot = firstSlot(handleIn, mask); ; slot = (slot + 1) & mask){
+			if(this.handles[slot] == handleIn){
+				return slot;
+			}
+			if(this.handles[slot] == FREE){
+				return -1;
+			}
+		}
+	}//slotOf(int)
+
+	/**
+	 * Gets the thing with a handle.
+	 *
+	 * @param handleIn	The handle.
+	 * @return	The thing with the handle. Null if none.
+	 */
+	@SuppressWarnings("unchecked")
+	T get(int handleIn){
+		int slot = this.slotOf(handleIn);
+		return (slot < 0 ? null : (T)this.things[slot]);
+	}//get(int)
+
+	/**
+	 * Determines if there is a thing with a handle.
+	 *
+	 * @param handleIn	The handle.
+	 * @return	If there is a thing with the handle.
+	 */
+	boolean containsKey(int handleIn){
+		return this.slotOf(handleIn) >= 0;
+	}//containsKey(int)
+
+	/**
+	 * Holds a thing by its handle, in place of anything held with it before.
+	 *
+	 * @param handleIn	The handle. Not negative.
+	 * @param thingIn	The thing.
+	 */
+	void put(int handleIn, T thingIn){
+		if((this.size + 1) * 2 > this.handles.length){
+			this.resize(this.handles.length * 2);
+		}
+		int mask = this.handles.length - 1;
+		int slot = firstSlot(handleIn, mask);
+		while(this.handles[slot] != FREE && this.handles[slot] != handleIn){
+			slot = (slot + 1) & mask;
+		}
+		if(this.handles[slot] == FREE){
+			this.size++;
+		}
+		this.handles[slot] = handleIn;
+		this.things[slot] = thingIn;
+	}//put(int, T)
+
+	/**
+	 * Drops the thing with a handle, if held.
+	 *
+	 * @param handleIn	The handle.
+	 */
+	void remove(int handleIn){
+		int slot = this.slotOf(handleIn);
+		if(slot < 0){
+			return;
+		}
+		int mask = this.handles.length - 1;
+		//move back the handles after the gap that would not be found past it
+		int next = (slot + 1) & mask;
+		while(this.handles[next] != FREE){
+			int wanted = firstSlot(this.handles[next], mask);
+			if(((next - wanted) & mask) >= ((next - slot) & mask)){
+				this.handles[slot] = this.handles[next];
+				this.things[slot] = this.things[next];
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+		this.handles[slot] = FREE;
+		this.things[slot] = null;
+		this.size--;
+	}//remove(int)
+
+	/**
+	 * Gets the number of things held.
+	 *
+	 * @return	The number of things held.
+	 */
+	int size(){
+		return this.size;
+	}//size()
+
+	/**
+	 * Moves everything held into new arrays of the size given.
+	 *
+	 * @param capacityIn	The new number of slots. A power of 2.
+	 */
+	private void resize(int capacityIn){
+		int[] oldHandles = this.handles;
+		Object[] oldThings = this.things;
+		this.handles = new int[capacityIn];
+		Arrays.fill(this.handles, FREE);
+		this.things = new Object[capacityIn];
+		int mask = capacityIn - 1;
+		for(int i = 0; i < oldHandles.length; i++){
+			if(oldHandles[i] != FREE){
+				int slot = firstSlot(oldHandles[i], mask);
+				while(this.handles[slot] != FREE){
+					slot = (slot + 1) & mask;
+				}
+				this.handles[slot] = oldHandles[i];
+				this.things[slot] = oldThings[i];
+			}
+		}
+	}//resize(int)
+
+}//class LotHandleMap
@@ -0,0 +1,825 @@
+package botLot.lotGraph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A read only graph kept in a file that is memory mapped, rather than as node and edge objects on the heap.
+ * <p>
+ * For very large maps, where the objects (and their attribute maps) of a {@link LotGraph} take up too much memory. Opening one of these maps the file ({@link FileChannel#map(FileChannel.MapMode, long, long)}) and reads nothing else, so is done right away no matter how big the map is, and the operating system pages in only the parts of the file actually used.
+ * <p>
+ * Nodes are dealt with by their index, and edges by their index in the file, where each node's edges are together ({@link #getFirstEdge(int)}, {@link #getNumEdges(int)}). Every string (ID's, attribute keys and values) is kept once in a string table in the file, and ID's can be looked up through hash tables kept in the file too. The getters are named after their {@link LotGraph} counterparts. Laid out the same way as a snapshot of a graph ({@link LotGraphLayout}), so can be searched without making a graph out of it ({@link botLot.pathFinding.Algorithms.BotLotPFDijkstra#findPath(LotGraphLayout, int, int, java.util.BitSet)}).
+ * <p>
+ * This is not a {@link LotGraph}, and only has the read only queries listed here (ID's, attributes, edges out of a node, and the searches done through {@link LotGraphLayout}). Anything else needs a normal graph, made with {@link #toLotGraph()}, which puts the whole graph on the heap.
+ * <p>
+ * Files are written from a graph with {@link #write(LotGraph, String)}. Files past 1GB are mapped in segments, so are not limited in size by how much can be mapped at once; only the number of edges and attributes are, by being indexed with ints. Opening a file checks its header against the size of the file, so a file cut short or from another version is not read.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class LotMappedGraph implements LotGraphLayout {
+	/** The int at the start of every file ("BLMG"). */
+	private static final int FILE_MAGIC = 0x424C4D47;
+	/** The version of the format of files. 2 has the string offsets as longs, so the strings can go past 2GB. */
+	private static final int FILE_VERSION = 2;
+	/** The size of the header at the start of files, in bytes. */
+	private static final int HEADER_SIZE = 2 * 4 + 8 + 7 * 4;
+	/** The number of bits of a position in the file that are the position in a segment. Segments are 1GB. */
+	private static final int SEGMENT_BITS = 30;
+	/** Mask to get the position in a segment out of a position in the file. */
+	private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+	/** The number of bytes each segment goes past the start of the next, so any int, long, or double can be read from one segment. */
+	private static final int SEGMENT_OVERLAP = 8;
+
+	/** The mapped file, in segments of 1GB (plus {@link #SEGMENT_OVERLAP}). A single mapping can't be over 2GB. */
+	private final ByteBuffer[] segments;
+	/** The random seed of the graph saved. */
+	private final long randSeed;
+	/** The number of nodes. */
+	private final int numNodes;
+	/** The number of edges. */
+	private final int numEdges;
+	/** The number of strings in the string table. */
+	private final int numStrings;
+	/** The size of the node ID hash table. */
+	private final int nodeHashSize;
+	/** The size of the edge ID hash table. */
+	private final int edgeHashSize;
+	/*
+	 * Where each section starts in the file.
+	 */
+	/** The string of each node's ID. */
+	private final long nodeIdsPos;
+	/** The actual number of edges of each node ({@link LotNode#getActNumEdges()}). */
+	private final long nodeActNumEdgesPos;
+	/** Where each node's edges start. One longer than the number of nodes. */
+	private final long edgeOffsetsPos;
+	/** The string of each edge's ID. */
+	private final long edgeIdsPos;
+	/** The index of the node each edge goes to. -1 for none. */
+	private final long edgeTargetsPos;
+	/** The metric of each edge. */
+	private final long edgeMetricsPos;
+	/** Where each node's attributes start in {@link #nodeAttsPos}. One longer than the number of nodes. */
+	private final long nodeAttOffsetsPos;
+	/** The key and value strings of each node attribute. */
+	private final long nodeAttsPos;
+	/** Where each edge's attributes start in {@link #edgeAttsPos}. One longer than the number of edges. */
+	private final long edgeAttOffsetsPos;
+	/** The key and value strings of each edge attribute. */
+	private final long edgeAttsPos;
+	/** Hash table of node indexes by ID, plus one. 0 for empty. */
+	private final long nodeHashPos;
+	/** Hash table of edge indexes by ID, plus one. 0 for empty. */
+	private final long edgeHashPos;
+	/** Where each string starts in {@link #stringsPos}, as longs. One longer than the number of strings. */
+	private final long stringOffsetsPos;
+	/** The strings, in UTF-8. */
+	private final long stringsPos;
+
+	/**
+	 * Constructor that reads the header of a mapped file, works out where everything is, and checks it all fits the file.
+	 * <p>
+	 * Only the header and the ends of each table of offsets are checked, so this stays quick no matter how big the file is.
+	 *
+	 * @param segmentsIn	The mapped file, in segments.
+	 * @param fileSizeIn	The size of the file.
+	 * @throws LotGraphException	If the file is not a mapped graph, or does not hold together.
+	 */
+	private LotMappedGraph(ByteBuffer[] segmentsIn, long fileSizeIn) throws LotGraphException{
+		this.segments = segmentsIn;
+		if(fileSizeIn < HEADER_SIZE || this.getInt(0) != FILE_MAGIC){
+			throw new LotGraphException("File given is not a mapped graph.");
+		}
+		if(this.getInt(4) != FILE_VERSION){
+			throw new LotGraphException("Mapped graph file is of an unsupported version (" + this.getInt(4) + ").");
+		}
+		this.randSeed = this.getLong(8);
+		this.numNodes = this.getInt(16);
+		this.numEdges = this.getInt(20);
+		this.numStrings = this.getInt(24);
+		this.nodeHashSize = this.getInt(28);
+		this.edgeHashSize = this.getInt(32);
+		int numNodeAtts = this.getInt(36);
+		int numEdgeAtts = this.getInt(40);
+		if(this.numNodes < 0 || this.numEdges < 0 || this.numStrings < 0 || numNodeAtts < 0 || numEdgeAtts < 0){
+			throw new LotGraphException("Mapped graph file has a negative count in its header.");
+		}
+		//the tables need to be a power of two, with an empty slot to stop looking at
+		if(Integer.bitCount(this.nodeHashSize) != 1 || this.nodeHashSize <= this.numNodes || Integer.bitCount(this.edgeHashSize) != 1 || this.edgeHashSize <= this.numEdges){
+			throw new LotGraphException("Mapped graph file has bad ID hash table sizes.");
+		}
+		this.nodeIdsPos = HEADER_SIZE;
+		this.nodeActNumEdgesPos = this.nodeIdsPos + 4L * this.numNodes;
+		this.edgeOffsetsPos = this.nodeActNumEdgesPos + 4L * this.numNodes;
+		this.edgeIdsPos = this.edgeOffsetsPos + 4L * (this.numNodes + 1L);
+		this.edgeTargetsPos = this.edgeIdsPos + 4L * this.numEdges;
+		this.edgeMetricsPos = this.edgeTargetsPos + 4L * this.numEdges;
+		this.nodeAttOffsetsPos = this.edgeMetricsPos + 8L * this.numEdges;
+		this.nodeAttsPos = this.nodeAttOffsetsPos + 4L * (this.numNodes + 1L);
+		this.edgeAttOffsetsPos = this.nodeAttsPos + 8L * numNodeAtts;
+		this.edgeAttsPos = this.edgeAttOffsetsPos + 4L * (this.numEdges + 1L);
+		this.nodeHashPos = this.edgeAttsPos + 8L * numEdgeAtts;
+		this.edgeHashPos = this.nodeHashPos + 4L * this.nodeHashSize;
+		this.stringOffsetsPos = this.edgeHashPos + 4L * this.edgeHashSize;
+		this.stringsPos = this.stringOffsetsPos + 8L * (this.numStrings + 1L);
+		if(this.stringsPos > fileSizeIn){
+			throw new LotGraphException("Mapped graph file is cut short.");
+		}
+		if(this.getLong(this.stringOffsetsPos) != 0 || this.stringsPos + this.getLong(this.stringOffsetsPos + 8L * this.numStrings) != fileSizeIn){
+			throw new LotGraphException("Mapped graph file's strings don't fit the file.");
+		}
+		if(this.getInt(this.edgeOffsetsPos) != 0 || this.getInt(this.edgeOffsetsPos + 4L * this.numNodes) != this.numEdges){
+			throw new LotGraphException("Mapped graph file's edges don't fit its header.");
+		}
+		if(this.getInt(this.nodeAttOffsetsPos) != 0 || this.getInt(this.nodeAttOffsetsPos + 4L * this.numNodes) != numNodeAtts || this.getInt(this.edgeAttOffsetsPos) != 0 || this.getInt(this.edgeAttOffsetsPos + 4L * this.numEdges) != numEdgeAtts){
+			throw new LotGraphException("Mapped graph file's attributes don't fit its header.");
+		}
+	}//LotMappedGraph(ByteBuffer[], long)
+
+	/**
+	 * Opens a file written by {@link #write(LotGraph, String)}, by mapping it.
+	 * <p>
+	 * Files over 1GB are mapped in more than one segment, as a single mapping can't be over 2GB.
+	 *
+	 * @param fileLocIn	The location of the file.
+	 * @return	The graph in the file.
+	 * @throws LotGraphException	If the file could not be opened, or is not a mapped graph.
+	 */
+	public static LotMappedGraph open(String fileLocIn) throws LotGraphException {
+		try(FileChannel channel = FileChannel.open(Paths.get(fileLocIn), StandardOpenOption.READ)){
+			long fileSize = channel.size();
+			ByteBuffer[] segmentsOut = new ByteBuffer[(int)Math.max(1, (fileSize + SEGMENT_MASK) >>> SEGMENT_BITS)];
+			for(int i = 0; i < segmentsOut.length; i++){
+				long segmentStart = (long)i << SEGMENT_BITS;
+				long segmentSize = Math.min(SEGMENT_MASK + 1 + SEGMENT_OVERLAP, fileSize - segmentStart);
+				segmentsOut[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentSize);
+			}
+			return new LotMappedGraph(segmentsOut, fileSize);
+		}catch(IOException e){
+			throw new LotGraphException("Could not map graph file. Error: " + e.getMessage());
+		}
+	}//open(String)
+
+	/**
+	 * Writes a graph to a file, to be opened with {@link #open(String)}.
+	 * <p>
+	 * Edges are written grouped by the node they come from, in the order of the graph's node list.
+	 *
+	 * @param graphIn	The graph to write.
+	 * @param fileLocIn	The location of the file to write.
+	 * @throws LotGraphException	If the file could not be written, or the graph has too many edges or attributes to be indexed by an int.
+	 */
+	public static void write(LotGraph graphIn, String fileLocIn) throws LotGraphException {
+		ArrayList<LotNode> nodes = graphIn.getNodes();
+		int nodeCount = nodes.size();
+		//number the strings, and count everything
+		HashMap<String, Integer> stringNums = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+		long edgeCount = 0;
+		long nodeAttCount = 0;
+		long edgeAttCount = 0;
+		for(LotNode curNode : nodes){
+			numberString(curNode.getId(), stringNums, strings);
+			nodeAttCount += numberStrings(curNode.getAtts(), stringNums, strings);
+			for(LotEdge curEdge : curNode.getEdges()){
+				numberString(curEdge.getId(), stringNums, strings);
+				edgeAttCount += numberStrings(curEdge.getAtts(), stringNums, strings);
+				edgeCount++;
+			}
+		}
+		//the hash tables are twice the size of what they hold
+		if(nodeCount > (1 << 29) || edgeCount > (1 << 29) || nodeAttCount > Integer.MAX_VALUE || edgeAttCount > Integer.MAX_VALUE){
+			throw new LotGraphException("Graph has too many edges or attributes to write as a mapped graph.");
+		}
+		int nodeHashCount = hashSizeFor(nodeCount);
+		int edgeHashCount = hashSizeFor((int)edgeCount);
+		int[] nodeHash = new int[nodeHashCount];
+		int[] edgeHash = new int[edgeHashCount];
+		ArrayList<byte[]> stringBytes = new ArrayList<byte[]>(strings.size());
+		for(String curString : strings){
+			stringBytes.add(curString.getBytes(StandardCharsets.UTF_8));
+		}
+
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileLocIn)))){
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeLong(graphIn.getRandSeed());
+			out.writeInt(nodeCount);
+			out.writeInt((int)edgeCount);
+			out.writeInt(strings.size());
+			out.writeInt(nodeHashCount);
+			out.writeInt(edgeHashCount);
+			out.writeInt((int)nodeAttCount);
+			out.writeInt((int)edgeAttCount);
+			//nodes
+			for(int i = 0; i < nodeCount; i++){
+				out.writeInt(stringNum(nodes.get(i).getId(), stringNums));
+				addToHash(nodeHash, nodes.get(i).getId(), i);
+			}
+			for(LotNode curNode : nodes){
+				out.writeInt(curNode.getActNumEdges());
+			}
+			//edges
+			int edgeNum = 0;
+			out.writeInt(0);
+			for(LotNode curNode : nodes){
+				edgeNum += curNode.getEdges().size();
+				out.writeInt(edgeNum);
+			}
+			edgeNum = 0;
+			for(LotNode curNode : nodes){
+				for(LotEdge curEdge : curNode.getEdges()){
+					out.writeInt(stringNum(curEdge.getId(), stringNums));
+					addToHash(edgeHash, curEdge.getId(), edgeNum++);
+				}
+			}
+			for(LotNode curNode : nodes){
+				for(LotEdge curEdge : curNode.getEdges()){
+					LotNode endNode = curEdge.getEndNode();
+					out.writeInt((endNode == null || endNode.getGraph() != graphIn) ? -1 : endNode.getGraphIndex());
+				}
+			}
+			for(LotNode curNode : nodes){
+				for(LotEdge curEdge : curNode.getEdges()){
+					out.writeDouble(curEdge.getMetric());
+				}
+			}
+			//attributes
+			int attNum = 0;
+			out.writeInt(0);
+			for(LotNode curNode : nodes){
+				attNum += curNode.getNumAtts();
+				out.writeInt(attNum);
+			}
+			for(LotNode curNode : nodes){
+				writeAtts(out, curNode.getAtts(), stringNums);
+			}
+			attNum = 0;
+			out.writeInt(0);
+			for(LotNode curNode : nodes){
+				for(LotEdge curEdge : curNode.getEdges()){
+					attNum += curEdge.getNumAtts();
+					out.writeInt(attNum);
+				}
+			}
+			for(LotNode curNode : nodes){
+				for(LotEdge curEdge : curNode.getEdges()){
+					writeAtts(out, curEdge.getAtts(), stringNums);
+				}
+			}
+			//id hash tables
+			for(int curSlot : nodeHash){
+				out.writeInt(curSlot);
+			}
+			for(int curSlot : edgeHash){
+				out.writeInt(curSlot);
+			}
+			//strings
+			long stringPos = 0;
+			out.writeLong(0);
+			for(byte[] curBytes : stringBytes){
+				stringPos += curBytes.length;
+				out.writeLong(stringPos);
+			}
+			for(byte[] curBytes : stringBytes){
+				out.write(curBytes);
+			}
+		}catch(IOException e){
+			throw new LotGraphException("Could not write mapped graph file. Error: " + e.getMessage());
+		}
+	}//write(LotGraph, String)
+
+	// =========================================================================
+	// Getters
+	// region Getters
+	// =========================================================================
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return	The number of nodes.
+	 */
+	@Override
+	public int getNumNodes(){
+		return this.numNodes;
+	}//getNumNodes()
+
+	/**
+	 * Gets the number of edges.
+	 *
+	 * @return	The number of edges.
+	 */
+	@Override
+	public int getNumEdges(){
+		return this.numEdges;
+	}//getNumEdges()
+
+	/**
+	 * Gets the random seed of the graph written.
+	 *
+	 * @return	The random seed of the graph written.
+	 */
+	public long getRandSeed(){
+		return this.randSeed;
+	}//getRandSeed()
+
+	/**
+	 * Gets the index of the node with the given ID.
+	 *
+	 * @param nodeIdIn	The ID of the node.
+	 * @return	The index of the node. -1 if there is no node with the ID.
+	 */
+	public int getNodeIndex(String nodeIdIn){
+		return this.findInHash(this.nodeHashPos, this.nodeHashSize, this.nodeIdsPos, nodeIdIn);
+	}//getNodeIndex(String)
+
+	/**
+	 * Determines if there is a node with the given ID.
+	 *
+	 * @param nodeIdIn	The ID of the node.
+	 * @return	If there is a node with the ID.
+	 */
+	public boolean hasNode(String nodeIdIn){
+		return this.getNodeIndex(nodeIdIn) >= 0;
+	}//hasNode(String)
+
+	/**
+	 * Gets the index of the first node with the given attribute. Goes through every node.
+	 *
+	 * @param key	The key of the attribute.
+	 * @param value	The value of the attribute.
+	 * @return	The index of the node. -1 if no node has the attribute.
+	 */
+	public int getNodeIndex(String key, String value){
+		for(int i = 0; i < this.numNodes; i++){
+			if(value.equals(this.getNodeAtt(i, key))){
+				return i;
+			}
+		}
+		return -1;
+	}//getNodeIndex(String, String)
+
+	/**
+	 * Gets the ID of a node.
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @return	The ID of the node.
+	 */
+	public String getNodeId(int nodeIndex){
+		return this.getString(this.getInt(this.nodeIdsPos + 4L * nodeIndex));
+	}//getNodeId(int)
+
+	/**
+	 * Gets the actual number of edges a node has ({@link LotNode#getActNumEdges()}).
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @return	The actual number of edges the node has.
+	 */
+	public int getActNumEdges(int nodeIndex){
+		return this.getInt(this.nodeActNumEdgesPos + 4L * nodeIndex);
+	}//getActNumEdges(int)
+
+	/**
+	 * Gets an attribute of a node.
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @param attKey	The key of the attribute.
+	 * @return	The value of the attribute. Null if the node doesn't have it.
+	 */
+	public String getNodeAtt(int nodeIndex, String attKey){
+		return this.getAtt(this.nodeAttOffsetsPos, this.nodeAttsPos, nodeIndex, attKey);
+	}//getNodeAtt(int, String)
+
+	/**
+	 * Gets all the attributes of a node.
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @return	A new map of the node's attributes.
+	 */
+	public HashMap<String, String> getNodeAtts(int nodeIndex){
+		return this.getAtts(this.nodeAttOffsetsPos, this.nodeAttsPos, nodeIndex);
+	}//getNodeAtts(int)
+
+	/**
+	 * Gets the index of the first edge coming from a node. The node's edges are the ones from here to here plus {@link #getNumEdges(int)}.
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @return	The index of the node's first edge.
+	 */
+	@Override
+	public int getFirstEdge(int nodeIndex){
+		return this.getInt(this.edgeOffsetsPos + 4L * nodeIndex);
+	}//getFirstEdge(int)
+
+	/**
+	 * Gets the number of edges coming from a node.
+	 *
+	 * @param nodeIndex	The index of the node.
+	 * @return	The number of edges coming from the node.
+	 */
+	@Override
+	public int getNumEdges(int nodeIndex){
+		return this.getInt(this.edgeOffsetsPos + 4L * (nodeIndex + 1)) - this.getFirstEdge(nodeIndex);
+	}//getNumEdges(int)
+
+	/**
+	 * Gets the index of the edge with the given ID.
+	 *
+	 * @param edgeIdIn	The ID of the edge.
+	 * @return	The index of the edge. -1 if there is no edge with the ID.
+	 */
+	public int getEdgeIndex(String edgeIdIn){
+		return this.findInHash(this.edgeHashPos, this.edgeHashSize, this.edgeIdsPos, edgeIdIn);
+	}//getEdgeIndex(String)
+
+	/**
+	 * Determines if there is an edge with the given ID.
+	 *
+	 * @param edgeIdIn	The ID of the edge.
+	 * @return	If there is an edge with the ID.
+	 */
+	public boolean hasEdge(String edgeIdIn){
+		return this.getEdgeIndex(edgeIdIn) >= 0;
+	}//hasEdge(String)
+
+	/**
+	 * Gets the ID of an edge.
+	 *
+	 * @param edgeIndex	The index of the edge.
+	 * @return	The ID of the edge.
+	 */
+	public String getEdgeId(int edgeIndex){
+		return this.getString(this.getInt(this.edgeIdsPos + 4L * edgeIndex));
+	}//getEdgeId(int)
+
+	/**
+	 * Gets the index of the node an edge goes to.
+	 *
+	 * @param edgeIndex	The index of the edge.
+	 * @return	The index of the node the edge goes to. -1 if it doesn't go to a node in the graph.
+	 */
+	@Override
+	public int getEdgeEndNode(int edgeIndex){
+		return this.getInt(this.edgeTargetsPos + 4L * edgeIndex);
+	}//getEdgeEndNode(int)
+
+	/**
+	 * Gets the metric of an edge.
+	 *
+	 * @param edgeIndex	The index of the edge.
+	 * @return	The metric of the edge.
+	 */
+	@Override
+	public double getEdgeMetric(int edgeIndex){
+		return this.getDouble(this.edgeMetricsPos + 8L * edgeIndex);
+	}//getEdgeMetric(int)
+
+	/**
+	 * Gets an attribute of an edge.
+	 *
+	 * @param edgeIndex	The index of the edge.
+	 * @param attKey	The key of the attribute.
+	 * @return	The value of the attribute. Null if the edge doesn't have it.
+	 */
+	public String getEdgeAtt(int edgeIndex, String attKey){
+		return this.getAtt(this.edgeAttOffsetsPos, this.edgeAttsPos, edgeIndex, attKey);
+	}//getEdgeAtt(int, String)
+
+	/**
+	 * Gets all the attributes of an edge.
+	 *
+	 * @param edgeIndex	The index of the edge.
+	 * @return	A new map of the edge's attributes.
+	 */
+	public HashMap<String, String> getEdgeAtts(int edgeIndex){
+		return this.getAtts(this.edgeAttOffsetsPos, this.edgeAttsPos, edgeIndex);
+	}//getEdgeAtts(int)
+
+	/**
+	 * Determines if there is an edge from one node to another.
+	 *
+	 * @param fromNodeIndex	The index of the node the edge comes from.
+	 * @param toNodeIndex	The index of the node the edge goes to.
+	 * @return	If there is an edge from the one node to the other.
+	 */
+	public boolean hasEdgeFromTo(int fromNodeIndex, int toNodeIndex){
+		int firstEdge = this.getFirstEdge(fromNodeIndex);
+		int lastEdge = firstEdge + this.getNumEdges(fromNodeIndex);
+		for(int i = firstEdge; i < lastEdge; i++){
+			if(this.getEdgeEndNode(i) == toNodeIndex){
+				return true;
+			}
+		}
+		return false;
+	}//hasEdgeFromTo(int, int)
+
+	/**
+	 * Makes a normal graph out of this one, for when it needs to be changed, or searched with more than Dijkstra's algorithm.
+ * <p>
+ * Reads in the whole file, making node and edge objects for all of it, so needs as much memory as the graph would have taken to begin with.
+	 *
+	 * @return	A new graph with everything in this one.
+	 * @throws LotGraphException	If the graph could not be made.
+	 */
+	public LotGraph toLotGraph() throws LotGraphException {
+		LotGraph graphOut = new LotGraph();
+		graphOut.setRandSeed(this.randSeed);
+		ArrayList<LotNode> nodes = new ArrayList<LotNode>(this.numNodes);
+		for(int i = 0; i < this.numNodes; i++){
+			LotNode newNode = new LotNode(this.getNodeId(i));
+			newNode.setActNumEdges(this.getActNumEdges(i));
+			newNode.setAtts(this.getNodeAtts(i));
+			graphOut.addNode(newNode);
+			nodes.add(newNode);
+		}
+		for(int i = 0; i < this.numNodes; i++){
+			int firstEdge = this.getFirstEdge(i);
+			int lastEdge = firstEdge + this.getNumEdges(i);
+			for(int j = firstEdge; j < lastEdge; j++){
+				int endNode = this.getEdgeEndNode(j);
+				LotEdge newEdge = new LotEdge(this.getEdgeId(j), (endNode < 0 ? null : nodes.get(endNode)), this.getEdgeMetric(j), this.getEdgeAtts(j));
+				graphOut.setEdge(newEdge, nodes.get(i));
+			}
+		}
+		return graphOut;
+	}//toLotGraph()
+
+	// endregion
+
+	// =========================================================================
+	// Workers
+	// region Workers
+	// =========================================================================
+
+	/**
+	 * Gets an int from the file.
+	 *
+	 * @param pos	Where the int is in the file.
+	 * @return	The int.
+	 */
+	private int getInt(long pos){
+		return this.segments[(int)(pos >>> SEGMENT_BITS)].getInt((int)(pos & SEGMENT_MASK));
+	}//getInt(long)
+
+	/**
+	 * Gets a long from the file.
+	 *
+	 * @param pos	Where the long is in the file.
+	 * @return	The long.
+	 */
+	private long getLong(long pos){
+		return this.segments[(int)(pos >>> SEGMENT_BITS)].getLong((int)(pos & SEGMENT_MASK));
+	}//getLong(long)
+
+	/**
+	 * Gets a double from the file.
+	 *
+	 * @param pos	Where the double is in the file.
+	 * @return	The double.
+	 */
+	private double getDouble(long pos){
+		return this.segments[(int)(pos >>> SEGMENT_BITS)].getDouble((int)(pos & SEGMENT_MASK));
+	}//getDouble(long)
+
+	/**
+	 * Gets a byte from the file.
+	 *
+	 * @param pos	Where the byte is in the file.
+	 * @return	The byte.
+	 */
+	private byte getByte(long pos){
+		return this.segments[(int)(pos >>> SEGMENT_BITS)].get((int)(pos & SEGMENT_MASK));
+	}//getByte(long)
+
+	/**
+	 * Gets a string from the string table.
+	 *
+	 * @param stringNum	The number of the string.
+	 * @return	The string. Null if the number is -1.
+	 */
+	private String getString(int stringNum){
+		if(stringNum < 0){
+			return null;
+		}
+		long start = this.stringsPos + this.getLong(this.stringOffsetsPos + 8L * stringNum);
+		long end = this.stringsPos + this.getLong(this.stringOffsetsPos + 8L * (stringNum + 1));
+		byte[] bytes = new byte[(int)(end - start)];
+		ByteBuffer segment = this.segments[(int)(start >>> SEGMENT_BITS)];
+		int segmentPos = (int)(start & SEGMENT_MASK);
+		if(segmentPos + bytes.length <= segment.limit()){
+			ByteBuffer stringBuffer = segment.duplicate();
+			stringBuffer.position(segmentPos);
+			stringBuffer.get(bytes);
+		}else{
+			//goes over into the next segment
+			for(int i = 0; i < bytes.length; i++){
+				bytes[i] = this.getByte(start + i);
+			}
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}//getString(int)
+
+	/**
+	 * Determines if a string in the string table is the same as the one given.
+	 *
+	 * @param stringNum	The number of the string in the table.
+	 * @param bytesIn	The string to check against, in UTF-8.
+	 * @return	If they are the same.
+	 */
+	private boolean stringEquals(int stringNum, byte[] bytesIn){
+		if(stringNum < 0){
+			return false;
+		}
+		long start = this.getLong(this.stringOffsetsPos + 8L * stringNum);
+		long end = this.getLong(this.stringOffsetsPos + 8L * (stringNum + 1));
+		if(end - start != bytesIn.length){
+			return false;
+		}
+		start += this.stringsPos;
+		for(int i = 0; i < bytesIn.length; i++){
+			if(this.getByte(start + i) != bytesIn[i]){
+				return false;
+			}
+		}
+		return true;
+	}//stringEquals(int, byte[])
+
+	/**
+	 * Looks up an ID in one of the ID hash tables.
+	 *
+	 * @param hashPos	Where the hash table starts.
+	 * @param hashSize	The size of the hash table.
+	 * @param idsPos	Where the ID string numbers of what the table holds start.
+	 * @param idIn	The ID to look up.
+	 * @return	The index of what has the ID. -1 if nothing does.
+	 */
+	private int findInHash(long hashPos, int hashSize, long idsPos, String idIn){
+		if(idIn == null || hashSize == 0){
+			return -1;
+		}
+		byte[] idBytes = idIn.getBytes(StandardCharsets.UTF_8);
+		for(int slot = hashSlot(idIn, hashSize); ; slot = (slot + 1) & (hashSize - 1)){
+			int entry = this.getInt(hashPos + 4L * slot);
+			if(entry == 0){
+				return -1;
+			}
+			if(this.stringEquals(this.getInt(idsPos + 4L * (entry - 1)), idBytes)){
+				return entry - 1;
+			}
+		}
+	}//findInHash(long, int, long, String)
+
+	/**
+	 * Gets an attribute of a node or edge.
+	 *
+	 * @param offsetsPos	Where the attribute offsets start.
+	 * @param attsPos	Where the attributes start.
+	 * @param index	The index of the node or edge.
+	 * @param attKey	The key of the attribute.
+	 * @return	The value of the attribute. Null if not there.
+	 */
+	private String getAtt(long offsetsPos, long attsPos, int index, String attKey){
+		byte[] keyBytes = attKey.getBytes(StandardCharsets.UTF_8);
+		int end = this.getInt(offsetsPos + 4L * (index + 1));
+		for(int i = this.getInt(offsetsPos + 4L * index); i < end; i++){
+			if(this.stringEquals(this.getInt(attsPos + 8L * i), keyBytes)){
+				return this.getString(this.getInt(attsPos + 8L * i + 4));
+			}
+		}
+		return null;
+	}//getAtt(long, long, int, String)
+
+	/**
+	 * Gets all the attributes of a node or edge.
+	 *
+	 * @param offsetsPos	Where the attribute offsets start.
+	 * @param attsPos	Where the attributes start.
+	 * @param index	The index of the node or edge.
+	 * @return	A new map of the attributes.
+	 */
+	private HashMap<String, String> getAtts(long offsetsPos, long attsPos, int index){
+		HashMap<String, String> atts = new HashMap<String, String>();
+		int end = this.getInt(offsetsPos + 4L * (index + 1));
+		for(int i = this.getInt(offsetsPos + 4L * index); i < end; i++){
+			atts.put(this.getString(this.getInt(attsPos + 8L * i)), this.getString(this.getInt(attsPos + 8L * i + 4)));
+		}
+		return atts;
+	}//getAtts(long, long, int)
+
+	/**
+	 * Gives a string a number in the string table, if it doesn't have one yet.
+	 *
+	 * @param stringIn	The string. Nothing is done if null.
+	 * @param stringNums	The number of each string so far.
+	 * @param strings	The strings so far, by number.
+	 */
+	private static void numberString(String stringIn, HashMap<String, Integer> stringNums, ArrayList<String> strings){
+		if(stringIn != null && !stringNums.containsKey(stringIn)){
+			stringNums.put(stringIn, strings.size());
+			strings.add(stringIn);
+		}
+	}//numberString(String, HashMap<String, Integer>, ArrayList<String>)
+
+	/**
+	 * Gives the keys and values of a set of attributes numbers in the string table.
+	 *
+	 * @param attsIn	The attributes.
+	 * @param stringNums	The number of each string so far.
+	 * @param strings	The strings so far, by number.
+	 * @return	The number of attributes.
+	 */
+	private static int numberStrings(Map<String, String> attsIn, HashMap<String, Integer> stringNums, ArrayList<String> strings){
+		for(Entry<String, String> curAtt : attsIn.entrySet()){
+			numberString(curAtt.getKey(), stringNums, strings);
+			numberString(curAtt.getValue(), stringNums, strings);
+		}
+		return attsIn.size();
+	}//numberStrings(Map<String, String>, HashMap<String, Integer>, ArrayList<String>)
+
+	/**
+	 * Gets the number of a string in the string table.
+	 *
+	 * @param stringIn	The string.
+	 * @param stringNums	The number of each string.
+	 * @return	The number of the string. -1 if null.
+	 */
+	private static int stringNum(String stringIn, HashMap<String, Integer> stringNums){
+		return (stringIn == null ? -1 : stringNums.get(stringIn));
+	}//stringNum(String, HashMap<String, Integer>)
+
+	/**
+	 * Writes out a set of attributes, as the numbers of their keys and values in the string table.
+	 *
+	 * @param out	Where to write to.
+	 * @param attsIn	The attributes.
+	 * @param stringNums	The number of each string.
+	 * @throws IOException	If the attributes could not be written.
+	 */
+	private static void writeAtts(DataOutputStream out, Map<String, String> attsIn, HashMap<String, Integer> stringNums) throws IOException {
+		for(Entry<String, String> curAtt : attsIn.entrySet()){
+			out.writeInt(stringNum(curAtt.getKey(), stringNums));
+			out.writeInt(stringNum(curAtt.getValue(), stringNums));
+		}
+	}//writeAtts(DataOutputStream, Map<String, String>, HashMap<String, Integer>)
+
+	/**
+	 * Gets the size of hash table to use for a number of entries. A power of two, at least twice the number of entries.
+	 *
+	 * @param numEntries	The number of entries.
+	 * @return	The size of the hash table.
+	 */
+	private static int hashSizeFor(int numEntries){
+		int size = 1;
+		while(size < numEntries * 2){
+			size <<= 1;
+		}
+		return size;
+	}//hashSizeFor(int)
+
+	/**
+	 * Gets the slot in a hash table an ID starts looking at.
+	 *
+	 * @param idIn	The ID.
+	 * @param hashSize	The size of the hash table.
+	 * @return	The slot to start at.
+	 */
+	private static int hashSlot(String idIn, int hashSize){
+		int hash = idIn.hashCode();
+		hash ^= (hash >>> 16);
+		return hash & (hashSize - 1);
+	}//hashSlot(String, int)
+
+	/**
+	 * Adds an entry to a hash table of ID's.
+	 *
+	 * @param hashIn	The hash table.
+	 * @param idIn	The ID. Nothing is done if null.
+	 * @param index	The index of what has the ID.
+	 */
+	private static void addToHash(int[] hashIn, String idIn, int index){
+		if(idIn == null){
+			return;
+		}
+		int slot = hashSlot(idIn, hashIn.length);
+		while(hashIn[slot] != 0){
+			slot = (slot + 1) & (hashIn.length - 1);
+		}
+		hashIn[slot] = index + 1;
+	}//addToHash(int[], String, int)
+
+	// endregion
+}//class LotMappedGraph
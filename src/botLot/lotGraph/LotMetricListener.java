@@ -0,0 +1,24 @@
+package botLot.lotGraph;
+
+/**
+ * LotMetricListener.java
+ * <p>
+ * Told when an edge held by a graph is given a different metric. Indexes attached to a graph ({@link LotGraph#attachIndex(String, Object)}) that are one of these are told by the graph, so they can keep up with metric changes without going over every edge; metric changes are not in the graph's edge change journal ({@link LotGraph#getEdgesChangedSince(long)}).
+ * <p>
+ * Called by the thread changing the graph, just after the change.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public interface LotMetricListener {
+
+	/**
+	 * Called when an edge held by the graph is given a different metric.
+	 *
+	 * @param edgeIn	The edge that changed.
+	 */
+	public void edgeMetricChanged(LotEdge edgeIn);
+
+}//interface LotMetricListener
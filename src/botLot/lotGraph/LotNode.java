@@ -3,6 +3,10 @@ import java.util.ArrayList;//for edges
 import java.util.HashMap;//for attributes
 import java.util.Collection;//for toString
 import java.util.Iterator;//for toString
+import java.util.HashSet;//for checking edge IDs given
+import java.util.Collections;//for the read only view of the incoming edges
+import java.util.List;
+import java.util.Map;//for attributes
 /**
  * LotNode.java
  * <p>
@@ -20,10 +24,20 @@ public class LotNode{
     private ArrayList<LotEdge> edges;
     /** The number of edges this node is actually supposed to actually have.<p>Used to determine if graph is complete or not. (Defaults to {@link #UNDETERMINED_NUM_EDGES} ('-1')) */
     private int actNumEdges;
-    /** User defined attributes of the node, defaults to empty */
-	private HashMap<String,String> attributes;
+    /** User defined attributes of the node, defaults to empty. Held compactly, in the same layout as other nodes with the same keys. */
+	private LotAtts attributes;
 	/** The default value given to {@link #actNumEdges}. Value always '-1'. */
 	public static final int UNDETERMINED_NUM_EDGES = -1;
+	/** The graph this node is held in. Set by the graph when the node is added or removed, and told about changes to this node so it can keep its indexes up to date. Null if not in a graph. */
+	private LotGraph graph = null;
+	/** Where this node sits in the node list of {@link #graph}. Set by the graph; -1 if not in a graph. */
+	private int graphIndex = -1;
+	/** The handle given to this node by the graph holding it. Never changes while in the graph, and never given to anything else. -1 if not in a graph. */
+	private int handle = -1;
+	/** The edges in {@link #graph} that end at this node. Kept up to date by the graph, only while this node is held in one. */
+	private ArrayList<LotEdge> inEdges;
+	/** Read only view of {@link #inEdges}, handed out by {@link #getInEdges()}. */
+	private List<LotEdge> inEdgesView;
     
     //=========================================================================
     //    Constructors
@@ -36,7 +50,8 @@ public class LotNode{
      * @param nodeIn	The LotNode given.
      */
     public LotNode(LotNode nodeIn){
-    	this(nodeIn.getId(), nodeIn.getEdges(), nodeIn.getActNumEdges(), nodeIn.attributes);
+    	this(nodeIn.getId(), nodeIn.getEdges(), nodeIn.getActNumEdges(), nodeIn.attributes.getAll());
+    	this.copyTypedAtts(nodeIn);
     }//LotNode(LotNode)
     
     /**
@@ -60,7 +75,8 @@ public class LotNode{
      */
     public LotNode(String idIn){
         this();
-        this.setId(idIn);
+        //not in a graph yet, so nothing to check the Id against
+        this.id = idIn;
     }//LotNode(String idIn)
 
     /**
@@ -73,7 +89,9 @@ public class LotNode{
      */
     public LotNode(){
     	this.edges = new ArrayList<LotEdge>();
-        this.attributes = new HashMap<String,String>();
+    	this.inEdges = new ArrayList<LotEdge>();
+    	this.inEdgesView = Collections.unmodifiableList(this.inEdges);
+        this.attributes = new LotAtts();
         this.actNumEdges = -1;
     }//LotNode()
     
@@ -87,13 +105,24 @@ public class LotNode{
     /**
      * Sets {@link #id}.
      * <p>
-     * Trusts that the Id being given is valid, and does not conflict with other Id's.
+     * When the node is in a graph, the Id cannot be one already used by another node in the graph. Otherwise, trusts that the Id being given is valid.
      *
      * @param   idIn    The new Id to set to.
      * @return	This node.
+     * @throws	LotNodeException	If the node is in a graph, and the Id is already used by another node in it.
      */
-    public LotNode setId(String idIn){
+    public LotNode setId(String idIn) throws LotNodeException{
+        if(this.graph != null){
+        	LotNode heldNode = this.graph.getIndexedNode(idIn);
+        	if(heldNode != null && heldNode != this){
+        		throw new LotNodeException("Node ID given is already used in the graph (" + idIn + ").");
+        	}
+        }
+        String oldId = this.id;
         this.id = idIn;
+        if(this.graph != null){
+        	this.graph.nodeIdChanged(this, oldId);
+        }
         return this;
     }//setId
 
@@ -101,14 +130,39 @@ public class LotNode{
      * Adds a list of edges. Breaks if the list is larger than {@link #actNumEdges}.
      * 
      * @param edgesIn	The edges to give this node.
-     * @throws LotNodeException	If Edge list given larger than the actual number of edges.
+     * @throws LotNodeException	If Edge list given larger than the actual number of edges, or (when in a graph) an edge has an ID already used in the graph.
      * @return	This node.
      */
     public LotNode setEdges(ArrayList<LotEdge> edgesIn) throws LotNodeException{
 		if(edgesIn.size() > this.getActNumEdges() && this.getActNumEdges() > UNDETERMINED_NUM_EDGES){
 			throw new LotNodeException("Edge list given larger than the actual number of edges.");
 		}else{
+			HashSet<String> idsGiven = new HashSet<String>();
+			for(LotEdge curEdge : edgesIn){
+				if(curEdge.getStartNode() != null && curEdge.getStartNode() != this){
+					throw new LotNodeException("At least one edge in the list already belongs to another node.");
+				}
+				if(this.graph != null && curEdge.getId() != null){
+					LotEdge heldEdge = this.graph.getIndexedEdge(curEdge.getId());
+					//this node's own edges are taken out before the new ones go in
+					if(!idsGiven.add(curEdge.getId()) || (heldEdge != null && heldEdge != curEdge && heldEdge.getStartNode() != this)){
+						throw new LotNodeException("At least one edge in the list has an ID already used in the graph (" + curEdge.getId() + ").");
+					}
+				}
+			}
+			for(LotEdge curEdge : this.edges){
+				if(this.graph != null){
+					this.graph.edgeDetached(this, curEdge);
+				}
+				curEdge.setStartNode(null);
+			}
 			this.edges = edgesIn;
+			for(LotEdge curEdge : this.edges){
+				curEdge.setStartNode(this);
+				if(this.graph != null){
+					this.graph.edgeAttached(this, curEdge);
+				}
+			}
 		}
 		return this;
 	}//setEdges(ArrayList<LotEdges>
@@ -139,7 +193,7 @@ public class LotNode{
      * Adds an edge to the node. Breaks if the node list is already full.
      * 
      * @param edgeIn	The edge to add.
-     * @throws LotNodeException	If the node list is already full.
+     * @throws LotNodeException	If the node list is already full, or (when in a graph) the edge has an ID already used in the graph.
      * @return	This node.
      */
 	public LotNode addEdge(LotEdge edgeIn) throws LotNodeException{
@@ -147,8 +201,16 @@ public class LotNode{
 			throw new LotNodeException("Node is already full.");
 		}else if(this.hasEdge(edgeIn)){
 			throw new LotNodeException("Node already has given edge.");
+		}else if(edgeIn.getStartNode() != null){
+			throw new LotNodeException("Edge given already belongs to another node.");
+		}else if(this.graph != null && edgeIn.getId() != null && this.graph.getIndexedEdge(edgeIn.getId()) != null){
+			throw new LotNodeException("Edge given has an ID already used in the graph (" + edgeIn.getId() + ").");
 		}else{
 			this.edges.add(edgeIn);
+			edgeIn.setStartNode(this);
+			if(this.graph != null){
+				this.graph.edgeAttached(this, edgeIn);
+			}
 		}
 		return this;
 	}//addEdges(LotEdge)
@@ -158,6 +220,12 @@ public class LotNode{
      * @return	This node.
 	 */
 	public LotNode clearEdges(){
+		for(LotEdge curEdge : this.edges){
+			if(this.graph != null){
+				this.graph.edgeDetached(this, curEdge);
+			}
+			curEdge.setStartNode(null);
+		}
 		this.edges.clear();
 		return this;
 	}//clearEdges()
@@ -172,6 +240,10 @@ public class LotNode{
 	public LotNode remEdge(LotEdge edgeToRemove) throws LotNodeException{
 		if(this.hasEdge(edgeToRemove)){
 			this.edges.remove(edgeToRemove);
+			if(this.graph != null){
+				this.graph.edgeDetached(this, edgeToRemove);
+			}
+			edgeToRemove.setStartNode(null);
 		}else{
 			throw new LotNodeException("This edge is not in the set.");
 		}
@@ -187,7 +259,7 @@ public class LotNode{
 	 */
 	public LotNode remEdge(String edgeIdToRemove) throws LotNodeException{
 		if(this.hasEdge(edgeIdToRemove)){
-			this.edges.remove(this.getEdge(edgeIdToRemove));
+			this.remEdge(this.getEdge(edgeIdToRemove));
 		}else{
 			throw new LotNodeException("No edge with the given ID found.");
 		}
@@ -203,7 +275,7 @@ public class LotNode{
 	 */
 	public LotNode remEdge(int edgeIndexToRemove) throws LotNodeException{
 		if(this.hasEdge(edgeIndexToRemove)){
-			this.edges.remove(this.getEdge(edgeIndexToRemove));
+			this.remEdge(this.getEdge(edgeIndexToRemove));
 		}else{
 			throw new LotNodeException("No edge with the given ID found.");
 		}
@@ -273,20 +345,32 @@ public class LotNode{
      * @return	This node.
      */
     public LotNode setAtt(String attKeyIn, String attValIn){
+        if(this.graph != null){
+        	this.graph.nodeAttChanged(this, attKeyIn, false);
+        }
         this.attributes.put(attKeyIn, attValIn);
+        if(this.graph != null){
+        	this.graph.nodeAttChanged(this, attKeyIn, true);
+        }
         return this;
     }//setAtt(String, String)
     
     /**
      * Sets {@link #attributes} to a new set of attributes.
 	 *
-     * @param   attsIn    The attributes to set {@link #attributes}.
+     * @param   attsIn    The attributes to set {@link #attributes}. Copied, so later changes to the map given are not seen.
      * @return	This node.
      */
-    public LotNode setAtts(HashMap<String, String> attsIn){
-        this.attributes = attsIn;
+    public LotNode setAtts(Map<String, String> attsIn){
+        if(this.graph != null){
+        	this.graph.nodeAttChanged(this, null, false);
+        }
+        this.attributes.setAll(attsIn);
+        if(this.graph != null){
+        	this.graph.nodeAttChanged(this, null, true);
+        }
         return this;
-    }//setAtts(HashMap<String, String>)
+    }//setAtts(Map<String, String>)
 	
 	/** 
      * Removes an attribute from {@link #attributes}.
@@ -295,9 +379,73 @@ public class LotNode{
      * @return	This node.
      */
     public LotNode remAtt(String attKeyIn){
+        if(this.graph != null){
+        	this.graph.nodeAttChanged(this, attKeyIn, false);
+        }
         this.attributes.remove(attKeyIn);
         return this;
     }//setId(String)
+	
+	/**
+	 * Sets a number attribute, held as a double rather than a String, so it can be read without parsing (for working out edge costs, etc). Adds it if not there.
+	 * <p>
+	 * Typed attributes (number, long, and boolean) are kept apart from the String ones, so this does not change {@link #getAtt(String)}. They are not saved by the data sources.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This node.
+	 */
+	public LotNode setNumAtt(String attKeyIn, double attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_DOUBLE, Double.doubleToRawLongBits(attValIn));
+		if(this.graph != null){
+			this.graph.typedAttChanged();
+		}
+		return this;
+	}//setNumAtt(String, double)
+	
+	/**
+	 * Sets a long attribute, held as a long rather than a String. Adds it if not there.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This node.
+	 */
+	public LotNode setLongAtt(String attKeyIn, long attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_LONG, attValIn);
+		if(this.graph != null){
+			this.graph.typedAttChanged();
+		}
+		return this;
+	}//setLongAtt(String, long)
+	
+	/**
+	 * Sets a boolean attribute, held as a boolean rather than a String. Adds it if not there.
+	 * 
+	 * @param attKeyIn	The key of the attribute.
+	 * @param attValIn	The value of the attribute.
+	 * @return	This node.
+	 */
+	public LotNode setBoolAtt(String attKeyIn, boolean attValIn){
+		this.attributes.putTyped(attKeyIn, LotAtts.KIND_BOOLEAN, (attValIn ? 1 : 0));
+		if(this.graph != null){
+			this.graph.typedAttChanged();
+		}
+		return this;
+	}//setBoolAtt(String, boolean)
+	
+	/**
+	 * Removes a typed (number, long, or boolean) attribute.
+	 * 
+	 * @param attKeyIn	The key of the attribute to remove.
+	 * @return	This node.
+	 */
+	public LotNode remTypedAtt(String attKeyIn){
+		this.attributes.removeTyped(attKeyIn);
+		if(this.graph != null){
+			this.graph.typedAttChanged();
+		}
+		return this;
+	}//remTypedAtt(String)
     
     //endregion
 	
@@ -315,6 +463,129 @@ public class LotNode{
 		return this.id;
 	}//getId()
 	
+	/**
+	 * Gets the graph this node is held in ({@link #graph}).
+	 * 
+	 * @return	The graph this node is held in. Null if not in a graph.
+	 */
+	LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+	
+	/**
+	 * Sets the graph this node is held in ({@link #graph}). Only to be called by the graph itself when adding or removing this node.
+	 * 
+	 * @param graphIn	The graph now holding this node. Null if removed.
+	 * @return	This node.
+	 */
+	LotNode setGraph(LotGraph graphIn){
+		this.graph = graphIn;
+		return this;
+	}//setGraph(LotGraph)
+	
+	/**
+	 * Gets where this node sits in the node list of the graph holding it ({@link #graphIndex}).
+	 * 
+	 * @return	The index of this node in its graph's node list. -1 if not in a graph.
+	 */
+	int getGraphIndex(){
+		return this.graphIndex;
+	}//getGraphIndex()
+	
+	/**
+	 * Sets where this node sits in the node list of the graph holding it ({@link #graphIndex}). Only to be called by the graph itself.
+	 * 
+	 * @param graphIndexIn	The new index. -1 if removed from the graph.
+	 * @return	This node.
+	 */
+	LotNode setGraphIndex(int graphIndexIn){
+		this.graphIndex = graphIndexIn;
+		return this;
+	}//setGraphIndex(int)
+	
+	/**
+	 * Gets the handle given to this node by the graph holding it ({@link #handle}).
+	 * <p>
+	 * Unlike the index, the handle does not change when other nodes are removed, and is never given to another node in the same graph, so it can be held on to in place of the node or its ID.
+	 * 
+	 * @return	The handle of this node. -1 if not in a graph.
+	 */
+	public int getHandle(){
+		return this.handle;
+	}//getHandle()
+	
+	/**
+	 * Sets the handle of this node ({@link #handle}). Only to be called by the graph itself.
+	 * 
+	 * @param handleIn	The new handle. -1 if removed from the graph.
+	 * @return	This node.
+	 */
+	LotNode setHandle(int handleIn){
+		this.handle = handleIn;
+		return this;
+	}//setHandle(int)
+	
+	/**
+	 * Moves the attributes of this node to the key table of the graph now holding it. Only to be called by the graph itself.
+	 * 
+	 * @param tableIn	The key table of the graph now holding this node. Null if removed.
+	 * @return	This node.
+	 */
+	LotNode setAttTable(LotAtts.KeyTable tableIn){
+		this.attributes.setTable(tableIn);
+		return this;
+	}//setAttTable(LotAtts.KeyTable)
+	
+	/**
+	 * Sets the typed attributes of this node to those of another. For copying nodes.
+	 * 
+	 * @param nodeIn	The node to copy the typed attributes of.
+	 */
+	void copyTypedAtts(LotNode nodeIn){
+		this.attributes.copyTypedFrom(nodeIn.attributes);
+	}//copyTypedAtts(LotNode)
+	
+	/**
+	 * Gets the edges in the graph that end at this node ({@link #inEdges}).
+	 * <p>
+	 * This is a read only view, kept up to date by the graph holding this node. Empty if not held in a graph.
+	 * 
+	 * @return	The edges ending at this node.
+	 */
+	public List<LotEdge> getInEdges(){
+		return this.inEdgesView;
+	}//getInEdges()
+	
+	/**
+	 * Adds an edge to {@link #inEdges}. Only to be called by the graph holding this node.
+	 * 
+	 * @param edgeIn	The edge now ending at this node.
+	 */
+	void addInEdge(LotEdge edgeIn){
+		this.inEdges.add(edgeIn);
+	}//addInEdge(LotEdge)
+	
+	/**
+	 * Removes an edge from {@link #inEdges}. Only to be called by the graph holding this node.
+	 * 
+	 * @param edgeIn	The edge no longer ending at this node.
+	 */
+	void remInEdge(LotEdge edgeIn){
+		for(int i = this.inEdges.size() - 1; i >= 0; i--){
+			if(this.inEdges.get(i) == edgeIn){
+				this.inEdges.remove(i);
+				return;
+			}
+		}
+	}//remInEdge(LotEdge)
+	
+	/**
+	 * Clears {@link #inEdges}. Only to be called by the graph when adding or removing this node.
+	 */
+	void clearInEdges(){
+		this.inEdges.clear();
+	}//clearInEdges()
+	
 	/**
 	 * Gets the set of edges {@link #edges}.
 	 * 
@@ -402,10 +673,8 @@ public class LotNode{
 	 * @return	The edge given. Null if not found.
 	 */
 	public LotEdge getEdge(LotEdge edgeToGet){
-		for(int i = 0; i < this.getNumEdges(); i++){
-			if(this.edges.get(i) == edgeToGet){
-				return this.edges.get(i);
-			}
+		if(edgeToGet != null && edgeToGet.getStartNode() == this){
+			return edgeToGet;
 		}
 		return null;
 	}//getEdge(LotEdge)
@@ -417,6 +686,10 @@ public class LotNode{
 	 * @return	The edge with the given ID. Null if not found.
 	 */
 	public LotEdge getEdge(String edgeIdToGet){
+		if(this.graph != null){
+			//the graph has the edges indexed by ID, just need to check it is ours
+			return this.getEdge(this.graph.getEdge(edgeIdToGet));
+		}
 		for(int i = 0; i < this.getNumEdges(); i++){
 			if(this.edges.get(i).getId().equals(edgeIdToGet)){
 				return this.edges.get(i);
@@ -788,12 +1061,86 @@ public class LotNode{
 	/**
 	 * Returns the attributes ({@link #attributes}) for this Node.
 	 * 
-	 * @return {@link #attributes}
+	 * @return A read only copy of {@link #attributes}. Use {@link #setAtt(String, String)} and {@link #remAtt(String)} to change them.
 	 */
-	public HashMap<String, String> getAtts(){
-		return attributes;
+	public Map<String, String> getAtts(){
+		return Collections.unmodifiableMap(this.attributes.getAll());
 	}//getAtts()
 	
+	/**
+	 * Gets the number of attributes this node has, without copying them out.
+	 * 
+	 * @return	The number of attributes in {@link #attributes}.
+	 */
+	public int getNumAtts(){
+		return this.attributes.size();
+	}//getNumAtts()
+	
+	/**
+	 * Gets a number attribute set by {@link #setNumAtt(String, double)} or {@link #setLongAtt(String, long)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this node has no number attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public double getNumAtt(String attKey, double defaultVal){
+		switch(this.attributes.getTypedKind(attKey)){
+			case LotAtts.KIND_DOUBLE:
+				return Double.longBitsToDouble(this.attributes.getTypedBits(attKey));
+			case LotAtts.KIND_LONG:
+				return this.attributes.getTypedBits(attKey);
+			default:
+				return defaultVal;
+		}
+	}//getNumAtt(String, double)
+	
+	/**
+	 * Gets a long attribute set by {@link #setLongAtt(String, long)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this node has no long attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public long getLongAtt(String attKey, long defaultVal){
+		if(this.attributes.getTypedKind(attKey) == LotAtts.KIND_LONG){
+			return this.attributes.getTypedBits(attKey);
+		}
+		return defaultVal;
+	}//getLongAtt(String, long)
+	
+	/**
+	 * Gets a boolean attribute set by {@link #setBoolAtt(String, boolean)}.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @param defaultVal	The value to give if this node has no boolean attribute with the key.
+	 * @return	The value of the attribute, or the default given.
+	 */
+	public boolean getBoolAtt(String attKey, boolean defaultVal){
+		if(this.attributes.getTypedKind(attKey) == LotAtts.KIND_BOOLEAN){
+			return this.attributes.getTypedBits(attKey) != 0;
+		}
+		return defaultVal;
+	}//getBoolAtt(String, boolean)
+	
+	/**
+	 * Tests if there is a typed (number, long, or boolean) attribute with the given key.
+	 * 
+	 * @param attKey	The key of the attribute.
+	 * @return	If the typed attribute exists.
+	 */
+	public boolean hasTypedAtt(String attKey){
+		return this.attributes.getTypedKind(attKey) != 0;
+	}//hasTypedAtt(String)
+	
+	/**
+	 * Gets the number of typed attributes this node has.
+	 * 
+	 * @return	The number of typed attributes.
+	 */
+	public int getNumTypedAtts(){
+		return this.attributes.numTyped();
+	}//getNumTypedAtts()
+	
 	/**
 	 * Tests if there is a key in {@link #attributes}.
 	 * 
@@ -801,7 +1148,7 @@ public class LotNode{
 	 * @return	If the key-value pair exists.
 	 */
 	public boolean hasAtt(String attKey){
-		return this.attributes.containsKey(attKey);
+		return this.attributes.has(attKey);
 	}//hasAtt(String)
 	
 	/**
@@ -828,7 +1175,7 @@ public class LotNode{
 	@Override
 	public String toString() {
 		final int maxLen = 10;
-		return "LotNode [id=" + id + ", actNumEdges=" + actNumEdges + ", attributes=" + (attributes != null ? toString(attributes.entrySet(), maxLen) : null)
+		return "LotNode [id=" + id + ", actNumEdges=" + actNumEdges + ", attributes=" + (attributes != null ? toString(attributes.getAll().entrySet(), maxLen) : null)
 				+ ", edges=" + (edges != null ? toString(edges, maxLen) : null) + "]";
 	}//toString
 
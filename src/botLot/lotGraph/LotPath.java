@@ -1,7 +1,13 @@
 package botLot.lotGraph;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;//for the actual path
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 /**
  * LotPath.java
  * <p>
@@ -9,6 +15,8 @@ import java.util.NoSuchElementException;
  * <p>
  * Includes miscellaneous methods/functions for info about the path.
  * <p>
+ * The edges are held in an array, so getting any one of them is quick, and sums of their metrics up to each edge are kept, so the metric of the path, or of any part of it, does not need to go over the path again. The sums are worked out when first needed, and kept while all the edges are in the same graph and its version ({@link LotGraph#getVersion()}) is the same; changing an edge's metric changes the version of the graph holding it. Sums of paths with edges not in a graph, or in more than one, are worked out again each time.
+ * <p>
  * Started: 11/18/15
  * 
  * TODO:: deal with edges to avoid.
@@ -17,8 +25,33 @@ import java.util.NoSuchElementException;
  * @version	1.0 3/12/16
  */
 public class LotPath {
-	/** the path of edges held by this object */
-	public LinkedList<LotEdge> path;
+	/** The edges of the path, in order. Only the first {@link #numEdges} are part of the path. */
+	private LotEdge[] edges;
+	/** The number of edges in the path. */
+	private int numEdges = 0;
+	/** Sums of the metrics of the edges. The sum of the metrics of the first i edges is at i. Only the first {@link #numSummed} + 1 are worked out. */
+	private double[] metricSums;
+	/** The number of edges that {@link #metricSums} is worked out for. */
+	private int numSummed = 0;
+	/** The graph holding all the edges summed in {@link #metricSums}. Null if they are not all in one graph, in which case the sums are not kept. */
+	private LotGraph summedGraph = null;
+	/** The version of {@link #summedGraph} when {@link #metricSums} was worked out. Sums are worked out again if it has changed since. */
+	private long summedVersion = 0;
+	/** The graph this path was last found valid in ({@link #setValidIn(LotGraph)}). Null if not found valid, or changed since. */
+	private LotGraph validGraph = null;
+	/** The version of {@link #validGraph} when this path was last known to be valid in it. */
+	private long validVersion = 0;
+	/** The edges in the path, for quickly telling if the path has an edge. Made when first needed, and added to as edges are put in. Dropped when edges are taken out, as the edge may be in the path more than once. Null if not made. */
+	private HashSet<LotEdge> edgeSet = null;
+	/** The read only view of the edges of the path, given out by {@link #getEdges()}. */
+	private final EdgeView edgeView = new EdgeView();
+	/**
+	 * The edges of the path, in order. A read only view of the edges held, the same as {@link #getEdges()}.
+	 * 
+	 * @deprecated	Use {@link #getEdges()} to read the edges, and {@link #setPath(Collection)} or the append methods to change them.
+	 */
+	@Deprecated
+	public final List<LotEdge> path = this.edgeView;
 	/** Flag to denote this should be treated as a path with infinite size. For comparison purposes. */
 	public boolean infSizeFlag = false;
 	
@@ -28,8 +61,14 @@ public class LotPath {
 	 * @param pathIn	The LotPath given.
 	 */
 	public LotPath(LotPath pathIn){
-		this();
-		this.path = new LinkedList<LotEdge>(pathIn.path);
+		this.edges = Arrays.copyOf(pathIn.edges, Math.max(pathIn.numEdges, 1));
+		this.metricSums = Arrays.copyOf(pathIn.metricSums, this.edges.length + 1);
+		this.numEdges = pathIn.numEdges;
+		this.numSummed = Math.min(pathIn.numSummed, this.numEdges);
+		this.summedGraph = pathIn.summedGraph;
+		this.summedVersion = pathIn.summedVersion;
+		this.validGraph = pathIn.validGraph;
+		this.validVersion = pathIn.validVersion;
 	}//LotPath(LotPath)
 	
 	/**
@@ -56,12 +95,153 @@ public class LotPath {
 	}
 	
 	/**
-	 * Basic constructor. Initializes a new linked list for the edges.
+	 * Basic constructor. Initializes a new, empty path.
 	 */
 	public LotPath(){
-		this.path = new LinkedList<LotEdge>();
+		this.edges = new LotEdge[8];
+		this.metricSums = new double[9];
 	}//LotPath()
 	
+	//=========================================================================
+	//    Edge array workers
+	//region Edge array workers
+	//=========================================================================
+	
+	/**
+	 * Makes sure there is room in {@link #edges} for the number of edges given.
+	 * 
+	 * @param capacityIn	The number of edges to have room for.
+	 */
+	private void ensureCapacity(int capacityIn){
+		if(capacityIn > this.edges.length){
+			int newCapacity = Math.max(capacityIn, this.edges.length * 2);
+			this.edges = Arrays.copyOf(this.edges, newCapacity);
+			this.metricSums = Arrays.copyOf(this.metricSums, newCapacity + 1);
+		}
+	}//ensureCapacity(int)
+	
+	/**
+	 * Inserts an edge into the path, without checking that the path stays continuous.
+	 * 
+	 * @param indexIn	Where to put the edge.
+	 * @param edgeIn	The edge to insert.
+	 */
+	private void insertEdge(int indexIn, LotEdge edgeIn){
+		this.ensureCapacity(this.numEdges + 1);
+		System.arraycopy(this.edges, indexIn, this.edges, indexIn + 1, this.numEdges - indexIn);
+		this.edges[indexIn] = edgeIn;
+		this.numEdges++;
+		this.numSummed = Math.min(this.numSummed, indexIn);
+		this.validGraph = null;
+		if(this.edgeSet != null){
+			this.edgeSet.add(edgeIn);
+		}
+	}//insertEdge(int, LotEdge)
+	
+	/**
+	 * Inserts edges into the path, without checking that the path stays continuous.
+	 * 
+	 * @param indexIn	Where to put the first edge.
+	 * @param edgesIn	The edges to insert.
+	 */
+	private void insertEdges(int indexIn, LotEdge[] edgesIn){
+		this.ensureCapacity(this.numEdges + edgesIn.length);
+		System.arraycopy(this.edges, indexIn, this.edges, indexIn + edgesIn.length, this.numEdges - indexIn);
+		System.arraycopy(edgesIn, 0, this.edges, indexIn, edgesIn.length);
+		this.numEdges += edgesIn.length;
+		this.numSummed = Math.min(this.numSummed, indexIn);
+		this.validGraph = null;
+		if(this.edgeSet != null){
+			this.edgeSet.addAll(Arrays.asList(edgesIn));
+		}
+	}//insertEdges(int, LotEdge[])
+	
+	
+	/**
+	 * Determines if the given edge is in the path.
+	 * <p>
+	 * Quick after the first call, which goes over the path once.
+	 * 
+	 * @param edgeIn	The edge to look for.
+	 * @return	If the edge is in the path.
+	 */
+	public boolean hasEdge(LotEdge edgeIn){
+		if(this.edgeSet == null){
+			this.edgeSet = new HashSet<LotEdge>(Arrays.asList(this.edges).subList(0, this.numEdges));
+		}
+		return this.edgeSet.contains(edgeIn);
+	}//hasEdge(LotEdge)
+	
+	/**
+	 * Makes sure {@link #metricSums} is worked out for the number of edges given, and is not stale.
+	 * 
+	 * @param numEdgesIn	The number of edges from the start of the path to have the sum for.
+	 */
+	private void sumMetrics(int numEdgesIn){
+		if(this.summedGraph == null || this.summedGraph.getVersion() != this.summedVersion){
+			this.numSummed = 0;
+		}
+		if(this.numSummed == 0 && this.numEdges > 0){
+			this.summedGraph = getGraphOf(this.edges[0]);
+			this.summedVersion = (this.summedGraph == null ? 0 : this.summedGraph.getVersion());
+		}
+		while(this.numSummed < numEdgesIn){
+			if(getGraphOf(this.edges[this.numSummed]) != this.summedGraph){
+				//not all in one graph, so nothing tells us when these go stale
+				this.summedGraph = null;
+			}
+			this.metricSums[this.numSummed + 1] = this.metricSums[this.numSummed] + this.edges[this.numSummed].getMetric();
+			this.numSummed++;
+		}
+	}//sumMetrics(int)
+	
+	/**
+	 * Gets the graph holding an edge.
+	 * 
+	 * @param edgeIn	The edge.
+	 * @return	The graph holding the edge. Null if not in one.
+	 */
+	private static LotGraph getGraphOf(LotEdge edgeIn){
+		return (edgeIn.getStartNode() == null ? null : edgeIn.getStartNode().getGraph());
+	}//getGraphOf(LotEdge)
+	
+	/**
+	 * Determines if the edges of the path are continuous, starting at the edge given.
+	 * 
+	 * @param fromIn	The index of the edge to start checking at.
+	 * @return	If the path is continuous from the edge given.
+	 */
+	private boolean isContinuousFrom(int fromIn){
+		for(int i = Math.max(fromIn, 0) + 1; i < this.numEdges; i++){
+			if(!this.edges[i - 1].endSet() || !this.edges[i - 1].getEndNode().hasEdge(this.edges[i]) || !this.edges[i].endSet()){
+				return false;
+			}
+		}
+		return true;
+	}//isContinuousFrom(int)
+	
+	/**
+	 * The read only view of the edges given out by {@link #getEdges()}. Holds nothing itself; reads go straight to the edges held by the path.
+	 */
+	private final class EdgeView extends AbstractList<LotEdge> implements RandomAccess {
+		@Override
+		public LotEdge get(int indexIn){
+			return getEdge(indexIn);
+		}
+		
+		@Override
+		public int size(){
+			return numEdges;
+		}
+		
+		@Override
+		public Object[] toArray(){
+			return Arrays.copyOf(edges, numEdges, Object[].class);
+		}
+	}//class EdgeView
+	
+	//endregion
+	
 	/**
 	 * Sets the {@link #path} to a collection of edges.
 	 * 
@@ -70,7 +250,13 @@ public class LotPath {
 	 * @throws LotPathException If the given set of edges is not continuous.
 	 */
 	public LotPath setPath(Collection<LotEdge> collectionIn) throws LotPathException{
-		this.path = new LinkedList<LotEdge>(collectionIn);
+		LotEdge[] edgesIn = collectionIn.toArray(new LotEdge[collectionIn.size()]);
+		this.edges = Arrays.copyOf(edgesIn, Math.max(edgesIn.length, 1));
+		this.metricSums = new double[this.edges.length + 1];
+		this.numEdges = edgesIn.length;
+		this.numSummed = 0;
+		this.validGraph = null;
+		this.edgeSet = null;
 		if(!this.pathIsContinuous()){
 			throw new LotPathException("Given set of edges is not continuous.");
 		}
@@ -110,6 +296,57 @@ public class LotPath {
 			nodeList.removeFirst();
 		}
 	}
+	
+	/**
+	 * Sets the current path to the edges with the given handles in a graph ({@link LotEdge#getHandle()}).
+	 * 
+	 * @param graphIn	The graph holding the edges.
+	 * @param edgeHandlesIn	The handles of the edges, in order.
+	 * @return	This path.
+	 * @throws LotPathException	If a handle is not of an edge in the graph, or the edges are not continuous.
+	 */
+	public LotPath setPathWithHandles(LotGraph graphIn, int[] edgeHandlesIn) throws LotPathException{
+		LotEdge[] edgeList = new LotEdge[edgeHandlesIn.length];
+		for(int i = 0; i < edgeHandlesIn.length; i++){
+			try {
+				edgeList[i] = graphIn.getEdgeByHandle(edgeHandlesIn[i]);
+			} catch (LotGraphException e) {
+				throw new LotPathException("Edge handle given is not in the graph. Inner Error: " + e.getMessage());
+			}
+		}
+		return this.setPath(Arrays.asList(edgeList));
+	}//setPathWithHandles(LotGraph, int[])
+	
+	/**
+	 * Gets the handles of the edges in the path ({@link LotEdge#getHandle()}), in order.
+	 * 
+	 * @return	The handles of the edges in the path. -1 for edges not in a graph.
+	 */
+	public int[] getEdgeHandles(){
+		int[] handles = new int[this.numEdges];
+		for(int i = 0; i < this.numEdges; i++){
+			handles[i] = this.edges[i].getHandle();
+		}
+		return handles;
+	}//getEdgeHandles()
+	
+	/**
+	 * Gets the handles of the nodes gone through on the path ({@link LotNode#getHandle()}), in order, from the node the path starts at to the one it ends at.
+	 * 
+	 * @return	The handles of the nodes on the path. Empty if the path is empty, -1 for nodes not in a graph.
+	 */
+	public int[] getNodeHandles(){
+		if(this.numEdges == 0){
+			return new int[0];
+		}
+		int[] handles = new int[this.numEdges + 1];
+		LotNode startNode = this.edges[0].getStartNode();
+		handles[0] = (startNode == null ? -1 : startNode.getHandle());
+		for(int i = 0; i < this.numEdges; i++){
+			handles[i + 1] = (this.edges[i].getEndNode() == null ? -1 : this.edges[i].getEndNode().getHandle());
+		}
+		return handles;
+	}//getNodeHandles()
 
 	/**
 	 * Gets the metric for traveling the whole path.
@@ -117,13 +354,38 @@ public class LotPath {
 	 * @return	The metric of the entire path.
 	 */
 	public double getPathMetric(){
-		double metricSum = 0;
-		for(int i = 0; i < this.path.size(); i++){
-			metricSum += this.path.get(i).getMetric();
-		}
-		return metricSum;
+		return this.getMetricTo(this.numEdges);
 	}//getPathMetric()
 	
+	/**
+	 * Gets the metric for traveling the first number of edges given.
+	 * 
+	 * @param numEdgesIn	The number of edges from the start of the path.
+	 * @return	The metric of the first number of edges given.
+	 * @throws IndexOutOfBoundsException	If the number given is negative or more than the size of the path.
+	 */
+	public double getMetricTo(int numEdgesIn){
+		if(numEdgesIn < 0 || numEdgesIn > this.numEdges){
+			throw new IndexOutOfBoundsException("Number of edges: " + numEdgesIn + ", Size: " + this.numEdges);
+		}
+		this.sumMetrics(numEdgesIn);
+		return this.metricSums[numEdgesIn];
+	}//getMetricTo(int)
+	
+	/**
+	 * Gets the metric for traveling the rest of the path, starting at the edge at the index given.
+	 * 
+	 * @param indexIn	The index of the edge to start at.
+	 * @return	The metric of the path from the index given to the end.
+	 * @throws IndexOutOfBoundsException	If the index given is negative or more than the size of the path.
+	 */
+	public double getMetricFrom(int indexIn){
+		if(indexIn < 0 || indexIn > this.numEdges){
+			throw new IndexOutOfBoundsException("Index: " + indexIn + ", Size: " + this.numEdges);
+		}
+		return this.getPathMetric() - this.metricSums[indexIn];
+	}//getMetricFrom(int)
+	
 	/**
 	 * Gets the ratio of the number of individual edges to the total path metric.
 	 * <p>
@@ -157,30 +419,127 @@ public class LotPath {
 	 * @return	The size of the path, aka how many hops the path has.
 	 */
 	public int size(){
-		return this.path.size();
+		return this.numEdges;
 	}//size()
 	
+	/**
+	 * Determines if the path has no edges.
+	 * 
+	 * @return	If the path is empty.
+	 */
+	public boolean isEmpty(){
+		return this.numEdges == 0;
+	}//isEmpty()
+	
+	/**
+	 * Gets the edge at the index given.
+	 * 
+	 * @param indexIn	The index of the edge.
+	 * @return	The edge at the index given.
+	 * @throws IndexOutOfBoundsException	If the index is not of an edge in the path.
+	 */
+	public LotEdge getEdge(int indexIn){
+		if(indexIn < 0 || indexIn >= this.numEdges){
+			throw new IndexOutOfBoundsException("Index: " + indexIn + ", Size: " + this.numEdges);
+		}
+		return this.edges[indexIn];
+	}//getEdge(int)
+	
+	/**
+	 * Gets the edges of the path, in order.
+	 * 
+	 * @return	A read only view of the edges of the path. Changes made to the path are seen through it.
+	 */
+	public List<LotEdge> getEdges(){
+		return this.edgeView;
+	}//getEdges()
+	
+	/**
+	 * Gets the rest of the path, from the edge at the index given. This path is not changed.
+	 * <p>
+	 * Taking edges off of the start of a valid path leaves it valid, so the new path is known to be valid where this one is ({@link #isStillValidIn(LotGraph)}).
+	 * 
+	 * @param fromIndex	The index of the first edge of the new path.
+	 * @return	A new path of the edges from the index given to the end. Empty if the index is the size of this path.
+	 * @throws IndexOutOfBoundsException	If the index given is negative or more than the size of the path.
+	 */
+	public LotPath subPath(int fromIndex){
+		if(fromIndex < 0 || fromIndex > this.numEdges){
+			throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + this.numEdges);
+		}
+		LotPath pathOut = new LotPath();
+		pathOut.insertEdges(0, Arrays.copyOfRange(this.edges, fromIndex, this.numEdges));
+		pathOut.validGraph = this.validGraph;
+		pathOut.validVersion = this.validVersion;
+		pathOut.infSizeFlag = this.infSizeFlag;
+		return pathOut;
+	}//subPath(int)
+	
+	/**
+	 * Gets the first edge in the path.
+	 * 
+	 * @return	The first edge in the path.
+	 * @throws NoSuchElementException	If the path is empty.
+	 */
+	public LotEdge getFirstEdge(){
+		if(this.numEdges == 0){
+			throw new NoSuchElementException("Path is empty.");
+		}
+		return this.edges[0];
+	}//getFirstEdge()
+	
+	/**
+	 * Gets the last edge in the path.
+	 * 
+	 * @return	The last edge in the path.
+	 * @throws NoSuchElementException	If the path is empty.
+	 */
+	public LotEdge getLastEdge(){
+		if(this.numEdges == 0){
+			throw new NoSuchElementException("Path is empty.");
+		}
+		return this.edges[this.numEdges - 1];
+	}//getLastEdge()
+	
 	/**
 	 * Gets the node at the end of the path.
 	 * 
 	 * @return The node at the end of the path.
 	 */
 	public LotNode getEndNode(){
-		return this.path.getLast().getEndNode();
+		return this.getLastEdge().getEndNode();
 	}//getEndNode();
 	
 	/**
 	 * Removes all loops from the path.
+	 * <p>
+	 * When an edge comes up again, everything after where it was first is cut out, as well as the edge itself the second time.
 	 */
 	public void removeLoops(){
-		//System.out.println("Removing loops:");
-		for(int i = 0;i < this.path.size(); i++){
-			//System.out.println("\tAt edge " + i + " of " + this.path.size());
-			while(this.path.indexOf(this.path.get(i)) != this.path.lastIndexOf(this.path.get(i))){
-				//System.out.println("\t\t" + this.path.indexOf(this.path.get(0)) + " and " + this.path.lastIndexOf(this.path.get(i)));
-				this.path.remove(i + 1);
+		//where each edge kept is in the path
+		HashMap<LotEdge, Integer> edgeIndexes = new HashMap<LotEdge, Integer>();
+		int numKept = 0;
+		for(int i = 0; i < this.numEdges; i++){
+			LotEdge curEdge = this.edges[i];
+			Integer firstIndex = edgeIndexes.get(curEdge);
+			if(firstIndex == null){
+				edgeIndexes.put(curEdge, numKept);
+				this.edges[numKept++] = curEdge;
+			}else{
+				//cut out the loop
+				for(int j = firstIndex + 1; j < numKept; j++){
+					edgeIndexes.remove(this.edges[j]);
+				}
+				numKept = firstIndex + 1;
 			}
 		}
+		if(numKept != this.numEdges){
+			Arrays.fill(this.edges, numKept, this.numEdges, null);
+			this.numEdges = numKept;
+			this.numSummed = 0;
+			this.validGraph = null;
+			this.edgeSet = null;
+		}
 	}//removeLoops
 	
 	/**
@@ -189,9 +548,9 @@ public class LotPath {
 	 * @return	If this path contains any loops.
 	 */
 	public boolean hasLoops(){
-		for(int i = 0;i < this.path.size(); i++){
-			//System.out.println("\tAt edge " + i + " of " + this.path.size());
-			if(this.path.indexOf(this.path.get(i)) != this.path.lastIndexOf(this.path.get(i))){
+		HashSet<LotEdge> edgesSeen = new HashSet<LotEdge>();
+		for(int i = 0; i < this.numEdges; i++){
+			if(!edgesSeen.add(this.edges[i])){
 				return true;
 			}
 		}
@@ -205,19 +564,7 @@ public class LotPath {
 	 * @return	If the path given is valid.
 	 */
 	public static boolean pathIsContinuous(LotPath pathIn){
-		LotEdge lastEdge = null;
-		for(LotEdge curEdge : pathIn.path){
-			if(lastEdge == null){
-				lastEdge = curEdge;
-			}else{
-				if(lastEdge.getEndNode().getConnectedEdges().contains(curEdge)){
-					lastEdge = curEdge;
-				}else{
-					return false;
-				}
-			}
-		}
-		return true;
+		return pathIn.isContinuousFrom(0);
 	}//pathIsContinuous(LotPath)
 	
 	/**
@@ -229,6 +576,52 @@ public class LotPath {
 		return pathIsContinuous(this);
 	}//pathIsContinuous()
 	
+	/**
+	 * Notes that this path has been checked, and is a continuous path through edges held by the graph given, as the graph is now.
+	 * <p>
+	 * {@link #isStillValidIn(LotGraph)} can then tell if that is still true without going over the path again. Changing the path, other than taking edges off of the start or end of it, clears this.
+	 * 
+	 * @param graphIn	The graph the path was checked in.
+	 * @return	This path.
+	 */
+	public LotPath setValidIn(LotGraph graphIn){
+		this.validGraph = graphIn;
+		this.validVersion = graphIn.getVersion();
+		return this;
+	}//setValidIn(LotGraph)
+	
+	/**
+	 * Determines if this path is known to still be a continuous path through edges held by the graph given; it was found to be with {@link #setValidIn(LotGraph)}, and none of its edges have been taken out of the graph or given a different end node since.
+	 * <p>
+	 * Uses the graph's edge change journal ({@link LotGraph#getEdgesChangedSince(long)}); costs nothing if the graph has not changed, otherwise only the number of changes made since last asked.
+	 * <p>
+	 * Only whether the path can still be gone down is checked, not whether it is still the shortest. Metric changes are left out of the journal, so changing the metric of an edge in the path deliberately leaves it valid; find the path again if its length matters.
+	 * 
+	 * @param graphIn	The graph to check in.
+	 * @return	If the path is known to still be valid. False if it has to be checked again.
+	 */
+	public boolean isStillValidIn(LotGraph graphIn){
+		if(graphIn == null || this.validGraph != graphIn){
+			return false;
+		}
+		if(this.validVersion == graphIn.getVersion()){
+			return true;
+		}
+		List<LotEdge> changedEdges = graphIn.getEdgesChangedSince(this.validVersion);
+		if(changedEdges == null){
+			this.validGraph = null;
+			return false;
+		}
+		for(LotEdge curEdge : changedEdges){
+			if(this.hasEdge(curEdge)){
+				this.validGraph = null;
+				return false;
+			}
+		}
+		this.validVersion = graphIn.getVersion();
+		return true;
+	}//isStillValidIn(LotGraph)
+	
 	/**
 	 * Appends a collection of LotEdges to the current list.
 	 * 
@@ -240,10 +633,15 @@ public class LotPath {
 		if(edgeListIn.isEmpty()){
 			return this;
 		}
-		LinkedList<LotEdge> listToAppend = (LinkedList<LotEdge>)edgeListIn;
-		if(this.path.getLast().getEndNode().hasEdge(listToAppend.get(0))){
-			path.addAll(edgeListIn);
-			if(!this.pathIsContinuous()){
+		LotEdge[] edgesToAppend = edgeListIn.toArray(new LotEdge[edgeListIn.size()]);
+		if(this.getLastEdge().getEndNode().hasEdge(edgesToAppend[0])){
+			int joinIndex = this.numEdges - 1;
+			this.ensureCapacity(this.numEdges + edgesToAppend.length);
+			System.arraycopy(edgesToAppend, 0, this.edges, this.numEdges, edgesToAppend.length);
+			this.numEdges += edgesToAppend.length;
+			this.validGraph = null;
+			this.edgeSet = null;
+			if(!this.isContinuousFrom(joinIndex)){
 				throw new LotPathException("The path we ended up with was not continuous.");
 			}
 		}else{
@@ -260,7 +658,7 @@ public class LotPath {
 	 * @throws LotPathException	If the given path breaks the path.
 	 */
 	public LotPath append(LotPath pathIn) throws LotPathException{
-		this.append(pathIn.path);
+		this.append(pathIn.getEdges());
 		return this;
 	}//append(LotPath)
 	
@@ -272,14 +670,8 @@ public class LotPath {
 	 * @throws LotPathException	If the edge given would not make a continuous path if appended.
 	 */
 	public LotPath append(LotEdge edgeIn) throws LotPathException{
-		boolean hasPathToEdge;
-		try{
-			hasPathToEdge = this.path.getLast().getEndNode().hasEdge(edgeIn);
-		}catch(NoSuchElementException e){
-			hasPathToEdge = false;
-		}
-		if(hasPathToEdge || this.path.isEmpty()){
-			path.add(edgeIn);
+		if(this.numEdges == 0 || this.edges[this.numEdges - 1].getEndNode().hasEdge(edgeIn)){
+			this.insertEdge(this.numEdges, edgeIn);
 		}else{
 			throw new LotPathException("The given edge would not make a continuous path if appended.");
 		}
@@ -294,10 +686,10 @@ public class LotPath {
 	 * @throws LotPathException	If something went wrong.
 	 */
 	public LotPath append(LotNode nodeIn) throws LotPathException{
-		if(this.path.size() == 0){
+		if(this.numEdges == 0){
 			throw new LotPathException("There are no nodes in path.");
-		}else if(this.path.getLast().getEndNode().hasEdgeTo(nodeIn)){
-			this.append(this.path.getLast().getEndNode().getShortestEdgeTo(nodeIn));
+		}else if(this.getEndNode().hasEdgeTo(nodeIn)){
+			this.append(this.getEndNode().getShortestEdgeTo(nodeIn));
 		}else{
 			throw new LotPathException("Node given has no paths going to it from the last node in path.");
 		}
@@ -358,9 +750,9 @@ public class LotPath {
 	 */
 	public boolean hasWaypoint(LotNode nodeIn, boolean countLast){
 		//loop through path, checking end nodes
-		for(LotEdge curEdge : this.path){
-			if(curEdge.getEndNode() == nodeIn){
-				if(!countLast & curEdge == this.path.getLast()){
+		for(int i = 0; i < this.numEdges; i++){
+			if(this.edges[i].getEndNode() == nodeIn){
+				if(!countLast & this.edges[i] == this.edges[this.numEdges - 1]){
 					return false;
 				}
 				return true;
@@ -373,7 +765,7 @@ public class LotPath {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((path == null) ? 0 : path.hashCode());
+		result = prime * result + this.edgeView.hashCode();
 		return result;
 	}
 
@@ -386,16 +778,17 @@ public class LotPath {
 		if (getClass() != obj.getClass())
 			return false;
 		LotPath other = (LotPath) obj;
-		if (path == null) {
-			if (other.path != null)
-				return false;
-		} else if (!path.equals(other.path))
+		if (this.numEdges != other.numEdges)
 			return false;
+		for (int i = 0; i < this.numEdges; i++) {
+			if (this.edges[i] != other.edges[i])
+				return false;
+		}
 		return true;
 	}
 
 	@Override
 	public String toString() {
-		return "LotPath [metric="+this.getPathMetric()+", numEdges="+this.path.size()+", edge/metric ratio="+this.getEdgesMetricRatio()+", path=" + path + " ]";
+		return "LotPath [metric="+this.getPathMetric()+", numEdges="+this.numEdges+", edge/metric ratio="+this.getEdgesMetricRatio()+", path=" + this.edgeView + " ]";
 	}
 }//class LotPath
\ No newline at end of file
@@ -0,0 +1,25 @@
+package botLot.lotGraph;
+
+/**
+ * LotPathListener.java
+ * <p>
+ * Told when an edge used by a path registered with a graph's path registry ({@link LotPathRegistry}) changes; it was taken out of the graph (or its node was), given a different end node, or given a different metric.
+ * <p>
+ * Called by the thread changing the graph, just after the change.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public interface LotPathListener {
+
+	/**
+	 * Called when an edge used by a registered path changes. The path is marked as dirty in the registry before this is called.
+	 *
+	 * @param pathIn	The path using the edge.
+	 * @param edgeIn	The edge that changed.
+	 */
+	public void pathChanged(LotPath pathIn, LotEdge edgeIn);
+
+}//interface LotPathListener
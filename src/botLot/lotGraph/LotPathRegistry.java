@@ -0,0 +1,232 @@
+package botLot.lotGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Paths held over a graph (precomputed routes for a set of robots, etc), indexed by the edges they use, so that when an edge changes only the paths going down it need to be looked at again.
+ * <p>
+ * Kept by the graph ({@link LotGraph#getPathRegistry()}), which tells it about every edge taken out of the graph (removed, or its node removed), given a different end node, or given a different metric. Each registered path using the edge is then marked dirty, and the listeners ({@link LotPathListener}) are told about it.
+ * <p>
+ * Paths are held by identity, not by their edges ({@link LotPath#equals(Object)}); two paths with the same edges are two registrations. The edges of a path are taken when it is registered; register it again after changing it.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class LotPathRegistry {
+	/** The graph the paths are held over. */
+	private final LotGraph graph;
+	/** The registered paths, with the edges each was using when registered (each edge once). */
+	private final IdentityHashMap<LotPath, LotEdge[]> paths = new IdentityHashMap<LotPath, LotEdge[]>();
+	/** The registered paths using each edge. */
+	private final HashMap<LotEdge, ArrayList<LotPath>> pathsByEdge = new HashMap<LotEdge, ArrayList<LotPath>>();
+	/** The registered paths that have had an edge change since they were registered, or last cleaned. */
+	private final Set<LotPath> dirtyPaths = Collections.newSetFromMap(new IdentityHashMap<LotPath, Boolean>());
+	/** The listeners to tell about changes to registered paths. */
+	private final ArrayList<LotPathListener> listeners = new ArrayList<LotPathListener>();
+
+	/**
+	 * Constructor taking the graph to hold paths over.
+	 *
+	 * @param graphIn	The graph the paths are held over.
+	 */
+	LotPathRegistry(LotGraph graphIn){
+		this.graph = graphIn;
+	}//LotPathRegistry(LotGraph)
+
+	/**
+	 * Gets the graph the paths are held over.
+	 *
+	 * @return	The graph the paths are held over.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Registers a path, to be told when any of its edges change. Registering a path already registered takes its edges again, and marks it clean.
+	 *
+	 * @param pathIn	The path to register.
+	 * @return	This registry.
+	 */
+	public synchronized LotPathRegistry register(LotPath pathIn){
+		if(this.paths.containsKey(pathIn)){
+			this.unregister(pathIn);
+		}
+		//each edge once, even if the path goes down it more than once
+		IdentityHashMap<LotEdge, Boolean> edgesUsed = new IdentityHashMap<LotEdge, Boolean>();
+		for(int i = 0; i < pathIn.size(); i++){
+			edgesUsed.put(pathIn.getEdge(i), Boolean.TRUE);
+		}
+		LotEdge[] edges = edgesUsed.keySet().toArray(new LotEdge[edgesUsed.size()]);
+		for(LotEdge curEdge : edges){
+			ArrayList<LotPath> edgePaths = this.pathsByEdge.get(curEdge);
+			if(edgePaths == null){
+				edgePaths = new ArrayList<LotPath>(2);
+				this.pathsByEdge.put(curEdge, edgePaths);
+			}
+			edgePaths.add(pathIn);
+		}
+		this.paths.put(pathIn, edges);
+		return this;
+	}//register(LotPath)
+
+	/**
+	 * Unregisters a path. Nothing is done if it is not registered.
+	 *
+	 * @param pathIn	The path to unregister.
+	 * @return	This registry.
+	 */
+	public synchronized LotPathRegistry unregister(LotPath pathIn){
+		LotEdge[] edges = this.paths.remove(pathIn);
+		if(edges == null){
+			return this;
+		}
+		for(LotEdge curEdge : edges){
+			ArrayList<LotPath> edgePaths = this.pathsByEdge.get(curEdge);
+			//paths are held by identity, so can't use remove(Object)
+			for(int i = 0; i < edgePaths.size(); i++){
+				if(edgePaths.get(i) == pathIn){
+					edgePaths.remove(i);
+					break;
+				}
+			}
+			if(edgePaths.isEmpty()){
+				this.pathsByEdge.remove(curEdge);
+			}
+		}
+		this.dirtyPaths.remove(pathIn);
+		return this;
+	}//unregister(LotPath)
+
+	/**
+	 * Determines if a path is registered.
+	 *
+	 * @param pathIn	The path to check.
+	 * @return	If the path is registered.
+	 */
+	public synchronized boolean isRegistered(LotPath pathIn){
+		return this.paths.containsKey(pathIn);
+	}//isRegistered(LotPath)
+
+	/**
+	 * Gets the number of paths registered.
+	 *
+	 * @return	The number of paths registered.
+	 */
+	public synchronized int getNumPaths(){
+		return this.paths.size();
+	}//getNumPaths()
+
+	/**
+	 * Gets the registered paths that use an edge.
+	 *
+	 * @param edgeIn	The edge to get the paths using.
+	 * @return	A new list of the registered paths using the edge.
+	 */
+	public synchronized List<LotPath> getPaths(LotEdge edgeIn){
+		ArrayList<LotPath> edgePaths = this.pathsByEdge.get(edgeIn);
+		if(edgePaths == null){
+			return new ArrayList<LotPath>();
+		}
+		return new ArrayList<LotPath>(edgePaths);
+	}//getPaths(LotEdge)
+
+	/**
+	 * Determines if a registered path has had an edge change since it was registered or last cleaned.
+	 *
+	 * @param pathIn	The path to check.
+	 * @return	If the path is dirty. False if not registered.
+	 */
+	public synchronized boolean isDirty(LotPath pathIn){
+		return this.dirtyPaths.contains(pathIn);
+	}//isDirty(LotPath)
+
+	/**
+	 * Gets the registered paths that have had an edge change since they were registered or last cleaned.
+	 *
+	 * @return	A new list of the dirty paths.
+	 */
+	public synchronized List<LotPath> getDirtyPaths(){
+		return new ArrayList<LotPath>(this.dirtyPaths);
+	}//getDirtyPaths()
+
+	/**
+	 * Gets the dirty paths ({@link #getDirtyPaths()}), and marks them all clean.
+	 *
+	 * @return	A new list of the paths that were dirty.
+	 */
+	public synchronized List<LotPath> takeDirtyPaths(){
+		ArrayList<LotPath> dirtyList = new ArrayList<LotPath>(this.dirtyPaths);
+		this.dirtyPaths.clear();
+		return dirtyList;
+	}//takeDirtyPaths()
+
+	/**
+	 * Marks a path clean, after it has been looked at again.
+	 *
+	 * @param pathIn	The path to mark clean.
+	 * @return	This registry.
+	 */
+	public synchronized LotPathRegistry setClean(LotPath pathIn){
+		this.dirtyPaths.remove(pathIn);
+		return this;
+	}//setClean(LotPath)
+
+	/**
+	 * Adds a listener to tell about changes to registered paths.
+	 *
+	 * @param listenerIn	The listener to add.
+	 * @return	This registry.
+	 */
+	public synchronized LotPathRegistry addListener(LotPathListener listenerIn){
+		this.listeners.add(listenerIn);
+		return this;
+	}//addListener(LotPathListener)
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listenerIn	The listener to remove.
+	 * @return	This registry.
+	 */
+	public synchronized LotPathRegistry removeListener(LotPathListener listenerIn){
+		this.listeners.remove(listenerIn);
+		return this;
+	}//removeListener(LotPathListener)
+
+	/**
+	 * Called by the graph when an edge changes. Marks the paths using it dirty, then tells the listeners about each of them. Costs only the number of paths using the edge.
+	 *
+	 * @param edgeIn	The edge that changed.
+	 */
+	void edgeChanged(LotEdge edgeIn){
+		ArrayList<LotPath> changedPaths;
+		ArrayList<LotPathListener> curListeners;
+		synchronized(this){
+			ArrayList<LotPath> edgePaths = this.pathsByEdge.get(edgeIn);
+			if(edgePaths == null){
+				return;
+			}
+			changedPaths = new ArrayList<LotPath>(edgePaths);
+			this.dirtyPaths.addAll(changedPaths);
+			if(this.listeners.isEmpty()){
+				return;
+			}
+			curListeners = new ArrayList<LotPathListener>(this.listeners);
+		}
+		//tell the listeners outside of the lock, so they can use the registry
+		for(LotPath curPath : changedPaths){
+			for(LotPathListener curListener : curListeners){
+				curListener.pathChanged(curPath, edgeIn);
+			}
+		}
+	}//edgeChanged(LotEdge)
+
+}//class LotPathRegistry
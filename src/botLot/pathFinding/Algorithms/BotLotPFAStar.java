@@ -0,0 +1,383 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+
+import botLot.BotLot;
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotGraphSnapshot;
+import botLot.lotGraph.LotNode;
+import botLot.lotGraph.LotPath;
+import botLot.lotGraph.LotPathException;
+
+/**
+ * The implementation of the A* search algorithm for this application.
+ * <p>
+ * Works like Dijkstra's algorithm, but looks at nodes in order of their distance from the current node plus an estimate of the distance left to the destination ({@link BotLotPFHeuristic}). The estimate uses the coordinates held in the nodes' attributes ({@link #X_ATT}, {@link #Y_ATT}, and optionally {@link #Z_ATT}), which are parsed once per version of the graph into a table kept with it ({@link BotLotPFCoordinates}). Like {@link BotLotPFDijkstra}, searches a snapshot of the graph ({@link LotGraph#freeze()}).
+ * <p>
+ * Nodes without coordinates get an estimate of 0. If the estimates are ever too high a node can be reached again by a shorter path, in which case it is looked at again.
+ * <p>
+ * A landmark index ({@link BotLotPFLandmarkIndex}) can also be given, for graphs without coordinates. Its lower bounds are used along with the coordinate estimate, taking the higher of the two.
+ * <p>
+ * Uses the cost function set ({@link #setCostFunction(BotLotPFCostFunction)}) in place of the edges' metrics if one is. The landmark index is built off of the metrics, so is not used then, and the heuristic must not estimate more than the costs.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFAStar extends BotLotPFAlgorithm implements BotLotPFAlgInterface {
+	/** The attribute key holding a node's x coordinate. */
+	public static final String X_ATT = "x";
+	/** The attribute key holding a node's y coordinate. */
+	public static final String Y_ATT = "y";
+	/** The attribute key holding a node's z coordinate. Optional, taken as 0 if not there. */
+	public static final String Z_ATT = "z";
+
+	/** The heuristic used to estimate the distance left to the destination. Defaults to {@link BotLotPFHeuristic#EUCLIDEAN}. */
+	private BotLotPFHeuristic heuristic = BotLotPFHeuristic.EUCLIDEAN;
+	/** What the heuristic's estimate is multiplied by. For when edge metrics are not in the same units as the coordinates. Defaults to 1. */
+	private double heuristicScale = 1.0;
+	/** The landmark index giving lower bounds on the distance left to the destination. Null if not used. */
+	private BotLotPFLandmarkIndex landmarkIndex = null;
+
+	/*
+	 * Variables required for the search.
+	 * Nodes are kept by their numbers in the snapshot, and edges by their slots.
+	 */
+	/** The snapshot of the graph being searched. */
+	private LotGraphSnapshot snapshot = null;
+	/** The nodes reached so far, keyed by their distance from the current node plus their estimate. */
+	private BotLotPFIndexedHeap heap = null;
+	/** The slot of the edge taken to get to each node on the shortest path found so far, by the node's number. -1 for none. */
+	private int[] predecessors = null;
+	/** The shortest distance found so far to each node from the current node, by the node's number. */
+	private double[] distances = null;
+	/** The estimated distance left from each node to the destination, by the node's number. NaN until worked out, when the node is first reached. Kept for the next search if it would give the same estimates ({@link #estimatesStillValid(int)}). */
+	private double[] estimates = null;
+	/** The slots of the edges to avoid. */
+	private BitSet edgesToAvoidSet = null;
+	/** The cost of each edge, by its slot. Null to use the snapshot's metrics. */
+	private double[] costs = null;
+	/** The coordinates of the nodes in the snapshot. */
+	private BotLotPFCoordinates coordinates = null;
+	/** The number of the destination node. */
+	private int destNum = -1;
+
+	/*
+	 * What the estimates were worked out with, to tell if they can be used again.
+	 */
+	/** The coordinates the estimates were worked out with. Also stands for the snapshot, as a table is only for one. */
+	private BotLotPFCoordinates estimatesCoordinates = null;
+	/** The number of the destination node the estimates were worked out for. */
+	private int estimatesDestNum = -1;
+	/** The heuristic the estimates were worked out with. */
+	private BotLotPFHeuristic estimatesHeuristic = null;
+	/** The heuristic scale the estimates were worked out with. */
+	private double estimatesScale = Double.NaN;
+	/** The landmark index the estimates were worked out with, null if none was used. */
+	private BotLotPFLandmarkIndex estimatesLandmarkIndex = null;
+
+	/**
+	 * Basic Constructor
+	 */
+	public BotLotPFAStar(){
+		super();
+	}
+
+	/**
+	 * Constructor using a BotLot object and a list of edges to avoid.
+	 *
+	 * @param lotIn	The BotLot object to take values from.
+	 * @param edgesToAvoidIn	Edges to avoid going down.
+	 */
+	public BotLotPFAStar(BotLot lotIn, Collection<LotEdge> edgesToAvoidIn) {
+		super(lotIn, edgesToAvoidIn);
+	}
+
+	/**
+	 * Constructor taking in all the things needed for the thing to work.
+	 *
+	 * @param graphIn	The graph object we are dealing with.
+	 * @param curNodeIn	The current node we are at.
+	 * @param destNodeIn	The node we are trying to get to.
+	 * @param edgesToAvoidIn	Edges we want to avoid going down.
+	 * @throws BotLotPFAlgException	If something went wrong setting values.
+	 */
+	public BotLotPFAStar(LotGraph graphIn, LotNode curNodeIn, LotNode destNodeIn, Collection<LotEdge> edgesToAvoidIn) throws BotLotPFAlgException{
+		super(graphIn, curNodeIn, destNodeIn, edgesToAvoidIn);
+	}
+
+	/**
+	 * Constructor using a BotLot object.
+	 *
+	 * @param lotIn	The BotLot object to use.
+	 */
+	public BotLotPFAStar(BotLot lotIn) {
+		super(lotIn);
+	}
+
+	/**
+	 * Sets the heuristic used to estimate the distance left to the destination.
+	 *
+	 * @param heuristicIn	The heuristic to use.
+	 * @return	This object.
+	 */
+	public BotLotPFAStar setHeuristic(BotLotPFHeuristic heuristicIn){
+		this.heuristic = heuristicIn;
+		return this;
+	}//setHeuristic(BotLotPFHeuristic)
+
+	/**
+	 * Gets the heuristic used to estimate the distance left to the destination.
+	 *
+	 * @return	The heuristic in use.
+	 */
+	public BotLotPFHeuristic getHeuristic(){
+		return this.heuristic;
+	}//getHeuristic()
+
+	/**
+	 * Sets what the heuristic's estimate is multiplied by. Keep this low enough that estimates are never more than the actual metric left.
+	 *
+	 * @param scaleIn	The new multiplier.
+	 * @return	This object.
+	 */
+	public BotLotPFAStar setHeuristicScale(double scaleIn){
+		this.heuristicScale = scaleIn;
+		return this;
+	}//setHeuristicScale(double)
+
+	/**
+	 * Gets what the heuristic's estimate is multiplied by.
+	 *
+	 * @return	The multiplier.
+	 */
+	public double getHeuristicScale(){
+		return this.heuristicScale;
+	}//getHeuristicScale()
+
+	/**
+	 * Sets the landmark index used to estimate the distance left to the destination, along with the heuristic.
+	 *
+	 * @param indexIn	The landmark index to use. Null to not use one.
+	 * @return	This object.
+	 */
+	public BotLotPFAStar setLandmarkIndex(BotLotPFLandmarkIndex indexIn){
+		this.landmarkIndex = indexIn;
+		return this;
+	}//setLandmarkIndex(BotLotPFLandmarkIndex)
+
+	/**
+	 * Gets the landmark index used to estimate the distance left to the destination.
+	 *
+	 * @return	The landmark index in use. Null if none.
+	 */
+	public BotLotPFLandmarkIndex getLandmarkIndex(){
+		return this.landmarkIndex;
+	}//getLandmarkIndex()
+
+	@Override
+	protected LotPath calculatePath() throws BotLotPFAlgException {
+		int target = this.setupSearch();
+		if(target < 0){
+			return null;
+		}
+		while(!this.heap.isEmpty()){
+			int nodeNum = this.heap.poll();
+			if(nodeNum == target){
+				return this.getPath(nodeNum);
+			}
+			this.relaxEdges(nodeNum);
+		}
+		return null;
+	}//calculatePath()
+
+	/**
+	 * Sets up the variables for a new search from the current node.
+	 *
+	 * @return	The number of the destination node. -1 if the current or destination node is not in the graph.
+	 * @throws BotLotPFAlgException	If the cost function gave an invalid cost.
+	 */
+	private int setupSearch() throws BotLotPFAlgException{
+		this.snapshot = this.getGraph().freeze();
+		int numNodes = this.snapshot.getNumNodes();
+		this.heap = new BotLotPFIndexedHeap(numNodes);
+		this.predecessors = new int[numNodes];
+		this.distances = new double[numNodes];
+		Arrays.fill(this.predecessors, -1);
+		Arrays.fill(this.distances, Double.POSITIVE_INFINITY);
+		this.edgesToAvoidSet = this.getEdgesToAvoid(this.snapshot);
+		this.costs = this.getCosts(this.snapshot, this.edgesToAvoidSet);
+		this.coordinates = BotLotPFCoordinates.getTable(this.snapshot);
+		int curNum = this.snapshot.getNodeNum(this.getCurNode());
+		this.destNum = this.snapshot.getNodeNum(this.getDestNode());
+		if(curNum < 0 || this.destNum < 0){
+			return -1;
+		}
+		if(!this.estimatesStillValid(numNodes)){
+			this.estimates = new double[numNodes];
+			Arrays.fill(this.estimates, Double.NaN);
+			this.estimatesCoordinates = this.coordinates;
+			this.estimatesDestNum = this.destNum;
+			this.estimatesHeuristic = this.heuristic;
+			this.estimatesScale = this.heuristicScale;
+			this.estimatesLandmarkIndex = this.getUsedLandmarkIndex();
+		}
+		this.distances[curNum] = 0.0;
+		this.heap.offer(curNum, this.getEstimate(curNum));
+		return this.destNum;
+	}//setupSearch()
+
+	/**
+	 * Determines if the estimates from the last search would be the same for this one: same snapshot and coordinates, destination, heuristic, and landmark index. Searching again to the same place, from wherever, then works out no estimate twice.
+	 *
+	 * @param numNodes	The number of nodes in the snapshot.
+	 * @return	If the estimates kept can be used again.
+	 */
+	private boolean estimatesStillValid(int numNodes){
+		return this.estimates != null &&
+			this.estimates.length == numNodes &&
+			this.estimatesCoordinates == this.coordinates &&
+			this.estimatesDestNum == this.destNum &&
+			this.estimatesHeuristic == this.heuristic &&
+			this.estimatesScale == this.heuristicScale &&
+			this.estimatesLandmarkIndex == this.getUsedLandmarkIndex() &&
+			(this.estimatesLandmarkIndex == null || this.estimatesLandmarkIndex.isUpToDate());
+	}//estimatesStillValid(int)
+
+	/**
+	 * Gets the landmark index to use in the estimates. It is built off of the edge metrics, so is only used when searching by them.
+	 *
+	 * @return	The landmark index to use. Null if none.
+	 */
+	private BotLotPFLandmarkIndex getUsedLandmarkIndex(){
+		return (this.getCostFunction() == BotLotPFCostFunction.METRIC ? this.landmarkIndex : null);
+	}//getUsedLandmarkIndex()
+
+	/**
+	 * Updates the distances of the nodes the given node has edges to.
+	 *
+	 * @param nodeNum	The number of the node.
+	 */
+	private void relaxEdges(int nodeNum){
+		double nodeDist = this.distances[nodeNum];
+		LotGraphSnapshot snapshot = this.snapshot;
+		double[] costs = this.costs;
+		int firstSlot = snapshot.getFirstEdge(nodeNum);
+		int endSlot = firstSlot + snapshot.getNumEdges(nodeNum);
+		for(int slot = firstSlot; slot < endSlot; slot++){
+			if(this.edgesToAvoidSet.get(slot)){
+				continue;
+			}
+			int targetNum = snapshot.getEdgeEndNode(slot);
+			double newDist = nodeDist + (costs == null ? snapshot.getEdgeMetric(slot) : costs[slot]);
+			if(newDist < this.distances[targetNum]){
+				this.distances[targetNum] = newDist;
+				this.predecessors[targetNum] = slot;
+				double key = newDist + this.getEstimate(targetNum);
+				if(this.heap.wasRemoved(targetNum)){
+					this.heap.reopen(targetNum, key);
+				}else{
+					this.heap.offer(targetNum, key);
+				}
+			}
+		}
+	}//relaxEdges(int)
+
+	/**
+	 * Gets the estimated distance left from a node to the destination, working it out the first time the node is reached.
+	 *
+	 * @param nodeNum	The number of the node.
+	 * @return	The estimated distance left.
+	 */
+	private double getEstimate(int nodeNum){
+		if(Double.isNaN(this.estimates[nodeNum])){
+			this.estimates[nodeNum] = this.estimate(nodeNum);
+		}
+		return this.estimates[nodeNum];
+	}//getEstimate(int)
+
+	/**
+	 * Estimates the distance left from the given node to the destination.
+	 *
+	 * @param nodeNum	The number of the node to estimate from.
+	 * @return	The estimated distance left. 0 if either node has no coordinates and there is no landmark index.
+	 */
+	private double estimate(int nodeNum){
+		double estimate = 0;
+		if(this.estimatesLandmarkIndex != null){
+			estimate = this.estimatesLandmarkIndex.getLowerBound(this.snapshot.getNode(nodeNum), this.getDestNode());
+		}
+		BotLotPFCoordinates coordinates = this.coordinates;
+		int destNum = this.destNum;
+		if(!coordinates.hasCoordinates(destNum) || !coordinates.hasCoordinates(nodeNum)){
+			return estimate;
+		}
+		return Math.max(estimate, this.heuristicScale * this.heuristic.estimate(coordinates.getX(nodeNum), coordinates.getY(nodeNum), coordinates.getZ(nodeNum), coordinates.getX(destNum), coordinates.getY(destNum), coordinates.getZ(destNum)));
+	}//estimate(int)
+
+	/**
+	 * Gets the path to the given node, from the edges used to get to each node.
+	 *
+	 * @param targetNum	The number of the node we are trying to get to.
+	 * @return	The shortest path to the target. Null if the target is the current node.
+	 * @throws BotLotPFAlgException	If something went wrong.
+	 */
+	private LotPath getPath(int targetNum) throws BotLotPFAlgException {
+		ArrayList<LotEdge> path = new ArrayList<LotEdge>();
+		int step = this.predecessors[targetNum];
+		if (step < 0) {
+			return null;
+		}
+		while (step >= 0) {
+			path.add(this.snapshot.getEdge(step));
+			step = this.predecessors[this.snapshot.getEdgeStartNode(step)];
+		}
+		Collections.reverse(path);
+		try {
+			return new LotPath(path);
+		} catch (LotPathException e) {
+			throw new BotLotPFAlgException("Could not use the given edge list to make valid path. Error: " + e.getMessage());
+		}
+	}//getPath(int)
+
+	/**
+	 * Gets the coordinates of a node from its attributes. Parses them each time; searches use the ones parsed into the table kept with the graph ({@link BotLotPFCoordinates}).
+	 *
+	 * @param node	The node to get the coordinates of.
+	 * @return	The x, y, and z coordinates of the node. Null if it does not have valid x and y coordinates.
+	 */
+	public static double[] getCoordinates(LotNode node){
+		String xAtt = node.getAtt(X_ATT);
+		String yAtt = node.getAtt(Y_ATT);
+		if(xAtt == null || yAtt == null){
+			return null;
+		}
+		String zAtt = node.getAtt(Z_ATT);
+		try{
+			return new double[]{
+				Double.parseDouble(xAtt),
+				Double.parseDouble(yAtt),
+				(zAtt == null ? 0 : Double.parseDouble(zAtt))
+			};
+		}catch(NumberFormatException e){
+			return null;
+		}
+	}//getCoordinates(LotNode)
+
+	/**
+	 * Determines if a node has valid coordinates in its attributes.
+	 *
+	 * @param node	The node to check.
+	 * @return	If the node has valid coordinates.
+	 */
+	public static boolean hasCoordinates(LotNode node){
+		return getCoordinates(node) != null;
+	}//hasCoordinates(LotNode)
+
+}//class BotLotPFAStar
@@ -1,6 +1,7 @@
 package botLot.pathFinding.Algorithms;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 
 import botLot.BotLot;
@@ -29,6 +30,8 @@ public abstract class BotLotPFAlgorithm {
 	private ArrayList<LotEdge> edgesToAvoid;
 	/** Flag to add trap edges to edges to avoid list before path generation. Defaults to 'true'. */
 	public boolean addTrapOnFind = true;
+	/** What gives the cost of going down each edge. Defaults to the edges' metrics ({@link BotLotPFCostFunction#METRIC}). */
+	private BotLotPFCostFunction costFunction = BotLotPFCostFunction.METRIC;
 	
 	/**
 	 * Basic constructor for path finding.
@@ -337,6 +340,71 @@ public abstract class BotLotPFAlgorithm {
 		return this.edgesToAvoid;
 	}//getEdgesToAvoid()
 	
+	/**
+	 * Gets the edges to avoid as the slots they have in a snapshot of the graph, for searching the snapshot.
+	 * 
+	 * @param snapshotIn	The snapshot of the graph being searched.
+	 * @return	The slots of the edges to avoid. Edges not in the snapshot are left out.
+	 */
+	protected BitSet getEdgesToAvoid(LotGraphSnapshot snapshotIn){
+		BitSet avoidSlots = new BitSet(snapshotIn.getNumEdges());
+		for(LotEdge curEdge : this.edgesToAvoid){
+			int slot = snapshotIn.getEdgeSlot(curEdge);
+			if(slot >= 0){
+				avoidSlots.set(slot);
+			}
+		}
+		return avoidSlots;
+	}//getEdgesToAvoid(LotGraphSnapshot)
+	
+	/**
+	 * Sets what gives the cost of going down each edge, in place of the edges' metrics. Not used by every algorithm; see each one.
+	 * 
+	 * @param costFunctionIn	The cost function to use. Null for the edges' metrics.
+	 * @return	This object.
+	 */
+	public BotLotPFAlgorithm setCostFunction(BotLotPFCostFunction costFunctionIn){
+		this.costFunction = (costFunctionIn == null ? BotLotPFCostFunction.METRIC : costFunctionIn);
+		return this;
+	}//setCostFunction(BotLotPFCostFunction)
+	
+	/**
+	 * Gets what gives the cost of going down each edge.
+	 * 
+	 * @return	The cost function in use.
+	 */
+	public BotLotPFCostFunction getCostFunction(){
+		return this.costFunction;
+	}//getCostFunction()
+	
+	/**
+	 * Works out the cost of every edge in a snapshot of the graph with the cost function ({@link #getCostFunction()}), for searching the snapshot. Done once per search, so the search itself only reads an array.
+	 * <p>
+	 * Edges costing {@link Double#POSITIVE_INFINITY} are added to the slots to avoid.
+	 * 
+	 * @param snapshotIn	The snapshot of the graph being searched.
+	 * @param avoidSlots	The slots of the edges to avoid ({@link #getEdgesToAvoid(LotGraphSnapshot)}), added to.
+	 * @return	The cost of each edge, by its slot. Null if using {@link BotLotPFCostFunction#METRIC}; use the snapshot's metrics ({@link LotGraphSnapshot#getEdgeMetric(int)}), rather than copying them each search.
+	 * @throws BotLotPFAlgException	If the cost function gave a negative cost, or not a number.
+	 */
+	protected double[] getCosts(LotGraphSnapshot snapshotIn, BitSet avoidSlots) throws BotLotPFAlgException{
+		if(this.costFunction == BotLotPFCostFunction.METRIC){
+			return null;
+		}
+		double[] costs = new double[snapshotIn.getNumEdges()];
+		for(int slot = 0; slot < costs.length; slot++){
+			double cost = this.costFunction.getCost(snapshotIn.getEdge(slot));
+			if(cost < 0 || Double.isNaN(cost)){
+				throw new BotLotPFAlgException("Cost function gave an invalid cost (" + cost + ") for edge " + snapshotIn.getEdge(slot).getId() + ".");
+			}
+			if(cost == Double.POSITIVE_INFINITY){
+				avoidSlots.set(slot);
+			}
+			costs[slot] = cost;
+		}
+		return costs;
+	}//getCosts(LotGraphSnapshot, BitSet)
+	
 	/**
 	 * Sets the list of edges to avoid.
 	 * 
@@ -0,0 +1,232 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+
+import botLot.BotLot;
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotGraphSnapshot;
+import botLot.lotGraph.LotNode;
+import botLot.lotGraph.LotPath;
+import botLot.lotGraph.LotPathException;
+
+/**
+ * Bidirectional version of Dijkstra's algorithm.
+ * <p>
+ * Searches forward from the current node over each node's edges, and backward from the destination node over the edges coming in to each node ({@link LotNode#getInEdges()}), always growing the side with the closer next node. Keeps the shortest path found where the two searches meet, and stops once the closest nodes left on both sides add up to no less than it. On long trips this looks at far fewer nodes than searching from one side.
+ * <p>
+ * Like {@link BotLotPFDijkstra}, searches a snapshot of the graph ({@link LotGraph#freeze()}), going backward over the snapshot's incoming edges, and uses the cost function set in place of the edges' metrics if one is.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFBiDijkstra extends BotLotPFAlgorithm implements BotLotPFAlgInterface {
+	/*
+	 * Variables required for the search.
+	 * Nodes are kept by their numbers in the snapshot, and edges by their slots.
+	 */
+	/** The snapshot of the graph being searched. */
+	private LotGraphSnapshot snapshot = null;
+	/** The nodes reached from the current node, keyed by their distance from it. */
+	private BotLotPFIndexedHeap forwardHeap = null;
+	/** The nodes reached from the destination node, keyed by their distance to it. */
+	private BotLotPFIndexedHeap backwardHeap = null;
+	/** The slot of the edge taken to get to each node from the current node, by the node's number. -1 for none. */
+	private int[] predecessors = null;
+	/** The slot of the edge taken from each node towards the destination node, by the node's number. -1 for none. */
+	private int[] successors = null;
+	/** The slots of the edges to avoid. */
+	private BitSet edgesToAvoidSet = null;
+	/** The cost of each edge, by its slot. Null to use the snapshot's metrics. */
+	private double[] costs = null;
+	/** The metric of the shortest path found so far. */
+	private double bestMetric;
+	/** The number of the node where the shortest path found so far goes from the forward side to the backward side. -1 if none found yet. */
+	private int meetingNum;
+
+	/**
+	 * Basic Constructor
+	 */
+	public BotLotPFBiDijkstra(){
+		super();
+	}
+
+	/**
+	 * Constructor using a BotLot object and a list of edges to avoid.
+	 *
+	 * @param lotIn	The BotLot object to take values from.
+	 * @param edgesToAvoidIn	Edges to avoid going down.
+	 */
+	public BotLotPFBiDijkstra(BotLot lotIn, Collection<LotEdge> edgesToAvoidIn) {
+		super(lotIn, edgesToAvoidIn);
+	}
+
+	/**
+	 * Constructor taking in all the things needed for the thing to work.
+	 *
+	 * @param graphIn	The graph object we are dealing with.
+	 * @param curNodeIn	The current node we are at.
+	 * @param destNodeIn	The node we are trying to get to.
+	 * @param edgesToAvoidIn	Edges we want to avoid going down.
+	 * @throws BotLotPFAlgException	If something went wrong setting values.
+	 */
+	public BotLotPFBiDijkstra(LotGraph graphIn, LotNode curNodeIn, LotNode destNodeIn, Collection<LotEdge> edgesToAvoidIn) throws BotLotPFAlgException{
+		super(graphIn, curNodeIn, destNodeIn, edgesToAvoidIn);
+	}
+
+	/**
+	 * Constructor using a BotLot object.
+	 *
+	 * @param lotIn	The BotLot object to use.
+	 */
+	public BotLotPFBiDijkstra(BotLot lotIn) {
+		super(lotIn);
+	}
+
+	@Override
+	protected LotPath calculatePath() throws BotLotPFAlgException {
+		if(this.getCurNode() == this.getDestNode()){
+			return null;
+		}
+		if(!this.setupSearch()){
+			return null;
+		}
+		while(!this.forwardHeap.isEmpty() && !this.backwardHeap.isEmpty()){
+			//nothing left on either side can make a shorter path
+			if(this.forwardHeap.peekKey() + this.backwardHeap.peekKey() >= this.bestMetric){
+				break;
+			}
+			if(this.forwardHeap.peekKey() <= this.backwardHeap.peekKey()){
+				this.expandForward();
+			}else{
+				this.expandBackward();
+			}
+		}
+		if(this.meetingNum < 0){
+			return null;
+		}
+		return this.getPath();
+	}//calculatePath()
+
+	/**
+	 * Sets up the variables for a new search.
+	 *
+	 * @return	If the current and destination nodes are both in the graph.
+	 * @throws BotLotPFAlgException	If the cost function gave an invalid cost.
+	 */
+	private boolean setupSearch() throws BotLotPFAlgException{
+		this.snapshot = this.getGraph().freeze();
+		int numNodes = this.snapshot.getNumNodes();
+		this.forwardHeap = new BotLotPFIndexedHeap(numNodes);
+		this.backwardHeap = new BotLotPFIndexedHeap(numNodes);
+		this.predecessors = new int[numNodes];
+		this.successors = new int[numNodes];
+		Arrays.fill(this.predecessors, -1);
+		Arrays.fill(this.successors, -1);
+		this.edgesToAvoidSet = this.getEdgesToAvoid(this.snapshot);
+		this.costs = this.getCosts(this.snapshot, this.edgesToAvoidSet);
+		this.bestMetric = Double.POSITIVE_INFINITY;
+		this.meetingNum = -1;
+		int curNum = this.snapshot.getNodeNum(this.getCurNode());
+		int destNum = this.snapshot.getNodeNum(this.getDestNode());
+		if(curNum < 0 || destNum < 0){
+			return false;
+		}
+		this.forwardHeap.offer(curNum, 0.0);
+		this.backwardHeap.offer(destNum, 0.0);
+		return true;
+	}//setupSearch()
+
+	/**
+	 * Settles the closest node on the forward side, and updates the nodes its edges go to.
+	 */
+	private void expandForward(){
+		int nodeNum = this.forwardHeap.poll();
+		double nodeDist = this.forwardHeap.getKey(nodeNum);
+		LotGraphSnapshot snapshot = this.snapshot;
+		double[] costs = this.costs;
+		int firstSlot = snapshot.getFirstEdge(nodeNum);
+		int endSlot = firstSlot + snapshot.getNumEdges(nodeNum);
+		for(int slot = firstSlot; slot < endSlot; slot++){
+			if(this.edgesToAvoidSet.get(slot)){
+				continue;
+			}
+			int targetNum = snapshot.getEdgeEndNode(slot);
+			if(this.forwardHeap.offer(targetNum, nodeDist + (costs == null ? snapshot.getEdgeMetric(slot) : costs[slot]))){
+				this.predecessors[targetNum] = slot;
+			}
+			this.checkMeeting(targetNum);
+		}
+	}//expandForward()
+
+	/**
+	 * Settles the closest node on the backward side, and updates the nodes with edges coming in to it.
+	 */
+	private void expandBackward(){
+		int nodeNum = this.backwardHeap.poll();
+		double nodeDist = this.backwardHeap.getKey(nodeNum);
+		LotGraphSnapshot snapshot = this.snapshot;
+		double[] costs = this.costs;
+		int firstIn = snapshot.getFirstInEdge(nodeNum);
+		int endIn = firstIn + snapshot.getNumInEdges(nodeNum);
+		for(int i = firstIn; i < endIn; i++){
+			int slot = snapshot.getInEdgeSlot(i);
+			if(this.edgesToAvoidSet.get(slot)){
+				continue;
+			}
+			int fromNum = snapshot.getEdgeStartNode(slot);
+			if(this.backwardHeap.offer(fromNum, nodeDist + (costs == null ? snapshot.getEdgeMetric(slot) : costs[slot]))){
+				this.successors[fromNum] = slot;
+			}
+			this.checkMeeting(fromNum);
+		}
+	}//expandBackward()
+
+	/**
+	 * Checks if the given node has been reached from both sides, and if the path through it is the shortest found so far.
+	 *
+	 * @param nodeNum	The number of the node to check.
+	 */
+	private void checkMeeting(int nodeNum){
+		if(this.forwardHeap.wasSeen(nodeNum) && this.backwardHeap.wasSeen(nodeNum)){
+			double metric = this.forwardHeap.getKey(nodeNum) + this.backwardHeap.getKey(nodeNum);
+			if(metric < this.bestMetric){
+				this.bestMetric = metric;
+				this.meetingNum = nodeNum;
+			}
+		}
+	}//checkMeeting(int)
+
+	/**
+	 * Puts together the path through the meeting node, from the edges used on each side.
+	 *
+	 * @return	The shortest path found.
+	 * @throws BotLotPFAlgException	If something went wrong.
+	 */
+	private LotPath getPath() throws BotLotPFAlgException {
+		ArrayList<LotEdge> path = new ArrayList<LotEdge>();
+		int step = this.predecessors[this.meetingNum];
+		while(step >= 0){
+			path.add(this.snapshot.getEdge(step));
+			step = this.predecessors[this.snapshot.getEdgeStartNode(step)];
+		}
+		Collections.reverse(path);
+		step = this.successors[this.meetingNum];
+		while(step >= 0){
+			path.add(this.snapshot.getEdge(step));
+			step = this.successors[this.snapshot.getEdgeEndNode(step)];
+		}
+		try {
+			return new LotPath(path);
+		} catch (LotPathException e) {
+			throw new BotLotPFAlgException("Could not use the given edge list to make valid path. Error: " + e.getMessage());
+		}
+	}//getPath()
+
+}//class BotLotPFBiDijkstra
@@ -0,0 +1,76 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.Collection;
+
+import botLot.BotLot;
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotNode;
+import botLot.lotGraph.LotPath;
+
+/**
+ * Path finding using a Contraction Hierarchies index of the graph ({@link BotLotPFContractionIndex}).
+ * <p>
+ * The index is built the first time it is needed and kept with the graph, then rebuilt whenever the graph has changed since. Best for graphs that are done being explored and rarely change, where it is much faster than searching the whole graph each time.
+ * <p>
+ * The index can't leave out edges, and is built off of the edges' metrics, so if there are edges to avoid or a cost function is set this falls back to {@link BotLotPFDijkstra}. Trap edges are not added, as they can never be on a path to the destination anyways.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFContraction extends BotLotPFAlgorithm implements BotLotPFAlgInterface {
+
+	/**
+	 * Basic Constructor
+	 */
+	public BotLotPFContraction(){
+		super();
+		this.addTrapOnFind = false;
+	}
+
+	/**
+	 * Constructor using a BotLot object and a list of edges to avoid.
+	 *
+	 * @param lotIn	The BotLot object to take values from.
+	 * @param edgesToAvoidIn	Edges to avoid going down.
+	 */
+	public BotLotPFContraction(BotLot lotIn, Collection<LotEdge> edgesToAvoidIn) {
+		super(lotIn, edgesToAvoidIn);
+		this.addTrapOnFind = false;
+	}
+
+	/**
+	 * Constructor taking in all the things needed for the thing to work.
+	 *
+	 * @param graphIn	The graph object we are dealing with.
+	 * @param curNodeIn	The current node we are at.
+	 * @param destNodeIn	The node we are trying to get to.
+	 * @param edgesToAvoidIn	Edges we want to avoid going down.
+	 * @throws BotLotPFAlgException	If something went wrong setting values.
+	 */
+	public BotLotPFContraction(LotGraph graphIn, LotNode curNodeIn, LotNode destNodeIn, Collection<LotEdge> edgesToAvoidIn) throws BotLotPFAlgException{
+		super(graphIn, curNodeIn, destNodeIn, edgesToAvoidIn);
+		this.addTrapOnFind = false;
+	}
+
+	/**
+	 * Constructor using a BotLot object.
+	 *
+	 * @param lotIn	The BotLot object to use.
+	 */
+	public BotLotPFContraction(BotLot lotIn) {
+		super(lotIn);
+		this.addTrapOnFind = false;
+	}
+
+	@Override
+	protected LotPath calculatePath() throws BotLotPFAlgException {
+		if(!this.getEdgesToAvoid().isEmpty() || this.getCostFunction() != BotLotPFCostFunction.METRIC){
+			return new BotLotPFDijkstra(this.getGraph(), this.getCurNode(), this.getDestNode(), this.getEdgesToAvoid()).setCostFunction(this.getCostFunction()).calculatePath();
+		}
+		return BotLotPFContractionIndex.getIndex(this.getGraph()).getPath(this.getCurNode(), this.getDestNode());
+	}//calculatePath()
+
+}//class BotLotPFContraction
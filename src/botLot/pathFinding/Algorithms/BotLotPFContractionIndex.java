@@ -0,0 +1,712 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotNode;
+import botLot.lotGraph.LotPath;
+import botLot.lotGraph.LotPathException;
+
+/**
+ * BotLotPFContractionIndex.java
+ * <p>
+ * A Contraction Hierarchies index of a graph, for finding shortest paths on maps that are no longer changing much.
+ * <p>
+ * Built by taking the nodes out of the graph one at a time (least important first), adding a shortcut edge between each pair of neighbors where the path through the node taken out was the only shortest one. Each node gets a rank by when it was taken out. A shortest path is then found by searching from both ends only ever going up in rank, which looks at very few nodes. Shortcuts are unpacked back into the graph's edges at the end.
+ * <p>
+ * The index remembers the version of the graph it was built from ({@link LotGraph#getVersion()}), and rebuilds itself when asked for a path after the graph has changed. Use {@link #getIndex(LotGraph)} to get the index kept with a graph.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFContractionIndex {
+	/** The key this index is attached to its graph with. */
+	public static final String INDEX_KEY = "botLot.contractionIndex";
+	/** The most nodes a witness search will settle before giving up. Giving up early only adds shortcuts that were not needed. */
+	public static int witnessSettleLimit = 64;
+
+	/** The graph this index is built from. */
+	private final LotGraph graph;
+	/** The version of the graph when this index was last built. */
+	private long builtVersion;
+
+	/*
+	 * The nodes, by the numbers given to them when building.
+	 */
+	/** The number of nodes in the index. */
+	private int numNodes;
+	/** The nodes, by their number. */
+	private LotNode[] nodes;
+	/** The number given to each node. */
+	private HashMap<LotNode, Integer> nodeNums;
+	/** The rank of each node, by its number. Higher is more important. */
+	private int[] ranks;
+
+	/*
+	 * The edges of the index, original and shortcut, by the numbers given to them.
+	 */
+	/** The number of edges in the index. */
+	private int numEdges;
+	/** The node each edge comes from. */
+	private int[] edgeFrom;
+	/** The node each edge goes to. */
+	private int[] edgeTo;
+	/** The metric of each edge. */
+	private double[] edgeMetric;
+	/** For shortcuts, the first edge it stands for. -1 for original edges. */
+	private int[] edgeFirst;
+	/** For shortcuts, the second edge it stands for. -1 for original edges. */
+	private int[] edgeSecond;
+	/** For original edges, the edge of the graph it stands for. Null for shortcuts. */
+	private LotEdge[] edgeOrig;
+
+	/*
+	 * The edges going up in rank, in compressed arrays.
+	 * The edges for node i are from [i] to [i + 1] in the start arrays.
+	 */
+	/** Where each node's edges going up start in {@link #upOutEdges}. */
+	private int[] upOutStart;
+	/** The edges going up from each node, for searching forward. */
+	private int[] upOutEdges;
+	/** Where each node's edges coming down start in {@link #upInEdges}. */
+	private int[] upInStart;
+	/** The edges coming in to each node from a higher one, for searching backward. */
+	private int[] upInEdges;
+
+	/*
+	 * Variables used while building.
+	 */
+	/** The edges going out of each node. */
+	private IntList[] outLists;
+	/** The edges coming in to each node. */
+	private IntList[] inLists;
+	/** If each node has been taken out yet. */
+	private boolean[] contracted;
+	/** The number of neighbors of each node that have been taken out. */
+	private int[] deletedNeighbors;
+	/** The last node taken out that each node had its importance updated for. */
+	private int[] lastUpdatedBy;
+	/** Heap used for witness searches. */
+	private BotLotPFIndexedHeap witnessHeap;
+	/** The witness search each node is a target of, so a search can stop once it has settled all of them. */
+	private int[] witnessTargets;
+	/** The number of the current witness search. */
+	private int witnessNum;
+
+	/*
+	 * Variables used while searching.
+	 */
+	/** The nodes reached going up from the start, keyed by their distance from it. */
+	private BotLotPFIndexedHeap forwardHeap;
+	/** The nodes reached going up from the end, keyed by their distance to it. */
+	private BotLotPFIndexedHeap backwardHeap;
+	/** The edge taken to get to each node from the start. */
+	private int[] predecessors;
+	/** The edge taken from each node towards the end. */
+	private int[] successors;
+
+	/**
+	 * Constructor that builds the index from a graph.
+	 *
+	 * @param graphIn	The graph to build the index from.
+	 */
+	public BotLotPFContractionIndex(LotGraph graphIn){
+		this.graph = graphIn;
+		this.build();
+	}//BotLotPFContractionIndex(LotGraph)
+
+	/**
+	 * Gets the index kept with the given graph, building it and attaching it to the graph if not already there.
+	 *
+	 * @param graphIn	The graph to get the index of.
+	 * @return	The index of the graph.
+	 */
+	public static BotLotPFContractionIndex getIndex(LotGraph graphIn){
+		synchronized(graphIn){
+			BotLotPFContractionIndex index = (BotLotPFContractionIndex)graphIn.getAttachedIndex(INDEX_KEY);
+			if(index == null){
+				index = new BotLotPFContractionIndex(graphIn);
+				graphIn.attachIndex(INDEX_KEY, index);
+			}
+			return index;
+		}
+	}//getIndex(LotGraph)
+
+	/**
+	 * Gets the graph this index is built from.
+	 *
+	 * @return	The graph this index is built from.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Determines if the graph has not changed since this index was built.
+	 *
+	 * @return	If the index is up to date with its graph.
+	 */
+	public boolean isUpToDate(){
+		return this.builtVersion == this.graph.getVersion();
+	}//isUpToDate()
+
+	/**
+	 * Gets the number of shortcut edges added when building.
+	 *
+	 * @return	The number of shortcut edges.
+	 */
+	public synchronized int getNumShortcuts(){
+		int count = 0;
+		for(int i = 0; i < this.numEdges; i++){
+			if(this.edgeOrig[i] == null){
+				count++;
+			}
+		}
+		return count;
+	}//getNumShortcuts()
+
+	/**
+	 * Gets the shortest path between two nodes, rebuilding the index first if the graph has changed.
+	 *
+	 * @param fromNode	The node to start at.
+	 * @param toNode	The node to get to.
+	 * @return	The shortest path between the nodes. Null if there is none, or they are the same node.
+	 * @throws BotLotPFAlgException	If either node is not in the graph, or the path found could not be made.
+	 */
+	public synchronized LotPath getPath(LotNode fromNode, LotNode toNode) throws BotLotPFAlgException {
+		if(!this.isUpToDate()){
+			this.build();
+		}
+		Integer fromNum = this.nodeNums.get(fromNode);
+		Integer toNum = this.nodeNums.get(toNode);
+		if(fromNum == null || toNum == null){
+			throw new BotLotPFAlgException("Node given not in the graph.");
+		}
+		if(fromNum.intValue() == toNum.intValue()){
+			return null;
+		}
+		int meetingNum = this.search(fromNum, toNum);
+		if(meetingNum < 0){
+			return null;
+		}
+		return this.getPath(meetingNum);
+	}//getPath(LotNode, LotNode)
+
+	/**
+	 * Rebuilds the index from the graph as it is now.
+	 */
+	public synchronized void build(){
+		this.builtVersion = this.graph.getVersion();
+		this.setupNodes();
+		this.setupEdges();
+		this.contractAll();
+		this.buildSearchArrays();
+		//don't need these anymore
+		this.outLists = null;
+		this.inLists = null;
+		this.contracted = null;
+		this.deletedNeighbors = null;
+		this.lastUpdatedBy = null;
+		this.witnessHeap = null;
+		this.witnessTargets = null;
+	}//build()
+
+	/**
+	 * Gives each node of the graph a number.
+	 */
+	private void setupNodes(){
+		ArrayList<LotNode> graphNodes = this.graph.getNodes();
+		this.numNodes = graphNodes.size();
+		this.nodes = graphNodes.toArray(new LotNode[this.numNodes]);
+		this.nodeNums = new HashMap<LotNode, Integer>();
+		for(int i = 0; i < this.numNodes; i++){
+			this.nodeNums.put(this.nodes[i], i);
+		}
+		this.ranks = new int[this.numNodes];
+		this.outLists = new IntList[this.numNodes];
+		this.inLists = new IntList[this.numNodes];
+		for(int i = 0; i < this.numNodes; i++){
+			this.outLists[i] = new IntList();
+			this.inLists[i] = new IntList();
+		}
+		this.contracted = new boolean[this.numNodes];
+		this.deletedNeighbors = new int[this.numNodes];
+		this.lastUpdatedBy = new int[this.numNodes];
+		Arrays.fill(this.lastUpdatedBy, -1);
+		this.witnessHeap = new BotLotPFIndexedHeap(this.numNodes);
+		this.witnessTargets = new int[this.numNodes];
+		this.witnessNum = 0;
+		this.forwardHeap = new BotLotPFIndexedHeap(this.numNodes);
+		this.backwardHeap = new BotLotPFIndexedHeap(this.numNodes);
+		this.predecessors = new int[this.numNodes];
+		this.successors = new int[this.numNodes];
+	}//setupNodes()
+
+	/**
+	 * Puts the graph's edges into the index. Only the shortest of edges going between the same nodes is kept, and edges going nowhere or back to the same node are left out.
+	 */
+	private void setupEdges(){
+		int capacity = Math.max(16, this.graph.getNumEdges() * 2);
+		this.numEdges = 0;
+		this.edgeFrom = new int[capacity];
+		this.edgeTo = new int[capacity];
+		this.edgeMetric = new double[capacity];
+		this.edgeFirst = new int[capacity];
+		this.edgeSecond = new int[capacity];
+		this.edgeOrig = new LotEdge[capacity];
+		for(int fromNum = 0; fromNum < this.numNodes; fromNum++){
+			for(LotEdge edge : this.nodes[fromNum].getEdges()){
+				if(edge.getEndNode() == null || edge.getEndNode() == this.nodes[fromNum]){
+					continue;
+				}
+				int toNum = this.nodeNums.get(edge.getEndNode());
+				int existing = this.findEdge(fromNum, toNum);
+				if(existing < 0){
+					this.addEdge(fromNum, toNum, edge.getMetric(), -1, -1, edge);
+				}else if(edge.getMetric() < this.edgeMetric[existing]){
+					this.edgeMetric[existing] = edge.getMetric();
+					this.edgeOrig[existing] = edge;
+				}
+			}
+		}
+	}//setupEdges()
+
+	/**
+	 * Takes all the nodes out in order of importance, adding the shortcuts needed.
+	 * <p>
+	 * A node's importance is the number of shortcuts taking it out would add, less the edges it would remove, plus the number of its neighbors already taken out (to spread them out). Importances are recalculated when a node comes up to be taken out, and for the neighbors of each node taken out.
+	 */
+	private void contractAll(){
+		BotLotPFIndexedHeap order = new BotLotPFIndexedHeap(this.numNodes);
+		for(int i = 0; i < this.numNodes; i++){
+			order.offer(i, this.getPriority(i));
+		}
+		int curRank = 0;
+		while(!order.isEmpty()){
+			int nodeNum = order.peek();
+			double priority = this.getPriority(nodeNum);
+			if(priority > order.peekKey()){
+				order.setKey(nodeNum, priority);
+				continue;
+			}
+			order.poll();
+			this.contract(nodeNum, true);
+			this.contracted[nodeNum] = true;
+			this.ranks[nodeNum] = curRank++;
+			this.detach(nodeNum);
+			this.updateNeighbors(nodeNum, order);
+		}
+	}//contractAll()
+
+	/**
+	 * Takes the edges of a node just taken out off of its neighbors' lists, so searches over the nodes left don't have to skip over them.
+	 *
+	 * @param nodeNum	The node taken out.
+	 */
+	private void detach(int nodeNum){
+		IntList edges = this.outLists[nodeNum];
+		for(int i = 0; i < edges.size; i++){
+			this.inLists[this.edgeTo[edges.items[i]]].remove(edges.items[i]);
+		}
+		edges = this.inLists[nodeNum];
+		for(int i = 0; i < edges.size; i++){
+			this.outLists[this.edgeFrom[edges.items[i]]].remove(edges.items[i]);
+		}
+	}//detach(int)
+
+	/**
+	 * Updates the importance of the neighbors of a node just taken out, once each.
+	 *
+	 * @param nodeNum	The node taken out.
+	 * @param order	The heap holding the importance of the nodes left.
+	 */
+	private void updateNeighbors(int nodeNum, BotLotPFIndexedHeap order){
+		IntList neighbors = new IntList();
+		for(int i = 0; i < this.outLists[nodeNum].size; i++){
+			neighbors.add(this.edgeTo[this.outLists[nodeNum].items[i]]);
+		}
+		for(int i = 0; i < this.inLists[nodeNum].size; i++){
+			neighbors.add(this.edgeFrom[this.inLists[nodeNum].items[i]]);
+		}
+		for(int i = 0; i < neighbors.size; i++){
+			int neighbor = neighbors.items[i];
+			if(this.contracted[neighbor] || this.lastUpdatedBy[neighbor] == nodeNum){
+				continue;
+			}
+			this.lastUpdatedBy[neighbor] = nodeNum;
+			this.deletedNeighbors[neighbor]++;
+			order.setKey(neighbor, this.getPriority(neighbor));
+		}
+	}//updateNeighbors(int, BotLotPFIndexedHeap)
+
+	/**
+	 * Gets the importance of a node left in.
+	 *
+	 * @param nodeNum	The node to get the importance of.
+	 * @return	The importance of the node.
+	 */
+	private double getPriority(int nodeNum){
+		int removed = 0;
+		for(int i = 0; i < this.outLists[nodeNum].size; i++){
+			if(!this.contracted[this.edgeTo[this.outLists[nodeNum].items[i]]]){
+				removed++;
+			}
+		}
+		for(int i = 0; i < this.inLists[nodeNum].size; i++){
+			if(!this.contracted[this.edgeFrom[this.inLists[nodeNum].items[i]]]){
+				removed++;
+			}
+		}
+		return this.contract(nodeNum, false) - removed + this.deletedNeighbors[nodeNum];
+	}//getPriority(int)
+
+	/**
+	 * Works out the shortcuts needed to take out a node, and adds them if told to.
+	 * <p>
+	 * For each pair of neighbors going in and out of the node, a shortcut is needed unless a search that leaves out the node (a witness search) finds a path between them no longer than going through it.
+	 *
+	 * @param nodeNum	The node to take out.
+	 * @param addShortcuts	If the shortcuts should be added, or just counted.
+	 * @return	The number of shortcuts needed.
+	 */
+	private int contract(int nodeNum, boolean addShortcuts){
+		IntList inEdges = this.getShortestToNeighbors(this.inLists[nodeNum], false);
+		IntList outEdges = this.getShortestToNeighbors(this.outLists[nodeNum], true);
+		if(inEdges.size == 0 || outEdges.size == 0){
+			return 0;
+		}
+		double maxOut = 0;
+		for(int i = 0; i < outEdges.size; i++){
+			maxOut = Math.max(maxOut, this.edgeMetric[outEdges.items[i]]);
+		}
+		int numShortcuts = 0;
+		for(int i = 0; i < inEdges.size; i++){
+			int inEdge = inEdges.items[i];
+			int fromNum = this.edgeFrom[inEdge];
+			this.witnessNum++;
+			int numTargets = 0;
+			for(int j = 0; j < outEdges.size; j++){
+				int toNum = this.edgeTo[outEdges.items[j]];
+				if(toNum != fromNum){
+					this.witnessTargets[toNum] = this.witnessNum;
+					numTargets++;
+				}
+			}
+			this.witnessSearch(fromNum, nodeNum, this.edgeMetric[inEdge] + maxOut, numTargets);
+			for(int j = 0; j < outEdges.size; j++){
+				int outEdge = outEdges.items[j];
+				int toNum = this.edgeTo[outEdge];
+				if(toNum == fromNum){
+					continue;
+				}
+				double viaMetric = this.edgeMetric[inEdge] + this.edgeMetric[outEdge];
+				if(this.witnessHeap.getKey(toNum) > viaMetric){
+					numShortcuts++;
+					if(addShortcuts){
+						this.addShortcut(fromNum, toNum, viaMetric, inEdge, outEdge);
+					}
+				}
+			}
+		}
+		return numShortcuts;
+	}//contract(int, boolean)
+
+	/**
+	 * Gets the shortest edge to each neighbor left in, from a node's edges.
+	 *
+	 * @param edges	The edges going out of or in to the node.
+	 * @param outgoing	If the edges are going out of the node.
+	 * @return	The shortest edge to or from each neighbor not yet taken out.
+	 */
+	private IntList getShortestToNeighbors(IntList edges, boolean outgoing){
+		IntList shortest = new IntList();
+		HashMap<Integer, Integer> byNeighbor = new HashMap<Integer, Integer>();
+		for(int i = 0; i < edges.size; i++){
+			int edgeNum = edges.items[i];
+			int neighbor = (outgoing ? this.edgeTo[edgeNum] : this.edgeFrom[edgeNum]);
+			if(this.contracted[neighbor]){
+				continue;
+			}
+			Integer pos = byNeighbor.get(neighbor);
+			if(pos == null){
+				byNeighbor.put(neighbor, shortest.size);
+				shortest.add(edgeNum);
+			}else if(this.edgeMetric[edgeNum] < this.edgeMetric[shortest.items[pos]]){
+				shortest.items[pos] = edgeNum;
+			}
+		}
+		return shortest;
+	}//getShortestToNeighbors(IntList, boolean)
+
+	/**
+	 * Searches out from a node over the nodes left in, not going through the node being taken out. Distances found are left in {@link #witnessHeap}.
+	 *
+	 * @param fromNum	The node to search from.
+	 * @param skipNum	The node being taken out.
+	 * @param maxMetric	The distance to stop searching at.
+	 * @param numTargets	The number of nodes marked as targets of this search. Stops once all are settled.
+	 */
+	private void witnessSearch(int fromNum, int skipNum, double maxMetric, int numTargets){
+		this.witnessHeap.clear();
+		this.witnessHeap.offer(fromNum, 0.0);
+		int numSettled = 0;
+		while(!this.witnessHeap.isEmpty() && this.witnessHeap.peekKey() <= maxMetric && numSettled < witnessSettleLimit){
+			int nodeNum = this.witnessHeap.poll();
+			double nodeDist = this.witnessHeap.getKey(nodeNum);
+			numSettled++;
+			if(this.witnessTargets[nodeNum] == this.witnessNum && --numTargets == 0){
+				break;
+			}
+			IntList edges = this.outLists[nodeNum];
+			for(int i = 0; i < edges.size; i++){
+				int edgeNum = edges.items[i];
+				int toNum = this.edgeTo[edgeNum];
+				if(toNum == skipNum || this.contracted[toNum]){
+					continue;
+				}
+				this.witnessHeap.offer(toNum, nodeDist + this.edgeMetric[edgeNum]);
+			}
+		}
+	}//witnessSearch(int, int, double, int)
+
+	/**
+	 * Adds a shortcut between two nodes, or shortens the edge already between them.
+	 *
+	 * @param fromNum	The node the shortcut comes from.
+	 * @param toNum	The node the shortcut goes to.
+	 * @param metric	The metric of the shortcut.
+	 * @param firstEdge	The first edge the shortcut stands for.
+	 * @param secondEdge	The second edge the shortcut stands for.
+	 */
+	private void addShortcut(int fromNum, int toNum, double metric, int firstEdge, int secondEdge){
+		int existing = this.findEdge(fromNum, toNum);
+		if(existing < 0){
+			this.addEdge(fromNum, toNum, metric, firstEdge, secondEdge, null);
+		}else if(metric < this.edgeMetric[existing]){
+			this.edgeMetric[existing] = metric;
+			this.edgeFirst[existing] = firstEdge;
+			this.edgeSecond[existing] = secondEdge;
+			this.edgeOrig[existing] = null;
+		}
+	}//addShortcut(int, int, double, int, int)
+
+	/**
+	 * Finds the edge between two nodes.
+	 *
+	 * @param fromNum	The node the edge comes from.
+	 * @param toNum	The node the edge goes to.
+	 * @return	The edge between the nodes. -1 if none.
+	 */
+	private int findEdge(int fromNum, int toNum){
+		IntList edges = this.outLists[fromNum];
+		for(int i = 0; i < edges.size; i++){
+			if(this.edgeTo[edges.items[i]] == toNum){
+				return edges.items[i];
+			}
+		}
+		return -1;
+	}//findEdge(int, int)
+
+	/**
+	 * Adds an edge to the index.
+	 *
+	 * @param fromNum	The node the edge comes from.
+	 * @param toNum	The node the edge goes to.
+	 * @param metric	The metric of the edge.
+	 * @param firstEdge	The first edge a shortcut stands for. -1 if not a shortcut.
+	 * @param secondEdge	The second edge a shortcut stands for. -1 if not a shortcut.
+	 * @param origEdge	The edge of the graph it stands for. Null if a shortcut.
+	 */
+	private void addEdge(int fromNum, int toNum, double metric, int firstEdge, int secondEdge, LotEdge origEdge){
+		if(this.numEdges == this.edgeFrom.length){
+			int newCapacity = this.numEdges * 2;
+			this.edgeFrom = Arrays.copyOf(this.edgeFrom, newCapacity);
+			this.edgeTo = Arrays.copyOf(this.edgeTo, newCapacity);
+			this.edgeMetric = Arrays.copyOf(this.edgeMetric, newCapacity);
+			this.edgeFirst = Arrays.copyOf(this.edgeFirst, newCapacity);
+			this.edgeSecond = Arrays.copyOf(this.edgeSecond, newCapacity);
+			this.edgeOrig = Arrays.copyOf(this.edgeOrig, newCapacity);
+		}
+		int edgeNum = this.numEdges++;
+		this.edgeFrom[edgeNum] = fromNum;
+		this.edgeTo[edgeNum] = toNum;
+		this.edgeMetric[edgeNum] = metric;
+		this.edgeFirst[edgeNum] = firstEdge;
+		this.edgeSecond[edgeNum] = secondEdge;
+		this.edgeOrig[edgeNum] = origEdge;
+		this.outLists[fromNum].add(edgeNum);
+		this.inLists[toNum].add(edgeNum);
+	}//addEdge(int, int, double, int, int, LotEdge)
+
+	/**
+	 * Builds the compressed arrays of edges going up in rank, used when searching.
+	 */
+	private void buildSearchArrays(){
+		this.upOutStart = new int[this.numNodes + 1];
+		this.upInStart = new int[this.numNodes + 1];
+		for(int i = 0; i < this.numEdges; i++){
+			if(this.ranks[this.edgeTo[i]] > this.ranks[this.edgeFrom[i]]){
+				this.upOutStart[this.edgeFrom[i] + 1]++;
+			}else{
+				this.upInStart[this.edgeTo[i] + 1]++;
+			}
+		}
+		for(int i = 0; i < this.numNodes; i++){
+			this.upOutStart[i + 1] += this.upOutStart[i];
+			this.upInStart[i + 1] += this.upInStart[i];
+		}
+		this.upOutEdges = new int[this.upOutStart[this.numNodes]];
+		this.upInEdges = new int[this.upInStart[this.numNodes]];
+		int[] outPos = Arrays.copyOf(this.upOutStart, this.numNodes);
+		int[] inPos = Arrays.copyOf(this.upInStart, this.numNodes);
+		for(int i = 0; i < this.numEdges; i++){
+			if(this.ranks[this.edgeTo[i]] > this.ranks[this.edgeFrom[i]]){
+				this.upOutEdges[outPos[this.edgeFrom[i]]++] = i;
+			}else{
+				this.upInEdges[inPos[this.edgeTo[i]]++] = i;
+			}
+		}
+	}//buildSearchArrays()
+
+	/**
+	 * Searches up in rank from both nodes until the shortest path between them is found.
+	 *
+	 * @param fromNum	The node to start at.
+	 * @param toNum	The node to get to.
+	 * @return	The node where the two searches meet on the shortest path. -1 if there is no path.
+	 */
+	private int search(int fromNum, int toNum){
+		this.forwardHeap.clear();
+		this.backwardHeap.clear();
+		this.forwardHeap.offer(fromNum, 0.0);
+		this.backwardHeap.offer(toNum, 0.0);
+		this.predecessors[fromNum] = -1;
+		this.successors[toNum] = -1;
+		double bestMetric = Double.POSITIVE_INFINITY;
+		int meetingNum = -1;
+		while(true){
+			boolean forwardDone = this.forwardHeap.peekKey() >= bestMetric;
+			boolean backwardDone = this.backwardHeap.peekKey() >= bestMetric;
+			if(forwardDone && backwardDone){
+				break;
+			}
+			boolean forward = !forwardDone && (backwardDone || this.forwardHeap.peekKey() <= this.backwardHeap.peekKey());
+			BotLotPFIndexedHeap heap = (forward ? this.forwardHeap : this.backwardHeap);
+			BotLotPFIndexedHeap otherHeap = (forward ? this.backwardHeap : this.forwardHeap);
+			int nodeNum = heap.poll();
+			double nodeDist = heap.getKey(nodeNum);
+			if(otherHeap.wasSeen(nodeNum) && nodeDist + otherHeap.getKey(nodeNum) < bestMetric){
+				bestMetric = nodeDist + otherHeap.getKey(nodeNum);
+				meetingNum = nodeNum;
+			}
+			if(forward){
+				for(int i = this.upOutStart[nodeNum]; i < this.upOutStart[nodeNum + 1]; i++){
+					int edgeNum = this.upOutEdges[i];
+					if(this.forwardHeap.offer(this.edgeTo[edgeNum], nodeDist + this.edgeMetric[edgeNum])){
+						this.predecessors[this.edgeTo[edgeNum]] = edgeNum;
+					}
+				}
+			}else{
+				for(int i = this.upInStart[nodeNum]; i < this.upInStart[nodeNum + 1]; i++){
+					int edgeNum = this.upInEdges[i];
+					if(this.backwardHeap.offer(this.edgeFrom[edgeNum], nodeDist + this.edgeMetric[edgeNum])){
+						this.successors[this.edgeFrom[edgeNum]] = edgeNum;
+					}
+				}
+			}
+		}
+		return meetingNum;
+	}//search(int, int)
+
+	/**
+	 * Puts together the path through the meeting node, unpacking shortcuts into the graph's edges.
+	 *
+	 * @param meetingNum	The node where the two searches met.
+	 * @return	The shortest path found.
+	 * @throws BotLotPFAlgException	If something went wrong.
+	 */
+	private LotPath getPath(int meetingNum) throws BotLotPFAlgException {
+		IntList upEdges = new IntList();
+		int edgeNum = this.predecessors[meetingNum];
+		while(edgeNum >= 0){
+			upEdges.add(edgeNum);
+			edgeNum = this.predecessors[this.edgeFrom[edgeNum]];
+		}
+		ArrayList<LotEdge> path = new ArrayList<LotEdge>();
+		for(int i = upEdges.size - 1; i >= 0; i--){
+			this.unpack(upEdges.items[i], path);
+		}
+		edgeNum = this.successors[meetingNum];
+		while(edgeNum >= 0){
+			this.unpack(edgeNum, path);
+			edgeNum = this.successors[this.edgeTo[edgeNum]];
+		}
+		try {
+			return new LotPath(path);
+		} catch (LotPathException e) {
+			throw new BotLotPFAlgException("Could not use the given edge list to make valid path. Error: " + e.getMessage());
+		}
+	}//getPath(int)
+
+	/**
+	 * Adds the graph's edges an edge of the index stands for to the end of a list.
+	 *
+	 * @param edgeNum	The edge to unpack.
+	 * @param path	The list to add the edges to.
+	 */
+	private void unpack(int edgeNum, ArrayList<LotEdge> path){
+		IntList stack = new IntList();
+		stack.add(edgeNum);
+		while(stack.size > 0){
+			int curEdge = stack.items[--stack.size];
+			if(this.edgeOrig[curEdge] != null){
+				path.add(this.edgeOrig[curEdge]);
+			}else{
+				stack.add(this.edgeSecond[curEdge]);
+				stack.add(this.edgeFirst[curEdge]);
+			}
+		}
+	}//unpack(int, ArrayList<LotEdge>)
+
+	/**
+	 * A simple growable list of ints, to keep from boxing edge numbers while building.
+	 */
+	private static final class IntList {
+		/** The items in the list. Only the first {@link #size} are valid. */
+		int[] items = new int[4];
+		/** The number of items in the list. */
+		int size = 0;
+
+		/**
+		 * Adds an item to the end of the list.
+		 *
+		 * @param item	The item to add.
+		 */
+		void add(int item){
+			if(this.size == this.items.length){
+				this.items = Arrays.copyOf(this.items, this.size * 2);
+			}
+			this.items[this.size++] = item;
+		}//add(int)
+
+		/**
+		 * Removes an item from the list, moving the last item into its place.
+		 *
+		 * @param item	The item to remove.
+		 */
+		void remove(int item){
+			for(int i = 0; i < this.size; i++){
+				if(this.items[i] == item){
+					this.items[i] = this.items[--this.size];
+					return;
+				}
+			}
+		}//remove(int)
+	}//class IntList
+
+}//class BotLotPFContractionIndex
@@ -0,0 +1,145 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.BitSet;
+
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotGraphSnapshot;
+import botLot.lotGraph.LotNode;
+
+/**
+ * BotLotPFCoordinates.java
+ * <p>
+ * The coordinates of the nodes of a graph ({@link BotLotPFAStar#getCoordinates(LotNode)}), parsed out of their attributes once and kept in a flat array by their number in a snapshot of the graph ({@link LotGraph#freeze()}). So searches estimating distances by coordinates never parse attributes.
+ * <p>
+ * A table is made for a snapshot and the attribute version of the graph ({@link LotGraph#getAttVersion()}), and never changes after. Use {@link #getTable(LotGraphSnapshot)} to get the one kept with a graph, which is remade when either is out of date. If only the snapshot is (the layout changed but no attributes did), the coordinates are moved over from the last table rather than parsed again.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFCoordinates {
+	/** The key the table is attached to its graph with. */
+	public static final String INDEX_KEY = "botLot.coordinateIndex";
+
+	/** The snapshot of the graph the coordinates are numbered by. */
+	private final LotGraphSnapshot snapshot;
+	/** The attribute version of the graph when the coordinates were parsed. */
+	private final long attVersion;
+	/** The x, y, and z coordinates of each node, three to a node, by the node's number. 0 for nodes without coordinates. */
+	private final double[] coords;
+	/** The nodes with valid coordinates, by their number. */
+	private final BitSet hasCoords;
+
+	/**
+	 * Constructor that gets the coordinates of the nodes in a snapshot.
+	 *
+	 * @param snapshotIn	The snapshot of the graph to get the coordinates of.
+	 * @param lastTable	The last table made for the graph, to move coordinates over from if no attributes have changed since it was made. Null to parse them all.
+	 */
+	private BotLotPFCoordinates(LotGraphSnapshot snapshotIn, BotLotPFCoordinates lastTable){
+		this.snapshot = snapshotIn;
+		this.attVersion = snapshotIn.getGraph().getAttVersion();
+		int numNodes = snapshotIn.getNumNodes();
+		this.coords = new double[numNodes * 3];
+		this.hasCoords = new BitSet(numNodes);
+		if(lastTable != null && lastTable.attVersion != this.attVersion){
+			lastTable = null;
+		}
+		for(int nodeNum = 0; nodeNum < numNodes; nodeNum++){
+			LotNode curNode = snapshotIn.getNode(nodeNum);
+			if(lastTable != null){
+				int lastNum = lastTable.snapshot.getNodeNum(curNode);
+				if(lastNum >= 0){
+					if(lastTable.hasCoords.get(lastNum)){
+						System.arraycopy(lastTable.coords, lastNum * 3, this.coords, nodeNum * 3, 3);
+						this.hasCoords.set(nodeNum);
+					}
+					continue;
+				}
+			}
+			double[] nodeCoords = BotLotPFAStar.getCoordinates(curNode);
+			if(nodeCoords != null){
+				System.arraycopy(nodeCoords, 0, this.coords, nodeNum * 3, 3);
+				this.hasCoords.set(nodeNum);
+			}
+		}
+	}//BotLotPFCoordinates(LotGraphSnapshot, BotLotPFCoordinates)
+
+	/**
+	 * Gets the table kept with the graph of the snapshot given, making it and attaching it to the graph if not there or out of date.
+	 *
+	 * @param snapshotIn	The snapshot of the graph to get the coordinates of. Should be up to date ({@link LotGraph#freeze()}).
+	 * @return	The coordinates of the nodes in the snapshot.
+	 */
+	public static BotLotPFCoordinates getTable(LotGraphSnapshot snapshotIn){
+		LotGraph graph = snapshotIn.getGraph();
+		synchronized(graph){
+			BotLotPFCoordinates table = (BotLotPFCoordinates)graph.getAttachedIndex(INDEX_KEY);
+			if(table == null || table.snapshot != snapshotIn || table.attVersion != graph.getAttVersion()){
+				table = new BotLotPFCoordinates(snapshotIn, table);
+				graph.attachIndex(INDEX_KEY, table);
+			}
+			return table;
+		}
+	}//getTable(LotGraphSnapshot)
+
+	/**
+	 * Gets the snapshot the coordinates are numbered by.
+	 *
+	 * @return	The snapshot of the graph.
+	 */
+	public LotGraphSnapshot getSnapshot(){
+		return this.snapshot;
+	}//getSnapshot()
+
+	/**
+	 * Determines if the graph's layout and attributes have not changed since this table was made.
+	 *
+	 * @return	If this table is up to date with its graph.
+	 */
+	public boolean isUpToDate(){
+		return this.snapshot.isUpToDate() && this.attVersion == this.snapshot.getGraph().getAttVersion();
+	}//isUpToDate()
+
+	/**
+	 * Determines if a node has valid coordinates.
+	 *
+	 * @param nodeNum	The number of the node in the snapshot.
+	 * @return	If the node has valid coordinates.
+	 */
+	public boolean hasCoordinates(int nodeNum){
+		return this.hasCoords.get(nodeNum);
+	}//hasCoordinates(int)
+
+	/**
+	 * Gets the x coordinate of a node.
+	 *
+	 * @param nodeNum	The number of the node in the snapshot.
+	 * @return	The x coordinate of the node. 0 if it has no coordinates.
+	 */
+	public double getX(int nodeNum){
+		return this.coords[nodeNum * 3];
+	}//getX(int)
+
+	/**
+	 * Gets the y coordinate of a node.
+	 *
+	 * @param nodeNum	The number of the node in the snapshot.
+	 * @return	The y coordinate of the node. 0 if it has no coordinates.
+	 */
+	public double getY(int nodeNum){
+		return this.coords[nodeNum * 3 + 1];
+	}//getY(int)
+
+	/**
+	 * Gets the z coordinate of a node.
+	 *
+	 * @param nodeNum	The number of the node in the snapshot.
+	 * @return	The z coordinate of the node. 0 if it has no coordinates, or no z coordinate.
+	 */
+	public double getZ(int nodeNum){
+		return this.coords[nodeNum * 3 + 2];
+	}//getZ(int)
+
+}//class BotLotPFCoordinates
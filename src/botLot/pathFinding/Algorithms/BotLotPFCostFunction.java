@@ -0,0 +1,34 @@
+package botLot.pathFinding.Algorithms;
+
+import botLot.lotGraph.LotEdge;
+
+/**
+ * BotLotPFCostFunction.java
+ * <p>
+ * Gives the cost of going down an edge, for path finding to use in place of the edge's metric ({@link LotEdge#getMetric()}). For costs worked out from the attributes of edges and nodes (width, slope, speed limit, battery drain), read from typed attributes ({@link LotEdge#getNumAtt(String, double)}, etc) to not have to parse Strings.
+ * <p>
+ * The algorithms using this work out the cost of every edge once at the start of each search, into an array, so this is called once per edge per search rather than every time an edge is looked at. Costs must not be negative.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public interface BotLotPFCostFunction {
+	/** The metric of the edge. The default; searches using this skip working out costs and use the metrics straight from the graph's snapshot. */
+	public static final BotLotPFCostFunction METRIC = new BotLotPFCostFunction(){
+		@Override
+		public double getCost(LotEdge edgeIn){
+			return edgeIn.getMetric();
+		}
+	};
+
+	/**
+	 * Gets the cost of going down an edge.
+	 *
+	 * @param edgeIn	The edge to get the cost of.
+	 * @return	The cost of going down the edge. Not negative. {@link Double#POSITIVE_INFINITY} to never go down it.
+	 */
+	public double getCost(LotEdge edgeIn);
+
+}//interface BotLotPFCostFunction
@@ -1,19 +1,16 @@
 package botLot.pathFinding.Algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import botLot.BotLot;
 import botLot.lotGraph.LotEdge;
 import botLot.lotGraph.LotGraph;
-import botLot.lotGraph.LotGraphException;
+import botLot.lotGraph.LotGraphLayout;
+import botLot.lotGraph.LotGraphSnapshot;
 import botLot.lotGraph.LotNode;
 import botLot.lotGraph.LotPath;
 import botLot.lotGraph.LotPathException;
@@ -21,7 +18,11 @@ import botLot.lotGraph.LotPathException;
 /**
  * The implementation of Dijkstra's algorithm for this application. 
  * <p>
- * Implementation based on: http://www.vogella.com/tutorials/JavaAlgorithmsDijkstra/article.html
+ * Uses an indexed binary heap ({@link BotLotPFIndexedHeap}) to pick the closest unsettled node, so runs in O((V+E) log V). Stops as soon as the destination node is settled.
+ * <p>
+ * Searches a snapshot of the graph ({@link LotGraph#freeze()}) rather than the nodes and edges themselves, so everything is kept in arrays by the nodes' numbers in the snapshot, and the edge objects are only looked at to put together the path found. Graphs not held as node and edge objects (memory mapped graphs) can be searched the same way with {@link #findPath(LotGraphLayout, int, int, BitSet)}.
+ * <p>
+ * Uses the cost function set ({@link #setCostFunction(BotLotPFCostFunction)}) in place of the edges' metrics if one is.
  * <p>
  * Started: 3/7/16
  * 
@@ -31,16 +32,22 @@ import botLot.lotGraph.LotPathException;
 public class BotLotPFDijkstra extends BotLotPFAlgorithm implements BotLotPFAlgInterface {
 	/*
 	 * Variables required for Dijkstra's algorithm.
-	 * TODO:: describe what they are/do.
+	 * Nodes are kept by their numbers in the snapshot, and edges by their slots.
 	 */
-	/**  */
-	private Set<LotNode> settledNodes = null;
-	/** */
-	private Set<LotNode> unSettledNodes = null;
-	/** */
-	private Map<LotNode, LotNode> predecessors = null;
-	/** */
-	private Map<LotNode, Double> distance = null;
+	/** The snapshot of the graph being searched. Null when searching a layout given ({@link #findPath(LotGraphLayout, int, int, BitSet)}). */
+	private LotGraphSnapshot snapshot = null;
+	/** The layout of the graph being searched; the snapshot, or the layout given. */
+	private LotGraphLayout layout = null;
+	/** The nodes reached so far, keyed by their distance from the current node. Also holds the final distance of settled nodes. */
+	private BotLotPFIndexedHeap heap = null;
+	/** The slot of the edge taken to get to each node on its shortest path, by the node's number. -1 for none. */
+	private int[] predecessors = null;
+	/** The number of the node the edge in {@link #predecessors} comes from, by the number of the node it goes to. */
+	private int[] fromNodes = null;
+	/** The slots of the edges to avoid. */
+	private BitSet edgesToAvoidSet = null;
+	/** The cost of each edge, by its slot. Null to use the layout's metrics. */
+	private double[] costs = null;
 	
 	
 	/**
@@ -84,171 +91,196 @@ public class BotLotPFDijkstra extends BotLotPFAlgorithm implements BotLotPFAlgIn
 	
 	@Override
 	protected LotPath calculatePath() throws BotLotPFAlgException {
-		settledNodes = new HashSet<LotNode>();
-		unSettledNodes = new HashSet<LotNode>();
-		
-		distance = new HashMap<LotNode, Double>();
-		predecessors = new HashMap<LotNode, LotNode>();
-	    distance.put(this.getCurNode(), 0.0);
-	    unSettledNodes.add(this.getCurNode());
-	    while (unSettledNodes.size() > 0) {
-	    	LotNode node = getMinimum(unSettledNodes);
-	    	settledNodes.add(node);
-	    	unSettledNodes.remove(node);
-	    	findMinimalDistances(node);
-	    }
-	    
-	    return this.getPath(this.getDestNode());
+		this.setupSearch();
+		BitSet targets = new BitSet();
+		int destNum = this.snapshot.getNodeNum(this.getDestNode());
+		if(destNum < 0){
+			return null;
+		}
+		targets.set(destNum);
+		destNum = this.search(targets);
+		if(destNum < 0){
+			return null;
+		}
+		return this.getPath(destNum);
 	}//calculatePath()
 	
 	/**
-	 * Function for Dijkstra's Algorithm.
-	 * TODO:: describe this
+	 * Finds the shortest path from the current node to whichever of the given nodes is closest, in a single search. The search stops at the first of the nodes settled, so costs no more than one call to {@link #findPath()}.
+	 * <p>
+	 * Does not need the destination node to be set. The current node is not counted as one of the nodes to get to. Use {@link LotPath#getEndNode()} to get the node found.
 	 * 
-	 * @param node	The node to get minimal distances to?
+	 * @param targetsIn	The nodes to find the closest of.
+	 * @return	The shortest path to the closest of the nodes. Null if none of them can be reached.
+	 * @throws BotLotPFAlgException	If the graph or current node is not set, or something went wrong.
 	 */
-	private void findMinimalDistances(LotNode node) {
-		List<LotNode> adjacentNodes = getNeighbors(node);
-		for (LotNode target : adjacentNodes) {
-			if (getShortestDistance(target) > getShortestDistance(node)
-					+ getDistance(node, target)) {
-				distance.put(target, getShortestDistance(node)
-					+ getDistance(node, target));
-				predecessors.put(target, node);
-				unSettledNodes.add(target);
+	public LotPath findPathToClosest(Collection<LotNode> targetsIn) throws BotLotPFAlgException {
+		if(!this.hasGraph() || !this.hasCurNode()){
+			throw new BotLotPFAlgException("Object not ready for path generation.");
+		}
+		this.setupSearch();
+		BitSet targets = new BitSet();
+		for(LotNode curTarget : targetsIn){
+			int targetNum = this.snapshot.getNodeNum(curTarget);
+			if(targetNum >= 0){
+				targets.set(targetNum);
 			}
 		}
-	}//findMinimalDistances(LotNode)
+		int curNum = this.snapshot.getNodeNum(this.getCurNode());
+		if(curNum >= 0){
+			targets.clear(curNum);
+		}
+		if(targets.isEmpty()){
+			return null;
+		}
+		int closestNum = this.search(targets);
+		if(closestNum < 0){
+			return null;
+		}
+		return this.getPath(closestNum);
+	}//findPathToClosest(Collection<LotNode>)
 	
 	/**
-	 * Function for Dijktra's algorithm.
-	 * TODO:: describe this
+	 * Sets up the variables for a new search from the current node.
 	 * 
-	 * @param node	The starting node.
-	 * @param target	The node we are trying to get to.
-	 * @return	The distance from the first node to the second node.
+	 * @throws BotLotPFAlgException	If the cost function gave an invalid cost.
 	 */
-	private double getDistance(LotNode node, LotNode target) {
-	    for (LotEdge edge : this.getGraph().getEdgeList(this.getEdgesToAvoid())) {
-	    	
-	        try {
-				if (this.getGraph().getNode(edge) == node
-				  && edge.getEndNode().equals(target)) {
-					return edge.getMetric();
-				}
-			} catch (LotGraphException e) {
-				e.printStackTrace();
-				System.out.println("FATAL ERROR- Should not happen. Error: " + e.getMessage());
-				System.exit(1);
-			}
-	    }
-	    throw new RuntimeException("Should not happen");
-	}//getDistance(LotNode, LotNode)
+	private void setupSearch() throws BotLotPFAlgException{
+		this.snapshot = this.getGraph().freeze();
+		BitSet avoidSlots = this.getEdgesToAvoid(this.snapshot);
+		double[] edgeCosts = this.getCosts(this.snapshot, avoidSlots);
+		this.setupSearch(this.snapshot, this.snapshot.getNodeNum(this.getCurNode()), avoidSlots, edgeCosts);
+	}//setupSearch()
 	
 	/**
-	 * Function for Dijkstra's algorithm.
-	 * TODO:: describe this
+	 * Sets up the variables for a new search over a layout.
 	 * 
-	 * @param node	The node to get the neighbors of.
-	 * @return	A list of the neighbors of the given node.
+	 * @param layoutIn	The layout of the graph to search.
+	 * @param curNum	The number of the node to search from. Nothing is searched if less than 0.
+	 * @param avoidIn	The numbers of the edges to avoid.
+	 * @param costsIn	The cost of each edge. Null to use the layout's metrics.
 	 */
-	private List<LotNode> getNeighbors(LotNode node) {
-	    List<LotNode> neighbors = new ArrayList<LotNode>();
-	    for (LotEdge edge : this.getGraph().getEdgeList(this.getEdgesToAvoid())) {
-	    	try {
-	    		if (this.getGraph().getNode(edge) == node && !isSettled(edge.getEndNode())) {
-	    			neighbors.add(edge.getEndNode());
-	    		}
-	    	} catch (LotGraphException e) {
-	    		e.printStackTrace();
-	    		System.out.println("FATAL ERROR- this should not happen. Error: " + e.getMessage());
-	    		System.exit(1);
-	    	}
-	    }
-	    return neighbors;
-	}//getNeighbors(LotNode)
+	private void setupSearch(LotGraphLayout layoutIn, int curNum, BitSet avoidIn, double[] costsIn){
+		this.layout = layoutIn;
+		int numNodes = layoutIn.getNumNodes();
+		this.heap = new BotLotPFIndexedHeap(numNodes);
+		this.predecessors = new int[numNodes];
+		this.fromNodes = new int[numNodes];
+		Arrays.fill(this.predecessors, -1);
+		this.edgesToAvoidSet = avoidIn;
+		this.costs = costsIn;
+		if(curNum >= 0){
+			this.heap.offer(curNum, 0.0);
+		}
+	}//setupSearch(LotGraphLayout, int, BitSet, double[])
 	
 	/**
-	 * Gets the minimum vertex from the set given.
-	 * <p>
-	 * Function for Dijkstra's algorithm.
+	 * Finds the shortest path between two nodes of a graph given by its layout, by the edges' metrics. For graphs not held as node and edge objects, like memory mapped graphs ({@link botLot.lotGraph.LotMappedGraph}), which can then be searched without making a graph out of them.
 	 * 
-	 * @param vertexes	The set of vertexes.
-	 * @return	The minimum vertex from the set given.
+	 * @param graphIn	The layout of the graph to search.
+	 * @param curNodeNum	The number of the node to start at.
+	 * @param destNodeNum	The number of the node to get to.
+	 * @param edgesToAvoidIn	The numbers of the edges to avoid. Not changed. Null for none.
+	 * @return	The numbers of the edges on the shortest path, in order. Empty if the nodes are the same. Null if there is no path, or either node is not in the graph.
 	 */
-	private LotNode getMinimum(Set<LotNode> vertexes) {
-		LotNode minimum = null;
-		for (LotNode vertex : vertexes) {
-			if (minimum == null) {
-				minimum = vertex;
-			} else {
-				if (getShortestDistance(vertex) < getShortestDistance(minimum)) {
-					minimum = vertex;
-				}
-			}
+	public static int[] findPath(LotGraphLayout graphIn, int curNodeNum, int destNodeNum, BitSet edgesToAvoidIn){
+		int numNodes = graphIn.getNumNodes();
+		if(curNodeNum < 0 || destNodeNum < 0 || curNodeNum >= numNodes || destNodeNum >= numNodes){
+			return null;
+		}
+		BotLotPFDijkstra search = new BotLotPFDijkstra();
+		search.setupSearch(graphIn, curNodeNum, (edgesToAvoidIn == null ? new BitSet() : edgesToAvoidIn), null);
+		BitSet targets = new BitSet();
+		targets.set(destNodeNum);
+		if(search.search(targets) < 0){
+			return null;
 		}
-		return minimum;
-	}//getMinimum(Set<LotNode>)
+		int numSteps = 0;
+		for(int nodeNum = destNodeNum; search.predecessors[nodeNum] >= 0; nodeNum = search.fromNodes[nodeNum]){
+			numSteps++;
+		}
+		int[] pathOut = new int[numSteps];
+		int nodeNum = destNodeNum;
+		for(int i = numSteps - 1; i >= 0; i--){
+			pathOut[i] = search.predecessors[nodeNum];
+			nodeNum = search.fromNodes[nodeNum];
+		}
+		return pathOut;
+	}//findPath(LotGraphLayout, int, int, BitSet)
 	
 	/**
-	 * Determines if the node given is setled, i.e., in the settledNodes
-	 * <p>
-	 * Function for Dijkstra's algorithm.
+	 * Runs Dijkstra's algorithm from the current node until one of the target nodes is settled, or there is nothing left to settle.
 	 * 
-	 * @param vertex	The node we are searching for.
-	 * @return	If the node given is settled.
+	 * @param targets	The numbers of the nodes we are trying to get to.
+	 * @return	The number of the first target node settled (the closest). -1 if none can be reached.
 	 */
-	private boolean isSettled(LotNode vertex) {
-		return settledNodes.contains(vertex);
-	}//isSettled(LotNode)
+	private int search(BitSet targets){
+		while(!this.heap.isEmpty()){
+			int nodeNum = this.heap.poll();
+			if(targets.get(nodeNum)){
+				return nodeNum;
+			}
+			this.relaxEdges(nodeNum);
+		}
+		return -1;
+	}//search(BitSet)
 	
 	/**
-	 * Function for Dijkstra's algorithm.
-	 * TODO:: describe this
+	 * Updates the distances of the nodes the given (just settled) node has edges to.
 	 * 
-	 * @param destination	The node we are trying to get to in this case.
-	 * @return	The shortest distance to the given node.
+	 * @param nodeNum	The number of the node.
 	 */
-	private double getShortestDistance(LotNode destination) {
-		Double d = distance.get(destination);
-		if (d == null) {
-			return Double.MAX_VALUE;
-		} else {
-			return d;
-		}
-	}//getShortestDistance(LotNode)
+	private void relaxEdges(int nodeNum){
+		double nodeDist = this.heap.getKey(nodeNum);
+		LotGraphLayout layout = this.layout;
+		double[] costs = this.costs;
+		int firstSlot = layout.getFirstEdge(nodeNum);
+		int endSlot = firstSlot + layout.getNumEdges(nodeNum);
+		for(int slot = firstSlot; slot < endSlot; slot++){
+			if(this.edgesToAvoidSet.get(slot)){
+				continue;
+			}
+			int targetNum = layout.getEdgeEndNode(slot);
+			if(targetNum < 0){
+				continue;
+			}
+			if(this.heap.offer(targetNum, nodeDist + (costs == null ? layout.getEdgeMetric(slot) : costs[slot]))){
+				this.predecessors[targetNum] = slot;
+				this.fromNodes[targetNum] = nodeNum;
+			}
+		}
+	}//relaxEdges(int)
 	
 	/**
 	 * This method returns the path from the source to the selected target and NULL if no path exists (should never do this, as there is already a path existence check)
 	 * <p>
 	 * Function for Dijkstra's algorithm.
 	 * 
-	 * @param target	The node we are trying to get to?
-	 * @return	The shortest path to the target.
+	 * @param targetNum	The number of the node we are trying to get to.
+	 * @return	The shortest path to the target. Null if the target is the current node.
 	 * @throws BotLotPFAlgException	If something went wrong.
 	 */
-	private LotPath getPath(LotNode target) throws BotLotPFAlgException {
-		LinkedList<LotNode> path = new LinkedList<LotNode>();
-		LotNode step = target;
+	private LotPath getPath(int targetNum) throws BotLotPFAlgException {
+		ArrayList<LotEdge> path = new ArrayList<LotEdge>();
+		int step = this.predecessors[targetNum];
 		// check if a path exists
-		if (predecessors.get(step) == null) {
+		if (step < 0) {
 			return null;
 		}
-		
-		path.add(step);
-		  
-		while (predecessors.get(step) != null) {
-			step = predecessors.get(step);
-			path.add(step);
+		int nodeNum = targetNum;
+		while (step >= 0) {
+			path.add(this.snapshot.getEdge(step));
+			nodeNum = this.fromNodes[nodeNum];
+			step = this.predecessors[nodeNum];
 		}
 		// Put it into the correct order
 		Collections.reverse(path);
 		
 		try {
-			return new LotPath(path, this.getEdgesToAvoid());
+			return new LotPath(path);
 		} catch (LotPathException e) {
-			throw new BotLotPFAlgException("Could not use the given node list to make valid path. Error: " + e.getMessage());
+			throw new BotLotPFAlgException("Could not use the given edge list to make valid path. Error: " + e.getMessage());
 		}
-	}//getPath(LotNode)
+	}//getPath(int)
 	  
 }//class BotLotPFDijkstra
@@ -0,0 +1,56 @@
+package botLot.pathFinding.Algorithms;
+
+/**
+ * BotLotPFHeuristic.java
+ * <p>
+ * An estimate of the metric left to travel between two points, used to direct {@link BotLotPFAStar}.
+ * <p>
+ * For paths found to be the shortest, the estimate must never be more than the actual metric of the shortest path between the two points (be admissible). Estimates based on the distance between points are, as long as edge metrics are at least the distance between the nodes they connect.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public interface BotLotPFHeuristic {
+	/** Straight line distance between the two points. */
+	public static final BotLotPFHeuristic EUCLIDEAN = new BotLotPFHeuristic(){
+		@Override
+		public double estimate(double fromX, double fromY, double fromZ, double toX, double toY, double toZ){
+			double dX = fromX - toX;
+			double dY = fromY - toY;
+			double dZ = fromZ - toZ;
+			return Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+		}
+	};
+
+	/** Distance between the two points when only able to move along the axes (grid-like floor plans). */
+	public static final BotLotPFHeuristic MANHATTAN = new BotLotPFHeuristic(){
+		@Override
+		public double estimate(double fromX, double fromY, double fromZ, double toX, double toY, double toZ){
+			return Math.abs(fromX - toX) + Math.abs(fromY - toY) + Math.abs(fromZ - toZ);
+		}
+	};
+
+	/** Always estimates 0. Makes A* work the same as Dijkstra's algorithm. */
+	public static final BotLotPFHeuristic ZERO = new BotLotPFHeuristic(){
+		@Override
+		public double estimate(double fromX, double fromY, double fromZ, double toX, double toY, double toZ){
+			return 0;
+		}
+	};
+
+	/**
+	 * Estimates the metric left to travel from one point to another.
+	 *
+	 * @param fromX	The x coordinate of the point we are at.
+	 * @param fromY	The y coordinate of the point we are at.
+	 * @param fromZ	The z coordinate of the point we are at. 0 if not given.
+	 * @param toX	The x coordinate of the point we are going to.
+	 * @param toY	The y coordinate of the point we are going to.
+	 * @param toZ	The z coordinate of the point we are going to. 0 if not given.
+	 * @return	The estimated metric left to travel.
+	 */
+	public double estimate(double fromX, double fromY, double fromZ, double toX, double toY, double toZ);
+
+}//interface BotLotPFHeuristic
@@ -0,0 +1,287 @@
+package botLot.pathFinding.Algorithms;
+
+import java.util.Arrays;
+
+/**
+ * BotLotPFIndexedHeap.java
+ * <p>
+ * A binary min heap of item numbers (0, 1, 2...), each with a key. Keeps track of where each item is in the heap, so the key of an item already in it can be lowered without searching for it (decrease-key).
+ * <p>
+ * Used by the path finding algorithms to always pull out the closest node not yet settled. The key of an item taken out is kept, so it also holds the settled distances.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+final class BotLotPFIndexedHeap {
+	/** Position given to items that have never been put into the heap. */
+	private static final int NOT_SEEN = -1;
+	/** Position given to items that have been taken out of the heap. */
+	private static final int REMOVED = -2;
+	/** The size to start the arrays at if not given a good one. */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** The items in the heap, in heap order. Only the first {@link #size} are valid. */
+	private int[] heap;
+	/** The number of items currently in the heap. */
+	private int size;
+	/** Where each item is in {@link #heap}, by item number. {@link #NOT_SEEN} or {@link #REMOVED} if it is not in it. */
+	private int[] positions;
+	/** The key of each item, by item number. */
+	private double[] keys;
+	/** The items put into the heap since it was made or last cleared. Only the first {@link #numTouched} are valid. */
+	private int[] touched;
+	/** The number of items in {@link #touched}. */
+	private int numTouched;
+
+	/**
+	 * Constructor that sets up the heap to hold a number of items without growing.
+	 *
+	 * @param capacityIn	The number of items expected. Grows past this if needed.
+	 */
+	BotLotPFIndexedHeap(int capacityIn){
+		if(capacityIn < 1){
+			capacityIn = DEFAULT_CAPACITY;
+		}
+		this.heap = new int[capacityIn];
+		this.positions = new int[capacityIn];
+		this.keys = new double[capacityIn];
+		this.touched = new int[capacityIn];
+		Arrays.fill(this.positions, NOT_SEEN);
+		this.size = 0;
+		this.numTouched = 0;
+	}//BotLotPFIndexedHeap(int)
+
+	/**
+	 * Puts an item into the heap with the given key, or lowers its key if it is already in it.
+	 *
+	 * @param item	The item number.
+	 * @param key	The key to give it.
+	 * @return	If the item was added or had its key lowered. False if it was already taken out, or already had a key as low.
+	 */
+	boolean offer(int item, double key){
+		this.ensureCapacity(item);
+		int pos = this.positions[item];
+		if(pos == REMOVED){
+			return false;
+		}
+		if(pos == NOT_SEEN){
+			this.touched[this.numTouched++] = item;
+			this.keys[item] = key;
+			this.heap[this.size] = item;
+			this.positions[item] = this.size;
+			this.size++;
+			this.siftUp(this.size - 1);
+			return true;
+		}
+		if(key < this.keys[item]){
+			this.keys[item] = key;
+			this.siftUp(pos);
+			return true;
+		}
+		return false;
+	}//offer(int, double)
+
+	/**
+	 * Puts an item that was already taken out back into the heap with a lower key.
+	 * <p>
+	 * Needed when the estimates used to order the heap can be too optimistic for some items, so an item taken out can later be found to be closer.
+	 *
+	 * @param item	The item number.
+	 * @param key	The new key to give it.
+	 * @return	If the item was put back in. False if it was not taken out, or the key given was not lower.
+	 */
+	boolean reopen(int item, double key){
+		if(!this.wasRemoved(item) || key >= this.keys[item]){
+			return false;
+		}
+		this.keys[item] = key;
+		this.heap[this.size] = item;
+		this.positions[item] = this.size;
+		this.size++;
+		this.siftUp(this.size - 1);
+		return true;
+	}//reopen(int, double)
+	
+	/**
+	 * Changes the key of an item in the heap, up or down.
+	 *
+	 * @param item	The item number.
+	 * @param key	The new key.
+	 * @return	If the item was in the heap to change.
+	 */
+	boolean setKey(int item, double key){
+		if(item >= this.positions.length || this.positions[item] < 0){
+			return false;
+		}
+		double oldKey = this.keys[item];
+		this.keys[item] = key;
+		if(key < oldKey){
+			this.siftUp(this.positions[item]);
+		}else{
+			this.siftDown(this.positions[item]);
+		}
+		return true;
+	}//setKey(int, double)
+	
+	/**
+	 * Empties the heap and forgets every item put into it, so it can be used again. Only touches the items that were put in, so is cheap after a small search.
+	 */
+	void clear(){
+		for(int i = 0; i < this.numTouched; i++){
+			this.positions[this.touched[i]] = NOT_SEEN;
+		}
+		this.numTouched = 0;
+		this.size = 0;
+	}//clear()
+
+	/**
+	 * Takes the item with the lowest key out of the heap.
+	 *
+	 * @return	The item with the lowest key.
+	 */
+	int poll(){
+		int top = this.heap[0];
+		this.size--;
+		if(this.size > 0){
+			this.heap[0] = this.heap[this.size];
+			this.positions[this.heap[0]] = 0;
+			this.siftDown(0);
+		}
+		this.positions[top] = REMOVED;
+		return top;
+	}//poll()
+
+	/**
+	 * Gets the item with the lowest key, without taking it out.
+	 *
+	 * @return	The item with the lowest key.
+	 */
+	int peek(){
+		return this.heap[0];
+	}//peek()
+
+	/**
+	 * Gets the lowest key in the heap, without taking anything out.
+	 *
+	 * @return	The lowest key. Infinity if the heap is empty.
+	 */
+	double peekKey(){
+		if(this.size == 0){
+			return Double.POSITIVE_INFINITY;
+		}
+		return this.keys[this.heap[0]];
+	}//peekKey()
+
+	/**
+	 * Gets the key of the given item. For an item taken out, this is the key it had when taken out.
+	 *
+	 * @param item	The item number.
+	 * @return	The key of the item. Infinity if it was never put in.
+	 */
+	double getKey(int item){
+		if(!this.wasSeen(item)){
+			return Double.POSITIVE_INFINITY;
+		}
+		return this.keys[item];
+	}//getKey(int)
+
+	/**
+	 * Determines if the item has ever been put into the heap.
+	 *
+	 * @param item	The item number.
+	 * @return	If the item has ever been put into the heap.
+	 */
+	boolean wasSeen(int item){
+		return item < this.positions.length && this.positions[item] != NOT_SEEN;
+	}//wasSeen(int)
+
+	/**
+	 * Determines if the item has been taken out of the heap.
+	 *
+	 * @param item	The item number.
+	 * @return	If the item has been taken out of the heap.
+	 */
+	boolean wasRemoved(int item){
+		return item < this.positions.length && this.positions[item] == REMOVED;
+	}//wasRemoved(int)
+
+	/**
+	 * Determines if there are no items in the heap.
+	 *
+	 * @return	If there are no items in the heap.
+	 */
+	boolean isEmpty(){
+		return this.size == 0;
+	}//isEmpty()
+
+	/**
+	 * Grows the arrays so they can hold the given item number.
+	 *
+	 * @param item	The item number to make room for.
+	 */
+	private void ensureCapacity(int item){
+		if(item < this.positions.length){
+			return;
+		}
+		int newCapacity = Math.max(item + 1, this.positions.length * 2);
+		int oldCapacity = this.positions.length;
+		this.heap = Arrays.copyOf(this.heap, newCapacity);
+		this.positions = Arrays.copyOf(this.positions, newCapacity);
+		this.keys = Arrays.copyOf(this.keys, newCapacity);
+		this.touched = Arrays.copyOf(this.touched, newCapacity);
+		Arrays.fill(this.positions, oldCapacity, newCapacity, NOT_SEEN);
+	}//ensureCapacity(int)
+
+	/**
+	 * Moves the item at the given position up the heap until it is in order.
+	 *
+	 * @param pos	The position in {@link #heap}.
+	 */
+	private void siftUp(int pos){
+		int item = this.heap[pos];
+		double key = this.keys[item];
+		while(pos > 0){
+			int parentPos = (pos - 1) / 2;
+			int parent = this.heap[parentPos];
+			if(this.keys[parent] <= key){
+				break;
+			}
+			this.heap[pos] = parent;
+			this.positions[parent] = pos;
+			pos = parentPos;
+		}
+		this.heap[pos] = item;
+		this.positions[item] = pos;
+	}//siftUp(int)
+
+	/**
+	 * Moves the item at the given position down the heap until it is in order.
+	 *
+	 * @param pos	The position in {@link #heap}.
+	 */
+	private void siftDown(int pos){
+		int item = this.heap[pos];
+		double key = this.keys[item];
+		while(true){
+			int childPos = 2 * pos + 1;
+			if(childPos >= this.size){
+				break;
+			}
+			if(childPos + 1 < this.size && this.keys[this.heap[childPos + 1]] < this.keys[this.heap[childPos]]){
+				childPos++;
+			}
+			int child = this.heap[childPos];
+			if(this.keys[child] >= key){
+				break;
+			}
+			this.heap[pos] = child;
+			this.positions[child] = pos;
+			pos = childPos;
+		}
+		this.heap[pos] = item;
+		this.positions[item] = pos;
+	}//siftDown(int)
+
+}//class BotLotPFIndexedHeap
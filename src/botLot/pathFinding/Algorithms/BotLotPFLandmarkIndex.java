@@ -0,0 +1,557 @@
+package botLot.pathFinding.Algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotMetricListener;
+import botLot.lotGraph.LotNode;
+
+/**
+ * BotLotPFLandmarkIndex.java
+ * <p>
+ * A landmark index of a graph (ALT), giving lower bounds on the metric between any two nodes without needing coordinates.
+ * <p>
+ * A few nodes spread out over the graph are picked as landmarks, and the shortest distance from each landmark to every node, and from every node to each landmark, is worked out ahead of time. By the triangle inequality, the distance from a node to a target is then at least the difference of their distances from (or to) any landmark. {@link BotLotPFAStar} uses these bounds as its estimate ({@link BotLotPFAStar#setLandmarkIndex(BotLotPFLandmarkIndex)}).
+ * <p>
+ * The index is kept up to date as the graph changes without starting over: new nodes and edges, and edges with lower metrics, are searched out from to lower the distances they affect. Raised metrics and removed edges are left alone, as the old distances are still lower bounds. Call {@link #build(int)} to start over and tighten the bounds.
+ * <p>
+ * Only the edges changed are looked at when bringing the index up to date: the graph's edge change journal ({@link LotGraph#getEdgesChangedSince(long)}) gives the edges added, removed, or given a different end node, and metric changes are told to the index while it is attached to the graph ({@link LotMetricListener}). If more changes were made than the journal holds, or the index is not attached, every edge is gone over instead.
+ * <p>
+ * Can be saved next to the map file the graph is kept in ({@link #FILE_EXTENSION}), and loaded back with the graph. The XML and mapped data sources do this themselves; an index attached to a graph is saved with it, and one saved next to a map file is attached to the graph read from it.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public class BotLotPFLandmarkIndex implements LotMetricListener {
+	/** The key this index is attached to its graph with. */
+	public static final String INDEX_KEY = "botLot.landmarkIndex";
+	/** What is added to the end of the map file's location to get the location of the saved index. */
+	public static final String FILE_EXTENSION = ".alt";
+	/** The number of landmarks to use when building an index through {@link #getIndex(LotGraph)}. */
+	public static int defaultNumLandmarks = 8;
+	/** The string at the start of saved index files. */
+	private static final String FILE_HEADER = "BotLotLandmarkIndex";
+	/** The version of the format of saved index files. */
+	private static final int FILE_VERSION = 1;
+
+	/** The graph this index is of. */
+	private final LotGraph graph;
+	/** The version of the graph when this index was last brought up to date. */
+	private long builtVersion;
+
+	/** The nodes in the index, by the number given to them. */
+	private ArrayList<LotNode> nodes;
+	/** The number given to each node. */
+	private HashMap<LotNode, Integer> nodeNums;
+	/** The landmark nodes. Null for landmarks that have since been removed from the graph. */
+	private LotNode[] landmarks;
+	/** The distance from each landmark to each node, by landmark then node number. */
+	private double[][] fromLandmark;
+	/** The distance from each node to each landmark, by landmark then node number. */
+	private double[][] toLandmark;
+	/** The metric of each edge the distances were worked out with. The lowest the edge has had, as distances are never raised. */
+	private HashMap<LotEdge, Double> knownMetrics;
+	/** The node each edge went to when the distances were worked out. */
+	private HashMap<LotEdge, LotNode> knownEnds;
+	/** The edges given a different metric since the index was last brought up to date, as told by the graph. */
+	private HashSet<LotEdge> metricsChanged = new HashSet<LotEdge>();
+
+	/**
+	 * Constructor that builds the index from a graph.
+	 *
+	 * @param graphIn	The graph to build the index from.
+	 * @param numLandmarksIn	The number of landmarks to use. Capped at the number of nodes in the graph.
+	 */
+	public BotLotPFLandmarkIndex(LotGraph graphIn, int numLandmarksIn){
+		this.graph = graphIn;
+		this.build(numLandmarksIn);
+	}//BotLotPFLandmarkIndex(LotGraph, int)
+
+	/**
+	 * Constructor that sets up an empty index of a graph, to load a saved index into.
+	 *
+	 * @param graphIn	The graph the index is of.
+	 */
+	private BotLotPFLandmarkIndex(LotGraph graphIn){
+		this.graph = graphIn;
+		this.builtVersion = -1;
+		this.nodes = new ArrayList<LotNode>();
+		this.nodeNums = new HashMap<LotNode, Integer>();
+		this.knownMetrics = new HashMap<LotEdge, Double>();
+		this.knownEnds = new HashMap<LotEdge, LotNode>();
+	}//BotLotPFLandmarkIndex(LotGraph)
+
+	/**
+	 * Gets the index kept with the given graph, building it with {@link #defaultNumLandmarks} landmarks and attaching it to the graph if not already there.
+	 *
+	 * @param graphIn	The graph to get the index of.
+	 * @return	The index of the graph.
+	 */
+	public static BotLotPFLandmarkIndex getIndex(LotGraph graphIn){
+		synchronized(graphIn){
+			BotLotPFLandmarkIndex index = getAttachedIndex(graphIn);
+			if(index == null){
+				index = new BotLotPFLandmarkIndex(graphIn, defaultNumLandmarks);
+				graphIn.attachIndex(INDEX_KEY, index);
+			}
+			return index;
+		}
+	}//getIndex(LotGraph)
+
+	/**
+	 * Gets the index attached to the given graph, without building one.
+	 *
+	 * @param graphIn	The graph to get the index of.
+	 * @return	The index attached to the graph. Null if none.
+	 */
+	public static BotLotPFLandmarkIndex getAttachedIndex(LotGraph graphIn){
+		return (BotLotPFLandmarkIndex)graphIn.getAttachedIndex(INDEX_KEY);
+	}//getAttachedIndex(LotGraph)
+
+	/**
+	 * Gets the location the index of a map is saved at.
+	 *
+	 * @param mapFileLocIn	The location of the map file.
+	 * @return	The location of the index file.
+	 */
+	public static String getFileLocation(String mapFileLocIn){
+		return mapFileLocIn + FILE_EXTENSION;
+	}//getFileLocation(String)
+
+	/**
+	 * Gets the graph this index is of.
+	 *
+	 * @return	The graph this index is of.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Gets the number of landmarks in the index.
+	 *
+	 * @return	The number of landmarks.
+	 */
+	public synchronized int getNumLandmarks(){
+		return this.landmarks.length;
+	}//getNumLandmarks()
+
+	/**
+	 * Gets the landmark nodes.
+	 *
+	 * @return	The landmark nodes. Null for landmarks that have since been removed from the graph.
+	 */
+	public synchronized ArrayList<LotNode> getLandmarks(){
+		return new ArrayList<LotNode>(Arrays.asList(this.landmarks));
+	}//getLandmarks()
+
+	/**
+	 * Determines if the graph has not changed since this index was last brought up to date.
+	 *
+	 * @return	If the index is up to date with its graph.
+	 */
+	public boolean isUpToDate(){
+		return this.builtVersion == this.graph.getVersion();
+	}//isUpToDate()
+
+	/**
+	 * Gets a lower bound on the metric of the shortest path between two nodes. Brings the index up to date first if the graph has changed.
+	 *
+	 * @param fromNode	The node to start at.
+	 * @param toNode	The node to get to.
+	 * @return	A lower bound on the metric of the shortest path between the nodes. 0 if nothing is known about them.
+	 */
+	public synchronized double getLowerBound(LotNode fromNode, LotNode toNode){
+		if(!this.isUpToDate()){
+			this.refresh();
+		}
+		Integer fromNum = this.nodeNums.get(fromNode);
+		Integer toNum = this.nodeNums.get(toNode);
+		if(fromNum == null || toNum == null){
+			return 0;
+		}
+		double bound = 0;
+		for(int i = 0; i < this.landmarks.length; i++){
+			double fromDist = this.fromLandmark[i][fromNum];
+			double toDist = this.fromLandmark[i][toNum];
+			if(fromDist != Double.POSITIVE_INFINITY && toDist != Double.POSITIVE_INFINITY){
+				bound = Math.max(bound, toDist - fromDist);
+			}
+			fromDist = this.toLandmark[i][fromNum];
+			toDist = this.toLandmark[i][toNum];
+			if(fromDist != Double.POSITIVE_INFINITY && toDist != Double.POSITIVE_INFINITY){
+				bound = Math.max(bound, fromDist - toDist);
+			}
+		}
+		return bound;
+	}//getLowerBound(LotNode, LotNode)
+
+	/**
+	 * Builds the index from the graph as it is now, picking new landmarks.
+	 * <p>
+	 * Landmarks are picked one at a time, each being the node farthest from the landmarks already picked (nodes not reachable from any of them first).
+	 *
+	 * @param numLandmarksIn	The number of landmarks to use. Capped at the number of nodes in the graph.
+	 */
+	public synchronized void build(int numLandmarksIn){
+		this.builtVersion = this.graph.getVersion();
+		this.nodes = new ArrayList<LotNode>(this.graph.getNodes());
+		this.nodeNums = new HashMap<LotNode, Integer>();
+		for(int i = 0; i < this.nodes.size(); i++){
+			this.nodeNums.put(this.nodes.get(i), i);
+		}
+		this.knownMetrics = new HashMap<LotEdge, Double>();
+		this.knownEnds = new HashMap<LotEdge, LotNode>();
+		this.metricsChanged.clear();
+		for(LotEdge edge : this.graph.getEdgeListView()){
+			if(edge.getEndNode() != null && this.graph.hasNode(edge.getEndNode())){
+				this.knownMetrics.put(edge, edge.getMetric());
+				this.knownEnds.put(edge, edge.getEndNode());
+			}
+		}
+		int numLandmarks = Math.max(0, Math.min(numLandmarksIn, this.nodes.size()));
+		this.landmarks = new LotNode[numLandmarks];
+		this.fromLandmark = new double[numLandmarks][];
+		this.toLandmark = new double[numLandmarks][];
+		//how far each node is from the closest landmark picked so far
+		double[] closest = new double[this.nodes.size()];
+		Arrays.fill(closest, Double.POSITIVE_INFINITY);
+		boolean[] picked = new boolean[this.nodes.size()];
+		for(int i = 0; i < numLandmarks; i++){
+			int landmarkNum = -1;
+			for(int j = 0; j < closest.length; j++){
+				if(!picked[j] && (landmarkNum < 0 || closest[j] > closest[landmarkNum])){
+					landmarkNum = j;
+				}
+			}
+			picked[landmarkNum] = true;
+			this.landmarks[i] = this.nodes.get(landmarkNum);
+			this.fromLandmark[i] = this.getFullDistances(landmarkNum, true);
+			this.toLandmark[i] = this.getFullDistances(landmarkNum, false);
+			for(int j = 0; j < closest.length; j++){
+				closest[j] = Math.min(closest[j], this.fromLandmark[i][j]);
+			}
+		}
+	}//build(int)
+
+	/**
+	 * Brings the index up to date with changes made to the graph since it was last built or refreshed.
+	 * <p>
+	 * Adds new nodes, then searches out from new edges and edges with lower metrics to lower the distances they affect. Only the edges changed are looked at, unless the changes can't all be known (see the class description).
+	 */
+	public synchronized void refresh(){
+		List<LotEdge> changedEdges = (getAttachedIndex(this.graph) == this ? this.graph.getEdgesChangedSince(this.builtVersion) : null);
+		this.builtVersion = this.graph.getVersion();
+		ArrayList<LotEdge> lowered = new ArrayList<LotEdge>();
+		if(changedEdges == null){
+			this.refreshAll(lowered);
+		}else{
+			for(LotEdge edge : changedEdges){
+				this.refreshEdge(edge, lowered);
+			}
+			for(LotEdge edge : this.metricsChanged){
+				this.refreshEdge(edge, lowered);
+			}
+		}
+		this.metricsChanged.clear();
+		for(int i = 0; i < this.landmarks.length; i++){
+			this.fromLandmark[i] = this.growDistances(this.fromLandmark[i]);
+			this.toLandmark[i] = this.growDistances(this.toLandmark[i]);
+			if(this.landmarks[i] != null && !this.graph.hasNode(this.landmarks[i])){
+				this.landmarks[i] = null;
+			}
+		}
+		if(lowered.isEmpty()){
+			return;
+		}
+		for(int i = 0; i < this.landmarks.length; i++){
+			this.lowerDistances(this.fromLandmark[i], lowered, true);
+			this.lowerDistances(this.toLandmark[i], lowered, false);
+		}
+	}//refresh()
+
+	/**
+	 * Notes an edge given a different metric, to be looked at when the index is next brought up to date. Called by the graph while this index is attached to it.
+	 *
+	 * @param edgeIn	The edge that changed.
+	 */
+	@Override
+	public synchronized void edgeMetricChanged(LotEdge edgeIn){
+		this.metricsChanged.add(edgeIn);
+	}//edgeMetricChanged(LotEdge)
+
+	/**
+	 * Goes over every node and edge of the graph, for when the changes made to it can't all be known.
+	 *
+	 * @param lowered	The list to add the edges that are new or have lower metrics to.
+	 */
+	private void refreshAll(ArrayList<LotEdge> lowered){
+		for(LotNode node : this.graph.getNodes()){
+			this.numberNode(node);
+		}
+		//work out which edges are new or lower, and forget about the ones removed
+		HashMap<LotEdge, Double> newMetrics = new HashMap<LotEdge, Double>();
+		HashMap<LotEdge, LotNode> newEnds = new HashMap<LotEdge, LotNode>();
+		for(LotEdge edge : this.graph.getEdgeListView()){
+			if(edge.getEndNode() == null || !this.graph.hasNode(edge.getEndNode())){
+				continue;
+			}
+			Double known = this.knownMetrics.get(edge);
+			double metric = edge.getMetric();
+			if(known == null || this.knownEnds.get(edge) != edge.getEndNode() || metric < known){
+				lowered.add(edge);
+			}else{
+				metric = known;
+			}
+			newMetrics.put(edge, metric);
+			newEnds.put(edge, edge.getEndNode());
+		}
+		this.knownMetrics = newMetrics;
+		this.knownEnds = newEnds;
+	}//refreshAll(ArrayList<LotEdge>)
+
+	/**
+	 * Brings what is known about one edge up to date.
+	 *
+	 * @param edgeIn	The edge that changed.
+	 * @param lowered	The list to add the edge to if it is new or has a lower metric.
+	 */
+	private void refreshEdge(LotEdge edgeIn, ArrayList<LotEdge> lowered){
+		LotNode endNode = edgeIn.getEndNode();
+		if(this.graph.getEdgeIndex(edgeIn) < 0 || endNode == null || !this.graph.hasNode(endNode)){
+			this.knownMetrics.remove(edgeIn);
+			this.knownEnds.remove(edgeIn);
+			return;
+		}
+		this.numberNode(edgeIn.getStartNode());
+		this.numberNode(endNode);
+		Double known = this.knownMetrics.get(edgeIn);
+		double metric = edgeIn.getMetric();
+		if(known == null || this.knownEnds.get(edgeIn) != endNode || metric < known){
+			lowered.add(edgeIn);
+			this.knownMetrics.put(edgeIn, metric);
+			this.knownEnds.put(edgeIn, endNode);
+		}
+	}//refreshEdge(LotEdge, ArrayList<LotEdge>)
+
+	/**
+	 * Gives a node a number in the index, if it doesn't have one yet.
+	 *
+	 * @param nodeIn	The node.
+	 */
+	private void numberNode(LotNode nodeIn){
+		if(!this.nodeNums.containsKey(nodeIn)){
+			this.nodeNums.put(nodeIn, this.nodes.size());
+			this.nodes.add(nodeIn);
+		}
+	}//numberNode(LotNode)
+
+	/**
+	 * Gets the distances from (or to) a node to every node.
+	 *
+	 * @param nodeNum	The node to get the distances from or to.
+	 * @param forward	If getting the distances from the node. Otherwise, the distances to it.
+	 * @return	The distances, by node number. Infinity for nodes not reachable.
+	 */
+	private double[] getFullDistances(int nodeNum, boolean forward){
+		double[] distances = new double[this.nodes.size()];
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+		distances[nodeNum] = 0.0;
+		BotLotPFIndexedHeap heap = new BotLotPFIndexedHeap(this.nodes.size());
+		heap.offer(nodeNum, 0.0);
+		this.search(distances, heap, forward);
+		return distances;
+	}//getFullDistances(int, boolean)
+
+	/**
+	 * Lowers the distances affected by new or lowered edges.
+	 *
+	 * @param distances	The distances from or to a landmark.
+	 * @param lowered	The edges that are new or have lower metrics.
+	 * @param forward	If the distances are from the landmark. Otherwise, to it.
+	 */
+	private void lowerDistances(double[] distances, ArrayList<LotEdge> lowered, boolean forward){
+		BotLotPFIndexedHeap heap = new BotLotPFIndexedHeap(this.nodes.size());
+		for(LotEdge edge : lowered){
+			int fromNum = this.nodeNums.get(forward ? edge.getStartNode() : edge.getEndNode());
+			int toNum = this.nodeNums.get(forward ? edge.getEndNode() : edge.getStartNode());
+			double newDist = distances[fromNum] + this.knownMetrics.get(edge);
+			if(newDist < distances[toNum]){
+				distances[toNum] = newDist;
+				heap.offer(toNum, newDist);
+			}
+		}
+		this.search(distances, heap, forward);
+	}//lowerDistances(double[], ArrayList<LotEdge>, boolean)
+
+	/**
+	 * Runs Dijkstra's algorithm from the nodes in the heap, lowering the distances of the nodes reached.
+	 *
+	 * @param distances	The distances to lower, by node number.
+	 * @param heap	The heap holding the nodes to search from, keyed by their distance.
+	 * @param forward	If searching over the edges going out of each node. Otherwise, the edges coming in.
+	 */
+	private void search(double[] distances, BotLotPFIndexedHeap heap, boolean forward){
+		while(!heap.isEmpty()){
+			int nodeNum = heap.poll();
+			LotNode node = this.nodes.get(nodeNum);
+			for(LotEdge edge : (forward ? node.getEdges() : node.getInEdges())){
+				Double metric = this.knownMetrics.get(edge);
+				if(metric == null){
+					continue;
+				}
+				int nextNum = this.nodeNums.get(forward ? edge.getEndNode() : edge.getStartNode());
+				double newDist = distances[nodeNum] + metric;
+				if(newDist < distances[nextNum]){
+					distances[nextNum] = newDist;
+					heap.offer(nextNum, newDist);
+				}
+			}
+		}
+	}//search(double[], BotLotPFIndexedHeap, boolean)
+
+	/**
+	 * Grows a list of distances to hold every node in the index, giving new nodes a distance of infinity.
+	 *
+	 * @param distances	The distances to grow.
+	 * @return	The grown distances.
+	 */
+	private double[] growDistances(double[] distances){
+		if(distances.length == this.nodes.size()){
+			return distances;
+		}
+		int oldSize = distances.length;
+		distances = Arrays.copyOf(distances, this.nodes.size());
+		Arrays.fill(distances, oldSize, distances.length, Double.POSITIVE_INFINITY);
+		return distances;
+	}//growDistances(double[])
+
+	/**
+	 * Saves the index next to the map file the graph is kept in ({@link #getFileLocation(String)}). Brings the index up to date first.
+	 * <p>
+	 * Nodes and edges are saved by their ID's, so the index can be loaded back with a graph loaded from the map file.
+	 *
+	 * @param mapFileLocIn	The location of the map file.
+	 * @throws BotLotPFAlgException	If the index could not be saved.
+	 */
+	public synchronized void save(String mapFileLocIn) throws BotLotPFAlgException {
+		if(!this.isUpToDate()){
+			this.refresh();
+		}
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getFileLocation(mapFileLocIn))))){
+			out.writeUTF(FILE_HEADER);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(this.landmarks.length);
+			for(LotNode landmark : this.landmarks){
+				out.writeUTF(landmark == null ? "" : landmark.getId());
+			}
+			ArrayList<LotNode> graphNodes = this.graph.getNodes();
+			out.writeInt(graphNodes.size());
+			for(LotNode node : graphNodes){
+				int nodeNum = this.nodeNums.get(node);
+				out.writeUTF(node.getId());
+				for(int i = 0; i < this.landmarks.length; i++){
+					out.writeDouble(this.fromLandmark[i][nodeNum]);
+					out.writeDouble(this.toLandmark[i][nodeNum]);
+				}
+			}
+			out.writeInt(this.knownMetrics.size());
+			for(LotEdge edge : this.graph.getEdgeListView()){
+				Double metric = this.knownMetrics.get(edge);
+				if(metric != null){
+					out.writeUTF(edge.getId());
+					out.writeUTF(edge.getEndNode().getId());
+					out.writeDouble(metric);
+				}
+			}
+		}catch(IOException e){
+			throw new BotLotPFAlgException("Could not save landmark index. Error: " + e.getMessage());
+		}
+	}//save(String)
+
+	/**
+	 * Loads an index saved next to a map file, and attaches it to the graph loaded from it.
+	 * <p>
+	 * Nodes and edges are matched up by their ID's. Anything in the graph that doesn't match up with what was saved is treated as changed since, and the index is brought up to date with it when next used.
+	 *
+	 * @param graphIn	The graph loaded from the map file.
+	 * @param mapFileLocIn	The location of the map file.
+	 * @return	The index loaded.
+	 * @throws BotLotPFAlgException	If the index could not be loaded, or the file is corrupt.
+	 */
+	public static BotLotPFLandmarkIndex load(LotGraph graphIn, String mapFileLocIn) throws BotLotPFAlgException {
+		BotLotPFLandmarkIndex index = new BotLotPFLandmarkIndex(graphIn);
+		long fileSize = new File(getFileLocation(mapFileLocIn)).length();
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(getFileLocation(mapFileLocIn))))){
+			if(!FILE_HEADER.equals(in.readUTF()) || in.readInt() != FILE_VERSION){
+				throw new BotLotPFAlgException("File given is not a landmark index.");
+			}
+			int numLandmarks = in.readInt();
+			if(numLandmarks < 0 || numLandmarks > fileSize){
+				throw new BotLotPFAlgException("Landmark index file is corrupt.");
+			}
+			index.landmarks = new LotNode[numLandmarks];
+			for(int i = 0; i < numLandmarks; i++){
+				index.landmarks[i] = graphIn.getNode(in.readUTF());
+			}
+			int numNodes = in.readInt();
+			//each node saved takes at least its ID's length and two doubles per landmark
+			if(numNodes < 0 || numNodes * (2 + 16L * numLandmarks) > fileSize){
+				throw new BotLotPFAlgException("Landmark index file is corrupt.");
+			}
+			index.fromLandmark = new double[numLandmarks][numNodes];
+			index.toLandmark = new double[numLandmarks][numNodes];
+			int nodeNum = 0;
+			for(int i = 0; i < numNodes; i++){
+				LotNode node = graphIn.getNode(in.readUTF());
+				for(int j = 0; j < numLandmarks; j++){
+					index.fromLandmark[j][nodeNum] = in.readDouble();
+					index.toLandmark[j][nodeNum] = in.readDouble();
+				}
+				//skip nodes no longer in the graph
+				if(node != null && !index.nodeNums.containsKey(node)){
+					index.nodeNums.put(node, nodeNum);
+					index.nodes.add(node);
+					nodeNum++;
+				}
+			}
+			for(int j = 0; j < numLandmarks; j++){
+				index.fromLandmark[j] = Arrays.copyOf(index.fromLandmark[j], nodeNum);
+				index.toLandmark[j] = Arrays.copyOf(index.toLandmark[j], nodeNum);
+			}
+			int numEdges = in.readInt();
+			for(int i = 0; i < numEdges; i++){
+				LotEdge edge = graphIn.getEdge(in.readUTF());
+				LotNode endNode = graphIn.getNode(in.readUTF());
+				double metric = in.readDouble();
+				if(edge != null && endNode != null && index.nodeNums.containsKey(edge.getStartNode()) && index.nodeNums.containsKey(endNode)){
+					index.knownMetrics.put(edge, metric);
+					index.knownEnds.put(edge, endNode);
+				}
+			}
+		}catch(IOException e){
+			throw new BotLotPFAlgException("Could not load landmark index. Error: " + e.getMessage());
+		}catch(RuntimeException e){
+			throw new BotLotPFAlgException("Landmark index file is corrupt. Error: " + e.getMessage());
+		}
+		index.refresh();
+		graphIn.attachIndex(INDEX_KEY, index);
+		return index;
+	}//load(LotGraph, String)
+
+}//class BotLotPFLandmarkIndex
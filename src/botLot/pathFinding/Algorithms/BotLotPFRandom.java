@@ -1,6 +1,7 @@
 package botLot.pathFinding.Algorithms;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -10,8 +11,7 @@ import botLot.lotGraph.LotGraph;
 import botLot.lotGraph.LotNode;
 import botLot.lotGraph.LotPath;
 import botLot.lotGraph.LotPathException;
-import botLot.pathFinding.BotLotPFException;
-import botLot.pathFinding.BotLotPFWorkers;
+import botLot.pathFinding.BotLotPFReachability;
 
 /**
  * Finds a path by randomly selecting edges on each node.
@@ -109,19 +109,22 @@ public class BotLotPFRandom extends BotLotPFAlgorithm implements BotLotPFAlgInte
 		LotNode curNode = this.getCurNode();
 		LotEdge tempEdge = null;
 		ArrayList<LotEdge> tempList = null;
+		//the nodes that can still get to the destination, worked out once instead of for every edge tried
+		BitSet nodesReachingDest = new BotLotPFReachability(this.getGraph(), this.getEdgesToAvoid()).getNodesReaching(this.getDestNode());
 		while(true){
-			//choose path to go down at random
+			//choose path to go down at random, out of the ones that don't trap us
 			tempList = curNode.getConnectedEdges();
-			tempList.removeAll(this.getEdgesToAvoid());			
-			try {
-				do{
-					tempEdge = getRandEdge(tempList);	
-				}while(!BotLotPFWorkers.hasPath(this.getGraph(), tempEdge.getEndNode(), this.getDestNode()));
-			} catch (BotLotPFException e1) {
-				e1.printStackTrace();
-				System.out.println("FATAL ERROR- This should not happen.");
-				System.exit(1);
+			tempList.removeAll(this.getEdgesToAvoid());
+			for(int i = tempList.size() - 1; i >= 0; i--){
+				int nextIndex = this.getGraph().getNodeIndex(tempList.get(i).getEndNode());
+				if(nextIndex < 0 || !nodesReachingDest.get(nextIndex)){
+					tempList.remove(i);
+				}
+			}
+			if(tempList.isEmpty()){
+				throw new BotLotPFAlgException("No path to the destination from " + curNode.getId() + ".");
 			}
+			tempEdge = getRandEdge(tempList);
 			try {
 				curPath.append(tempEdge);
 				curNode = tempEdge.getEndNode();
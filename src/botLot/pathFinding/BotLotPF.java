@@ -6,8 +6,14 @@ import botLot.BotLot;
 import botLot.BotLotException;
 import botLot.lotGraph.*;
 import botLot.pathFinding.Algorithms.BotLotPFAlgException;
+import botLot.pathFinding.Algorithms.BotLotPFAStar;
 import botLot.pathFinding.Algorithms.BotLotPFAlgorithm;
+import botLot.pathFinding.Algorithms.BotLotPFBiDijkstra;
+import botLot.pathFinding.Algorithms.BotLotPFContraction;
+import botLot.pathFinding.Algorithms.BotLotPFCostFunction;
 import botLot.pathFinding.Algorithms.BotLotPFDijkstra;
+import botLot.pathFinding.Algorithms.BotLotPFHeuristic;
+import botLot.pathFinding.Algorithms.BotLotPFLandmarkIndex;
 import botLot.pathFinding.Algorithms.BotLotPFRandom;
 /**
  * BotLotPF.java
@@ -26,6 +32,18 @@ public class BotLotPF {
 	public static float ratioThreshHold = (float) 0.75;
 	/** The number of times to do the random generation to attempt a shortest path */
 	private static final int numTimesToDoRand = 5;
+	/** If to use A* instead of Dijkstra's algorithm in {@link #getShortestPath(BotLot)} when both nodes have coordinates. Only set this if edge metrics are never less than the distance between the nodes they connect. Not used when a cost function is set ({@link #costFunction}), as the distance between nodes is not in the units of the costs. Defaults to 'false'. */
+	public static boolean useAStar = false;
+	/** The minimum number of nodes in a graph to search from both ends (bidirectional Dijkstra) in {@link #getShortestPath(BotLot)} */
+	public static int biDirectionalThreshHold = 5000;
+	/** If to use a Contraction Hierarchies index ({@link BotLotPFContraction}) in {@link #getShortestPath(BotLot)} once the graph is complete and there are no edges to avoid. The index is rebuilt, on the thread asking for the path, the first time a path is asked for after any change to the graph ({@link LotGraph#getVersion()}), so only set this for graphs that rarely change. Defaults to 'false'. */
+	public static boolean useContraction = false;
+	/** If to use A* with a landmark index ({@link BotLotPFLandmarkIndex}) in {@link #getShortestPath(BotLot)}, building one if the graph doesn't have one yet. Graphs that already have a landmark index attached always use it. Defaults to 'false'. */
+	public static boolean useLandmarks = false;
+	/** What gives the cost of going down each edge in {@link #getShortestPath(BotLot)} and {@link #getPathToClosestNode(LotGraph, LotNode, Collection, Collection)}. When not the edges' metrics ({@link BotLotPFCostFunction#METRIC}), only Dijkstra's algorithm (one or both sides) is used, as the random path finding and the indexes go by metrics, and the distances A* estimates with could be more than the costs. Defaults to {@link BotLotPFCostFunction#METRIC}. */
+	public static BotLotPFCostFunction costFunction = BotLotPFCostFunction.METRIC;
+	/** Where {@link #getShortestPath(LotGraph, LotNode, LotNode, Collection)} keeps paths found, to give them out again while the graph has not changed, rather than search again. Null to not keep them. Defaults to null. */
+	public static BotLotPFPathCache pathCache = null;
 
 	/**
 	 * Determines which path taking algorithm is probably best to use, and does it.
@@ -39,6 +57,33 @@ public class BotLotPF {
 	 * @throws BotLotPFAlgException If something went wrong with the path finding.
 	 */
 	public static LotPath getShortestPath(LotGraph graphIn, LotNode curNode, LotNode destNode, Collection<LotEdge> edgesToAvoid) throws BotLotPFException, BotLotPFAlgException{
+		BotLotPFPathCache curCache = pathCache;
+		BotLotPFCostFunction curCostFunction = costFunction;
+		if(curCache != null && graphIn != null){
+			LotPath pathHeld = curCache.get(graphIn, curCostFunction, curNode, destNode, edgesToAvoid);
+			if(pathHeld != null){
+				return pathHeld;
+			}
+		}
+		return findShortestPath(graphIn, curNode, destNode, edgesToAvoid, curCostFunction, curCache);
+	}//getShortestPath(LotGraph, LotNode, LotNode, Collection<LotEdge>)
+	
+	/**
+	 * Determines which path taking algorithm is probably best to use, and does it. Does not look in {@link #pathCache}.
+	 * <p>
+	 * Paths from the shortest path algorithms are put in the cache given. Paths made from random path gens are not, as they may not be the shortest, and neither is anything when no path was found.
+	 * 
+	 * @param graphIn	The graph structure to deal with.
+	 * @param curNode	The node we are starting at.
+	 * @param destNode	The node we are trying to get to.
+	 * @param edgesToAvoid	Edges to never deal with.
+	 * @param costFunctionIn	The cost function to search with. Null or {@link BotLotPFCostFunction#METRIC} for the edge metrics.
+	 * @param cacheIn	The cache to put the path found in. Null to not.
+	 * @return	A path between the current nod and the destination node.
+	 * @throws BotLotPFException	If something is not set right.
+	 * @throws BotLotPFAlgException If something went wrong with the path finding.
+	 */
+	private static LotPath findShortestPath(LotGraph graphIn, LotNode curNode, LotNode destNode, Collection<LotEdge> edgesToAvoid, BotLotPFCostFunction costFunctionIn, BotLotPFPathCache cacheIn) throws BotLotPFException, BotLotPFAlgException{
 		if(!BotLotPFWorkers.readyCheck(graphIn, curNode, destNode, true)){
 			throw new BotLotPFException(notReadyString);
 		}
@@ -46,7 +91,9 @@ public class BotLotPF {
 		pathFound.infSizeFlag = true;
 		//determine what algorithm to use.....
 		//System.out.println("\tnode/edge ratio: " + graphIn.getConnectedNodeEdgeRatio(curNode, edgesToAvoid) + "\n\tThreshhold: " + ratioThreshHold);
-		if(graphIn.getConnectedNodeEdgeRatio(curNode, edgesToAvoid) >= ratioThreshHold){
+		long graphVersion = graphIn.getVersion();
+		boolean useMetrics = (costFunctionIn == null || costFunctionIn == BotLotPFCostFunction.METRIC);
+		if(useMetrics && graphIn.getConnectedNodeEdgeRatio(curNode, edgesToAvoid) >= ratioThreshHold){
 		//if(true){//testing
 			//System.out.println("\tRatio within bounds. Doing random path gen.");
 			/*If about the same amount of nodes to edges, get best of a few random path gens
@@ -66,11 +113,24 @@ public class BotLotPF {
 			}
 		}else{
 			//System.out.println("\tToo complicated of a graph. Getting specific shortest path.");
-			pathFound = new BotLotPFDijkstra(graphIn, curNode, destNode, edgesToAvoid).findPath();
+			if(useMetrics && useContraction && edgesToAvoid.isEmpty() && graphIn.graphIsComplete()){
+				pathFound = new BotLotPFContraction(graphIn, curNode, destNode, edgesToAvoid).findPath();
+			}else if(useMetrics && useAStar && BotLotPFAStar.hasCoordinates(curNode) && BotLotPFAStar.hasCoordinates(destNode)){
+				pathFound = new BotLotPFAStar(graphIn, curNode, destNode, edgesToAvoid).setLandmarkIndex(BotLotPFLandmarkIndex.getAttachedIndex(graphIn)).findPath();
+			}else if(useMetrics && (useLandmarks || BotLotPFLandmarkIndex.getAttachedIndex(graphIn) != null)){
+				pathFound = new BotLotPFAStar(graphIn, curNode, destNode, edgesToAvoid).setHeuristic(BotLotPFHeuristic.ZERO).setLandmarkIndex(BotLotPFLandmarkIndex.getIndex(graphIn)).findPath();
+			}else if(graphIn.getNumNodes() >= biDirectionalThreshHold){
+				pathFound = new BotLotPFBiDijkstra(graphIn, curNode, destNode, edgesToAvoid).setCostFunction(costFunctionIn).findPath();
+			}else{
+				pathFound = new BotLotPFDijkstra(graphIn, curNode, destNode, edgesToAvoid).setCostFunction(costFunctionIn).findPath();
+			}
+			if(cacheIn != null){
+				cacheIn.put(graphIn, graphVersion, costFunctionIn, curNode, destNode, edgesToAvoid, pathFound);
+			}
 		}
 		//System.out.println("Path: " + pathFound.toString());
 		return pathFound;
-	}//getShortestPath(BotLot)
+	}//findShortestPath(LotGraph, LotNode, LotNode, Collection<LotEdge>)
 	
 	/**
 	 * Determines which path taking algorithm is probably best to use, and does it.
@@ -86,6 +146,73 @@ public class BotLotPF {
 		return getShortestPath(graphIn, curNode, destNode, new ArrayList<LotEdge>());
 	}
 	
+	/**
+	 * Determines which path taking algorithm is probably best to use, and does it. Takes the nodes and edges by their handles ({@link LotNode#getHandle()}, {@link LotEdge#getHandle()}).
+	 * 
+	 * @param graphIn	The graph structure to deal with.
+	 * @param curNodeHandle	The handle of the node we are starting at.
+	 * @param destNodeHandle	The handle of the node we are trying to get to.
+	 * @param edgeHandlesToAvoid	The handles of edges to never deal with.
+	 * @return	A path between the current nod and the destination node.
+	 * @throws BotLotPFException	If something is not set right, or a handle given is not in the graph.
+	 * @throws BotLotPFAlgException If something went wrong with the path finding.
+	 */
+	public static LotPath getShortestPathByHandle(LotGraph graphIn, int curNodeHandle, int destNodeHandle, Collection<Integer> edgeHandlesToAvoid) throws BotLotPFException, BotLotPFAlgException{
+		ArrayList<LotEdge> edgesToAvoid = new ArrayList<LotEdge>();
+		LotNode curNode = null;
+		LotNode destNode = null;
+		try{
+			curNode = graphIn.getNodeByHandle(curNodeHandle);
+			destNode = graphIn.getNodeByHandle(destNodeHandle);
+			for(Integer curHandle : edgeHandlesToAvoid){
+				edgesToAvoid.add(graphIn.getEdgeByHandle(curHandle.intValue()));
+			}
+		}catch(LotGraphException err){
+			throw new BotLotPFException("Handle given not in the graph. Error: " + err.getMessage());
+		}
+		return getShortestPath(graphIn, curNode, destNode, edgesToAvoid);
+	}//getShortestPathByHandle(LotGraph, int, int, Collection<Integer>)
+	
+	/**
+	 * Determines which path taking algorithm is probably best to use, and does it. Takes the nodes by their handles ({@link LotNode#getHandle()}).
+	 * 
+	 * @param graphIn	The graph structure to deal with.
+	 * @param curNodeHandle	The handle of the node we are starting at.
+	 * @param destNodeHandle	The handle of the node we are trying to get to.
+	 * @return	A path between the current nod and the destination node.
+	 * @throws BotLotPFException	If something is not set right, or a handle given is not in the graph.
+	 * @throws BotLotPFAlgException If something went wrong with the path finding.
+	 */
+	public static LotPath getShortestPathByHandle(LotGraph graphIn, int curNodeHandle, int destNodeHandle) throws BotLotPFException, BotLotPFAlgException{
+		return getShortestPathByHandle(graphIn, curNodeHandle, destNodeHandle, new ArrayList<Integer>());
+	}//getShortestPathByHandle(LotGraph, int, int)
+	
+	/**
+	 * Finds the shortest path through a memory mapped graph, by the edges' metrics, without making a graph out of it. Uses Dijkstra's algorithm over the mapped file ({@link BotLotPFDijkstra#findPath(LotGraphLayout, int, int, java.util.BitSet)}).
+	 * 
+	 * @param graphIn	The mapped graph to search.
+	 * @param curNodeId	The ID of the node we are starting at.
+	 * @param destNodeId	The ID of the node we are trying to get to.
+	 * @return	The ID's of the edges on the shortest path, in order. Empty if the nodes are the same. Null if there is no path.
+	 * @throws BotLotPFException	If either node is not in the graph.
+	 */
+	public static ArrayList<String> getShortestPath(LotMappedGraph graphIn, String curNodeId, String destNodeId) throws BotLotPFException{
+		int curNum = graphIn.getNodeIndex(curNodeId);
+		int destNum = graphIn.getNodeIndex(destNodeId);
+		if(curNum < 0 || destNum < 0){
+			throw new BotLotPFException("Node given not in the mapped graph.");
+		}
+		int[] edgeNums = BotLotPFDijkstra.findPath(graphIn, curNum, destNum, null);
+		if(edgeNums == null){
+			return null;
+		}
+		ArrayList<String> pathOut = new ArrayList<String>(edgeNums.length);
+		for(int curEdgeNum : edgeNums){
+			pathOut.add(graphIn.getEdgeId(curEdgeNum));
+		}
+		return pathOut;
+	}//getShortestPath(LotMappedGraph, String, String)
+	
 	/**
 	 * Determines which path taking algorithm is probably best to use, and does it.
 	 * 
@@ -116,6 +243,8 @@ public class BotLotPF {
 	 * <p>
 	 * Use LotPath.getEndNode() to get the actual end node
 	 * <p>
+	 * Done in a single search that stops at the first of the nodes reached ({@link BotLotPFDijkstra#findPathToClosest(Collection)}). The current node is not counted as one of the nodes.
+	 * <p>
 	 * TODO:: for the other input standards
 	 * 
 	 * @param graphIn	The LotGraph object to deal with.
@@ -125,25 +254,16 @@ public class BotLotPF {
 	 * @return	A path to the closest node, null if no paths found.
 	 */
 	public static LotPath getPathToClosestNode(LotGraph graphIn, LotNode curNode, Collection<LotNode> destNodesIn, Collection<LotEdge> edgesToAvoid){
-		LotPath curPath = null;
-		LotPath pathOut = new LotPath();
-		pathOut.infSizeFlag = true;
-		
-		for(LotNode curDestNode : destNodesIn){
-			try {
-				curPath = getShortestPath(graphIn, curNode, curDestNode, edgesToAvoid);
-			} catch (BotLotPFException | BotLotPFAlgException e) {
-				continue;
-			}
-			if(curPath.isShorter(pathOut)){
-				pathOut = curPath;
-			}
-		}
-		
-		if(pathOut.infSizeFlag){
+		BotLotPFDijkstra pathFinder = new BotLotPFDijkstra();
+		try {
+			pathFinder.setGraph(graphIn);
+			pathFinder.setCurNode(curNode);
+			pathFinder.setEdgesToAvoid(edgesToAvoid);
+			pathFinder.setCostFunction(costFunction);
+			return pathFinder.findPathToClosest(destNodesIn);
+		} catch (BotLotPFAlgException e) {
 			return null;
 		}
-		return pathOut; 
 	}// getNodeWithShortestPath(LotGraph, LotNode, Collection<LotNode>, Collection<LotEdge>)
 	
 	
@@ -153,14 +273,18 @@ public class BotLotPF {
 	 * @param graphIn	The graph to operate on.
 	 * @param curNode	The node we are currently at.
 	 * @param edgesToAvoid	A list of edges to avoid when processing.
-	 * @return	The closest incomplete node.
+	 * @return	The closest incomplete node. Null if none can be reached.
 	 */
 	public static LotNode getClosestIncompleteNode(LotGraph graphIn, LotNode curNode, Collection<LotEdge> edgesToAvoid){
 		ArrayList<LotNode> notCompleteNodes = graphIn.getIncompleteNodes();
 		if(notCompleteNodes.size() == 0){
 			return null;
 		}
-		return getPathToClosestNode(graphIn, curNode, notCompleteNodes, edgesToAvoid).getEndNode();
+		LotPath pathToClosest = getPathToClosestNode(graphIn, curNode, notCompleteNodes, edgesToAvoid);
+		if(pathToClosest == null){
+			return null;
+		}
+		return pathToClosest.getEndNode();
 	}//getClosestNotCompleteNode
 	
 	/**
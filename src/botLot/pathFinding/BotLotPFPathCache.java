@@ -0,0 +1,358 @@
+package botLot.pathFinding;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotNode;
+import botLot.lotGraph.LotPath;
+import botLot.lotGraph.LotPathException;
+import botLot.pathFinding.Algorithms.BotLotPFCostFunction;
+
+/**
+ * BotLotPFPathCache.java
+ * <p>
+ * Holds paths already found, so asking for the same path again does not search again. Set on {@link BotLotPF#pathCache} to be used by {@link BotLotPF#getShortestPath(LotGraph, LotNode, LotNode, Collection)}.
+ * <p>
+ * Paths are kept by the graph, the cost function searched with, the IDs of the nodes they go from and to, the IDs of the edges avoided, and the version of the graph ({@link LotGraph#getVersion()}). Any change to the graph (IDs included) changes its version, so paths found before it are never given out again; they just go unused until pushed out. Only holds up to a set number of paths, pushing out the least recently used, and can be set to drop paths after a set amount of time.
+ * <p>
+ * Graphs are only held weakly, and paths are held as the IDs of their edges, so the cache does not keep graphs, nodes or edges from being garbage collected. Paths held for a graph that is collected are never given out, and are pushed out like any other.
+ * <p>
+ * Only paths found are held; nothing is held for searches that found no path.
+ * <p>
+ * Changes to string attributes do not change the version of the graph, so do not use this with a cost function that reads them.
+ * <p>
+ * Safe to use from more than one thread. Searches are done outside of the cache, so two threads missing on the same path both search for it.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class BotLotPFPathCache {
+	/** The paths held, least recently used first. */
+	private final LinkedHashMap<Key, Entry> paths;
+	/** The most paths to hold. */
+	private final int maxSize;
+	/** How long to keep paths, in nanoseconds. 0 or less to keep them until pushed out. */
+	private final long maxAgeNanos;
+	/** The number of times a path asked for was held. */
+	private long numHits = 0;
+	/** The number of times a path asked for was not held (or was too old). */
+	private long numMisses = 0;
+
+	/**
+	 * Constructor to set how many paths to hold, and how long to keep them.
+	 *
+	 * @param maxSizeIn	The most paths to hold. When full, the least recently used path is pushed out.
+	 * @param maxAgeMillisIn	How long to keep paths, in milliseconds. 0 or less to keep them until pushed out.
+	 * @throws IllegalArgumentException	If the max size is less than 1.
+	 */
+	public BotLotPFPathCache(int maxSizeIn, long maxAgeMillisIn){
+		if(maxSizeIn < 1){
+			throw new IllegalArgumentException("Max size of path cache must be at least 1.");
+		}
+		this.maxSize = maxSizeIn;
+		this.maxAgeNanos = (maxAgeMillisIn <= 0 ? 0 : maxAgeMillisIn * 1000000L);
+		this.paths = new LinkedHashMap<Key, Entry>(16, 0.75f, true){
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest){
+				return this.size() > BotLotPFPathCache.this.maxSize;
+			}
+		};
+	}//BotLotPFPathCache(int, long)
+
+	/**
+	 * Constructor to set how many paths to hold. Paths are kept until pushed out.
+	 *
+	 * @param maxSizeIn	The most paths to hold.
+	 */
+	public BotLotPFPathCache(int maxSizeIn){
+		this(maxSizeIn, 0);
+	}//BotLotPFPathCache(int)
+
+	/**
+	 * Gets a path held, if there is one for the graph as it is now.
+	 *
+	 * @param graphIn	The graph searched.
+	 * @param costFunctionIn	The cost function searched with.
+	 * @param curNode	The node the path starts at.
+	 * @param destNode	The node the path goes to.
+	 * @param edgesToAvoid	The edges avoided.
+	 * @return	A new copy of the path held. Null if none, it was too old, or either node is not in the graph.
+	 */
+	public LotPath get(LotGraph graphIn, BotLotPFCostFunction costFunctionIn, LotNode curNode, LotNode destNode, Collection<LotEdge> edgesToAvoid){
+		if(!isInGraph(graphIn, curNode, destNode)){
+			return null;
+		}
+		Key key = new Key(graphIn, graphIn.getVersion(), costFunctionIn, curNode, destNode, edgesToAvoid);
+		String[] pathHeld = null;
+		synchronized(this){
+			Entry entry = this.paths.get(key);
+			if(entry != null && this.isTooOld(entry, System.nanoTime())){
+				this.paths.remove(key);
+				entry = null;
+			}
+			if(entry == null){
+				this.numMisses++;
+				return null;
+			}
+			this.numHits++;
+			pathHeld = entry.edgeIds;
+		}
+		//the version is the same, so every edge is still in the graph, and the path is still continuous
+		ArrayList<LotEdge> edgesOut = new ArrayList<LotEdge>(pathHeld.length);
+		for(String curEdgeId : pathHeld){
+			edgesOut.add(graphIn.getEdge(curEdgeId));
+		}
+		LotPath pathOut = null;
+		try{
+			pathOut = new LotPath(edgesOut);
+		}catch(LotPathException e){
+			System.out.println("FATAL ERR- get(LotGraph, BotLotPFCostFunction, LotNode, LotNode, Collection)- Path held is not continuous. This should not happen. Error: " + e.getMessage());
+			System.exit(1);
+		}
+		return pathOut;
+	}//get(LotGraph, BotLotPFCostFunction, LotNode, LotNode, Collection<LotEdge>)
+
+	/**
+	 * Holds a path found. Nothing is held if there is no path, or either node is not in the graph.
+	 *
+	 * @param graphIn	The graph searched.
+	 * @param graphVersionIn	The version of the graph when the search started ({@link LotGraph#getVersion()}).
+	 * @param costFunctionIn	The cost function searched with.
+	 * @param curNode	The node the path starts at.
+	 * @param destNode	The node the path goes to.
+	 * @param edgesToAvoid	The edges avoided.
+	 * @param pathIn	The path found. The IDs of its edges are held. Null if none was found.
+	 * @return	This cache.
+	 */
+	public BotLotPFPathCache put(LotGraph graphIn, long graphVersionIn, BotLotPFCostFunction costFunctionIn, LotNode curNode, LotNode destNode, Collection<LotEdge> edgesToAvoid, LotPath pathIn){
+		if(pathIn == null || pathIn.infSizeFlag || !isInGraph(graphIn, curNode, destNode)){
+			return this;
+		}
+		String[] edgeIds = new String[pathIn.size()];
+		int i = 0;
+		for(LotEdge curEdge : pathIn.getEdges()){
+			edgeIds[i++] = curEdge.getId();
+		}
+		Key key = new Key(graphIn, graphVersionIn, costFunctionIn, curNode, destNode, edgesToAvoid);
+		Entry entry = new Entry(edgeIds, System.nanoTime());
+		synchronized(this){
+			this.paths.put(key, entry);
+		}
+		return this;
+	}//put(LotGraph, long, BotLotPFCostFunction, LotNode, LotNode, Collection<LotEdge>, LotPath)
+
+	/**
+	 * Drops the paths that are too old. They are dropped when asked for anyway; this frees them sooner.
+	 *
+	 * @return	This cache.
+	 */
+	public synchronized BotLotPFPathCache removeExpired(){
+		if(this.maxAgeNanos <= 0){
+			return this;
+		}
+		long now = System.nanoTime();
+		Iterator<Entry> it = this.paths.values().iterator();
+		while(it.hasNext()){
+			if(this.isTooOld(it.next(), now)){
+				it.remove();
+			}
+		}
+		return this;
+	}//removeExpired()
+
+	/**
+	 * Drops all the paths held. Leaves the hit and miss counts.
+	 *
+	 * @return	This cache.
+	 */
+	public synchronized BotLotPFPathCache clear(){
+		this.paths.clear();
+		return this;
+	}//clear()
+
+	/**
+	 * Sets the hit and miss counts back to 0.
+	 *
+	 * @return	This cache.
+	 */
+	public synchronized BotLotPFPathCache resetCounts(){
+		this.numHits = 0;
+		this.numMisses = 0;
+		return this;
+	}//resetCounts()
+
+	/**
+	 * Gets the number of paths held.
+	 *
+	 * @return	The number of paths held.
+	 */
+	public synchronized int size(){
+		return this.paths.size();
+	}//size()
+
+	/**
+	 * Gets the most paths held ({@link #maxSize}).
+	 *
+	 * @return	The most paths held.
+	 */
+	public int getMaxSize(){
+		return this.maxSize;
+	}//getMaxSize()
+
+	/**
+	 * Gets the number of times a path asked for was held ({@link #numHits}).
+	 *
+	 * @return	The number of hits.
+	 */
+	public synchronized long getNumHits(){
+		return this.numHits;
+	}//getNumHits()
+
+	/**
+	 * Gets the number of times a path asked for was not held ({@link #numMisses}).
+	 *
+	 * @return	The number of misses.
+	 */
+	public synchronized long getNumMisses(){
+		return this.numMisses;
+	}//getNumMisses()
+
+	/**
+	 * Determines if both nodes are in a graph, so their IDs can stand for them.
+	 *
+	 * @param graphIn	The graph searched.
+	 * @param curNode	The node the path starts at.
+	 * @param destNode	The node the path goes to.
+	 * @return	If both nodes are in the graph.
+	 */
+	private static boolean isInGraph(LotGraph graphIn, LotNode curNode, LotNode destNode){
+		return graphIn != null && curNode != null && destNode != null && curNode.getId() != null && destNode.getId() != null && graphIn.getNode(curNode.getId()) == curNode && graphIn.getNode(destNode.getId()) == destNode;
+	}//isInGraph(LotGraph, LotNode, LotNode)
+
+	/**
+	 * Determines if an entry has been held too long.
+	 *
+	 * @param entryIn	The entry to check.
+	 * @param nowIn	The time now, from {@link System#nanoTime()}.
+	 * @return	If the entry is too old.
+	 */
+	private boolean isTooOld(Entry entryIn, long nowIn){
+		return this.maxAgeNanos > 0 && nowIn - entryIn.timeHeld > this.maxAgeNanos;
+	}//isTooOld(Entry, long)
+
+	/**
+	 * What a path is held by. Graphs and cost functions are compared by identity, and nodes and edges by ID. Keys for a graph that has been garbage collected are equal to nothing but themselves.
+	 */
+	private static final class Key {
+		/** The graph searched. Only held weakly. */
+		private final WeakReference<LotGraph> graph;
+		/** The version of the graph searched. */
+		private final long graphVersion;
+		/** The cost function searched with. */
+		private final BotLotPFCostFunction costFunction;
+		/** The ID of the node the path starts at. */
+		private final String curNodeId;
+		/** The ID of the node the path goes to. */
+		private final String destNodeId;
+		/** The IDs of the edges avoided that are in the graph. Null if none. */
+		private final HashSet<String> edgesToAvoid;
+		/** The hash of all of the above, worked out once. */
+		private final int hash;
+
+		/**
+		 * Constructor to set everything.
+		 *
+		 * @param graphIn	The graph searched.
+		 * @param graphVersionIn	The version of the graph searched.
+		 * @param costFunctionIn	The cost function searched with.
+		 * @param curNodeIn	The node the path starts at. Must be in the graph.
+		 * @param destNodeIn	The node the path goes to. Must be in the graph.
+		 * @param edgesToAvoidIn	The edges avoided. Ones not in the graph are left out, as searches never see them.
+		 */
+		Key(LotGraph graphIn, long graphVersionIn, BotLotPFCostFunction costFunctionIn, LotNode curNodeIn, LotNode destNodeIn, Collection<LotEdge> edgesToAvoidIn){
+			this.graph = new WeakReference<LotGraph>(graphIn);
+			this.graphVersion = graphVersionIn;
+			this.costFunction = (costFunctionIn == null ? BotLotPFCostFunction.METRIC : costFunctionIn);
+			this.curNodeId = curNodeIn.getId();
+			this.destNodeId = destNodeIn.getId();
+			HashSet<String> edgeIds = null;
+			if(edgesToAvoidIn != null){
+				for(LotEdge curEdge : edgesToAvoidIn){
+					if(curEdge != null && curEdge.getId() != null && graphIn.getEdge(curEdge.getId()) == curEdge){
+						if(edgeIds == null){
+							edgeIds = new HashSet<String>();
+						}
+						edgeIds.add(curEdge.getId());
+					}
+				}
+			}
+			this.edgesToAvoid = edgeIds;
+			int result = System.identityHashCode(graphIn);
+			result = 31 * result + Long.hashCode(this.graphVersion);
+			result = 31 * result + System.identityHashCode(this.costFunction);
+			result = 31 * result + this.curNodeId.hashCode();
+			result = 31 * result + this.destNodeId.hashCode();
+			result = 31 * result + (this.edgesToAvoid == null ? 0 : this.edgesToAvoid.hashCode());
+			this.hash = result;
+		}//Key(LotGraph, long, BotLotPFCostFunction, LotNode, LotNode, Collection<LotEdge>)
+
+		@Override
+		public int hashCode(){
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj){
+			if(this == obj){
+				return true;
+			}
+			if(!(obj instanceof Key)){
+				return false;
+			}
+			Key other = (Key) obj;
+			if(this.hash != other.hash || this.graphVersion != other.graphVersion || this.costFunction != other.costFunction || !this.curNodeId.equals(other.curNodeId) || !this.destNodeId.equals(other.destNodeId)){
+				return false;
+			}
+			LotGraph graph = this.graph.get();
+			if(graph == null || graph != other.graph.get()){
+				return false;
+			}
+			if(this.edgesToAvoid == null){
+				return other.edgesToAvoid == null;
+			}
+			return this.edgesToAvoid.equals(other.edgesToAvoid);
+		}
+	}//class Key
+
+	/**
+	 * A path held, and when it was put in.
+	 */
+	private static final class Entry {
+		/** The IDs of the edges of the path held, in order. */
+		private final String[] edgeIds;
+		/** When the path was put in, from {@link System#nanoTime()}. */
+		private final long timeHeld;
+
+		/**
+		 * Constructor to set everything.
+		 *
+		 * @param edgeIdsIn	The IDs of the edges of the path held.
+		 * @param timeHeldIn	When the path was put in.
+		 */
+		Entry(String[] edgeIdsIn, long timeHeldIn){
+			this.edgeIds = edgeIdsIn;
+			this.timeHeld = timeHeldIn;
+		}//Entry(String[], long)
+	}//class Entry
+
+}//class BotLotPFPathCache
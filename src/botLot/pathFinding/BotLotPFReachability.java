@@ -0,0 +1,226 @@
+package botLot.pathFinding;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+
+import botLot.lotGraph.LotEdge;
+import botLot.lotGraph.LotGraph;
+import botLot.lotGraph.LotNode;
+
+/**
+ * Answers which nodes can get to which in a graph, while avoiding certain edges.
+ * <p>
+ * Nodes are dealt with by their index in the graph's node list ({@link LotGraph#getNodeIndex(LotNode)}). Searches keep the nodes visited in a BitSet and the nodes to visit in an int array, and the edges to avoid are kept as a BitSet by their index in the graph's edge list ({@link LotGraph#getEdgeIndex(LotEdge)}). So a search is O(V + E), without scanning any lists.
+ * <p>
+ * Edges with no end node, or going to a node not in the graph, are never gone down.
+ * <p>
+ * Node and edge indexes change when nodes or edges are removed, so make a new one of these after changing the graph.
+ * <p>
+ * Started: 10/17/26
+ *
+ * @author Greg Stewart
+ * @version	1.0 10/17/26
+ */
+public final class BotLotPFReachability {
+	/** The graph we are searching. */
+	private final LotGraph graph;
+	/** The edges to avoid, by their index in the graph's edge list. */
+	private final BitSet edgesToAvoid;
+	/** The nodes visited by the current search, by their index in the graph's node list. */
+	private final BitSet visited;
+	/** The nodes waiting to be looked at by the current search. */
+	private int[] queue;
+
+	/**
+	 * Constructor taking the graph to search.
+	 *
+	 * @param graphIn	The graph to search.
+	 */
+	public BotLotPFReachability(LotGraph graphIn){
+		this.graph = graphIn;
+		this.edgesToAvoid = new BitSet(graphIn.getNumEdges());
+		this.visited = new BitSet(graphIn.getNumNodes());
+		this.queue = new int[Math.max(1, graphIn.getNumNodes())];
+	}//BotLotPFReachability(LotGraph)
+
+	/**
+	 * Constructor taking the graph to search, and the edges to avoid.
+	 *
+	 * @param graphIn	The graph to search.
+	 * @param edgesToAvoidIn	The edges to not go down. Ones not in the graph are ignored.
+	 */
+	public BotLotPFReachability(LotGraph graphIn, Collection<LotEdge> edgesToAvoidIn){
+		this(graphIn);
+		for(LotEdge curEdge : edgesToAvoidIn){
+			this.avoidEdge(curEdge);
+		}
+	}//BotLotPFReachability(LotGraph, Collection<LotEdge>)
+
+	/**
+	 * Adds an edge to the edges to avoid.
+	 *
+	 * @param edgeIn	The edge to not go down. Ignored if not in the graph.
+	 * @return	This object.
+	 */
+	public BotLotPFReachability avoidEdge(LotEdge edgeIn){
+		int edgeIndex = this.graph.getEdgeIndex(edgeIn);
+		if(edgeIndex >= 0){
+			this.edgesToAvoid.set(edgeIndex);
+		}
+		return this;
+	}//avoidEdge(LotEdge)
+
+	/**
+	 * Determines if an edge is one of the edges to avoid.
+	 *
+	 * @param edgeIn	The edge to check.
+	 * @return	If the edge is to be avoided.
+	 */
+	public boolean isAvoided(LotEdge edgeIn){
+		int edgeIndex = this.graph.getEdgeIndex(edgeIn);
+		return edgeIndex >= 0 && this.edgesToAvoid.get(edgeIndex);
+	}//isAvoided(LotEdge)
+
+	/**
+	 * Gets the graph being searched.
+	 *
+	 * @return	The graph being searched.
+	 */
+	public LotGraph getGraph(){
+		return this.graph;
+	}//getGraph()
+
+	/**
+	 * Determines if there is a path of at least one edge from one node to another. For a node to itself, this means it is on a loop.
+	 *
+	 * @param fromNode	The node to start at.
+	 * @param toNode	The node to get to.
+	 * @return	If there is a path from the one node to the other.
+	 */
+	public boolean hasPath(LotNode fromNode, LotNode toNode){
+		int fromIndex = this.graph.getNodeIndex(fromNode);
+		int toIndex = this.graph.getNodeIndex(toNode);
+		if(fromIndex < 0 || toIndex < 0){
+			return false;
+		}
+		return this.search(fromIndex, toIndex, true);
+	}//hasPath(LotNode, LotNode)
+
+	/**
+	 * Gets the nodes that can be gotten to from a node, including itself.
+	 *
+	 * @param fromNode	The node to start at.
+	 * @return	The nodes that can be gotten to, by their index in the graph's node list. Empty if the node is not in the graph.
+	 */
+	public BitSet getNodesReachable(LotNode fromNode){
+		int fromIndex = this.graph.getNodeIndex(fromNode);
+		if(fromIndex < 0){
+			return new BitSet();
+		}
+		this.search(fromIndex, -1, true);
+		return (BitSet)this.visited.clone();
+	}//getNodesReachable(LotNode)
+
+	/**
+	 * Gets the nodes that can get to a node, including itself. Searches backwards over the edges coming in to each node.
+	 *
+	 * @param toNode	The node to get to.
+	 * @return	The nodes that can get to the node, by their index in the graph's node list. Empty if the node is not in the graph.
+	 */
+	public BitSet getNodesReaching(LotNode toNode){
+		int toIndex = this.graph.getNodeIndex(toNode);
+		if(toIndex < 0){
+			return new BitSet();
+		}
+		this.search(toIndex, -1, false);
+		return (BitSet)this.visited.clone();
+	}//getNodesReaching(LotNode)
+
+	/**
+	 * Gets the edges that would trap a search going from one node to another: edges going to nodes that can't get to the destination.
+	 * <p>
+	 * Done in two passes. The first goes backwards from the destination over the edges coming in to each node, marking every node that can get to it. The second goes forward from the start over the marked nodes, picking up every edge into a node that isn't marked. Only edges that can be gotten to from the start are given.
+	 *
+	 * @param fromNode	The node the search starts at.
+	 * @param toNode	The node the search is trying to get to.
+	 * @return	The edges that would trap a search. Empty if either node is not in the graph.
+	 */
+	public ArrayList<LotEdge> getTrapEdges(LotNode fromNode, LotNode toNode){
+		ArrayList<LotEdge> trapEdges = new ArrayList<LotEdge>();
+		int fromIndex = this.graph.getNodeIndex(fromNode);
+		if(fromIndex < 0 || this.graph.getNodeIndex(toNode) < 0){
+			return trapEdges;
+		}
+		BitSet nodesReaching = this.getNodesReaching(toNode);
+		if(!nodesReaching.get(fromIndex)){
+			return trapEdges;
+		}
+		this.visited.clear();
+		int head = 0;
+		int tail = 0;
+		this.queue[tail++] = fromIndex;
+		this.visited.set(fromIndex);
+		while(head < tail){
+			LotNode curNode = this.graph.getNodes().get(this.queue[head++]);
+			for(LotEdge curEdge : curNode.getEdges()){
+				if(curEdge.getEndNode() == null || this.edgesToAvoid.get(this.graph.getEdgeIndex(curEdge))){
+					continue;
+				}
+				int nextIndex = this.graph.getNodeIndex(curEdge.getEndNode());
+				if(nextIndex < 0){
+					continue;
+				}
+				if(!nodesReaching.get(nextIndex)){
+					trapEdges.add(curEdge);
+				}else if(!this.visited.get(nextIndex)){
+					this.visited.set(nextIndex);
+					this.queue[tail++] = nextIndex;
+				}
+			}
+		}
+		return trapEdges;
+	}//getTrapEdges(LotNode, LotNode)
+
+	/**
+	 * Does a breadth first search from a node, leaving the nodes found in {@link #visited}.
+	 *
+	 * @param startIndex	The index of the node to start at.
+	 * @param targetIndex	The index of the node to stop at when first gotten to down an edge. -1 to search everything.
+	 * @param forward	If going down the edges out of each node. Otherwise, back up the edges coming in.
+	 * @return	If the target node was gotten to.
+	 */
+	private boolean search(int startIndex, int targetIndex, boolean forward){
+		this.visited.clear();
+		int numNodes = this.graph.getNumNodes();
+		if(this.queue.length < numNodes){
+			this.queue = new int[numNodes];
+		}
+		int head = 0;
+		int tail = 0;
+		this.queue[tail++] = startIndex;
+		this.visited.set(startIndex);
+		while(head < tail){
+			LotNode curNode = this.graph.getNodes().get(this.queue[head++]);
+			for(LotEdge curEdge : (forward ? curNode.getEdges() : curNode.getInEdges())){
+				LotNode nextNode = (forward ? curEdge.getEndNode() : curEdge.getStartNode());
+				if(nextNode == null || this.edgesToAvoid.get(this.graph.getEdgeIndex(curEdge))){
+					continue;
+				}
+				int nextIndex = this.graph.getNodeIndex(nextNode);
+				if(nextIndex < 0){
+					continue;
+				}
+				if(nextIndex == targetIndex){
+					return true;
+				}
+				if(!this.visited.get(nextIndex)){
+					this.visited.set(nextIndex);
+					this.queue[tail++] = nextIndex;
+				}
+			}
+		}
+		return false;
+	}//search(int, int, boolean)
+
+}//class BotLotPFReachability
@@ -1,11 +1,11 @@
 package botLot.pathFinding;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import botLot.BotLot;
 import botLot.lotGraph.LotEdge;
 import botLot.lotGraph.LotGraph;
-import botLot.lotGraph.LotGraphException;
 import botLot.lotGraph.LotNode;
 import botLot.lotGraph.LotPath;
 import botLot.pathFinding.Algorithms.BotLotPFAlgorithm;
@@ -35,7 +35,7 @@ public final class BotLotPFWorkers {
 	 */
 	public static boolean readyCheck(LotGraph graphIn, LotNode curNode, LotNode destNode, boolean checkPath){
 		//System.out.println("in readyCheck()");
-		if(graphIn != null || graphIn != new LotGraph()){
+		if(graphIn != null){
 			//System.out.println("has graph. " + curNode + " " + destNode);
 			if(graphIn.hasNode(curNode) && graphIn.hasNode(destNode)){
 				//System.out.println("has cur and dest");
@@ -79,6 +79,8 @@ public final class BotLotPFWorkers {
 	
 	/**
 	 * Gets a list of edges that would put a searching algorithm into a trapped or dead end state. Trapped meaning they can no longer reach the destination node.
+	 * <p>
+	 * Worked out in one pass back from the destination and one forward from the current node ({@link BotLotPFReachability#getTrapEdges(LotNode, LotNode)}), so O(V + E).
 	 * 
 	 * @param graphIn	The graph we are dealing with.
 	 * @param curNode	The node we are starting at.
@@ -88,57 +90,7 @@ public final class BotLotPFWorkers {
 	 */
 	public static ArrayList<LotEdge> getTrapEdges(LotGraph graphIn, LotNode curNode, LotNode destNode) throws BotLotPFException{
 		if(readyCheck(graphIn, curNode, destNode, true)){
-			//System.out.println("Entered getTrapEdges()");
-			ArrayList<LotEdge> trapEdgeList = new ArrayList<LotEdge>();//nodes that will trap an algorithm from getting to the destination
-			ArrayList<LotNode> nodesConnected = new ArrayList<LotNode>();//nodes that are connected to the curNode (and nodes subsequently attatched to them, and so on...)
-			nodesConnected.add(curNode);
-			ArrayList<LotNode> tempList = new ArrayList<LotNode>();//temporary list of connected nodes
-			ArrayList<LotNode> workingList = new ArrayList<LotNode>();//temporary list of connected nodes
-			ArrayList<LotNode> nodesFinished = new ArrayList<LotNode>();//nodes we have hit in the past, to not go in circles
-			LotNode workingNode = null;
-			
-			//nodesFinished.add(curNode);
-			//nodesConnected.removeAll(nodesFinished);
-
-			//System.out.println("Start finding the trapping edges....");
-			while(true){
-				while(nodesConnected.size() != 0){
-					workingNode = nodesConnected.get(0);
-					workingList = workingNode.getConnectedNodes();
-					//System.out.println("\tWorking off of node: " + workingNode);
-					for(LotNode tempNode : workingList){
-						try {
-							//System.out.println("\t\tExamining edge to: " + tempNode);
-							//only deal with it if we haven't been here before
-							if(!nodesFinished.contains(tempNode) && !nodesConnected.contains(tempNode) && !tempList.contains(tempNode)){
-								
-								if(!hasPath(graphIn, tempNode, destNode, trapEdgeList)){
-									//System.out.println("\t\t\tHas no path to destination********");
-									trapEdgeList.addAll(graphIn.getEdgesFromTo(workingNode, tempNode));
-								}else{
-									//System.out.println("\t\t\tHas path to destination.");
-									tempList.add(tempNode);
-								}
-							}else{
-								//System.out.println("\t\t\tHas been examined before.");
-							}
-							
-						} catch (LotGraphException e) {
-							e.printStackTrace();
-							System.out.println("FATAL ERR- hasPath();- this should not happen. Error: " + e.getMessage());
-							System.exit(1);
-						}
-					}		
-					nodesFinished.add(nodesConnected.remove(0));
-				}//for each in nodes connectdd
-				//if we got this far and no nodes are in the temp list, there is nothing else we can do, so there is no path
-				if(tempList.size() == 0){
-					return trapEdgeList;
-				}else{//else we move nodes we have connected from tempList to nodesConnected
-					nodesConnected = new ArrayList<LotNode>(tempList);
-					tempList = new ArrayList<LotNode>();
-				}
-			}//main loop
+			return new BotLotPFReachability(graphIn).getTrapEdges(curNode, destNode);
 		}//if got valid stuff
 		throw new BotLotPFException("LotGraph not ready to determine path.");
 	}//getTrapEdges(LotGraph, LotNode, LotNode) throws BotLotPFException
@@ -166,6 +118,8 @@ public final class BotLotPFWorkers {
 	
 	/**
 	 * Determines if there is a path from the curNode to the destNode.
+	 * <p>
+	 * With no edges to avoid, this is answered by the graph's strongly connected components ({@link LotGraph#getComponents()}) without a search. Otherwise, a search is done around the edges to avoid.
 	 * 
 	 * @param graphIn	The graph we are dealing with.
 	 * @param curNode	The node we are starting at.
@@ -175,57 +129,11 @@ public final class BotLotPFWorkers {
 	 * @throws BotLotPFException	if something went wrong.
 	 */
 	public static boolean hasPath(LotGraph graphIn, LotNode curNode, LotNode destNode, ArrayList<LotEdge> edgesToAvoid) throws BotLotPFException{
-		//final int minsToWait = Integer.MAX_VALUE;
 		if(readyCheck(graphIn, curNode, destNode, false)){
-			ArrayList<LotNode> nodesConnected = new ArrayList<LotNode>();//nodes that are connected to the curNode (and nodes subsequently attatched to them, and so on...)
-			nodesConnected.add(curNode);
-			ArrayList<LotNode> tempList = new ArrayList<LotNode>();//temporary list of connected nodes
-			ArrayList<LotNode> workingList = new ArrayList<LotNode>();//temporary list of connected nodes
-			ArrayList<LotNode> nodesFinished = new ArrayList<LotNode>();//nodes we have hit in the past, to not go in circles
-			LotNode workingNode = null;
-			
-			//nodesFinished.add(curNode);
-			//nodesConnected.removeAll(nodesFinished);
-			while(true){
-				/*go through each node,
-				 * 1- get nodes connected to it
-				 * 2- remove connected nodes that are connected via avoiding edges
-				 * 3- test if the nodes left are the destination node
-				 * 		-return true if destNode found
-				 * 4- remove it (the current node) from connected, place it into nodesFinished
-				 */
-				while(nodesConnected.size() != 0){
-					workingNode = nodesConnected.get(0);
-					workingList = workingNode.getConnectedNodes();
-					
-					for(LotNode tempNode : workingList){
-						try {
-							//only deal with nodes we can get to (avoiding certain edges)
-							if(!edgesToAvoid.contains(graphIn.getEdgeFromTo(workingNode, tempNode))){
-								if(tempNode == destNode){
-									return true;
-								}
-								//only add to tempList if we haven't been here before
-								if(!nodesFinished.contains(tempNode) && !nodesConnected.contains(tempNode) && !tempList.contains(tempNode)){
-									tempList.add(tempNode);
-								}
-							}
-						} catch (LotGraphException e) {
-							e.printStackTrace();
-							System.out.println("FATAL ERR- hasPath();- this should not happen. Error: " + e.getMessage());
-							System.exit(1);
-						}
-					}
-					nodesFinished.add(nodesConnected.remove(0));
-				}//for each in nodes connected
-				//if we got this far and no nodes are in the temp list, there is nothing else we can do, so there is no path
-				if(tempList.size() == 0){
-					return false;
-				}else{//else we move nodes we have connected from tempList to nodesConnected
-					nodesConnected = new ArrayList<LotNode>(tempList);
-					tempList = new ArrayList<LotNode>();
-				}
-			}//main loop
+			if(edgesToAvoid.isEmpty()){
+				return graphIn.getComponents().hasPath(curNode, destNode);
+			}
+			return new BotLotPFReachability(graphIn, edgesToAvoid).hasPath(curNode, destNode);
 		}
 		throw new BotLotPFException(notReadyMessage);
 	}//hasPath(BotLot, LotNode, LotNode)
@@ -267,6 +175,8 @@ public final class BotLotPFWorkers {
 	
 	/**
 	 * Checks if the given path is valid, and actually describes a path through the graph.
+	 * <p>
+	 * Paths found valid are marked as such ({@link LotPath#setValidIn(LotGraph)}), so checking them again while none of their edges have changed in the graph does not go over the whole path (unless there are edges to avoid). Metric changes do not count; a path is valid if it can be gone down, whatever it costs ({@link LotPath#isStillValidIn(LotGraph)}).
 	 * 
 	 * @param pathIn	The path to check if it is valid.
 	 * @param graphIn	The graph this path is associated with.
@@ -277,23 +187,52 @@ public final class BotLotPFWorkers {
 	 * @throws BotLotPFException	If something goes wrong.
 	 */
 	public static boolean pathIsValid(LotPath pathIn, LotGraph graphIn, LotNode curNode, LotNode destNode, ArrayList<LotEdge> edgesToAvoid) throws BotLotPFException{
+		return pathIsValid(pathIn, 0, graphIn, curNode, destNode, edgesToAvoid);
+	}//pathIsValid(LotPath, LotGraph, LotNode, LotNode, ArrayList<LotEdge>) throws BotLotPFException
+	
+	/**
+	 * Checks if the rest of the given path, from the edge at the index given, is valid, and actually describes a path through the graph. For paths partly gone through, without copying the rest of them out.
+	 * <p>
+	 * Only paths checked from the start are marked as valid ({@link LotPath#setValidIn(LotGraph)}), as the edges before the index are not checked.
+	 * 
+	 * @param pathIn	The path to check if it is valid.
+	 * @param fromIndex	The index of the first edge to check from.
+	 * @param graphIn	The graph this path is associated with.
+	 * @param curNode	The node we are currently at.
+	 * @param destNode	The node we are trying to get to.
+	 * @param edgesToAvoid	Edges to not go down.
+	 * @return	If the rest of the path given is valid. False if there are no edges from the index given.
+	 * @throws BotLotPFException	If something goes wrong.
+	 */
+	public static boolean pathIsValid(LotPath pathIn, int fromIndex, LotGraph graphIn, LotNode curNode, LotNode destNode, ArrayList<LotEdge> edgesToAvoid) throws BotLotPFException{
 		//System.out.println("Entered PathIsValid");
 		if(readyCheck(graphIn, curNode, destNode, false)){
-			if(pathIn.size() == 0){
+			if(fromIndex < 0 || pathIn.size() <= fromIndex){
+				return false;
+			}
+			if(pathIn.getEndNode() != destNode){
 				return false;
 			}
-			if(!pathIn.pathIsContinuous() | pathIn.path.getLast().getEndNode() != destNode){
+			//if the path was found valid before, and none of its edges have changed since, only the ends need checking
+			boolean stillValid = pathIn.isStillValidIn(graphIn);
+			if(stillValid && edgesToAvoid.isEmpty()){
+				return pathIn.getEdge(fromIndex).getStartNode() == curNode;
+			}
+			if(!stillValid && fromIndex == 0 && !pathIn.pathIsContinuous()){
 				//System.out.println("\tPath not continuous");
 				return false;
 			}
+			HashSet<LotEdge> edgesToAvoidSet = new HashSet<LotEdge>(edgesToAvoid);
 			LotNode curTempNode = curNode;
-			ArrayList<LotEdge> tempEdgeList = null;
-			for(LotEdge curEdge : pathIn.path){
-				tempEdgeList = curTempNode.getConnectedEdges(edgesToAvoid);
-				if(tempEdgeList.contains(curEdge)){
+			for(int i = fromIndex; i < pathIn.size(); i++){
+				LotEdge curEdge = pathIn.getEdge(i);
+				if(curTempNode.hasEdge(curEdge) && curEdge.endSet() && !edgesToAvoidSet.contains(curEdge)){
 					curTempNode = curEdge.getEndNode();
 					if(curTempNode == destNode){
 						//System.out.println("\tPath Founds to be Valid");
+						if(fromIndex == 0){
+							pathIn.setValidIn(graphIn);
+						}
 						return true;
 					}
 				}else{
@@ -306,7 +245,7 @@ public final class BotLotPFWorkers {
 		}else{
 			throw new BotLotPFException("Data given is not ready to be operated on.");
 		}
-	}//pathIsValid(LotPath, LotGraph, LotNode, LotNode, ArrayList<LotEdge>) throws BotLotPFException
+	}//pathIsValid(LotPath, int, LotGraph, LotNode, LotNode, ArrayList<LotEdge>) throws BotLotPFException
 	
 	/**
 	 * Checks if the given path is valid, and actually describes a path through the graph. 
@@ -125,8 +125,8 @@ public class testDriver {
 			navigator.mainGraph.getEdgeFromTo(12, 13).setMetric(ThreadLocalRandom.current().nextInt(1, 10 + 1));
 			
 			System.out.println("Edges:");
-			for (int i = 0; i < navigator.mainGraph.getEdgeList().size(); i++) {
-				System.out.println("\t" + navigator.mainGraph.getEdgeList().get(i).toString());
+			for (int i = 0; i < navigator.mainGraph.getEdgeListView().size(); i++) {
+				System.out.println("\t" + navigator.mainGraph.getEdgeListView().get(i).toString());
 			}
 		}
 